@@ -0,0 +1,85 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the request and response handling of {@link PriceController#getPrice}: parsing the
+ * application date, mapping the resolved price to its DTO, and serializing the DTO to JSON with an
+ * {@link ObjectMapper} configured like Spring Boot's. Each step is measured on the generic path and on the
+ * fast path the controller uses ({@link ApplicationDateParser}, {@link PriceResponseJsonConverter}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceResponseBenchmark {
+
+    private String applicationDate;
+
+    private Price price;
+
+    private PriceResponseDTO response;
+
+    private ObjectMapper objectMapper;
+
+    private PriceResponseJsonConverter converter;
+
+    @Setup
+    public void setUp() {
+        applicationDate = "2020-06-14T16:00:00";
+        price = new Price(2L, 1L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30),
+                2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+        response = PriceResponseDTO.fromDomain(price);
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new PriceResponseJsonConverter(objectMapper);
+    }
+
+    @Benchmark
+    public LocalDateTime parseApplicationDate() {
+        return LocalDateTime.parse(applicationDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    @Benchmark
+    public LocalDateTime parseApplicationDateFast() {
+        return ApplicationDateParser.parse(applicationDate);
+    }
+
+    @Benchmark
+    public PriceResponseDTO fromDomain() {
+        return PriceResponseDTO.fromDomain(price);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeFast() throws IOException {
+        return converter.toJson(response);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.infrastructure.SyntheticCatalogueProperties;
+import com.example.capitoletechnicaltest.infrastructure.SyntheticPriceGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the memory held by each in-memory representation of the catalogue, and what it costs the
+ * garbage collector.
+ * <p>
+ * {@code entities} is the list of {@link Price} entities the JPA path materializes for the same rows; it
+ * is a lower bound of that path, since a persistence context also keeps a loaded-state snapshot of every
+ * managed entity. The other representations are the in-memory lookup modes, loaded from freshly
+ * generated entities like they are from the PRICES table.
+ * <p>
+ * {@code load} builds a representation and reports the heap and direct memory it retains per tariff as
+ * the {@code heapBytesPerTariff} and {@code offHeapBytesPerTariff} secondary results; its time includes
+ * the collections around the build. {@code fullGc} times a full collection while a representation is
+ * live: marking is proportional to the live objects, so it shows the pause cost each one adds. Run with
+ * {@code -prof gc} to also see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "-XX:+UseG1GC"})
+public class PriceCatalogueFootprintBenchmark {
+
+    private static final int TARIFFS_PER_KEY = 16;
+
+    @Param({"1000000"})
+    private int catalogueSize;
+
+    @Param({"entities", "interval-index", "timeline", "columnar"})
+    private String representation;
+
+    private SyntheticCatalogueProperties catalogue;
+
+    /**
+     * Representation kept live while {@code fullGc} runs.
+     */
+    private Object live;
+
+    /**
+     * Memory retained by the representation built by {@code load}, per tariff.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+
+        public long heapBytesPerTariff;
+
+        public long offHeapBytesPerTariff;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalogue = new SyntheticCatalogueProperties(1, catalogueSize / TARIFFS_PER_KEY, 1, TARIFFS_PER_KEY, 4,
+                LocalDateTime.of(2020, 1, 1, 0, 0), Duration.ofDays(30L * TARIFFS_PER_KEY), List.of(70, 20, 10), 42);
+        live = build();
+    }
+
+    /**
+     * Measured once: auxiliary counters add up across iterations, and the footprint does not vary.
+     */
+    @Benchmark
+    @Measurement(iterations = 1)
+    public Object load(Footprint footprint) throws InterruptedException {
+        long heap = usedHeapAfterGc();
+        long direct = directMemory();
+        Object built = build();
+        footprint.heapBytesPerTariff = (usedHeapAfterGc() - heap) / catalogueSize;
+        footprint.offHeapBytesPerTariff = (directMemory() - direct) / catalogueSize;
+        return built;
+    }
+
+    @Benchmark
+    public Object fullGc() {
+        System.gc();
+        return live;
+    }
+
+    private Object build() {
+        PriceCatalogueSource source = consumer -> new SyntheticPriceGenerator(catalogue).prices().forEach(consumer);
+        return switch (representation) {
+            case "entities" -> new SyntheticPriceGenerator(catalogue).prices().toList();
+            case "interval-index" -> {
+                IntervalIndexPriceRepositoryAdapter adapter = new IntervalIndexPriceRepositoryAdapter(source);
+                adapter.load();
+                yield adapter;
+            }
+            case "timeline" -> {
+                TimelinePriceRepositoryAdapter adapter = new TimelinePriceRepositoryAdapter(source);
+                adapter.load();
+                yield adapter;
+            }
+            case "columnar" -> {
+                ColumnarPriceRepositoryAdapter adapter = new ColumnarPriceRepositoryAdapter(source);
+                adapter.load();
+                yield adapter;
+            }
+            default -> throw new IllegalArgumentException("Unknown representation: " + representation);
+        };
+    }
+
+    /**
+     * Collects until the heap is stable; the pauses let the cleaner release unreachable direct buffers.
+     */
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
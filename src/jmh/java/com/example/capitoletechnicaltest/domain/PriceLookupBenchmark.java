@@ -0,0 +1,113 @@
+package com.example.capitoletechnicaltest.domain;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ColumnarPriceRepositoryAdapter;
+import com.example.capitoletechnicaltest.adapters.outbound.IntervalIndexPriceRepositoryAdapter;
+import com.example.capitoletechnicaltest.adapters.outbound.PriceCatalogueSource;
+import com.example.capitoletechnicaltest.adapters.outbound.TimelinePriceRepositoryAdapter;
+import com.example.capitoletechnicaltest.infrastructure.SyntheticCatalogueProperties;
+import com.example.capitoletechnicaltest.infrastructure.SyntheticPriceGenerator;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PriceServiceImpl#findPrice} over the in-memory lookup adapters.
+ * <p>
+ * The catalogue is generated by {@link SyntheticPriceGenerator} with {@code catalogueSize} tariffs,
+ * {@value #TARIFFS_PER_KEY} per brand and product. A new tariff of a product starts about every 30 days
+ * and lasts {@code overlap} periods, so about {@code overlap} tariffs cover any instant and compete on priority.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PriceLookupBenchmark {
+
+    private static final int TARIFFS_PER_KEY = 16;
+
+    private static final int LOOKUPS = 4096;
+
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Param({"10000", "1000000"})
+    private int catalogueSize;
+
+    @Param({"1", "4", "16"})
+    private int overlap;
+
+    @Param({"interval-index", "timeline", "columnar"})
+    private String mode;
+
+    private PriceServiceImpl priceService;
+
+    private long[] productIds;
+
+    private LocalDateTime[] applicationDates;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCatalogueProperties catalogue = new SyntheticCatalogueProperties(1, catalogueSize / TARIFFS_PER_KEY,
+                1, TARIFFS_PER_KEY, overlap, FIRST_START, Duration.ofDays(30L * TARIFFS_PER_KEY), List.of(70, 20, 10), 42);
+        List<Price> prices = new SyntheticPriceGenerator(catalogue).prices().toList();
+        PriceCatalogueSource source = prices::forEach;
+        PriceRepositoryPort port = switch (mode) {
+            case "interval-index" -> {
+                IntervalIndexPriceRepositoryAdapter adapter = new IntervalIndexPriceRepositoryAdapter(source);
+                adapter.load();
+                yield adapter;
+            }
+            case "timeline" -> {
+                TimelinePriceRepositoryAdapter adapter = new TimelinePriceRepositoryAdapter(source);
+                adapter.load();
+                yield adapter;
+            }
+            case "columnar" -> {
+                ColumnarPriceRepositoryAdapter adapter = new ColumnarPriceRepositoryAdapter(source);
+                adapter.load();
+                yield adapter;
+            }
+            default -> throw new IllegalArgumentException("Unknown lookup mode: " + mode);
+        };
+        priceService = new PriceServiceImpl(port);
+
+        // Lookups hit random products at random covered instants within the tariff range of the catalogue;
+        // gaps between jittered tariffs are skipped so that no lookup measures the not-found exception
+        SplittableRandom random = new SplittableRandom(42);
+        int keys = catalogueSize / TARIFFS_PER_KEY;
+        productIds = new long[LOOKUPS];
+        applicationDates = new LocalDateTime[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            do {
+                productIds[i] = random.nextInt(keys) + 1;
+                applicationDates[i] = FIRST_START.plusMinutes(random.nextLong(TARIFFS_PER_KEY * 30L * 24 * 60));
+            } while (port.findPriceByProductBrandAndDate(productIds[i], 1L, applicationDates[i]).isEmpty());
+        }
+    }
+
+    @Benchmark
+    public Optional<Price> findPrice() {
+        int i = next++ & (LOOKUPS - 1);
+        return priceService.findPrice(productIds[i], 1L, applicationDates[i]);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.capitoletechnicaltest.domain;
+
+import com.example.capitoletechnicaltest.infrastructure.GlobalExceptionHandler;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks the cost of a price miss, from the service call to the 404 response written by Spring MVC.
+ * <p>
+ * {@code exceptionWithStackTrace} reproduces the former miss path: the service threw a
+ * {@code RuntimeException} capturing its stack trace from inside {@code Optional.or(...)}, and Spring's
+ * {@link ExceptionHandlerExceptionResolver} dispatched it to {@link GlobalExceptionHandler}, which wrote the
+ * response. {@code stacklessException} is the same path with the stackless {@link ResourceNotFoundException}.
+ * {@code emptyResult} is the path that ships: the service returns an empty result, and the controller
+ * returns the 404 response directly, written by the same return value handler as any other response.
+ * The call stack is deepened to a depth typical of a servlet request, since stack capture is proportional
+ * to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceMissBenchmark {
+
+    /**
+     * Frames between the servlet container and the service in a request, roughly.
+     */
+    private static final int REQUEST_STACK_DEPTH = 80;
+
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    private PriceServiceImpl priceService;
+
+    /**
+     * Resolver of the exceptions raised by the handlers, as configured by Spring MVC.
+     */
+    private ExceptionHandlerExceptionResolver exceptionResolver;
+
+    /**
+     * Writer of the {@link ResponseEntity} returned by the handlers.
+     */
+    private HttpEntityMethodProcessor responseWriter;
+
+    /**
+     * Return type of {@link #notFound()}, standing for the return type of the controller.
+     */
+    private MethodParameter responseType;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        priceService = new PriceServiceImpl(new PriceRepositoryPort() {
+            @Override
+            public Optional<Price> findPriceByProductBrandAndDate(Long productId, Long brandId,
+                                                                  LocalDateTime applicationDate) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId,
+                                                            LocalDateTime applicationDate) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void forEachPrice(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                                     Consumer<? super Price> action) {
+            }
+
+            @Override
+            public void forEachPriceAt(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+            }
+        });
+
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter();
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerBean(GlobalExceptionHandler.class,
+                () -> new GlobalExceptionHandler(new PriceLookupMetricsPort() { }));
+        context.refresh();
+        exceptionResolver = new ExceptionHandlerExceptionResolver();
+        exceptionResolver.setMessageConverters(List.of(json));
+        exceptionResolver.setApplicationContext(context);
+        exceptionResolver.afterPropertiesSet();
+        responseWriter = new HttpEntityMethodProcessor(List.of(json));
+        responseType = new MethodParameter(PriceMissBenchmark.class.getDeclaredMethod("notFound"), -1);
+    }
+
+    @Benchmark
+    public int exceptionWithStackTrace() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            atDepth(REQUEST_STACK_DEPTH, () -> priceService.findPrice(99999L, 1L, APPLICATION_DATE)
+                    .or(() -> {
+                        throw new RuntimeException(PriceServiceImpl.NO_APPLICABLE_PRICE);
+                    }));
+        } catch (RuntimeException ex) {
+            exceptionResolver.resolveException(request, response, null, ex);
+        }
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int stacklessException() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            atDepth(REQUEST_STACK_DEPTH, () -> priceService.findPrice(99999L, 1L, APPLICATION_DATE)
+                    .or(() -> {
+                        throw new ResourceNotFoundException(PriceServiceImpl.NO_APPLICABLE_PRICE);
+                    }));
+        } catch (ResourceNotFoundException ex) {
+            exceptionResolver.resolveException(request, response, null, ex);
+        }
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int emptyResult() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<?> entity = atDepth(REQUEST_STACK_DEPTH,
+                () -> priceService.findPrice(99999L, 1L, APPLICATION_DATE).isPresent() ? null : notFound());
+        responseWriter.handleReturnValue(entity, responseType, new ModelAndViewContainer(),
+                new ServletWebRequest(request, response));
+        return response.getStatus();
+    }
+
+    /**
+     * Builds the 404 response of a miss, as the controller does.
+     */
+    private static ResponseEntity<?> notFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(GlobalExceptionHandler.errorDetails(HttpStatus.NOT_FOUND, PriceServiceImpl.NO_APPLICABLE_PRICE));
+    }
+
+    /**
+     * Runs the miss path below the given number of extra stack frames.
+     */
+    private static <T> T atDepth(int depth, Supplier<T> miss) {
+        return depth == 0 ? miss.get() : atDepth(depth - 1, miss);
+    }
+}
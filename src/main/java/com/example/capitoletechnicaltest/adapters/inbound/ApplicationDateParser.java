@@ -0,0 +1,63 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parser of the {@code applicationDate} request parameter.
+ * <p>
+ * The usual {@code yyyy-MM-ddTHH:mm:ss} form is decoded directly from its characters, without the
+ * parsing context, field map and resolver that {@link DateTimeFormatter} allocates on every call. Any other
+ * form, and any invalid value, is handed to {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, so accepted
+ * inputs and error messages are exactly the same as with the formatter alone.
+ */
+final class ApplicationDateParser {
+
+    private ApplicationDateParser() {
+    }
+
+    /**
+     * Parses an ISO local date-time.
+     *
+     * @param text The date-time, in ISO_LOCAL_DATE_TIME format.
+     * @return The parsed date-time.
+     * @throws java.time.format.DateTimeParseException if the text is not a valid ISO local date-time.
+     */
+    static LocalDateTime parse(String text) {
+        if (text.length() == 19 && text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == 'T'
+                && text.charAt(13) == ':' && text.charAt(16) == ':') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 2);
+            int day = digits(text, 8, 2);
+            int hour = digits(text, 11, 2);
+            int minute = digits(text, 14, 2);
+            int second = digits(text, 17, 2);
+            if ((year | month | day | hour | minute | second) >= 0) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute, second);
+                } catch (DateTimeException ex) {
+                    // Out-of-range field: let the formatter report it
+                }
+            }
+        }
+        return LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    /**
+     * Decodes a run of ASCII digits.
+     *
+     * @return The decoded value, or {@code -1} if a character is not a digit.
+     */
+    private static int digits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Frames of the binary price lookup protocol served by {@link BinaryPriceServer}.
+ * <p>
+ * Every frame starts with its length, excluding the length field itself, followed by a request ID chosen
+ * by the client. A client may send any number of requests without waiting for their responses
+ * (pipelining), and responses come back in completion order rather than request order (multiplexing),
+ * each one carrying the ID of its request. All numbers are big-endian; dates are epoch seconds in UTC.
+ * <pre>
+ * Request:  int length = 29 | int id | byte type = LOOKUP | long brandId | long productId | long applicationDate
+ * Response: int length | int id | byte status
+ *           FOUND:     long brandId | long productId | int priceList | long startDate | long endDate
+ *                      | long unscaled amount | byte scale | byte currency length | currency, ASCII
+ *           otherwise: nothing
+ * </pre>
+ * A request frame of another length is skipped and answered {@link #BAD_REQUEST}, so the connection stays
+ * usable; only a frame too short to carry its ID, or longer than {@link #MAX_FRAME_LENGTH}, ends it.
+ */
+public final class BinaryPriceProtocol {
+
+    /**
+     * Type of a price lookup request.
+     */
+    public static final byte LOOKUP = 1;
+
+    /**
+     * Status of a lookup answered with a price.
+     */
+    public static final byte FOUND = 0;
+
+    /**
+     * Status of a lookup with no applicable price.
+     */
+    public static final byte NOT_FOUND = 1;
+
+    /**
+     * Status of a malformed request or of an unknown request type.
+     */
+    public static final byte BAD_REQUEST = 2;
+
+    /**
+     * Status of a lookup that failed on the server.
+     */
+    public static final byte ERROR = 3;
+
+    /**
+     * Status of a lookup of a key owned by another node of a sharded cluster, which must be asked instead.
+     */
+    public static final byte NOT_OWNED = 4;
+
+    /**
+     * Length of a lookup request, excluding the length field.
+     */
+    public static final int REQUEST_LENGTH = Integer.BYTES + 1 + 3 * Long.BYTES;
+
+    /**
+     * Longest request frame skipped, excluding the length field; a longer one is taken for a stream out
+     * of sync rather than read to its end.
+     */
+    public static final int MAX_FRAME_LENGTH = 64 * 1024;
+
+    /**
+     * Type given to a request read from a frame of unexpected length, which is answered {@link #BAD_REQUEST}.
+     */
+    private static final byte MALFORMED = 0;
+
+    /**
+     * Length of a response without a price, excluding the length field.
+     */
+    private static final int STATUS_LENGTH = Integer.BYTES + 1;
+
+    /**
+     * A decoded lookup request.
+     *
+     * @param id              ID of the request, echoed in its response.
+     * @param type            Type of the request; only {@link #LOOKUP} is answered with a price.
+     * @param brandId         The ID of the brand.
+     * @param productId       The ID of the product.
+     * @param applicationDate The application date, in epoch seconds.
+     */
+    public record Request(int id, byte type, long brandId, long productId, long applicationDate) {
+    }
+
+    /**
+     * A decoded response.
+     *
+     * @param id        ID of the request answered.
+     * @param status    Status of the lookup.
+     * @param brandId   The ID of the brand of the price; 0 without a price.
+     * @param productId The ID of the product of the price; 0 without a price.
+     * @param priceList The price list identifier; 0 without a price.
+     * @param startDate Start of the price, in epoch seconds; 0 without a price.
+     * @param endDate   End of the price, in epoch seconds; 0 without a price.
+     * @param amount    Amount of the price, or {@code null} without a price.
+     * @param currency  Currency code of the price, or {@code null} without a price.
+     */
+    public record Response(int id, byte status, long brandId, long productId, int priceList, long startDate,
+                           long endDate, BigDecimal amount, String currency) {
+    }
+
+    private BinaryPriceProtocol() {
+    }
+
+    /**
+     * Writes a lookup request.
+     *
+     * @param out             The stream to write to.
+     * @param id              The ID of the request.
+     * @param brandId         The ID of the brand.
+     * @param productId       The ID of the product.
+     * @param applicationDate The application date, in epoch seconds.
+     * @throws IOException If the stream fails.
+     */
+    public static void writeRequest(DataOutput out, int id, long brandId, long productId, long applicationDate)
+            throws IOException {
+        out.writeInt(REQUEST_LENGTH);
+        out.writeInt(id);
+        out.writeByte(LOOKUP);
+        out.writeLong(brandId);
+        out.writeLong(productId);
+        out.writeLong(applicationDate);
+    }
+
+    /**
+     * Reads a request.
+     *
+     * @param in The stream to read from.
+     * @return The request, or {@code null} at the end of the stream. A frame of unexpected length is
+     * skipped and returned as a request of an unknown type, carrying only its ID.
+     * @throws IOException If the stream fails or ends inside a frame, or if the frame is too short to carry
+     *                     an ID or longer than {@link #MAX_FRAME_LENGTH}.
+     */
+    public static Request readRequest(DataInput in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException ex) {
+            return null;
+        }
+        if (length == REQUEST_LENGTH) {
+            return new Request(in.readInt(), in.readByte(), in.readLong(), in.readLong(), in.readLong());
+        }
+        if (length < Integer.BYTES || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Unexpected request length " + length + ", expected " + REQUEST_LENGTH);
+        }
+        int id = in.readInt();
+        skipFully(in, length - Integer.BYTES);
+        return new Request(id, MALFORMED, 0, 0, 0);
+    }
+
+    /**
+     * Writes the response to a lookup that found a price.
+     *
+     * @param out   The stream to write to.
+     * @param id    The ID of the request.
+     * @param price The applicable price.
+     * @throws IOException              If the stream fails.
+     * @throws ArithmeticException      If the amount does not fit in a long once unscaled.
+     * @throws IllegalArgumentException If the currency code or the scale of the amount does not fit in a byte.
+     */
+    public static void writePrice(DataOutput out, int id, Price price) throws IOException {
+        BigDecimal amount = price.getAmount();
+        long unscaled = amount.unscaledValue().longValueExact();
+        byte[] currency = price.getCurr().getBytes(StandardCharsets.US_ASCII);
+        if (currency.length > 255 || amount.scale() < Byte.MIN_VALUE || amount.scale() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Price " + price.getId() + " cannot be encoded");
+        }
+        out.writeInt(STATUS_LENGTH + 5 * Long.BYTES + Integer.BYTES + 2 + currency.length);
+        out.writeInt(id);
+        out.writeByte(FOUND);
+        out.writeLong(price.getBrandId());
+        out.writeLong(price.getProductId());
+        out.writeInt(price.getPriceList());
+        out.writeLong(PricePrecedence.toEpochSecond(price.getStartDate()));
+        out.writeLong(PricePrecedence.toEpochSecond(price.getEndDate()));
+        out.writeLong(unscaled);
+        out.writeByte(amount.scale());
+        out.writeByte(currency.length);
+        out.write(currency);
+    }
+
+    /**
+     * Writes a response without a price.
+     *
+     * @param out    The stream to write to.
+     * @param id     The ID of the request.
+     * @param status The status: {@link #NOT_FOUND}, {@link #BAD_REQUEST}, {@link #ERROR} or {@link #NOT_OWNED}.
+     * @throws IOException If the stream fails.
+     */
+    public static void writeStatus(DataOutput out, int id, byte status) throws IOException {
+        out.writeInt(STATUS_LENGTH);
+        out.writeInt(id);
+        out.writeByte(status);
+    }
+
+    /**
+     * Reads a response.
+     *
+     * @param in The stream to read from.
+     * @return The response.
+     * @throws IOException If the stream fails or ends inside a frame.
+     */
+    public static Response readResponse(DataInput in) throws IOException {
+        int length = in.readInt();
+        int id = in.readInt();
+        byte status = in.readByte();
+        if (status != FOUND) {
+            skipFully(in, length - STATUS_LENGTH);
+            return new Response(id, status, 0, 0, 0, 0, 0, null, null);
+        }
+        long brandId = in.readLong();
+        long productId = in.readLong();
+        int priceList = in.readInt();
+        long startDate = in.readLong();
+        long endDate = in.readLong();
+        BigDecimal amount = new BigDecimal(BigInteger.valueOf(in.readLong()), in.readByte());
+        byte[] currency = new byte[in.readUnsignedByte()];
+        in.readFully(currency);
+        return new Response(id, status, brandId, productId, priceList, startDate, endDate, amount,
+                new String(currency, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Skips the given number of bytes, which {@link DataInput#skipBytes(int)} alone may stop short of.
+     */
+    private static void skipFully(DataInput in, int length) throws IOException {
+        while (length > 0) {
+            int skipped = in.skipBytes(length);
+            if (skipped == 0) {
+                // Blocks until a byte arrives, or throws at the end of the stream
+                in.readByte();
+                skipped = 1;
+            }
+            length -= skipped;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.infrastructure.PriceShards;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TCP server of the binary price lookup protocol ({@link BinaryPriceProtocol}), for service-to-service
+ * callers: requests carry the brand, the product and an epoch-second date, and answers are packed
+ * binary frames, without date parsing, JSON or HTTP headers on either side.
+ * <p>
+ * Each connection is read by one virtual thread, and each request is resolved through the
+ * {@link PriceServicePort} on a virtual thread of its own, so a slow lookup never holds back the
+ * requests pipelined after it. Responses are written as they complete, and flushed once no other response
+ * of the connection is waiting to be written, which batches the answers of pipelined requests into a few
+ * writes. At most {@code prices.binary.max-in-flight} requests of a connection are resolved at once; past
+ * that, the connection is no longer read until one completes. Enabled with {@code prices.binary.enabled=true}.
+ * <p>
+ * On a node of a sharded cluster, lookups are not forwarded: those of keys owned by another node are
+ * answered {@link BinaryPriceProtocol#NOT_OWNED}, and clients connect to the owning node instead.
+ */
+@Component
+@ConditionalOnProperty(name = "prices.binary.enabled", havingValue = "true")
+public class BinaryPriceServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryPriceServer.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final PriceServicePort priceServicePort;
+
+    private final PriceLookupMetricsPort metrics;
+
+    private final int port;
+
+    private final int maxInFlight;
+
+    /**
+     * Membership of this node in a sharded cluster, or {@code null} if the catalogue is not sharded.
+     */
+    private final PriceShards shards;
+
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    private volatile ServerSocket serverSocket;
+
+    private ExecutorService executor;
+
+    /**
+     * Constructs a new {@link BinaryPriceServer}.
+     *
+     * @param priceServicePort The service resolving the lookups.
+     * @param metrics          The timers and counters of the lookup path.
+     * @param port             The TCP port to listen on, or 0 for any free port.
+     * @param maxInFlight      The maximum number of requests of a connection resolved at once.
+     */
+    public BinaryPriceServer(PriceServicePort priceServicePort, PriceLookupMetricsPort metrics, int port,
+                             int maxInFlight) {
+        this(priceServicePort, metrics, port, maxInFlight, null);
+    }
+
+    /**
+     * Constructs a new {@link BinaryPriceServer}, answering only the keys this node owns if the catalogue
+     * is sharded.
+     *
+     * @param priceServicePort The service resolving the lookups.
+     * @param metrics          The timers and counters of the lookup path.
+     * @param port             The TCP port to listen on, or 0 for any free port.
+     * @param maxInFlight      The maximum number of requests of a connection resolved at once.
+     * @param shards           The membership of this node, available only if the catalogue is sharded.
+     */
+    @Autowired
+    public BinaryPriceServer(PriceServicePort priceServicePort, PriceLookupMetricsPort metrics,
+                             @Value("${prices.binary.port:9090}") int port,
+                             @Value("${prices.binary.max-in-flight:256}") int maxInFlight,
+                             ObjectProvider<PriceShards> shards) {
+        this.priceServicePort = priceServicePort;
+        this.metrics = metrics;
+        this.port = port;
+        this.maxInFlight = maxInFlight;
+        this.shards = shards != null ? shards.getIfAvailable() : null;
+    }
+
+    @Override
+    public void start() {
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(port));
+            serverSocket = socket;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot listen on port " + port + " for the binary price protocol", ex);
+        }
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("binary-price-", 0).factory());
+        executor.execute(this::accept);
+        log.info("Binary price protocol listening on port {}", serverSocket.getLocalPort());
+    }
+
+    @Override
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException ex) {
+            log.debug("Failed to close the binary price protocol socket", ex);
+        }
+        connections.forEach(BinaryPriceServer::closeQuietly);
+        executor.shutdownNow();
+        serverSocket = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    /**
+     * Returns the port the server listens on, which is the configured one unless it was 0.
+     *
+     * @return The local port.
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        ServerSocket server = serverSocket;
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                executor.execute(() -> new Connection(socket).serve());
+            } catch (IOException ex) {
+                if (!server.isClosed()) {
+                    log.warn("Failed to accept a binary price protocol connection", ex);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ex) {
+            log.debug("Failed to close a binary price protocol connection", ex);
+        }
+    }
+
+    /**
+     * A client connection, reading requests and writing their responses as they complete.
+     */
+    private final class Connection {
+
+        private final Socket socket;
+
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+
+        /**
+         * Guards {@link #out}; a lock rather than a monitor, so that a virtual thread waiting for it does
+         * not pin its carrier thread.
+         */
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        private DataOutputStream out;
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void serve() {
+            try (socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+                BinaryPriceProtocol.Request request;
+                while ((request = BinaryPriceProtocol.readRequest(in)) != null) {
+                    inFlight.acquire();
+                    BinaryPriceProtocol.Request next = request;
+                    executor.execute(() -> answer(next));
+                }
+                // Lets the responses of the last requests out before closing
+                inFlight.acquire(maxInFlight);
+            } catch (IOException ex) {
+                log.debug("Binary price protocol connection closed", ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connections.remove(socket);
+            }
+        }
+
+        private void answer(BinaryPriceProtocol.Request request) {
+            Optional<Price> price = Optional.empty();
+            byte status;
+            if (request.type() != BinaryPriceProtocol.LOOKUP) {
+                metrics.recordInvalid();
+                status = BinaryPriceProtocol.BAD_REQUEST;
+            } else if (shards != null && !shards.route(request.brandId(), request.productId()).equals(shards.self())) {
+                status = BinaryPriceProtocol.NOT_OWNED;
+            } else {
+                long start = System.nanoTime();
+                try {
+                    price = priceServicePort.findPrice(request.productId(), request.brandId(),
+                            PricePrecedence.fromEpochSecond(request.applicationDate()));
+                    status = price.isPresent() ? BinaryPriceProtocol.FOUND : BinaryPriceProtocol.NOT_FOUND;
+                } catch (RuntimeException ex) {
+                    log.warn("Binary price lookup {} failed", request, ex);
+                    status = BinaryPriceProtocol.ERROR;
+                } finally {
+                    metrics.recordService(System.nanoTime() - start);
+                }
+                if (status == BinaryPriceProtocol.FOUND) {
+                    metrics.recordHit();
+                } else if (status == BinaryPriceProtocol.NOT_FOUND) {
+                    metrics.recordMiss();
+                }
+            }
+            write(request.id(), status, price);
+        }
+
+        private void write(int id, byte status, Optional<Price> price) {
+            writeLock.lock();
+            try {
+                if (status == BinaryPriceProtocol.FOUND) {
+                    writePrice(id, price.get());
+                } else {
+                    BinaryPriceProtocol.writeStatus(out, id, status);
+                }
+                // Leaves the flush to the next writer, if any, so that concurrent responses share a write
+                if (!writeLock.hasQueuedThreads()) {
+                    out.flush();
+                }
+            } catch (IOException ex) {
+                log.debug("Failed to answer a binary price lookup", ex);
+                closeQuietly(socket);
+            } finally {
+                writeLock.unlock();
+                inFlight.release();
+            }
+        }
+
+        private void writePrice(int id, Price price) throws IOException {
+            try {
+                BinaryPriceProtocol.writePrice(out, id, price);
+            } catch (ArithmeticException | IllegalArgumentException ex) {
+                log.warn("Price {} cannot be encoded in the binary price protocol", price.getId(), ex);
+                BinaryPriceProtocol.writeStatus(out, id, BinaryPriceProtocol.ERROR);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a single lookup of a batch price request.
+ */
+public class PriceBatchItemRequestDTO {
+    private Long brandId;
+    private Long productId;
+    private LocalDateTime applicationDate;
+
+    // Constructors
+    public PriceBatchItemRequestDTO() {
+        // Empty constructor
+    }
+
+    public PriceBatchItemRequestDTO(Long brandId, Long productId, LocalDateTime applicationDate) {
+        this.brandId = brandId;
+        this.productId = productId;
+        this.applicationDate = applicationDate;
+    }
+
+    // Getters and Setters
+    public Long getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(Long brandId) {
+        this.brandId = brandId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public LocalDateTime getApplicationDate() {
+        return applicationDate;
+    }
+
+    public void setApplicationDate(LocalDateTime applicationDate) {
+        this.applicationDate = applicationDate;
+    }
+
+    /**
+     * Returns whether every field required for a lookup is present.
+     *
+     * @return {@code true} if the item can be resolved.
+     */
+    @JsonIgnore
+    public boolean isComplete() {
+        return brandId != null && productId != null && applicationDate != null;
+    }
+
+    public PriceQuery toDomain() {
+        return new PriceQuery(brandId, productId, applicationDate);
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.PriceServiceImpl;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the result of a single lookup of a batch price request.
+ * Each item carries its own status, so a miss does not fail the whole batch.
+ */
+public class PriceBatchItemResponseDTO {
+    private Long brandId;
+    private Long productId;
+    private LocalDateTime applicationDate;
+    private int status;
+    private String message;
+    private PriceResponseDTO price;
+
+    // Constructors
+    public PriceBatchItemResponseDTO() {
+        // Empty constructor
+    }
+
+    public PriceBatchItemResponseDTO(PriceBatchItemRequestDTO request, HttpStatus status, String message,
+            PriceResponseDTO price) {
+        this.brandId = request.getBrandId();
+        this.productId = request.getProductId();
+        this.applicationDate = request.getApplicationDate();
+        this.status = status.value();
+        this.message = message;
+        this.price = price;
+    }
+
+    // Getters and Setters
+    public Long getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(Long brandId) {
+        this.brandId = brandId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public LocalDateTime getApplicationDate() {
+        return applicationDate;
+    }
+
+    public void setApplicationDate(LocalDateTime applicationDate) {
+        this.applicationDate = applicationDate;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public PriceResponseDTO getPrice() {
+        return price;
+    }
+
+    public void setPrice(PriceResponseDTO price) {
+        this.price = price;
+    }
+
+    public static PriceBatchItemResponseDTO found(PriceBatchItemRequestDTO request, PriceResponseDTO price) {
+        return new PriceBatchItemResponseDTO(request, HttpStatus.OK, null, price);
+    }
+
+    public static PriceBatchItemResponseDTO notFound(PriceBatchItemRequestDTO request) {
+        return new PriceBatchItemResponseDTO(request, HttpStatus.NOT_FOUND, PriceServiceImpl.NO_APPLICABLE_PRICE, null);
+    }
+
+    public static PriceBatchItemResponseDTO invalid(PriceBatchItemRequestDTO request) {
+        return new PriceBatchItemResponseDTO(request, HttpStatus.BAD_REQUEST,
+                "Brand ID, product ID and application date are required.", null);
+    }
+
+}
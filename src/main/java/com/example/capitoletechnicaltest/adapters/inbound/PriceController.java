@@ -1,21 +1,46 @@
 package com.example.capitoletechnicaltest.adapters.inbound;
 
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.example.capitoletechnicaltest.domain.PriceServiceImpl;
+import com.example.capitoletechnicaltest.infrastructure.GlobalExceptionHandler;
+import com.example.capitoletechnicaltest.infrastructure.PriceCatalogueVersion;
+import com.example.capitoletechnicaltest.infrastructure.PriceHttpCacheProperties;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
 import com.example.capitoletechnicaltest.ports.PriceServicePort;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for managing price-related requests.
@@ -31,37 +56,103 @@ public class PriceController {
      */
     private final PriceServicePort priceServicePort;
 
+    /**
+     * Maximum number of lookups accepted by a single batch request.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Timers and counters of the lookup path.
+     */
+    private final PriceLookupMetricsPort metrics;
+
+    /**
+     * Configuration of the caching headers of single lookups.
+     */
+    private final PriceHttpCacheProperties httpCache;
+
+    /**
+     * Versions the ETags of single lookups are derived from; {@code null} without the change feed, in
+     * which case lookups carry no ETag.
+     */
+    private final PriceCatalogueVersion catalogueVersion;
+
+    /**
+     * Wall clock the {@code max-age} of single lookups is computed from.
+     */
+    private final Clock clock;
+
+    /**
+     * Constructs a new {@link PriceController} with the specified {@link PriceServicePort}, on the system clock.
+     *
+     * @param priceServicePort The service responsible for retrieving applicable prices.
+     * @param maxBatchSize     The maximum number of lookups accepted by a single batch request.
+     * @param metrics          The timers and counters of the lookup path.
+     * @param httpCache        The configuration of the caching headers of single lookups.
+     * @param catalogueVersion The catalogue version behind the ETags, if the change feed is enabled.
+     */
+    @Autowired
+    public PriceController(PriceServicePort priceServicePort,
+                           @Value("${prices.batch.max-size:1000}") int maxBatchSize,
+                           PriceLookupMetricsPort metrics,
+                           PriceHttpCacheProperties httpCache,
+                           ObjectProvider<PriceCatalogueVersion> catalogueVersion) {
+        this(priceServicePort, maxBatchSize, metrics, httpCache, catalogueVersion.getIfAvailable(),
+                Clock.systemDefaultZone());
+    }
+
     /**
      * Constructs a new {@link PriceController} with the specified {@link PriceServicePort}.
      *
      * @param priceServicePort The service responsible for retrieving applicable prices.
+     * @param maxBatchSize     The maximum number of lookups accepted by a single batch request.
+     * @param metrics          The timers and counters of the lookup path.
+     * @param httpCache        The configuration of the caching headers of single lookups.
+     * @param catalogueVersion The catalogue version behind the ETags, or {@code null} without the change feed.
+     * @param clock            The wall clock the {@code max-age} of single lookups is computed from.
      */
-    public PriceController(PriceServicePort priceServicePort) {
+    public PriceController(PriceServicePort priceServicePort, int maxBatchSize, PriceLookupMetricsPort metrics,
+                           PriceHttpCacheProperties httpCache, PriceCatalogueVersion catalogueVersion,
+                           Clock clock) {
         this.priceServicePort = priceServicePort;
+        this.maxBatchSize = maxBatchSize;
+        this.metrics = metrics;
+        this.httpCache = httpCache;
+        this.catalogueVersion = catalogueVersion;
+        this.clock = clock;
     }
 
     /**
      * Endpoint to retrieve the applicable price for a given product, brand, and application date.
      * Accepts query parameters for the brand ID, product ID, and application date.
      * Returns the price with the highest priority that matches the criteria.
+     * <p>
+     * Responses, found or not, may be cached until the next tariff boundary after the application date, and
+     * for no longer than the configured maximum age. They carry an ETag made of the catalogue version of the
+     * product and that boundary, and a request whose {@code If-None-Match} header holds the ETag of the
+     * current version is answered with 304 Not Modified, without resolving the price.
      *
      * @param brandId         The ID of the brand to filter by.
      * @param productId       The ID of the product to filter by.
      * @param applicationDate The date and time to check for applicable prices, in ISO_LOCAL_DATE_TIME format.
+     * @param ifNoneMatch     The ETags of the responses cached by the client, if any.
      * @return A {@link ResponseEntity} containing the applicable {@link PriceResponseDTO} if found,
-     * or a 404 Not Found status if no price matches the criteria.
+     * a 404 Not Found status with the error details if no price matches the criteria,
+     * or a 304 Not Modified status if the cached response is still current.
      */
     @Operation(
             summary = "Get applicable price",
             description = "Retrieves the applicable price for a product, brand, and application date."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Price retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Price retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PriceResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Cached response still current"),
             @ApiResponse(responseCode = "404", description = "No applicable price found"),
             @ApiResponse(responseCode = "400", description = "Invalid request")
     })
     @GetMapping
-    public ResponseEntity<PriceResponseDTO> getPrice(
+    public ResponseEntity<?> getPrice(
             @Parameter(description = "Brand ID", example = "1")
             @RequestParam() @NotNull(message = "Brand ID is required") Long brandId,
 
@@ -70,15 +161,165 @@ public class PriceController {
 
             @Parameter(description = "Application Date in ISO format",
                     example = "2020-06-14T10:00:00")
-            @RequestParam() @NotBlank(message = "Application Date is required") String applicationDate) {
+            @RequestParam() @NotBlank(message = "Application Date is required") String applicationDate,
+
+            @Parameter(description = "ETags of cached responses")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         // Parse the applicationDate parameter to a LocalDateTime object
-        LocalDateTime dateTime = LocalDateTime.parse(applicationDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        long start = System.nanoTime();
+        LocalDateTime dateTime = ApplicationDateParser.parse(applicationDate);
+        long parsed = System.nanoTime();
+        metrics.recordParse(parsed - start);
+
+        // Reads the version before resolving the price: a change landing in between only costs a refetch
+        Long version = httpCache.enabled() && catalogueVersion != null
+                ? catalogueVersion.version(brandId, productId)
+                : null;
+        if (version != null && ifNoneMatch != null) {
+            Optional<PriceETag> current = PriceETag.match(ifNoneMatch, version);
+            if (current.isPresent()) {
+                metrics.recordNotModified();
+                return withCacheHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), current.get()).build();
+            }
+        }
+
+        Optional<Price> price;
+        PriceETag tag = null;
+        long resolved;
+        try {
+            price = priceServicePort.findPrice(productId, brandId, dateTime);
+            if (httpCache.enabled()) {
+                // Without an ETag, the boundary only matters if it may cut the max-age short
+                long validTo = version != null || boundaryMayCapMaxAge(dateTime, price)
+                        ? priceServicePort.findNextBoundary(productId, brandId, dateTime)
+                                .map(PricePrecedence::toEpochSecond)
+                                .orElse(Long.MAX_VALUE)
+                        : Long.MAX_VALUE;
+                tag = new PriceETag(version != null ? version : -1, validTo);
+            }
+        } finally {
+            resolved = System.nanoTime();
+            metrics.recordService(resolved - parsed);
+        }
 
         // Return the price if found, or a 404 response if not
-        return priceServicePort.findPrice(productId, brandId, dateTime)
-                .map(price -> ResponseEntity.ok(PriceResponseDTO.fromDomain(price)))
-                .orElse(ResponseEntity.notFound().build());
+        if (price.isEmpty()) {
+            metrics.recordMiss();
+            return withCacheHeaders(ResponseEntity.status(HttpStatus.NOT_FOUND), tag)
+                    .body(GlobalExceptionHandler.errorDetails(HttpStatus.NOT_FOUND,
+                            PriceServiceImpl.NO_APPLICABLE_PRICE));
+        }
+        PriceResponseDTO response = PriceResponseDTO.fromDomain(price.get());
+        metrics.recordMapping(System.nanoTime() - resolved);
+        metrics.recordHit();
+        return withCacheHeaders(ResponseEntity.ok(), tag).body(response);
+    }
+
+    /**
+     * Endpoint to retrieve the applicable prices of several products in a single call.
+     * All lookups are resolved together by the service; each item of the response carries its own
+     * status, so a lookup without an applicable price is reported as a 404 item instead of failing
+     * the whole batch.
+     *
+     * @param items The lookups to resolve, each with a brand ID, product ID and application date.
+     * @return A {@link ResponseEntity} with one {@link PriceBatchItemResponseDTO} per lookup, in request order,
+     * or a 400 Bad Request status if the batch is empty or exceeds the maximum batch size.
+     */
+    @Operation(
+            summary = "Get applicable prices in batch",
+            description = "Retrieves the applicable prices for a list of brand, product and application date lookups."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch resolved, see the status of each item"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<PriceBatchItemResponseDTO>> getPrices(
+            @RequestBody List<PriceBatchItemRequestDTO> items) {
+
+        if (items == null || items.isEmpty() || items.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Resolve every complete item in a single service call
+        List<PriceQuery> queries = items.stream()
+                .filter(PriceBatchItemRequestDTO::isComplete)
+                .map(PriceBatchItemRequestDTO::toDomain)
+                .toList();
+        Iterator<Optional<Price>> results = priceServicePort.findPrices(queries).iterator();
+
+        List<PriceBatchItemResponseDTO> response = new ArrayList<>(items.size());
+        for (PriceBatchItemRequestDTO item : items) {
+            if (!item.isComplete()) {
+                metrics.recordInvalid();
+                response.add(PriceBatchItemResponseDTO.invalid(item));
+                continue;
+            }
+            Optional<Price> price = results.next();
+            if (price.isPresent()) {
+                metrics.recordHit();
+                response.add(PriceBatchItemResponseDTO.found(item, PriceResponseDTO.fromDomain(price.get())));
+            } else {
+                metrics.recordMiss();
+                response.add(PriceBatchItemResponseDTO.notFound(item));
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Sets the {@code Cache-Control} header of a single lookup, and its {@code ETag} if it has a version.
+     *
+     * @param builder The response being built.
+     * @param tag     The tag of the response, with a negative version without the catalogue version,
+     *                or {@code null} if caching headers are disabled.
+     * @return The builder.
+     */
+    private ResponseEntity.BodyBuilder withCacheHeaders(ResponseEntity.BodyBuilder builder, PriceETag tag) {
+        if (tag == null) {
+            return builder;
+        }
+        long now = PricePrecedence.toEpochSecond(LocalDateTime.now(clock));
+        builder.cacheControl(CacheControl.maxAge(maxAge(tag.validTo(), now, httpCache.maxAge()), TimeUnit.SECONDS));
+        if (tag.version() >= 0) {
+            builder.eTag(tag.format());
+        }
+        return builder;
+    }
+
+    /**
+     * Tells whether the next tariff boundary after the application date may fall before the maximum age
+     * runs out, and so shorten the {@code max-age} of the response. It cannot if the application date is
+     * further ahead than the maximum age, nor if the price found ended before now, since the boundary comes
+     * at the latest right after the end of that price.
+     *
+     * @param applicationDate The date the price was resolved for.
+     * @param price           The price found, if any.
+     * @return {@code false} if the {@code max-age} is the maximum age whatever the boundary.
+     */
+    private boolean boundaryMayCapMaxAge(LocalDateTime applicationDate, Optional<Price> price) {
+        long now = PricePrecedence.toEpochSecond(LocalDateTime.now(clock));
+        if (PricePrecedence.toEpochSecond(applicationDate) >= now + httpCache.maxAge().toSeconds()) {
+            return false;
+        }
+        return price.map(found -> PricePrecedence.toEpochSecond(found.getEndDate()) + 1 > now).orElse(true);
+    }
+
+    /**
+     * Computes how long a lookup response may be cached: until the wall clock reaches the next tariff
+     * boundary after its application date, if that boundary is still ahead, and otherwise for the maximum age.
+     *
+     * @param validTo The next tariff boundary, in epoch seconds, or {@link Long#MAX_VALUE} if there is none.
+     * @param now     The current time, in epoch seconds.
+     * @param maxAge  The maximum age of a response.
+     * @return The {@code max-age} of the response, in seconds.
+     */
+    static long maxAge(long validTo, long now, Duration maxAge) {
+        if (validTo == Long.MAX_VALUE || validTo <= now) {
+            return maxAge.toSeconds();
+        }
+        return Math.min(maxAge.toSeconds(), validTo - now);
     }
 
 }
@@ -0,0 +1,65 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import java.util.Optional;
+
+/**
+ * Entity tag of a price lookup response: the catalogue version of the product it was resolved from, and
+ * the next tariff boundary after its application date, in epoch seconds, or {@link Long#MAX_VALUE} if
+ * there is none. Carrying the boundary lets a 304 Not Modified response state how long the answer stays
+ * fresh without resolving anything.
+ *
+ * @param version The version of the tariffs of the product.
+ * @param validTo The next tariff boundary after the application date, in epoch seconds.
+ */
+record PriceETag(long version, long validTo) {
+
+    /**
+     * Formats the tag as a quoted strong entity tag, both numbers in base 36.
+     *
+     * @return The value of the {@code ETag} header.
+     */
+    String format() {
+        return "\"" + Long.toString(version, 36) + "."
+                + (validTo == Long.MAX_VALUE ? "" : Long.toString(validTo, 36)) + "\"";
+    }
+
+    /**
+     * Finds, among the entity tags of an {@code If-None-Match} header, one of the given version. Tags are
+     * compared weakly, as the header requires; tags that are not price tags never match, nor does
+     * {@code *}.
+     *
+     * @param ifNoneMatch The value of the {@code If-None-Match} header.
+     * @param version     The current version of the tariffs of the product.
+     * @return The matching tag, or empty if the cached response is outdated.
+     */
+    static Optional<PriceETag> match(String ifNoneMatch, long version) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            PriceETag tag = parse(candidate.trim());
+            if (tag != null && tag.version() == version) {
+                return Optional.of(tag);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static PriceETag parse(String value) {
+        String tag = value.startsWith("W/") ? value.substring(2) : value;
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int separator = opaque.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            long version = Long.parseLong(opaque, 0, separator, 36);
+            long validTo = separator == opaque.length() - 1
+                    ? Long.MAX_VALUE
+                    : Long.parseLong(opaque, separator + 1, opaque.length(), 36);
+            return new PriceETag(version, validTo);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
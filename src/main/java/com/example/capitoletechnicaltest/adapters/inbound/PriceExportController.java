@@ -0,0 +1,204 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * REST controller exporting the applicable price of every product of a brand at a given instant, for
+ * product feeds.
+ * <p>
+ * The export is a single scan of the tariffs covering the instant, and each price is written as soon as
+ * its product is resolved: memory stays constant whatever the size of the catalogue, and a slow client
+ * slows the scan down through the blocking writes instead of letting the response pile up.
+ * <p>
+ * The scan holds a pooled connection and its read transaction for as long as the client takes to read
+ * the response. An export running past {@code prices.export.max-duration} is aborted, which truncates the
+ * response and releases the connection; a single write to a stalled client is bounded by the server's
+ * connection timeout.
+ */
+@RestController
+@RequestMapping("/api/prices")
+@Validated
+public class PriceExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceExportController.class);
+
+    /**
+     * Header line of CSV exports.
+     */
+    static final String CSV_HEADER = "BRAND_ID,PRODUCT_ID,PRICE_LIST,START_DATE,END_DATE,PRICE,CURR\n";
+
+    /**
+     * Size of the buffer in front of the response, so rows are not flushed one by one.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Service layer resolving the prices.
+     */
+    private final PriceServicePort priceServicePort;
+
+    /**
+     * Renders NDJSON rows, without going through Jackson's bean serializer.
+     */
+    private final PriceResponseJsonConverter jsonConverter;
+
+    /**
+     * Longest time an export may hold its connection before it is aborted.
+     */
+    private final Duration maxDuration;
+
+    /**
+     * Constructs a new {@link PriceExportController}.
+     *
+     * @param priceServicePort The service resolving the prices.
+     * @param objectMapper     The application's mapper, used for values outside the converter's fast path.
+     * @param maxDuration      The longest time an export may run before it is aborted.
+     */
+    public PriceExportController(PriceServicePort priceServicePort, ObjectMapper objectMapper,
+                                 @Value("${prices.export.max-duration:5m}") Duration maxDuration) {
+        this.priceServicePort = priceServicePort;
+        this.jsonConverter = new PriceResponseJsonConverter(objectMapper);
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Endpoint to export the applicable price of every product of a brand as newline-delimited JSON,
+     * one price per line in the format of {@code GET /api/prices}.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the prices are applicable, in ISO_LOCAL_DATE_TIME format.
+     * @return A {@link ResponseEntity} streaming the prices; empty if no product has one.
+     */
+    @Operation(
+            summary = "Export applicable prices as NDJSON",
+            description = "Streams the applicable price of every product of a brand at an instant."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Prices streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @Parameter(description = "Brand ID", example = "1")
+            @RequestParam() @NotNull(message = "Brand ID is required") Long brandId,
+
+            @Parameter(description = "Application Date in ISO format", example = "2020-06-14T10:00:00")
+            @RequestParam() @NotBlank(message = "Application Date is required") String applicationDate) {
+
+        return export(brandId, applicationDate, MediaType.APPLICATION_NDJSON, null, (output, price) -> {
+            output.write(jsonConverter.toJson(PriceResponseDTO.fromDomain(price)));
+            output.write('\n');
+        });
+    }
+
+    /**
+     * Endpoint to export the applicable price of every product of a brand as CSV, with the columns
+     * BRAND_ID, PRODUCT_ID, PRICE_LIST, START_DATE, END_DATE, PRICE and CURR after a header line.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the prices are applicable, in ISO_LOCAL_DATE_TIME format.
+     * @return A {@link ResponseEntity} streaming the prices; only the header if no product has one.
+     */
+    @Operation(
+            summary = "Export applicable prices as CSV",
+            description = "Streams the applicable price of every product of a brand at an instant."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Prices streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @GetMapping(value = "/export", produces = PriceIngestionController.TEXT_CSV)
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @Parameter(description = "Brand ID", example = "1")
+            @RequestParam() @NotNull(message = "Brand ID is required") Long brandId,
+
+            @Parameter(description = "Application Date in ISO format", example = "2020-06-14T10:00:00")
+            @RequestParam() @NotBlank(message = "Application Date is required") String applicationDate) {
+
+        return export(brandId, applicationDate, MediaType.parseMediaType(PriceIngestionController.TEXT_CSV),
+                CSV_HEADER, (output, price) -> output.write(csv(price)));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(Long brandId, String applicationDate, MediaType mediaType,
+                                                         String header, RowWriter writer) {
+        LocalDateTime dateTime = ApplicationDateParser.parse(applicationDate);
+        StreamingResponseBody body = response -> {
+            long start = System.nanoTime();
+            OutputStream output = new BufferedOutputStream(response, BUFFER_SIZE);
+            if (header != null) {
+                output.write(header.getBytes(StandardCharsets.US_ASCII));
+            }
+            long deadline = start + maxDuration.toNanos();
+            long rows = priceServicePort.exportPrices(brandId, dateTime, writer.to(output, () -> {
+                if (System.nanoTime() - deadline > 0) {
+                    log.warn("Aborted the export of brand {} at {} after {}", brandId, dateTime, maxDuration);
+                    throw new UncheckedIOException(new InterruptedIOException(
+                            "Export of brand " + brandId + " exceeded " + maxDuration));
+                }
+            }));
+            output.flush();
+            log.info("Exported {} prices of brand {} at {} in {} ms",
+                    rows, brandId, dateTime, (System.nanoTime() - start) / 1_000_000);
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    private static byte[] csv(Price price) {
+        return (price.getBrandId() + "," + price.getProductId() + "," + price.getPriceList() + ","
+                + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(price.getStartDate()) + ","
+                + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(price.getEndDate()) + ","
+                + price.getAmount().toPlainString() + "," + price.getCurr() + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a single row of an export.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(OutputStream output, Price price) throws IOException;
+
+        default Consumer<Price> to(OutputStream output, Runnable beforeEachRow) {
+            return price -> {
+                beforeEachRow.run();
+                try {
+                    write(output, price);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.PricePeriod;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for price histories.
+ * A history is streamed as newline-delimited JSON while the tariffs are read, so its size is not bounded
+ * by memory and the first periods are sent before the last tariffs are resolved.
+ */
+@RestController
+@RequestMapping("/api/prices")
+@Validated
+public class PriceHistoryController {
+
+    /**
+     * Service layer resolving the histories.
+     */
+    private final PriceServicePort priceServicePort;
+
+    /**
+     * Renders each period, without going through Jackson's bean serializer.
+     */
+    private final PriceResponseJsonConverter jsonConverter;
+
+    /**
+     * Constructs a new {@link PriceHistoryController}.
+     *
+     * @param priceServicePort The service resolving the histories.
+     * @param objectMapper     The application's mapper, used for values outside the converter's fast path.
+     */
+    public PriceHistoryController(PriceServicePort priceServicePort, ObjectMapper objectMapper) {
+        this.priceServicePort = priceServicePort;
+        this.jsonConverter = new PriceResponseJsonConverter(objectMapper);
+    }
+
+    /**
+     * Endpoint to retrieve the effective prices of a product over a date range, replacing one
+     * {@code GET /api/prices} call per instant. Each line of the response is a price in the format of
+     * {@code GET /api/prices}, whose start and end dates are those of the period during which it applies,
+     * clipped to the range. Instants without an applicable price are left out.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @param from      The start of the range, in ISO_LOCAL_DATE_TIME format.
+     * @param to        The end of the range, inclusive, in ISO_LOCAL_DATE_TIME format.
+     * @return A {@link ResponseEntity} streaming the periods in date order, or a 400 Bad Request status if
+     * the range ends before it starts.
+     */
+    @Operation(
+            summary = "Get price history",
+            description = "Streams the effective prices of a product over a date range as NDJSON."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "History streamed, empty if no price applies"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or range")
+    })
+    @GetMapping("/history")
+    public ResponseEntity<StreamingResponseBody> getPriceHistory(
+            @Parameter(description = "Brand ID", example = "1")
+            @RequestParam() @NotNull(message = "Brand ID is required") Long brandId,
+
+            @Parameter(description = "Product ID", example = "35455")
+            @RequestParam() @NotNull(message = "Product ID is required") Long productId,
+
+            @Parameter(description = "Start of the range in ISO format", example = "2020-06-14T00:00:00")
+            @RequestParam() @NotBlank(message = "Start of the range is required") String from,
+
+            @Parameter(description = "End of the range in ISO format, inclusive", example = "2020-06-16T23:59:59")
+            @RequestParam() @NotBlank(message = "End of the range is required") String to) {
+
+        LocalDateTime start = ApplicationDateParser.parse(from);
+        LocalDateTime end = ApplicationDateParser.parse(to);
+        if (end.isBefore(start)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = output -> priceServicePort.findPriceHistory(productId, brandId, start, end,
+                period -> write(output, period));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void write(OutputStream output, PricePeriod period) {
+        try {
+            output.write(jsonConverter.toJson(PriceResponseDTO.fromDomain(period)));
+            output.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceIngestionResult;
+import com.example.capitoletechnicaltest.ports.PriceIngestionServicePort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * REST controller for loading tariffs in bulk.
+ * The request body is streamed straight into the database: rows are decoded, validated and inserted
+ * in JDBC batches as they are read, and the whole request is stored in a single transaction.
+ */
+@RestController
+@RequestMapping("/api/prices")
+public class PriceIngestionController {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceIngestionController.class);
+
+    /**
+     * Media type of comma-separated bodies.
+     */
+    static final String TEXT_CSV = "text/csv";
+
+    /**
+     * Service layer validating and storing the tariffs.
+     */
+    private final PriceIngestionServicePort priceIngestionServicePort;
+
+    /**
+     * Mapper used to bind NDJSON rows.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new {@link PriceIngestionController}.
+     *
+     * @param priceIngestionServicePort The service validating and storing the tariffs.
+     * @param objectMapper              The mapper used to bind NDJSON rows.
+     */
+    public PriceIngestionController(PriceIngestionServicePort priceIngestionServicePort, ObjectMapper objectMapper) {
+        this.priceIngestionServicePort = priceIngestionServicePort;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Endpoint to load tariffs given as newline-delimited JSON objects with the fields brandId, productId,
+     * priceList, startDate, endDate, priority, amount and curr.
+     *
+     * @param body The request body.
+     * @return A {@link ResponseEntity} with the number of stored tariffs and the ingestion throughput,
+     * or a 400 Bad Request status naming the first invalid row, in which case nothing is stored.
+     * @throws IOException If the body cannot be read.
+     */
+    @Operation(
+            summary = "Load tariffs from NDJSON",
+            description = "Validates and stores newline-delimited JSON tariffs in a single transaction."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Every tariff was stored"),
+            @ApiResponse(responseCode = "400", description = "Invalid tariff, nothing was stored")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<PriceIngestionResponseDTO> ingestNdjson(InputStream body) throws IOException {
+        try (Reader reader = reader(body)) {
+            return ingest(PriceIngestionReader.ndjson(objectMapper, reader));
+        }
+    }
+
+    /**
+     * Endpoint to load tariffs given as CSV rows with the columns BRAND_ID, START_DATE, END_DATE,
+     * PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE and CURR, dates in ISO_LOCAL_DATE_TIME format.
+     * The header line is optional.
+     *
+     * @param body The request body.
+     * @return A {@link ResponseEntity} with the number of stored tariffs and the ingestion throughput,
+     * or a 400 Bad Request status naming the first invalid row, in which case nothing is stored.
+     * @throws IOException If the body cannot be read.
+     */
+    @Operation(
+            summary = "Load tariffs from CSV",
+            description = "Validates and stores CSV tariffs in a single transaction."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Every tariff was stored"),
+            @ApiResponse(responseCode = "400", description = "Invalid tariff, nothing was stored")
+    })
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV)
+    public ResponseEntity<PriceIngestionResponseDTO> ingestCsv(InputStream body) throws IOException {
+        try (Reader reader = reader(body)) {
+            return ingest(PriceIngestionReader.csv(reader));
+        }
+    }
+
+    private ResponseEntity<PriceIngestionResponseDTO> ingest(Stream<Price> prices) {
+        PriceIngestionResult result = priceIngestionServicePort.ingest(prices);
+        log.info("Ingested {} tariffs in {} ms ({} rows/s)",
+                result.rows(), result.duration().toMillis(), result.rowsPerSecond());
+        return ResponseEntity.ok(PriceIngestionResponseDTO.fromDomain(result));
+    }
+
+    private static Reader reader(InputStream body) {
+        return new InputStreamReader(body, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.InvalidPriceException;
+import com.example.capitoletechnicaltest.domain.Price;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily decodes the body of a bulk ingestion request into tariffs, one row at a time, so a request of
+ * any size is never held in memory. A malformed row fails with an {@link InvalidPriceException} naming
+ * its position, counted from 1 in input order like the domain validation.
+ */
+final class PriceIngestionReader {
+
+    /**
+     * Columns of a CSV row, in order. A first line equal to it, ignoring case, is skipped as a header.
+     */
+    static final String CSV_HEADER = "BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR";
+
+    private static final int CSV_COLUMNS = 8;
+
+    private PriceIngestionReader() {
+    }
+
+    /**
+     * Decodes newline-delimited JSON objects with the fields of {@link PriceIngestionRowDTO}.
+     *
+     * @param objectMapper The mapper used to bind each object.
+     * @param body         The request body.
+     * @return The tariffs, decoded as the stream is consumed.
+     * @throws IOException If the body cannot be read.
+     */
+    static Stream<Price> ndjson(ObjectMapper objectMapper, Reader body) throws IOException {
+        MappingIterator<PriceIngestionRowDTO> rows =
+                objectMapper.readerFor(PriceIngestionRowDTO.class).readValues(body);
+        return stream(new Iterator<>() {
+            private long row;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return rows.hasNextValue();
+                } catch (IOException ex) {
+                    throw invalid(row + 1, ex);
+                }
+            }
+
+            @Override
+            public Price next() {
+                row++;
+                try {
+                    return rows.nextValue().toDomain();
+                } catch (IOException ex) {
+                    throw invalid(row, ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Decodes comma-separated rows with the columns of {@link #CSV_HEADER}; dates are ISO local date-times.
+     *
+     * @param body The request body.
+     * @return The tariffs, decoded as the stream is consumed.
+     */
+    static Stream<Price> csv(Reader body) {
+        BufferedReader lines = new BufferedReader(body);
+        return stream(new Iterator<>() {
+            private long row;
+
+            private String line = readLine(true);
+
+            @Override
+            public boolean hasNext() {
+                return line != null;
+            }
+
+            @Override
+            public Price next() {
+                if (line == null) {
+                    throw new NoSuchElementException();
+                }
+                Price price = parse(++row, line);
+                line = readLine(false);
+                return price;
+            }
+
+            private String readLine(boolean first) {
+                try {
+                    String next = lines.readLine();
+                    while (next != null && (next.isBlank() || first && next.strip().equalsIgnoreCase(CSV_HEADER))) {
+                        next = lines.readLine();
+                        first = false;
+                    }
+                    return next;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        });
+    }
+
+    private static Price parse(long row, String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != CSV_COLUMNS) {
+            throw new InvalidPriceException(row, "expected " + CSV_COLUMNS + " columns, got " + columns.length);
+        }
+        try {
+            return new Price(null,
+                    Long.valueOf(columns[0].strip()),
+                    ApplicationDateParser.parse(columns[1].strip()),
+                    ApplicationDateParser.parse(columns[2].strip()),
+                    Integer.parseInt(columns[3].strip()),
+                    Long.valueOf(columns[4].strip()),
+                    Integer.parseInt(columns[5].strip()),
+                    new BigDecimal(columns[6].strip()),
+                    columns[7].strip());
+        } catch (RuntimeException ex) {
+            throw invalid(row, ex);
+        }
+    }
+
+    private static InvalidPriceException invalid(long row, Exception cause) {
+        return new InvalidPriceException(row, cause.getMessage());
+    }
+
+    private static Stream<Price> stream(Iterator<Price> prices) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prices, Spliterator.ORDERED), false);
+    }
+}
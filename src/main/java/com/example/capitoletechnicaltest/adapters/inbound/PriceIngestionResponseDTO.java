@@ -0,0 +1,53 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.PriceIngestionResult;
+
+/**
+ * Data Transfer Object for the outcome of a bulk ingestion request.
+ */
+public class PriceIngestionResponseDTO {
+    private long rows;
+    private long durationMs;
+    private long rowsPerSecond;
+
+    // Constructors
+    public PriceIngestionResponseDTO() {
+        // Empty constructor
+    }
+
+    public PriceIngestionResponseDTO(long rows, long durationMs, long rowsPerSecond) {
+        this.rows = rows;
+        this.durationMs = durationMs;
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    // Getters and Setters
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public static PriceIngestionResponseDTO fromDomain(PriceIngestionResult result) {
+        return new PriceIngestionResponseDTO(result.rows(), result.duration().toMillis(), result.rowsPerSecond());
+    }
+
+}
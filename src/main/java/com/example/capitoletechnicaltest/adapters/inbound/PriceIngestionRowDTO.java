@@ -0,0 +1,107 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a single tariff of a bulk ingestion request.
+ */
+public class PriceIngestionRowDTO {
+    private Long brandId;
+    private Long productId;
+    private int priceList;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private int priority;
+    private BigDecimal amount;
+    private String curr;
+
+    // Constructors
+    public PriceIngestionRowDTO() {
+        // Empty constructor
+    }
+
+    public PriceIngestionRowDTO(Long brandId, Long productId, int priceList, LocalDateTime startDate,
+            LocalDateTime endDate, int priority, BigDecimal amount, String curr) {
+        this.brandId = brandId;
+        this.productId = productId;
+        this.priceList = priceList;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.priority = priority;
+        this.amount = amount;
+        this.curr = curr;
+    }
+
+    // Getters and Setters
+    public Long getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(Long brandId) {
+        this.brandId = brandId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getPriceList() {
+        return priceList;
+    }
+
+    public void setPriceList(int priceList) {
+        this.priceList = priceList;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurr() {
+        return curr;
+    }
+
+    public void setCurr(String curr) {
+        this.curr = curr;
+    }
+
+    public Price toDomain() {
+        return new Price(null, brandId, startDate, endDate, priceList, productId, priority, amount, curr);
+    }
+
+}
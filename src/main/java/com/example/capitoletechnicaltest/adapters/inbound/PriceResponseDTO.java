@@ -1,6 +1,7 @@
 package com.example.capitoletechnicaltest.adapters.inbound;
 
 import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePeriod;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -89,4 +90,20 @@ public class PriceResponseDTO {
                 price.getEndDate());
     }
 
+    /**
+     * Builds the response of a period of a price history: the tariff's price over the period's dates.
+     *
+     * @param period The effective period.
+     * @return The response.
+     */
+    public static PriceResponseDTO fromDomain(PricePeriod period) {
+        Price price = period.price();
+        return new PriceResponseDTO(price.getProductId(),
+                price.getBrandId(),
+                price.getAmount(),
+                price.getCurr(),
+                period.startDate(),
+                period.endDate());
+    }
+
 }
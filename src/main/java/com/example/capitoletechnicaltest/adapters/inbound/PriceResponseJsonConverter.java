@@ -0,0 +1,278 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link PriceResponseDTO} responses as JSON without going through Jackson's bean serializer.
+ * <p>
+ * The JSON is laid out field by field into a byte buffer, in the property order and formats Jackson uses
+ * for the DTO: numbers as plain literals, amounts as {@link BigDecimal#toString()}, dates as
+ * ISO_LOCAL_DATE_TIME strings. The rendered bytes of amounts and currencies are cached. The output is
+ * byte-for-byte the one of the application's {@link ObjectMapper}, which is still used for the rare
+ * values the fast path does not cover: strings needing escapes or non-ASCII characters, and years
+ * outside 0000-9999. The layout is checked against the mapper on construction; if the mapper is
+ * configured differently (dates as timestamps, indentation, null exclusion...), every response goes
+ * through the mapper.
+ */
+public class PriceResponseJsonConverter extends AbstractHttpMessageConverter<PriceResponseDTO> {
+
+    /**
+     * Upper bound on each rendering cache, so arbitrary amounts cannot grow it without limit.
+     */
+    private static final int MAX_CACHED_RENDERINGS = 10_000;
+
+    private static final byte[] PRODUCT_ID = ascii("{\"productId\":");
+
+    private static final byte[] BRAND_ID = ascii(",\"brandId\":");
+
+    private static final byte[] AMOUNT = ascii(",\"amount\":");
+
+    private static final byte[] START_DATE = ascii(",\"startDate\":");
+
+    private static final byte[] END_DATE = ascii(",\"endDate\":");
+
+    private static final byte[] CURR = ascii(",\"curr\":");
+
+    private static final byte[] NULL = ascii("null");
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<BigDecimal, byte[]> amounts = new ConcurrentHashMap<>();
+
+    private final Map<String, byte[]> strings = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the hand-written layout matches the mapper's output.
+     */
+    private final boolean fastPath;
+
+    /**
+     * Constructs a new {@link PriceResponseJsonConverter}.
+     *
+     * @param objectMapper The application's mapper, used for values outside the fast path.
+     */
+    public PriceResponseJsonConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.fastPath = matchesMapper(new PriceResponseDTO(35455L, 1L, new BigDecimal("35.50"), "EUR",
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59)))
+                && matchesMapper(new PriceResponseDTO());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PriceResponseDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PriceResponseDTO readInternal(Class<? extends PriceResponseDTO> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PriceResponseDTO is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PriceResponseDTO response, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(toJson(response));
+    }
+
+    /**
+     * Renders the response as JSON.
+     *
+     * @param response The response to render.
+     * @return The JSON bytes, in UTF-8.
+     */
+    public byte[] toJson(PriceResponseDTO response) throws IOException {
+        byte[] curr = string(response.getCurr());
+        if (!fastPath || curr == null || !fastDate(response.getStartDate()) || !fastDate(response.getEndDate())) {
+            return objectMapper.writeValueAsBytes(response);
+        }
+        return write(response, curr);
+    }
+
+    private byte[] write(PriceResponseDTO response, byte[] curr) {
+        Buffer buffer = new Buffer();
+        buffer.write(PRODUCT_ID);
+        buffer.writeLong(response.getProductId());
+        buffer.write(BRAND_ID);
+        buffer.writeLong(response.getBrandId());
+        buffer.write(AMOUNT);
+        buffer.write(amount(response.getAmount()));
+        buffer.write(START_DATE);
+        buffer.writeDate(response.getStartDate());
+        buffer.write(END_DATE);
+        buffer.writeDate(response.getEndDate());
+        buffer.write(CURR);
+        buffer.write(curr);
+        buffer.write('}');
+        return buffer.toByteArray();
+    }
+
+    private boolean matchesMapper(PriceResponseDTO probe) {
+        try {
+            return Arrays.equals(objectMapper.writeValueAsBytes(probe), write(probe, string(probe.getCurr())));
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private byte[] amount(BigDecimal amount) {
+        if (amount == null) {
+            return NULL;
+        }
+        byte[] rendered = amounts.get(amount);
+        if (rendered == null) {
+            rendered = ascii(amount.toString());
+            if (amounts.size() < MAX_CACHED_RENDERINGS) {
+                amounts.put(amount, rendered);
+            }
+        }
+        return rendered;
+    }
+
+    /**
+     * Renders a string as a quoted JSON literal.
+     *
+     * @return The rendered literal, or {@code null} if the string needs escapes or is not ASCII.
+     */
+    private byte[] string(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] rendered = strings.get(value);
+        if (rendered == null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x20 || c >= 0x7f || c == '"' || c == '\\') {
+                    return null;
+                }
+            }
+            rendered = ascii('"' + value + '"');
+            if (strings.size() < MAX_CACHED_RENDERINGS) {
+                strings.put(value, rendered);
+            }
+        }
+        return rendered;
+    }
+
+    private static boolean fastDate(LocalDateTime date) {
+        return date == null || (date.getYear() >= 0 && date.getYear() <= 9999);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Growable byte buffer sized for a single response.
+     */
+    private static final class Buffer {
+
+        private byte[] bytes = new byte[192];
+
+        private int size;
+
+        void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        void writeLong(Long value) {
+            if (value == null) {
+                write(NULL);
+                return;
+            }
+            long v = value;
+            if (v < 0) {
+                if (v == Long.MIN_VALUE) {
+                    write(ascii(Long.toString(v)));
+                    return;
+                }
+                write('-');
+                v = -v;
+            }
+            int digits = 1;
+            for (long rest = v / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            ensure(digits);
+            for (int i = size + digits - 1; i >= size; i--) {
+                bytes[i] = (byte) ('0' + v % 10);
+                v /= 10;
+            }
+            size += digits;
+        }
+
+        /**
+         * Writes a quoted ISO_LOCAL_DATE_TIME date, whose year is known to be within 0000-9999.
+         */
+        void writeDate(LocalDateTime date) {
+            if (date == null) {
+                write(NULL);
+                return;
+            }
+            if (date.getNano() != 0) {
+                // Fractional seconds have a variable width: rare, so the formatter renders them
+                write('"');
+                write(ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(date)));
+                write('"');
+                return;
+            }
+            ensure(21);
+            bytes[size++] = '"';
+            pad(date.getYear(), 4);
+            bytes[size++] = '-';
+            pad(date.getMonthValue(), 2);
+            bytes[size++] = '-';
+            pad(date.getDayOfMonth(), 2);
+            bytes[size++] = 'T';
+            pad(date.getHour(), 2);
+            bytes[size++] = ':';
+            pad(date.getMinute(), 2);
+            bytes[size++] = ':';
+            pad(date.getSecond(), 2);
+            bytes[size++] = '"';
+        }
+
+        private void pad(int value, int width) {
+            for (int i = size + width - 1; i >= size; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size += width;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.example.capitoletechnicaltest.domain.PriceServiceImpl;
+import com.example.capitoletechnicaltest.infrastructure.GlobalExceptionHandler;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import com.example.capitoletechnicaltest.ports.ReactivePriceServicePort;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking variant of {@link PriceController}, backed by the {@link ReactivePriceServicePort}.
+ * Handlers return a {@link Mono} or a {@link Flux}, which Spring MVC subscribes to in async mode: the request
+ * thread goes back to the pool while the lookups are resolved, and the response is written when the results
+ * arrive. The lines of a stream are written by Spring MVC's task executor, never by the lookup executor.
+ */
+@RestController
+@RequestMapping("/api/reactive/prices")
+@Validated
+public class ReactivePriceController {
+
+    /**
+     * Largest number of results of a stream resolved ahead of the lines written to the client.
+     */
+    static final int STREAM_WINDOW = 256;
+
+    /**
+     * Service resolving the lookups without blocking.
+     */
+    private final ReactivePriceServicePort reactivePriceServicePort;
+
+    /**
+     * Timers and counters of the lookup path.
+     */
+    private final PriceLookupMetricsPort metrics;
+
+    /**
+     * Constructs a new {@link ReactivePriceController}.
+     *
+     * @param reactivePriceServicePort The service resolving the lookups without blocking.
+     * @param metrics                  The timers and counters of the lookup path.
+     */
+    public ReactivePriceController(ReactivePriceServicePort reactivePriceServicePort,
+                                   PriceLookupMetricsPort metrics) {
+        this.reactivePriceServicePort = reactivePriceServicePort;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Endpoint to retrieve the applicable price for a given product, brand, and application date, with
+     * the responses of {@code GET /api/prices}.
+     *
+     * @param brandId         The ID of the brand to filter by.
+     * @param productId       The ID of the product to filter by.
+     * @param applicationDate The date and time to check for applicable prices, in ISO_LOCAL_DATE_TIME format.
+     * @return A {@link Mono} of the applicable {@link PriceResponseDTO}, or of a 404 Not Found status with the
+     * error details if no price matches the criteria.
+     */
+    @Operation(
+            summary = "Get applicable price, non-blocking",
+            description = "Retrieves the applicable price for a product, brand, and application date, "
+                    + "without holding a request thread while it is resolved."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Price retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PriceResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "No applicable price found"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @GetMapping
+    public Mono<ResponseEntity<?>> getPrice(
+            @Parameter(description = "Brand ID", example = "1")
+            @RequestParam() @NotNull(message = "Brand ID is required") Long brandId,
+
+            @Parameter(description = "Product ID", example = "35455")
+            @RequestParam() @NotNull(message = "Product ID is required") Long productId,
+
+            @Parameter(description = "Application Date in ISO format",
+                    example = "2020-06-14T10:00:00")
+            @RequestParam() @NotBlank(message = "Application Date is required") String applicationDate) {
+
+        long start = System.nanoTime();
+        LocalDateTime dateTime = ApplicationDateParser.parse(applicationDate);
+        long parsed = System.nanoTime();
+        metrics.recordParse(parsed - start);
+
+        return reactivePriceServicePort.findPrice(productId, brandId, dateTime)
+                .doOnTerminate(() -> metrics.recordService(System.nanoTime() - parsed))
+                .map(this::toResponse);
+    }
+
+    /**
+     * Endpoint to stream the applicable prices of many products. The lookups are resolved as the client
+     * reads the response: Spring MVC requests a result only once the previous line is written, and at most
+     * {@value #STREAM_WINDOW} results are resolved ahead of it, so a slow client slows the lookups down
+     * instead of filling the memory.
+     *
+     * @param items The lookups to resolve, each with a brand ID, product ID and application date.
+     * @return A {@link ResponseEntity} streaming one {@link PriceBatchItemResponseDTO} per line, in request
+     * order, or a 400 Bad Request status if there is no lookup.
+     */
+    @Operation(
+            summary = "Stream applicable prices",
+            description = "Streams the applicable prices for a list of brand, product and application date "
+                    + "lookups as NDJSON, resolving them as the response is read."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Results streamed, see the status of each item"),
+            @ApiResponse(responseCode = "400", description = "Empty request")
+    })
+    @PostMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<PriceBatchItemResponseDTO>> streamPrices(
+            @RequestBody List<PriceBatchItemRequestDTO> items) {
+        if (items == null || items.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<PriceQuery> queries = items.stream()
+                .filter(PriceBatchItemRequestDTO::isComplete)
+                .map(PriceBatchItemRequestDTO::toDomain)
+                .toList();
+        Flux<PriceBatchItemResponseDTO> lines = Flux.defer(() -> {
+            StreamItems stream = new StreamItems(items);
+            return reactivePriceServicePort.findPrices(queries)
+                    .concatMapIterable(stream::lines, STREAM_WINDOW)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(stream.remaining())));
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(lines);
+    }
+
+    private ResponseEntity<?> toResponse(Optional<Price> price) {
+        if (price.isEmpty()) {
+            metrics.recordMiss();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(GlobalExceptionHandler.errorDetails(HttpStatus.NOT_FOUND,
+                            PriceServiceImpl.NO_APPLICABLE_PRICE));
+        }
+        metrics.recordHit();
+        return ResponseEntity.ok(PriceResponseDTO.fromDomain(price.get()));
+    }
+
+    /**
+     * Pairs the results of a stream with the items of its request. Incomplete items are not looked up,
+     * and are answered as 400 items in their place.
+     */
+    private final class StreamItems {
+
+        private final Iterator<PriceBatchItemRequestDTO> items;
+
+        StreamItems(List<PriceBatchItemRequestDTO> items) {
+            this.items = items.iterator();
+        }
+
+        /**
+         * Returns the lines of the incomplete items up to the next complete one, followed by the line of the
+         * complete one with its result.
+         *
+         * @param price The result of the next complete item.
+         * @return The lines, in request order.
+         */
+        List<PriceBatchItemResponseDTO> lines(Optional<Price> price) {
+            List<PriceBatchItemResponseDTO> lines = new ArrayList<>(1);
+            PriceBatchItemRequestDTO item = nextComplete(lines);
+            if (price.isPresent()) {
+                metrics.recordHit();
+                lines.add(PriceBatchItemResponseDTO.found(item, PriceResponseDTO.fromDomain(price.get())));
+            } else {
+                metrics.recordMiss();
+                lines.add(PriceBatchItemResponseDTO.notFound(item));
+            }
+            return lines;
+        }
+
+        /**
+         * Returns the lines of the incomplete items after the last complete one.
+         *
+         * @return The lines, in request order.
+         */
+        List<PriceBatchItemResponseDTO> remaining() {
+            List<PriceBatchItemResponseDTO> lines = new ArrayList<>();
+            nextComplete(lines);
+            return lines;
+        }
+
+        /**
+         * Adds the lines of the incomplete items up to the next complete one, and returns it.
+         *
+         * @return The next complete item, or {@code null} past the last one.
+         */
+        private PriceBatchItemRequestDTO nextComplete(List<PriceBatchItemResponseDTO> lines) {
+            while (items.hasNext()) {
+                PriceBatchItemRequestDTO item = items.next();
+                if (item.isComplete()) {
+                    return item;
+                }
+                metrics.recordInvalid();
+                lines.add(PriceBatchItemResponseDTO.invalid(item));
+            }
+            return null;
+        }
+    }
+
+}
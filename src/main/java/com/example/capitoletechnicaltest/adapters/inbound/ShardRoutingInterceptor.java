@@ -0,0 +1,156 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.infrastructure.PriceShards;
+import com.example.capitoletechnicaltest.infrastructure.ShardUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Routes the single-key lookups ({@code GET /api/prices}, {@code GET /api/prices/history} and
+ * {@code GET /api/reactive/prices}) of a sharded cluster: a lookup of a key owned by this node goes on to
+ * its controller, and a lookup of a key owned by another node is forwarded to it, and its response relayed
+ * as is, caching headers included.
+ * <p>
+ * Forwarded lookups carry the {@value #FORWARDED_HEADER} header and are always answered by the node
+ * receiving them, so that nodes with different rings during a rebalance never forward a lookup twice.
+ * Every routed response names the owning node in the {@value #SHARD_HEADER} header. Lookups without a
+ * valid brand and product ID are left to the controller, which rejects them.
+ */
+public class ShardRoutingInterceptor implements HandlerInterceptor, AutoCloseable {
+
+    /**
+     * Header marking a lookup forwarded by another node, holding the base URL of that node.
+     */
+    public static final String FORWARDED_HEADER = "X-Price-Shard-Forwarded";
+
+    /**
+     * Response header holding the base URL of the node owning the key.
+     */
+    public static final String SHARD_HEADER = "X-Price-Shard";
+
+    /**
+     * Request headers passed on to the owning node: the negotiated format, and the ETags of conditional lookups.
+     */
+    private static final List<String> FORWARDED_REQUEST_HEADERS =
+            List.of(HttpHeaders.ACCEPT, HttpHeaders.IF_NONE_MATCH);
+
+    /**
+     * Response headers of the owning node relayed with its answer, so that it is cached as if served directly.
+     */
+    private static final List<String> RELAYED_RESPONSE_HEADERS =
+            List.of(HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG);
+
+    private final PriceShards shards;
+
+    private final Duration timeout;
+
+    private final HttpClient httpClient;
+
+    /**
+     * Constructs a new {@link ShardRoutingInterceptor}.
+     *
+     * @param shards  The membership of this node, routing each key to its owner.
+     * @param timeout The time allowed to connect to the owning node, and then for it to answer.
+     */
+    public ShardRoutingInterceptor(PriceShards shards, Duration timeout) {
+        this.shards = shards;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Lets the lookup through if this node owns its key, and forwards it to the owning node otherwise.
+     *
+     * @return {@code true} if the lookup is answered by this node.
+     * @throws ShardUnavailableException If the owning node cannot be reached or does not answer in time.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!"GET".equals(request.getMethod()) || request.getHeader(FORWARDED_HEADER) != null) {
+            return true;
+        }
+        Long brandId = parseId(request.getParameter("brandId"));
+        Long productId = parseId(request.getParameter("productId"));
+        if (brandId == null || productId == null) {
+            return true;
+        }
+        String owner = shards.route(brandId, productId);
+        response.setHeader(SHARD_HEADER, owner);
+        if (owner.equals(shards.self())) {
+            return true;
+        }
+        forward(owner, request, response);
+        return false;
+    }
+
+    private void forward(String owner, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String query = request.getQueryString();
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(
+                        URI.create(owner + request.getRequestURI() + (query != null ? "?" + query : "")))
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, shards.self())
+                .GET();
+        for (String header : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                forwarded.header(header, value);
+            }
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<InputStream> answer;
+        try {
+            answer = httpClient.send(forwarded.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException ex) {
+            throw new ShardUnavailableException(owner, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ShardUnavailableException(owner, ex);
+        }
+        response.setStatus(answer.statusCode());
+        answer.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        for (String header : RELAYED_RESPONSE_HEADERS) {
+            answer.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        // Relays the body as it arrives, which keeps streamed histories streamed
+        try (InputStream body = answer.body()) {
+            body.transferTo(response.getOutputStream());
+        }
+        shards.recordForward(owner, System.nanoTime() - start);
+    }
+
+    private static Long parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Releases the connections to the other nodes.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.ports.PriceChangeListener;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link PriceRepositoryPort} adapter answering lookups from an off-heap {@link ColumnarPriceStore}.
+ * The PRICES table is loaded at startup and on every reload into a new store, which keeps tens of
+ * millions of tariffs out of the Java heap and away from the garbage collector.
+ * <p>
+ * With {@code prices.catalogue-file.path} set, the store is instead memory-mapped from a
+ * {@link PriceCatalogueFile}, and lookups read straight from it: startup takes the time of checking the
+ * file header and indexes rather than of a table scan, or of a checksum with
+ * {@code prices.catalogue-file.verify-checksum}.
+ * A reload maps the file again, to pick up a newly exported one.
+ * <p>
+ * The store is immutable: changes from the PRICES change feed are kept on-heap, as one
+ * {@link PriceIntervalTree} per changed key that takes precedence over the store. A reload from the
+ * database folds them in and drops them; a reload from the file keeps them, since the file may have been
+ * exported before they were made. Enabled with {@code prices.lookup.mode=columnar}.
+ */
+@Component
+@ConditionalOnProperty(name = "prices.lookup.mode", havingValue = "columnar")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ColumnarPriceRepositoryAdapter
+        implements PriceRepositoryPort, ReloadablePriceCatalogue, PriceChangeListener {
+
+    /**
+     * A loaded store and the keys changed since it was loaded, published together.
+     */
+    private record Catalogue(ColumnarPriceStore store, Map<PriceKey, PriceIntervalTree> changed) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarPriceRepositoryAdapter.class);
+
+    /**
+     * Source of the tariffs loaded into the store.
+     */
+    private final PriceCatalogueSource source;
+
+    /**
+     * File the store is mapped from, or {@code null} to read it from the source.
+     */
+    private final Path catalogueFile;
+
+    /**
+     * Whether the checksum of the catalogue file is verified every time it is mapped.
+     */
+    private final boolean verifyChecksum;
+
+    private volatile Catalogue catalogue =
+            new Catalogue(ColumnarPriceStore.builder().build(), new ConcurrentHashMap<>());
+
+    private volatile Snapshot snapshot = new Snapshot(0, 0);
+
+    /**
+     * Constructs a new {@link ColumnarPriceRepositoryAdapter}.
+     *
+     * @param source The source the store is loaded from.
+     */
+    public ColumnarPriceRepositoryAdapter(PriceCatalogueSource source) {
+        this(source, "", false);
+    }
+
+    /**
+     * Constructs a new {@link ColumnarPriceRepositoryAdapter}, mapping its store from a catalogue file if
+     * one is given.
+     *
+     * @param source         The source the store is loaded from when no file is given.
+     * @param catalogueFile  The catalogue file to map, or an empty string to read the source.
+     * @param verifyChecksum Whether to verify the checksum of the file every time it is mapped, which
+     *                       the export already did once.
+     */
+    @Autowired
+    public ColumnarPriceRepositoryAdapter(PriceCatalogueSource source,
+                                          @Value("${prices.catalogue-file.path:}") String catalogueFile,
+                                          @Value("${prices.catalogue-file.verify-checksum:false}")
+                                          boolean verifyChecksum) {
+        this.source = source;
+        this.catalogueFile = catalogueFile.isBlank() ? null : Path.of(catalogueFile);
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    /**
+     * Loads every tariff from the database, or from the catalogue file, into the store.
+     */
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Reads every tariff into a new store and swaps it in with no changed key, or maps the catalogue file
+     * again and swaps it in with the keys changed so far, which the file may not hold.
+     *
+     * @return The size of the new store.
+     * @throws UncheckedIOException If the catalogue file cannot be mapped or fails its checks.
+     */
+    @Override
+    public synchronized Snapshot reload() {
+        ColumnarPriceStore store;
+        Map<PriceKey, PriceIntervalTree> changed;
+        if (catalogueFile != null) {
+            store = map(catalogueFile, verifyChecksum);
+            changed = catalogue.changed();
+        } else {
+            ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder();
+            source.forEach(builder::add);
+            store = builder.build();
+            changed = new ConcurrentHashMap<>();
+        }
+        this.catalogue = new Catalogue(store, changed);
+        this.snapshot = new Snapshot(store.size(), store.keyCount());
+        return snapshot;
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private static ColumnarPriceStore map(Path file, boolean verifyChecksum) {
+        long start = System.nanoTime();
+        try {
+            ColumnarPriceStore store = PriceCatalogueFile.map(file, verifyChecksum);
+            log.info("Mapped {} tariffs from {} in {} ms", store.size(), file,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return store;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the off-heap memory, direct or mapped, held by the current store.
+     *
+     * @return The off-heap footprint, in bytes.
+     */
+    public long offHeapBytes() {
+        return catalogue.store().offHeapBytes();
+    }
+
+    /**
+     * Replaces the tariffs of the keys the changed tariff left or joined, among those its source includes,
+     * with an on-heap tree. Waits for a running reload, so the change is applied on top of the new store.
+     *
+     * @param change The change to apply.
+     */
+    @Override
+    public synchronized void onPriceChange(PriceChange change) {
+        if (change.leftKey() && source.includes(change.key())) {
+            patch(change.key(), change.priceId(), null);
+        }
+        if (change.price() != null && source.includes(PriceKey.of(change.price()))) {
+            patch(PriceKey.of(change.price()), change.priceId(), change.price());
+        }
+    }
+
+    private void patch(PriceKey key, long priceId, Price replacement) {
+        Catalogue current = catalogue;
+        PriceIntervalTree tree = current.changed().get(key);
+        List<Price> prices = new ArrayList<>();
+        (tree != null ? tree.prices() : current.store().prices(key.brandId(), key.productId())).stream()
+                .filter(price -> price.getId() == null || price.getId() != priceId)
+                .forEach(prices::add);
+        if (replacement != null) {
+            prices.add(replacement);
+        }
+        // Kept even when empty, so that a key whose tariffs were all deleted stops matching the store
+        current.changed().put(key, PriceIntervalTree.of(prices));
+    }
+
+    /**
+     * Retrieves the price with the highest priority covering the application date from the store, or
+     * from the changes applied to its key since the store was loaded.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return An {@link Optional} containing the applicable {@link Price}, or empty if none matches.
+     */
+    @Override
+    public Optional<Price> findPriceByProductBrandAndDate(Long productId, Long brandId, LocalDateTime applicationDate) {
+        Catalogue current = catalogue;
+        long instant = PricePrecedence.toEpochSecond(applicationDate);
+        PriceIntervalTree tree = changed(current, brandId, productId);
+        if (tree != null) {
+            return Optional.ofNullable(tree.findHighestPriority(instant));
+        }
+        return Optional.ofNullable(current.store().priceAt(brandId, productId, instant));
+    }
+
+    /**
+     * Finds the next instant at which the applicable price may change from the store, or from the
+     * changes applied to its key since the store was loaded.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next boundary, or empty if no tariff of the product starts or ends later.
+     */
+    @Override
+    public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate) {
+        Catalogue current = catalogue;
+        long instant = PricePrecedence.toEpochSecond(applicationDate);
+        PriceIntervalTree tree = changed(current, brandId, productId);
+        long next = tree != null
+                ? tree.nextBoundary(instant)
+                : current.store().nextBoundary(brandId, productId, instant);
+        return next == Long.MAX_VALUE ? Optional.empty() : Optional.of(PricePrecedence.fromEpochSecond(next));
+    }
+
+    private static PriceIntervalTree changed(Catalogue catalogue, long brandId, long productId) {
+        Map<PriceKey, PriceIntervalTree> changed = catalogue.changed();
+        return changed.isEmpty() ? null : changed.get(new PriceKey(brandId, productId));
+    }
+
+    /**
+     * Hands over the tariffs of the product overlapping the range from the store, or from the changes
+     * applied to its key since the store was loaded.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the tariffs, in start-date order.
+     */
+    @Override
+    public void forEachPrice(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                             Consumer<? super Price> action) {
+        Catalogue current = catalogue;
+        long first = PricePrecedence.toEpochSecond(from);
+        long last = PricePrecedence.toEpochSecond(to);
+        PriceIntervalTree tree = changed(current, brandId, productId);
+        if (tree != null) {
+            tree.forEach(first, last, action);
+        } else {
+            current.store().forEachPrice(brandId, productId, first, last, action);
+        }
+    }
+
+    /**
+     * Hands over the winning tariff of every product of the brand at the application date: from the
+     * store, except for the keys changed since it was loaded, which are read from their trees.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the tariffs must cover.
+     * @param action          The action receiving one tariff per product.
+     */
+    @Override
+    public void forEachPriceAt(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+        Catalogue current = catalogue;
+        long instant = PricePrecedence.toEpochSecond(applicationDate);
+        Map<PriceKey, PriceIntervalTree> changed = current.changed();
+        current.store().forEachPriceAt(brandId, instant, price -> {
+            if (changed.isEmpty() || !changed.containsKey(PriceKey.of(price))) {
+                action.accept(price);
+            }
+        });
+        changed.forEach((key, tree) -> {
+            Price price = key.brandId() == brandId ? tree.findHighestPriority(instant) : null;
+            if (price != null) {
+                action.accept(price);
+            }
+        });
+    }
+}
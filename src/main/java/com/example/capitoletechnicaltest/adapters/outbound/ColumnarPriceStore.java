@@ -0,0 +1,587 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable columnar store of a whole tariff catalogue, held off-heap.
+ * <p>
+ * Each field is a column in its own direct buffer, or in its own region of a memory-mapped
+ * {@link PriceCatalogueFile}, so the catalogue costs {@value #ROW_BYTES} bytes per tariff outside the
+ * Java heap and a few objects on it, instead of a {@link Price} entity with its boxed IDs, dates, amount
+ * and currency per tariff. Brand and product IDs are stored as ints, dates as epoch seconds, amounts as
+ * unscaled longs at the {@value #AMOUNT_SCALE}-digit scale of the PRICE column, and currencies as codes
+ * into a small dictionary.
+ * <p>
+ * Rows are sorted by (brandId, productId) and then by start date. A lookup binary-searches the key
+ * column, then scans the tariffs of that key in start-date order; a {@link Price} is only built for the
+ * winning row.
+ */
+public final class ColumnarPriceStore {
+
+    /**
+     * Off-heap bytes per tariff: ID, start, end and amount as longs, priority and price list as ints,
+     * and the currency as a short.
+     */
+    public static final int ROW_BYTES = 4 * Long.BYTES + 2 * Integer.BYTES + Short.BYTES;
+
+    /**
+     * Number of decimal digits of the stored amounts, the scale of the PRICE column.
+     */
+    public static final int AMOUNT_SCALE = 2;
+
+    /**
+     * Columns of the store, in file order. Each one is a little-endian buffer of fixed-width entries,
+     * one per key or one per tariff.
+     */
+    enum Column {
+        /**
+         * Sorted keys, each a brand ID in the high half and a product ID in the low half.
+         */
+        KEYS(Long.BYTES),
+        /**
+         * First row of each key, followed by the row count that closes the last key.
+         */
+        KEY_OFFSETS(Integer.BYTES),
+        IDS(Long.BYTES),
+        STARTS(Long.BYTES),
+        /**
+         * Last second covered by each tariff; end dates are inclusive.
+         */
+        ENDS(Long.BYTES),
+        AMOUNTS(Long.BYTES),
+        PRIORITIES(Integer.BYTES),
+        PRICE_LISTS(Integer.BYTES),
+        CURRENCIES(Short.BYTES);
+
+        private final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+
+        /**
+         * Returns the length of the column for a store of the given size.
+         *
+         * @param size     The number of tariffs.
+         * @param keyCount The number of keys.
+         * @return The column length, in bytes.
+         */
+        long length(int size, int keyCount) {
+            long entries = switch (this) {
+                case KEYS -> keyCount;
+                case KEY_OFFSETS -> keyCount + 1L;
+                default -> size;
+            };
+            return entries * width;
+        }
+    }
+
+    private final ByteBuffer[] columns;
+
+    private final LongBuffer keys;
+
+    private final IntBuffer keyOffsets;
+
+    private final LongBuffer ids;
+
+    private final LongBuffer starts;
+
+    private final LongBuffer ends;
+
+    private final LongBuffer amounts;
+
+    private final IntBuffer priorities;
+
+    private final IntBuffer priceLists;
+
+    private final ShortBuffer currencies;
+
+    /**
+     * Currency codes by dictionary code.
+     */
+    private final String[] currencyCodes;
+
+    private final int size;
+
+    private final int keyCount;
+
+    /**
+     * Wraps columns laid out as described by {@link Column}, whether allocated or mapped from a file.
+     *
+     * @param size          The number of tariffs.
+     * @param keyCount      The number of keys.
+     * @param currencyCodes The currency codes by dictionary code.
+     * @param columns       The columns, by {@link Column} ordinal, positioned at their first entry.
+     */
+    ColumnarPriceStore(int size, int keyCount, String[] currencyCodes, ByteBuffer[] columns) {
+        this.size = size;
+        this.keyCount = keyCount;
+        this.currencyCodes = currencyCodes;
+        this.columns = columns;
+        this.keys = column(Column.KEYS).asLongBuffer();
+        this.keyOffsets = column(Column.KEY_OFFSETS).asIntBuffer();
+        this.ids = column(Column.IDS).asLongBuffer();
+        this.starts = column(Column.STARTS).asLongBuffer();
+        this.ends = column(Column.ENDS).asLongBuffer();
+        this.amounts = column(Column.AMOUNTS).asLongBuffer();
+        this.priorities = column(Column.PRIORITIES).asIntBuffer();
+        this.priceLists = column(Column.PRICE_LISTS).asIntBuffer();
+        this.currencies = column(Column.CURRENCIES).asShortBuffer();
+    }
+
+    /**
+     * Creates a builder for a new store.
+     *
+     * @return An empty builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Finds the tariff with the highest precedence covering the given instant.
+     *
+     * @param brandId     The ID of the brand.
+     * @param productId   The ID of the product.
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The winning price, or {@code null} if no tariff of the key covers the instant.
+     */
+    public Price priceAt(long brandId, long productId, long epochSecond) {
+        int key = keyIndex(brandId, productId);
+        if (key < 0) {
+            return null;
+        }
+        int best = winner(key, epochSecond);
+        return best < 0 ? null : price(best, brandId, productId);
+    }
+
+    /**
+     * Hands over the winning tariff of every product of a brand at the given instant, in product order.
+     * The products of a brand are contiguous in the key column, so they are found with a single binary
+     * search.
+     *
+     * @param brandId     The ID of the brand.
+     * @param epochSecond The instant, in epoch seconds.
+     * @param action      The action receiving one tariff per product with a covering tariff.
+     */
+    public void forEachPriceAt(long brandId, long epochSecond, Consumer<? super Price> action) {
+        if (brandId != (int) brandId) {
+            return;
+        }
+        int brand = (int) brandId;
+        for (int key = lowerBound(pack(brand, 0)); key < keyCount && (int) (keys.get(key) >>> 32) == brand; key++) {
+            int best = winner(key, epochSecond);
+            if (best >= 0) {
+                action.accept(price(best, brandId, (int) keys.get(key)));
+            }
+        }
+    }
+
+    /**
+     * Finds the first instant after the given one at which the winning tariff may change: the next
+     * tariff start, or the second following the end of a tariff still active.
+     *
+     * @param brandId     The ID of the brand.
+     * @param productId   The ID of the product.
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The next boundary in epoch seconds, or {@link Long#MAX_VALUE} if there is none.
+     */
+    public long nextBoundary(long brandId, long productId, long epochSecond) {
+        int key = keyIndex(brandId, productId);
+        if (key < 0) {
+            return Long.MAX_VALUE;
+        }
+        long next = Long.MAX_VALUE;
+        for (int row = keyOffsets.get(key), end = keyOffsets.get(key + 1); row < end; row++) {
+            long start = starts.get(row);
+            if (start > epochSecond) {
+                // Later tariffs start even later and end after this start
+                return Math.min(next, start);
+            }
+            long last = ends.get(row);
+            if (last >= epochSecond && last + 1 < next) {
+                next = last + 1;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns the tariffs of a key.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @return The tariffs, in start-date order; empty if the key has none.
+     */
+    public List<Price> prices(long brandId, long productId) {
+        int key = keyIndex(brandId, productId);
+        if (key < 0) {
+            return List.of();
+        }
+        int first = keyOffsets.get(key);
+        int end = keyOffsets.get(key + 1);
+        List<Price> prices = new ArrayList<>(end - first);
+        for (int row = first; row < end; row++) {
+            prices.add(price(row, brandId, productId));
+        }
+        return prices;
+    }
+
+    /**
+     * Hands over the tariffs of a key whose date range overlaps the given one. A {@link Price} is only
+     * built for those tariffs.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @param from      The start of the range, in epoch seconds.
+     * @param to        The end of the range, inclusive, in epoch seconds.
+     * @param action    The action receiving the tariffs, in start-date order.
+     */
+    public void forEachPrice(long brandId, long productId, long from, long to, Consumer<? super Price> action) {
+        int key = keyIndex(brandId, productId);
+        if (key < 0) {
+            return;
+        }
+        for (int row = keyOffsets.get(key), end = keyOffsets.get(key + 1); row < end && starts.get(row) <= to; row++) {
+            if (ends.get(row) >= from) {
+                action.accept(price(row, brandId, productId));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tariffs held by the store.
+     *
+     * @return The tariff count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of (brandId, productId) keys held by the store.
+     *
+     * @return The key count.
+     */
+    public int keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Returns the memory held by the columns outside the heap, direct or mapped from a file.
+     *
+     * @return The off-heap footprint, in bytes.
+     */
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (ByteBuffer column : columns) {
+            bytes += column.remaining();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the currency codes, by dictionary code.
+     *
+     * @return A copy of the currency dictionary.
+     */
+    String[] currencyCodes() {
+        return currencyCodes.clone();
+    }
+
+    /**
+     * Returns a read-only view of a column, positioned at its first entry.
+     *
+     * @param column The column.
+     * @return The column content.
+     */
+    ByteBuffer column(Column column) {
+        return columns[column.ordinal()].asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private int keyIndex(long brandId, long productId) {
+        if (brandId != (int) brandId || productId != (int) productId) {
+            return -1;
+        }
+        long key = pack((int) brandId, (int) productId);
+        int index = lowerBound(key);
+        return index < keyCount && keys.get(index) == key ? index : -1;
+    }
+
+    /**
+     * Finds the first key not lower than the given one.
+     *
+     * @return The key index, or {@code keyCount} if every key is lower.
+     */
+    private int lowerBound(long key) {
+        int lo = 0;
+        int hi = keyCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys.get(mid) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Finds the row of the tariff of a key with the highest precedence covering the instant.
+     *
+     * @return The row, or {@code -1} if no tariff of the key covers the instant.
+     */
+    private int winner(int key, long epochSecond) {
+        int best = -1;
+        for (int row = keyOffsets.get(key), end = keyOffsets.get(key + 1); row < end; row++) {
+            if (starts.get(row) > epochSecond) {
+                break;
+            }
+            if (ends.get(row) >= epochSecond && outranks(row, best)) {
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Same order as {@link PricePrecedence#COMPARATOR}: priority, then start date, then price list.
+     */
+    private boolean outranks(int row, int best) {
+        if (best < 0) {
+            return true;
+        }
+        int byPriority = Integer.compare(priorities.get(row), priorities.get(best));
+        if (byPriority != 0) {
+            return byPriority > 0;
+        }
+        int byStart = Long.compare(starts.get(row), starts.get(best));
+        if (byStart != 0) {
+            return byStart > 0;
+        }
+        return priceLists.get(row) > priceLists.get(best);
+    }
+
+    private Price price(int row, long brandId, long productId) {
+        return new Price(ids.get(row), brandId,
+                PricePrecedence.fromEpochSecond(starts.get(row)),
+                PricePrecedence.fromEpochSecond(ends.get(row)),
+                priceLists.get(row), productId, priorities.get(row),
+                BigDecimal.valueOf(amounts.get(row), AMOUNT_SCALE),
+                currencyCodes[currencies.get(row)]);
+    }
+
+    private static long pack(int brandId, int productId) {
+        return ((long) brandId << 32) | (productId & 0xFFFF_FFFFL);
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Column of " + bytes + " bytes exceeds the size of a direct buffer");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Collects tariffs into primitive arrays, then sorts them into a new {@link ColumnarPriceStore}.
+     * Not thread-safe; the arrays are released once the store is built.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Map<String, Short> currencyDictionary = new HashMap<>();
+
+        private final List<String> currencyCodes = new ArrayList<>();
+
+        private int size;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+
+        private long[] starts = new long[INITIAL_CAPACITY];
+
+        private long[] ends = new long[INITIAL_CAPACITY];
+
+        private long[] amounts = new long[INITIAL_CAPACITY];
+
+        private int[] priorities = new int[INITIAL_CAPACITY];
+
+        private int[] priceLists = new int[INITIAL_CAPACITY];
+
+        private short[] currencies = new short[INITIAL_CAPACITY];
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a tariff.
+         *
+         * @param price The tariff to add.
+         * @return This builder.
+         * @throws IllegalArgumentException If its IDs do not fit in an int or its amount has more than
+         *                                  {@value #AMOUNT_SCALE} decimals.
+         */
+        public Builder add(Price price) {
+            if (size == keys.length) {
+                grow();
+            }
+            keys[size] = pack(toInt(price.getBrandId(), "brandId"), toInt(price.getProductId(), "productId"));
+            ids[size] = price.getId() == null ? 0 : price.getId();
+            starts[size] = PricePrecedence.toEpochSecond(price.getStartDate());
+            ends[size] = PricePrecedence.toEpochSecond(price.getEndDate());
+            amounts[size] = unscaled(price.getAmount());
+            priorities[size] = price.getPriority();
+            priceLists[size] = price.getPriceList();
+            currencies[size] = currencyCode(price.getCurr());
+            size++;
+            return this;
+        }
+
+        /**
+         * Sorts the added tariffs by key and start date and copies them off-heap.
+         *
+         * @return The new store.
+         */
+        public ColumnarPriceStore build() {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            sort(order);
+            ColumnarPriceStore store = copy(order);
+            keys = ids = starts = ends = amounts = null;
+            priorities = priceLists = null;
+            currencies = null;
+            return store;
+        }
+
+        /**
+         * Copies the rows off-heap in the given order, starting a key whenever it changes.
+         */
+        private ColumnarPriceStore copy(int[] order) {
+            int keyCount = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || keys[order[i]] != keys[order[i - 1]]) {
+                    keyCount++;
+                }
+            }
+            ByteBuffer[] columns = new ByteBuffer[Column.values().length];
+            for (Column column : Column.values()) {
+                columns[column.ordinal()] = allocate(column.length(size, keyCount));
+            }
+            LongBuffer keyColumn = columns[Column.KEYS.ordinal()].asLongBuffer();
+            IntBuffer keyOffsetColumn = columns[Column.KEY_OFFSETS.ordinal()].asIntBuffer();
+            LongBuffer idColumn = columns[Column.IDS.ordinal()].asLongBuffer();
+            LongBuffer startColumn = columns[Column.STARTS.ordinal()].asLongBuffer();
+            LongBuffer endColumn = columns[Column.ENDS.ordinal()].asLongBuffer();
+            LongBuffer amountColumn = columns[Column.AMOUNTS.ordinal()].asLongBuffer();
+            IntBuffer priorityColumn = columns[Column.PRIORITIES.ordinal()].asIntBuffer();
+            IntBuffer priceListColumn = columns[Column.PRICE_LISTS.ordinal()].asIntBuffer();
+            ShortBuffer currencyColumn = columns[Column.CURRENCIES.ordinal()].asShortBuffer();
+
+            int key = 0;
+            for (int row = 0; row < size; row++) {
+                int source = order[row];
+                if (row == 0 || keys[source] != keys[order[row - 1]]) {
+                    keyColumn.put(key, keys[source]);
+                    keyOffsetColumn.put(key++, row);
+                }
+                idColumn.put(row, ids[source]);
+                startColumn.put(row, starts[source]);
+                endColumn.put(row, ends[source]);
+                amountColumn.put(row, amounts[source]);
+                priorityColumn.put(row, priorities[source]);
+                priceListColumn.put(row, priceLists[source]);
+                currencyColumn.put(row, currencies[source]);
+            }
+            keyOffsetColumn.put(keyCount, size);
+            return new ColumnarPriceStore(size, keyCount, currencyCodes.toArray(new String[0]), columns);
+        }
+
+        private void grow() {
+            int capacity = keys.length + (keys.length >> 1);
+            keys = Arrays.copyOf(keys, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            priceLists = Arrays.copyOf(priceLists, capacity);
+            currencies = Arrays.copyOf(currencies, capacity);
+        }
+
+        private short currencyCode(String currency) {
+            return currencyDictionary.computeIfAbsent(currency, code -> {
+                if (currencyCodes.size() > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many distinct currencies");
+                }
+                currencyCodes.add(code);
+                return (short) (currencyCodes.size() - 1);
+            });
+        }
+
+        private static int toInt(Long id, String field) {
+            if (id != (int) id.longValue()) {
+                throw new IllegalArgumentException(field + " " + id + " does not fit in an int");
+            }
+            return (int) id.longValue();
+        }
+
+        private static long unscaled(BigDecimal amount) {
+            try {
+                return amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException("Amount " + amount + " cannot be stored with "
+                        + AMOUNT_SCALE + " decimals", ex);
+            }
+        }
+
+        /**
+         * Stable merge sort of row indexes by key, then start date, without boxing.
+         */
+        private void sort(int[] order) {
+            int[] buffer = new int[order.length];
+            for (int width = 1; width < order.length; width <<= 1) {
+                for (int lo = 0; lo < order.length - width; lo += width << 1) {
+                    merge(order, buffer, lo, lo + width, Math.min(lo + (width << 1), order.length));
+                }
+            }
+        }
+
+        private void merge(int[] order, int[] buffer, int lo, int mid, int hi) {
+            System.arraycopy(order, lo, buffer, lo, hi - lo);
+            int left = lo;
+            int right = mid;
+            for (int i = lo; i < hi; i++) {
+                if (right >= hi || left < mid && compare(buffer[left], buffer[right]) <= 0) {
+                    order[i] = buffer[left++];
+                } else {
+                    order[i] = buffer[right++];
+                }
+            }
+        }
+
+        private int compare(int a, int b) {
+            int byKey = Long.compare(keys[a], keys[b]);
+            return byKey != 0 ? byKey : Long.compare(starts[a], starts[b]);
+        }
+    }
+}
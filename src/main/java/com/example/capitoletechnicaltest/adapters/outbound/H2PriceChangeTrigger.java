@@ -0,0 +1,83 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * H2 row trigger recording every insert, update and delete on PRICES into the PRICE_CHANGES table, in
+ * the same transaction as the change: a change is in the feed if and only if it is committed.
+ * Installed with {@link #CREATE_SQL}, after {@link #useClock} if the changes are not stamped by the system clock.
+ */
+public class H2PriceChangeTrigger implements Trigger {
+
+    /**
+     * Installs the trigger on PRICES, unless it already exists.
+     */
+    public static final String CREATE_SQL = "CREATE TRIGGER IF NOT EXISTS PRICES_CHANGE_FEED "
+            + "AFTER INSERT, UPDATE, DELETE ON PRICES FOR EACH ROW CALL '" + H2PriceChangeTrigger.class.getName() + "'";
+
+    private static final String INSERT_SQL = "INSERT INTO PRICE_CHANGES "
+            + "(OP, PRICE_ID, BRAND_ID, PRODUCT_ID, CHANGED_AT) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Clock of the CHANGED_AT timestamps, shared by all the triggers since H2 instantiates them itself.
+     */
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private int idColumn;
+
+    private int brandIdColumn;
+
+    private int productIdColumn;
+
+    /**
+     * Sets the clock the changes are stamped with, which should be the clock of the {@link PriceChangePoller}
+     * measuring their delivery lag and retention.
+     *
+     * @param changeClock The clock of the CHANGED_AT timestamps.
+     */
+    public static void useClock(Clock changeClock) {
+        clock = changeClock;
+    }
+
+    /**
+     * Resolves the positions of the recorded columns in the rows handed to {@link #fire}.
+     */
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before,
+                     int type) throws SQLException {
+        try (ResultSet columns = conn.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (columns.next()) {
+                int index = columns.getInt("ORDINAL_POSITION") - 1;
+                switch (columns.getString("COLUMN_NAME")) {
+                    case "ID" -> idColumn = index;
+                    case "BRAND_ID" -> brandIdColumn = index;
+                    case "PRODUCT_ID" -> productIdColumn = index;
+                    default -> {
+                        // Not recorded
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        Object[] row = oldRow != null ? oldRow : newRow;
+        try (PreparedStatement statement = conn.prepareStatement(INSERT_SQL)) {
+            statement.setString(1, oldRow == null ? "I" : newRow == null ? "D" : "U");
+            statement.setObject(2, row[idColumn]);
+            statement.setObject(3, row[brandIdColumn]);
+            statement.setObject(4, row[productIdColumn]);
+            statement.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now(clock)));
+            statement.executeUpdate();
+        }
+    }
+}
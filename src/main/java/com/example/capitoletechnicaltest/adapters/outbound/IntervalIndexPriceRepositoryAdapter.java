@@ -0,0 +1,209 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.ports.PriceChangeListener;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link PriceRepositoryPort} adapter answering lookups from memory.
+ * The PRICES table is loaded at startup and on every reload, and indexed as one {@link PriceIntervalTree}
+ * per (brandId, productId), grouped by brand, so a lookup is two hash accesses followed by a stabbing query,
+ * without any database round trip, and a brand export only visits the products of that brand. Changes from
+ * the PRICES change feed rebuild the tree of their key only.
+ * Enabled with {@code prices.lookup.mode=interval-index}.
+ */
+@Component
+@ConditionalOnProperty(name = "prices.lookup.mode", havingValue = "interval-index")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IntervalIndexPriceRepositoryAdapter
+        implements PriceRepositoryPort, ReloadablePriceCatalogue, PriceChangeListener {
+
+    /**
+     * Source of the tariffs loaded into the index.
+     */
+    private final PriceCatalogueSource source;
+
+    /**
+     * Interval trees by brand ID, then by product ID. Replaced as a whole on every load; between loads, the
+     * tree of a changed key is replaced with a new one. Trees are never mutated.
+     */
+    private volatile Map<Long, Map<Long, PriceIntervalTree>> index = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(0, 0);
+
+    /**
+     * Constructs a new {@link IntervalIndexPriceRepositoryAdapter}.
+     *
+     * @param source The source the index is loaded from.
+     */
+    public IntervalIndexPriceRepositoryAdapter(PriceCatalogueSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Loads every tariff from the database and builds the index.
+     */
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Reads every tariff into a new index and swaps it in as a whole.
+     *
+     * @return The size of the new index.
+     */
+    @Override
+    public synchronized Snapshot reload() {
+        Map<PriceKey, List<Price>> byKey = new HashMap<>();
+        source.forEach(price -> byKey.computeIfAbsent(PriceKey.of(price), key -> new ArrayList<>()).add(price));
+        Map<Long, Map<Long, PriceIntervalTree>> trees = new ConcurrentHashMap<>();
+        long tariffs = 0;
+        for (Map.Entry<PriceKey, List<Price>> entry : byKey.entrySet()) {
+            trees.computeIfAbsent(entry.getKey().brandId(), brandId -> new ConcurrentHashMap<>())
+                    .put(entry.getKey().productId(), PriceIntervalTree.of(entry.getValue()));
+            tariffs += entry.getValue().size();
+        }
+        this.index = trees;
+        this.snapshot = new Snapshot(tariffs, byKey.size());
+        return snapshot;
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the trees of the keys the changed tariff left or joined, among those its source includes.
+     * Waits for a running reload, so the change is applied to the new index.
+     *
+     * @param change The change to apply.
+     */
+    @Override
+    public synchronized void onPriceChange(PriceChange change) {
+        if (change.leftKey() && source.includes(change.key())) {
+            patch(change.key(), change.priceId(), null);
+        }
+        if (change.price() != null && source.includes(PriceKey.of(change.price()))) {
+            patch(PriceKey.of(change.price()), change.priceId(), change.price());
+        }
+    }
+
+    private void patch(PriceKey key, long priceId, Price replacement) {
+        List<Price> prices = new ArrayList<>();
+        PriceIntervalTree tree = tree(key.brandId(), key.productId());
+        if (tree != null) {
+            tree.prices().stream()
+                    .filter(price -> price.getId() == null || price.getId() != priceId)
+                    .forEach(prices::add);
+        }
+        if (replacement != null) {
+            prices.add(replacement);
+        }
+        if (prices.isEmpty()) {
+            index.computeIfPresent(key.brandId(), (brandId, products) -> {
+                products.remove(key.productId());
+                return products.isEmpty() ? null : products;
+            });
+        } else {
+            index.computeIfAbsent(key.brandId(), brandId -> new ConcurrentHashMap<>())
+                    .put(key.productId(), PriceIntervalTree.of(prices));
+        }
+    }
+
+    private PriceIntervalTree tree(Long brandId, Long productId) {
+        Map<Long, PriceIntervalTree> products = index.get(brandId);
+        return products == null ? null : products.get(productId);
+    }
+
+    /**
+     * Retrieves the price with the highest priority covering the application date from the in-memory index.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return An {@link Optional} containing the applicable {@link Price}, or empty if none matches.
+     */
+    @Override
+    public Optional<Price> findPriceByProductBrandAndDate(Long productId, Long brandId, LocalDateTime applicationDate) {
+        PriceIntervalTree tree = tree(brandId, productId);
+        if (tree == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(tree.findHighestPriority(PricePrecedence.toEpochSecond(applicationDate)));
+    }
+
+    /**
+     * Finds the next instant at which the applicable price may change from the in-memory index.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next boundary, or empty if no tariff of the product starts or ends later.
+     */
+    @Override
+    public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate) {
+        PriceIntervalTree tree = tree(brandId, productId);
+        long next = tree == null ? Long.MAX_VALUE : tree.nextBoundary(PricePrecedence.toEpochSecond(applicationDate));
+        return next == Long.MAX_VALUE ? Optional.empty() : Optional.of(PricePrecedence.fromEpochSecond(next));
+    }
+
+    /**
+     * Hands over the tariffs of the product overlapping the range from the in-memory index.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the tariffs, in start-date order.
+     */
+    @Override
+    public void forEachPrice(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                             Consumer<? super Price> action) {
+        PriceIntervalTree tree = tree(brandId, productId);
+        if (tree != null) {
+            tree.forEach(PricePrecedence.toEpochSecond(from), PricePrecedence.toEpochSecond(to), action);
+        }
+    }
+
+    /**
+     * Hands over the winning tariff of every product of the brand at the application date, from the
+     * in-memory index.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the tariffs must cover.
+     * @param action          The action receiving one tariff per product.
+     */
+    @Override
+    public void forEachPriceAt(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+        Map<Long, PriceIntervalTree> products = index.get(brandId);
+        if (products == null) {
+            return;
+        }
+        long instant = PricePrecedence.toEpochSecond(applicationDate);
+        products.values().forEach(tree -> {
+            Price price = tree.findHighestPriority(instant);
+            if (price != null) {
+                action.accept(price);
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * {@link PriceCatalogueSource} streaming the PRICES table through a forward-only, read-only JDBC cursor.
+ * <p>
+ * Rows bypass JPA: no entity is managed, and each tariff is handed over as soon as it is read. The cursor
+ * runs in its own read-only transaction, since drivers such as PostgreSQL only honour the fetch size,
+ * and stream instead of buffering the whole result, outside auto-commit.
+ */
+@Component
+public class JdbcPriceCatalogueSource implements PriceCatalogueSource {
+
+    private static final String SELECT_SQL = "SELECT ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, "
+            + "PRIORITY, PRICE, CURR FROM PRICES";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int fetchSize;
+
+    /**
+     * Constructs a new {@link JdbcPriceCatalogueSource}.
+     *
+     * @param dataSource The database to read from.
+     * @param fetchSize  The number of rows fetched per round trip.
+     */
+    public JdbcPriceCatalogueSource(DataSource dataSource,
+                                    @Value("${prices.reload.fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Price> action) {
+        jdbcTemplate.execute((Connection connection) -> {
+            boolean autoCommit = connection.getAutoCommit();
+            boolean readOnly = connection.isReadOnly();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        action.accept(map(rows));
+                    }
+                }
+                connection.commit();
+            } catch (Exception ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setReadOnly(readOnly);
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private static Price map(ResultSet rows) throws SQLException {
+        return new Price(rows.getLong(1), rows.getLong(2), rows.getTimestamp(3).toLocalDateTime(),
+                rows.getTimestamp(4).toLocalDateTime(), rows.getInt(5), rows.getLong(6), rows.getInt(7),
+                rows.getBigDecimal(8), rows.getString(9));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.ports.PriceWriterPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.stream.Stream;
+
+/**
+ * {@link PriceWriterPort} adapter inserting tariffs with batched JDBC statements through
+ * {@link PriceBulkLoader}, bypassing the JPA persistence context.
+ */
+@Component
+public class JdbcPriceWriterAdapter implements PriceWriterPort {
+
+    private final PriceBulkLoader loader;
+
+    /**
+     * Constructs a new {@link JdbcPriceWriterAdapter}.
+     *
+     * @param dataSource The database holding PRICES.
+     * @param batchSize  The number of rows sent per JDBC batch.
+     */
+    public JdbcPriceWriterAdapter(DataSource dataSource,
+                                  @Value("${prices.ingestion.batch-size:1000}") int batchSize) {
+        this.loader = new PriceBulkLoader(dataSource, batchSize);
+    }
+
+    @Override
+    public long insertAll(Stream<Price> prices) {
+        return loader.loadAtomically(prices);
+    }
+}
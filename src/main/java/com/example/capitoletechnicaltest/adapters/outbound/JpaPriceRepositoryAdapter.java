@@ -0,0 +1,217 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Default {@link PriceRepositoryPort} adapter.
+ * Resolves every lookup with a query against the database through {@link PriceRepository}.
+ */
+@Component
+@ConditionalOnProperty(name = "prices.lookup.mode", havingValue = "database", matchIfMissing = true)
+public class JpaPriceRepositoryAdapter implements PriceRepositoryPort {
+
+    /**
+     * Maximum number of lookups resolved by a single batch query, keeping the list of keys bounded.
+     */
+    private static final int BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * Spring Data repository used to query the PRICES table.
+     */
+    private final PriceRepository priceRepository;
+
+    /**
+     * Executor running the chunks of a batch concurrently. Runs on virtual threads when
+     * {@code spring.threads.virtual.enabled} is set.
+     */
+    private final Executor batchExecutor;
+
+    /**
+     * Records the number of candidate tariffs loaded per batch lookup.
+     */
+    private final PriceLookupMetricsPort metrics;
+
+    /**
+     * Constructs a new {@link JpaPriceRepositoryAdapter} resolving batch chunks on the calling thread,
+     * without metrics.
+     *
+     * @param priceRepository The persistence layer for managing price data.
+     */
+    public JpaPriceRepositoryAdapter(PriceRepository priceRepository) {
+        this(priceRepository, Runnable::run, PriceLookupMetricsPort.disabled());
+    }
+
+    /**
+     * Constructs a new {@link JpaPriceRepositoryAdapter}.
+     *
+     * @param priceRepository The persistence layer for managing price data.
+     * @param batchExecutor   The executor resolving the chunks of a batch concurrently.
+     * @param metrics         The metrics recording the candidates loaded per batch lookup.
+     */
+    @Autowired
+    public JpaPriceRepositoryAdapter(PriceRepository priceRepository,
+                                     @Qualifier("applicationTaskExecutor") Executor batchExecutor,
+                                     PriceLookupMetricsPort metrics) {
+        this.priceRepository = priceRepository;
+        this.batchExecutor = batchExecutor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Retrieves the price with the highest priority whose date range contains the application date.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return An {@link Optional} containing the applicable {@link Price}, or empty if none matches.
+     */
+    @Override
+    public Optional<Price> findPriceByProductBrandAndDate(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return priceRepository.findApplicablePrice(brandId, productId, applicationDate);
+    }
+
+    /**
+     * Finds the next instant at which the applicable price may change, from the next tariff start
+     * and the second following the next tariff end.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next boundary, or empty if no tariff of the product starts or ends later.
+     */
+    @Override
+    public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate) {
+        PriceRepository.NextDates next = priceRepository.findNextDates(brandId, productId, applicationDate);
+        Optional<LocalDateTime> nextStart = Optional.ofNullable(next.start());
+        Optional<LocalDateTime> nextEnd = Optional.ofNullable(next.end())
+                .map(end -> end.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+        return Stream.of(nextStart, nextEnd)
+                .flatMap(Optional::stream)
+                .min(Comparator.naturalOrder());
+    }
+
+    /**
+     * Streams the tariffs of the product overlapping the range from a single query, in start-date order.
+     * The query runs in a read-only transaction held until the last row is handed over.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the tariffs.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachPrice(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                             Consumer<? super Price> action) {
+        try (Stream<Price> prices = priceRepository.streamPrices(brandId, productId, from, to)) {
+            prices.forEach(action);
+        }
+    }
+
+    /**
+     * Streams the tariffs of the brand covering the application date from a single query, product by
+     * product. The query runs in a read-only transaction held until the last row is handed over.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the tariffs must cover.
+     * @param action          The action receiving the tariffs.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachPriceAt(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+        try (Stream<Price> prices = priceRepository.streamPricesAt(brandId, applicationDate)) {
+            prices.forEach(action);
+        }
+    }
+
+    /**
+     * Resolves a batch of lookups with one query per chunk instead of one query per lookup.
+     * Candidates are loaded for the exact (brand, product) pairs of the chunk, each over the dates of its
+     * own lookups, then each lookup keeps the covering candidate with the highest priority.
+     * A batch larger than one chunk has its chunks queried concurrently on the batch executor.
+     *
+     * @param queries The lookups to resolve.
+     * @return One result per query, in the same order; empty when no price applies.
+     */
+    @Override
+    public List<Optional<Price>> findPrices(List<PriceQuery> queries) {
+        if (queries.size() <= BATCH_CHUNK_SIZE) {
+            return queries.isEmpty() ? List.of() : findChunk(queries);
+        }
+        List<CompletableFuture<List<Optional<Price>>>> chunks = new ArrayList<>();
+        for (int from = 0; from < queries.size(); from += BATCH_CHUNK_SIZE) {
+            List<PriceQuery> chunk = queries.subList(from, Math.min(from + BATCH_CHUNK_SIZE, queries.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> findChunk(chunk), batchExecutor));
+        }
+        List<Optional<Price>> results = new ArrayList<>(queries.size());
+        for (CompletableFuture<List<Optional<Price>>> chunk : chunks) {
+            results.addAll(chunk.join());
+        }
+        return results;
+    }
+
+    private List<Optional<Price>> findChunk(List<PriceQuery> queries) {
+        Map<PriceKey, PriceCandidateQueries.KeyRange> ranges = new HashMap<>();
+        for (PriceQuery query : queries) {
+            ranges.merge(query.key(),
+                    new PriceCandidateQueries.KeyRange(query.brandId(), query.productId(),
+                            query.applicationDate(), query.applicationDate()),
+                    (range, added) -> new PriceCandidateQueries.KeyRange(range.brandId(), range.productId(),
+                            min(range.from(), added.from()), max(range.to(), added.to())));
+        }
+
+        Map<PriceKey, List<Price>> candidates = priceRepository.findCandidates(ranges.values())
+                .stream()
+                .collect(Collectors.groupingBy(PriceKey::of));
+
+        return queries.stream()
+                .map(query -> Optional.ofNullable(resolve(candidates.getOrDefault(query.key(), List.of()), query)))
+                .toList();
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private Price resolve(List<Price> candidates, PriceQuery query) {
+        metrics.recordBatchCandidates(candidates.size());
+        Price best = null;
+        for (Price candidate : candidates) {
+            if (!candidate.getStartDate().isAfter(query.applicationDate())
+                    && !candidate.getEndDate().isBefore(query.applicationDate())
+                    && PricePrecedence.outranks(candidate, best)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Loads large numbers of tariffs into the PRICES table with batched JDBC inserts.
+ * Rows bypass JPA entirely: no entity is managed, and rows are streamed, never held in memory.
+ * IDs are reserved from PRICES_SEQ in blocks of {@link Price#ID_ALLOCATION_SIZE}, the way Hibernate's
+ * pooled-lo optimizer does, so JDBC and JPA inserts share the sequence without wasting IDs.
+ */
+public class PriceBulkLoader {
+
+    private static final String INSERT_SQL = "INSERT INTO PRICES "
+            + "(ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String NEXT_ID_SQL = "VALUES NEXT VALUE FOR PRICES_SEQ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    /**
+     * Constructs a new {@link PriceBulkLoader}.
+     *
+     * @param dataSource The database to load into.
+     * @param batchSize  The number of rows sent and committed per batch.
+     */
+    public PriceBulkLoader(DataSource dataSource, int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts the tariffs, committing each batch: a failure keeps the batches already committed.
+     * Their IDs are ignored and assigned from PRICES_SEQ.
+     *
+     * @param prices The tariffs to insert, consumed once.
+     * @return The number of inserted rows.
+     */
+    public long load(Stream<Price> prices) {
+        return load(prices, true);
+    }
+
+    /**
+     * Inserts the tariffs in a single transaction: if a row or the stream itself fails, nothing is
+     * inserted and the failure is rethrown. Their IDs are ignored and assigned from PRICES_SEQ.
+     *
+     * @param prices The tariffs to insert, consumed once.
+     * @return The number of inserted rows.
+     */
+    public long loadAtomically(Stream<Price> prices) {
+        return load(prices, false);
+    }
+
+    private long load(Stream<Price> prices, boolean commitEachBatch) {
+        Long loaded = jdbcTemplate.execute((Connection connection) -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            long count = 0;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+                 PreparedStatement nextId = connection.prepareStatement(NEXT_ID_SQL)) {
+                Iterator<Price> iterator = prices.iterator();
+                long id = 0;
+                while (iterator.hasNext()) {
+                    if (count % Price.ID_ALLOCATION_SIZE == 0) {
+                        id = reserveIds(nextId);
+                    }
+                    statement.setLong(1, id++);
+                    bind(statement, iterator.next());
+                    statement.addBatch();
+                    if (++count % batchSize == 0) {
+                        statement.executeBatch();
+                        if (commitEachBatch) {
+                            connection.commit();
+                        }
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (Exception ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return count;
+        });
+        return loaded == null ? 0 : loaded;
+    }
+
+    /**
+     * Reserves a block of {@link Price#ID_ALLOCATION_SIZE} IDs.
+     *
+     * @return The first ID of the block.
+     */
+    private static long reserveIds(PreparedStatement nextId) throws SQLException {
+        try (ResultSet rows = nextId.executeQuery()) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Price price) throws SQLException {
+        statement.setLong(2, price.getBrandId());
+        statement.setTimestamp(3, Timestamp.valueOf(price.getStartDate()));
+        statement.setTimestamp(4, Timestamp.valueOf(price.getEndDate()));
+        statement.setInt(5, price.getPriceList());
+        statement.setLong(6, price.getProductId());
+        statement.setInt(7, price.getPriority());
+        statement.setBigDecimal(8, price.getAmount());
+        statement.setString(9, price.getCurr());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom query fragment of {@link PriceRepository} loading the candidate tariffs of a batch of lookups.
+ */
+public interface PriceCandidateQueries {
+
+    /**
+     * The lookups of a batch on one brand and product, by the earliest and latest of their application dates.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @param from      The earliest application date.
+     * @param to        The latest application date.
+     */
+    record KeyRange(long brandId, long productId, LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * Retrieves, in a single query, the tariffs of each given brand and product whose date range overlaps
+     * the range of that key. Only the exact (brand, product) pairs are read, each over its own dates, so a
+     * batch of unrelated keys and dates loads no tariff of another pair or period. The entries are
+     * projected like {@link PriceRepository#findApplicablePrice}, without being managed.
+     *
+     * @param ranges The keys of the batch with their date ranges, one per key.
+     * @return The candidate Price entries, in no particular order.
+     */
+    List<Price> findCandidates(Collection<KeyRange> ranges);
+
+}
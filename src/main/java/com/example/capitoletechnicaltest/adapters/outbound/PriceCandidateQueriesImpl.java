@@ -0,0 +1,67 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of {@link PriceCandidateQueries}, picked up by Spring Data for {@link PriceRepository}.
+ * <p>
+ * The keys are joined as a {@code VALUES} list to PRICES: each row of the list drives a range scan of
+ * the lookup index on its brand, product and start date, bounded by the dates of that key.
+ */
+class PriceCandidateQueriesImpl implements PriceCandidateQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Price> findCandidates(Collection<KeyRange> ranges) {
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("""
+                SELECT P.ID, P.BRAND_ID, P.START_DATE, P.END_DATE, P.PRICE_LIST, P.PRODUCT_ID, P.PRIORITY, P.PRICE,
+                       P.CURR
+                FROM (VALUES\s""");
+        // Typed parameters: H2 would otherwise infer the types of the VALUES columns from the first row only
+        for (int i = 0; i < ranges.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(CAST(? AS INT), CAST(? AS INT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))");
+        }
+        sql.append("""
+                ) AS K(BRAND_ID, PRODUCT_ID, FIRST_DATE, LAST_DATE)
+                JOIN PRICES P ON P.BRAND_ID = K.BRAND_ID AND P.PRODUCT_ID = K.PRODUCT_ID
+                 AND P.START_DATE <= K.LAST_DATE AND P.END_DATE >= K.FIRST_DATE
+                """);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (KeyRange range : ranges) {
+            query.setParameter(position++, range.brandId());
+            query.setParameter(position++, range.productId());
+            query.setParameter(position++, range.from());
+            query.setParameter(position++, range.to());
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(PriceCandidateQueriesImpl::toPrice).toList();
+    }
+
+    private static Price toPrice(Object[] row) {
+        return new Price(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), toDateTime(row[2]),
+                toDateTime(row[3]), ((Number) row[4]).intValue(), ((Number) row[5]).longValue(),
+                ((Number) row[6]).intValue(), (BigDecimal) row[7], (String) row[8]);
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary, versioned file format of a {@link ColumnarPriceStore}, read by memory-mapping it.
+ * <p>
+ * The file holds a fixed header, the currency dictionary and then every {@link ColumnarPriceStore.Column}
+ * in order, each starting at an 8-byte boundary. All numbers are little-endian:
+ * <pre>
+ *  0  long  magic "PRICECAT"
+ *  8  int   format version
+ * 12  int   amount scale
+ * 16  int   tariff count
+ * 20  int   key count
+ * 24  int   currency count
+ * 28  int   offset of the first column
+ * 32  long  CRC32C of every other byte of the file
+ * 40  long  creation time, epoch milliseconds
+ * 48        reserved, zero
+ * 64        currency dictionary, one length byte and the UTF-8 code per entry
+ * </pre>
+ * Mapping a file maps each column in place, and only reads the header, the currency dictionary and the
+ * columns lookups index through: the keys, the key offsets and the currency codes, which are checked to be
+ * in bounds. A file damaged in place is then refused when mapped instead of failing lookups, at the cost of
+ * reading about 2 of the {@value ColumnarPriceStore#ROW_BYTES} bytes of each tariff; verifying the checksum
+ * as well reads the whole file once. The pages of a mapped file are shared through the page cache by every
+ * process mapping it. Files are written aside and moved into place, since a mapped file must never be
+ * modified.
+ */
+public final class PriceCatalogueFile {
+
+    /**
+     * Version of the layout written by {@link #write}; files of any other version are rejected.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * "PRICECAT" in ASCII.
+     */
+    private static final long MAGIC = 0x5052_4943_4543_4154L;
+
+    private static final int HEADER_BYTES = 64;
+
+    private static final int CHECKSUM_OFFSET = 32;
+
+    /**
+     * Largest region checksummed through a single mapping.
+     */
+    private static final long CHECKSUM_CHUNK = 1L << 30;
+
+    private PriceCatalogueFile() {
+    }
+
+    /**
+     * Writes a store to a file, replacing it atomically: the content is written and synced to a
+     * temporary file next to it, which is then moved over the target.
+     *
+     * @param store The store to write.
+     * @param path  The target file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(ColumnarPriceStore store, Path path) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                String[] currencyCodes = store.currencyCodes();
+                ByteBuffer dictionary = dictionary(currencyCodes);
+                int dataOffset = (int) align(HEADER_BYTES + dictionary.remaining());
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                        .putLong(MAGIC)
+                        .putInt(VERSION)
+                        .putInt(ColumnarPriceStore.AMOUNT_SCALE)
+                        .putInt(store.size())
+                        .putInt(store.keyCount())
+                        .putInt(currencyCodes.length)
+                        .putInt(dataOffset)
+                        .putLong(0)
+                        .putLong(System.currentTimeMillis());
+                writeFully(channel, header.clear(), 0);
+                writeFully(channel, dictionary, HEADER_BYTES);
+
+                long offset = dataOffset;
+                for (ColumnarPriceStore.Column column : ColumnarPriceStore.Column.values()) {
+                    writeFully(channel, store.column(column), offset);
+                    offset = align(offset + column.length(store.size(), store.keyCount()));
+                }
+                // Pads the last column, so that the file length is what its header implies
+                channel.truncate(offset);
+                if (channel.size() < offset) {
+                    writeFully(channel, ByteBuffer.allocate((int) (offset - channel.size())), channel.size());
+                }
+
+                ByteBuffer checksum = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                        .putLong(0, checksum(channel));
+                writeFully(channel, checksum, CHECKSUM_OFFSET);
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps a file as a read-only store, after checking its version, its length, its indexes and its checksum.
+     *
+     * @param path The file to map.
+     * @return The store, backed by the file.
+     * @throws IOException If the file cannot be read, or is not a valid catalogue file of this version.
+     */
+    public static ColumnarPriceStore map(Path path) throws IOException {
+        return map(path, true);
+    }
+
+    /**
+     * Maps a file as a read-only store, after checking its version, its length and its indexes, and its
+     * checksum if requested. Skipping the checksum avoids reading the tariff columns, for files already
+     * verified when they were exported.
+     *
+     * @param path           The file to map.
+     * @param verifyChecksum Whether to read the whole file to verify its checksum.
+     * @return The store, backed by the file.
+     * @throws IOException If the file cannot be read, or is not a valid catalogue file of this version.
+     */
+    public static ColumnarPriceStore map(Path path, boolean verifyChecksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw corrupt(path, "shorter than its header");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getLong(0) != MAGIC) {
+                throw corrupt(path, "not a catalogue file");
+            }
+            int version = header.getInt(8);
+            if (version != VERSION) {
+                throw new IOException("Unsupported catalogue file version " + version + " in " + path
+                        + ", expected " + VERSION);
+            }
+            if (header.getInt(12) != ColumnarPriceStore.AMOUNT_SCALE) {
+                throw corrupt(path, "unexpected amount scale " + header.getInt(12));
+            }
+            int size = header.getInt(16);
+            int keyCount = header.getInt(20);
+            int currencyCount = header.getInt(24);
+            int dataOffset = header.getInt(28);
+
+            long expectedSize = dataOffset;
+            for (ColumnarPriceStore.Column column : ColumnarPriceStore.Column.values()) {
+                expectedSize = align(expectedSize + column.length(size, keyCount));
+            }
+            if (size < 0 || keyCount < 0 || dataOffset < HEADER_BYTES || expectedSize != fileSize) {
+                throw corrupt(path, "length " + fileSize + " does not match its header");
+            }
+            // Each dictionary entry takes at least its length byte, and codes are shorts
+            if (currencyCount < 0 || currencyCount > Math.min(dataOffset - HEADER_BYTES, Short.MAX_VALUE + 1)) {
+                throw corrupt(path, "currency count " + currencyCount + " does not match its header");
+            }
+            if (verifyChecksum && checksum(channel) != header.getLong(CHECKSUM_OFFSET)) {
+                throw corrupt(path, "checksum mismatch");
+            }
+
+            String[] currencyCodes = readDictionary(path,
+                    channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, dataOffset - HEADER_BYTES),
+                    currencyCount);
+            ByteBuffer[] columns = new ByteBuffer[ColumnarPriceStore.Column.values().length];
+            long offset = dataOffset;
+            for (ColumnarPriceStore.Column column : ColumnarPriceStore.Column.values()) {
+                long length = column.length(size, keyCount);
+                if (length > Integer.MAX_VALUE) {
+                    throw corrupt(path, "column " + column + " exceeds the size of a mapping");
+                }
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                columns[column.ordinal()] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+                offset = align(offset + length);
+            }
+            checkIndexes(path, size, keyCount, currencyCount, columns);
+            return new ColumnarPriceStore(size, keyCount, currencyCodes, columns);
+        }
+    }
+
+    private static ByteBuffer dictionary(String[] currencyCodes) {
+        int length = 0;
+        byte[][] encoded = new byte[currencyCodes.length][];
+        for (int i = 0; i < currencyCodes.length; i++) {
+            encoded[i] = currencyCodes[i].getBytes(StandardCharsets.UTF_8);
+            if (encoded[i].length > 255) {
+                throw new IllegalArgumentException("Currency code too long: " + currencyCodes[i]);
+            }
+            length += 1 + encoded[i].length;
+        }
+        ByteBuffer dictionary = ByteBuffer.allocate(length);
+        for (byte[] code : encoded) {
+            dictionary.put((byte) code.length).put(code);
+        }
+        return dictionary.flip();
+    }
+
+    private static String[] readDictionary(Path path, ByteBuffer dictionary, int currencyCount) throws IOException {
+        String[] currencyCodes = new String[currencyCount];
+        for (int i = 0; i < currencyCount; i++) {
+            if (!dictionary.hasRemaining()) {
+                throw corrupt(path, "currency dictionary overruns its section");
+            }
+            byte[] code = new byte[Byte.toUnsignedInt(dictionary.get())];
+            if (dictionary.remaining() < code.length) {
+                throw corrupt(path, "currency dictionary overruns its section");
+            }
+            dictionary.get(code);
+            currencyCodes[i] = new String(code, StandardCharsets.UTF_8);
+        }
+        return currencyCodes;
+    }
+
+    /**
+     * Checks that every index a lookup follows stays in bounds: the keys are strictly ascending for the
+     * binary search, the key offsets ascend from the first tariff to the tariff count, and every currency
+     * code is in the dictionary.
+     */
+    private static void checkIndexes(Path path, int size, int keyCount, int currencyCount, ByteBuffer[] columns)
+            throws IOException {
+        LongBuffer keys = columns[ColumnarPriceStore.Column.KEYS.ordinal()].asLongBuffer();
+        for (int key = 1; key < keyCount; key++) {
+            if (keys.get(key) <= keys.get(key - 1)) {
+                throw corrupt(path, "key " + key + " out of order");
+            }
+        }
+        IntBuffer keyOffsets = columns[ColumnarPriceStore.Column.KEY_OFFSETS.ordinal()].asIntBuffer();
+        if (keyOffsets.get(0) != 0 || keyOffsets.get(keyCount) != size) {
+            throw corrupt(path, "key offsets do not span the tariffs");
+        }
+        for (int key = 1; key <= keyCount; key++) {
+            if (keyOffsets.get(key) < keyOffsets.get(key - 1)) {
+                throw corrupt(path, "offset of key " + key + " out of order");
+            }
+        }
+        ShortBuffer currencies = columns[ColumnarPriceStore.Column.CURRENCIES.ordinal()].asShortBuffer();
+        for (int row = 0; row < size; row++) {
+            int code = currencies.get(row);
+            if (code < 0 || code >= currencyCount) {
+                throw corrupt(path, "currency code " + code + " of tariff " + row + " not in the dictionary");
+            }
+        }
+    }
+
+    /**
+     * CRC32C of the whole file except the checksum field.
+     */
+    private static long checksum(FileChannel channel) throws IOException {
+        CRC32C crc = new CRC32C();
+        long size = channel.size();
+        crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, CHECKSUM_OFFSET));
+        for (long position = CHECKSUM_OFFSET + Long.BYTES; position < size; position += CHECKSUM_CHUNK) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHECKSUM_CHUNK, size - position)));
+        }
+        return crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static IOException corrupt(Path path, String reason) {
+        return new IOException("Corrupt catalogue file " + path + ": " + reason);
+    }
+}
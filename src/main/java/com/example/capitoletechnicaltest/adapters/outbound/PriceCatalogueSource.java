@@ -0,0 +1,32 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+
+import java.util.function.Consumer;
+
+/**
+ * Source of the whole tariff catalogue, read by the in-memory lookup adapters to build their snapshots.
+ */
+@FunctionalInterface
+public interface PriceCatalogueSource {
+
+    /**
+     * Reads every tariff once, handing each one to the action as it is read.
+     *
+     * @param action The action applied to each tariff.
+     */
+    void forEach(Consumer<? super Price> action);
+
+    /**
+     * Tells whether the tariffs of a key are read by {@link #forEach}. The in-memory lookup adapters skip
+     * the changes to the keys a source leaves out, so that they hold the same slice between reloads.
+     *
+     * @param key The brand and product.
+     * @return {@code true} unless the source reads only part of the catalogue, as on a sharded node.
+     */
+    default boolean includes(PriceKey key) {
+        return true;
+    }
+
+}
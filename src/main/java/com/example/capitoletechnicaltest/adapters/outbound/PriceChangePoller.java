@@ -0,0 +1,362 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.ports.PriceChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the PRICE_CHANGES table filled by {@link H2PriceChangeTrigger} and delivers each change, in
+ * sequence order, to the {@link PriceChangeListener}s.
+ * <p>
+ * Changes are read joined with the current state of their tariff, so replaying a change is harmless and
+ * the feed is delivered at least once: the position only moves past a batch of changes once every
+ * listener has applied it. Sequence numbers are assigned before commit, so a gap in the sequence may be a
+ * transaction still in flight; polling stops at a gap until it is filled, or until the gap timeout. The
+ * missing numbers are then skipped, but every poll checks them again until the retention period has
+ * passed: a slow transaction committing after its numbers were skipped is delivered late, out of
+ * sequence order, which the current state read with each change makes harmless. Changes are not purged
+ * past the first skipped number until then.
+ * <p>
+ * Meters: {@code prices.changes.lag} times the delay between a change and its delivery,
+ * {@code prices.changes.applied{type}} counts delivered changes, and {@code prices.changes.backlog} is the
+ * number of recorded changes not delivered yet. Changes older than the retention period are purged.
+ */
+public class PriceChangePoller implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceChangePoller.class);
+
+    private static final String SELECT_SQL = """
+            SELECT c.SEQ, c.OP, c.PRICE_ID, c.BRAND_ID, c.PRODUCT_ID, c.CHANGED_AT,
+                   p.ID, p.BRAND_ID, p.START_DATE, p.END_DATE, p.PRICE_LIST, p.PRODUCT_ID, p.PRIORITY, p.PRICE, p.CURR
+            FROM PRICE_CHANGES c LEFT JOIN PRICES p ON p.ID = c.PRICE_ID
+            WHERE c.SEQ > ? ORDER BY c.SEQ LIMIT ?
+            """;
+
+    private static final String SELECT_SKIPPED_SQL = SELECT_SQL.substring(0, SELECT_SQL.indexOf("WHERE"))
+            + "WHERE %s ORDER BY c.SEQ";
+
+    /**
+     * Largest number of skipped ranges checked by a single query.
+     */
+    private static final int SKIPPED_RANGES_PER_QUERY = 100;
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final List<PriceChangeListener> listeners;
+
+    private final Duration pollInterval;
+
+    private final int batchSize;
+
+    private final Duration gapTimeout;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    private final Timer lag;
+
+    private final Map<PriceChange.Type, Counter> applied = new EnumMap<>(PriceChange.Type.class);
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Sequence of the last delivered change, {@code -1} until the first poll. Guarded by {@code this}.
+     */
+    private volatile long position = -1;
+
+    /**
+     * Highest recorded sequence seen by the last poll.
+     */
+    private volatile long lastSequence;
+
+    /**
+     * First missing sequence of the gap being waited for. Guarded by {@code this}.
+     */
+    private long gapSequence = -1;
+
+    /**
+     * When the gap starting at {@link #gapSequence} was first seen, {@code null} if there is none.
+     * Guarded by {@code this}.
+     */
+    private LocalDateTime gapSeenAt;
+
+    /**
+     * Sequence ranges skipped after their gap timeout, in sequence order, checked again by every poll until
+     * the retention period has passed. Guarded by {@code this}.
+     */
+    private final List<SkippedRange> skipped = new ArrayList<>();
+
+    private LocalDateTime lastPurge = LocalDateTime.MIN;
+
+    /**
+     * Constructs a new {@link PriceChangePoller} and registers its meters.
+     *
+     * @param dataSource   The database holding PRICES and PRICE_CHANGES.
+     * @param listeners    The consumers of the feed, in delivery order.
+     * @param pollInterval The delay between two polls once started; zero to poll only on demand.
+     * @param batchSize    The maximum number of changes read per query.
+     * @param gapTimeout   How long a gap in the sequence is waited for before being skipped.
+     * @param retention    How long delivered changes are kept, and skipped sequence numbers checked again.
+     * @param clock        The clock of the change timestamps.
+     * @param registry     The registry the meters are published to.
+     */
+    public PriceChangePoller(DataSource dataSource, List<PriceChangeListener> listeners, Duration pollInterval,
+                             int batchSize, Duration gapTimeout, Duration retention, Clock clock,
+                             MeterRegistry registry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.listeners = List.copyOf(listeners);
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.clock = clock;
+        this.lag = Timer.builder("prices.changes.lag")
+                .description("Delay between a change to PRICES and its delivery to the listeners")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        for (PriceChange.Type type : PriceChange.Type.values()) {
+            applied.put(type, Counter.builder("prices.changes.applied")
+                    .tag("type", type.name().toLowerCase())
+                    .description("Changes to PRICES delivered to the listeners")
+                    .register(registry));
+        }
+        Gauge.builder("prices.changes.backlog", this, PriceChangePoller::backlog)
+                .description("Changes to PRICES recorded but not delivered yet")
+                .register(registry);
+    }
+
+    /**
+     * Delivers the changes committed late under skipped sequence numbers, then the pending changes, up to a
+     * gap in the sequence that may still be filled.
+     *
+     * @return The number of delivered changes.
+     */
+    public synchronized int poll() {
+        if (position < 0) {
+            // Deliveries are idempotent: start from the oldest retained change
+            Long oldest = jdbcTemplate.queryForObject("SELECT MIN(SEQ) FROM PRICE_CHANGES", Long.class);
+            position = oldest == null ? latestSequence() : oldest - 1;
+        }
+        int delivered = pollSkipped();
+        int read;
+        do {
+            List<PriceChange> changes = jdbcTemplate.query(SELECT_SQL, PriceChangePoller::map, position, batchSize);
+            read = changes.size();
+            int deliverable = 0;
+            long expected = position + 1;
+            List<SkippedRange> gaps = new ArrayList<>(0);
+            for (PriceChange change : changes) {
+                if (change.sequence() != expected) {
+                    if (!gapExpired(expected)) {
+                        break;
+                    }
+                    gaps.add(new SkippedRange(expected, change.sequence() - 1, LocalDateTime.now(clock)));
+                }
+                expected = change.sequence() + 1;
+                deliverable++;
+            }
+            if (deliverable > 0) {
+                deliver(changes.subList(0, deliverable));
+                position = changes.get(deliverable - 1).sequence();
+                delivered += deliverable;
+                skipped.addAll(gaps);
+            }
+            if (deliverable < read) {
+                lastSequence = latestSequence();
+                return delivered;
+            }
+        } while (read == batchSize);
+        lastSequence = Math.max(position, latestSequence());
+        purge();
+        return delivered;
+    }
+
+    /**
+     * Returns the number of skipped sequence numbers still checked for changes committed late.
+     *
+     * @return The number of skipped sequence numbers.
+     */
+    public synchronized long skippedSequences() {
+        return skipped.stream().mapToLong(range -> range.last() - range.first() + 1).sum();
+    }
+
+    /**
+     * Returns the sequence of the last delivered change.
+     *
+     * @return The position, {@code -1} before the first poll.
+     */
+    public synchronized long position() {
+        return position;
+    }
+
+    @Override
+    public void start() {
+        if (!pollInterval.isZero()) {
+            executor = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("price-change-poller").daemon().factory());
+            executor.scheduleWithFixedDelay(this::pollQuietly, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            log.warn("Price change feed poll failed, retrying from sequence {}", position(), ex);
+        }
+    }
+
+    private void deliver(List<PriceChange> changes) {
+        for (PriceChangeListener listener : listeners) {
+            listener.onPriceChanges(changes);
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (PriceChange change : changes) {
+            applied.get(change.type()).increment();
+            lag.record(Duration.between(change.changedAt(), now));
+        }
+    }
+
+    /**
+     * Delivers the changes committed under skipped sequence numbers since the last poll, and stops checking
+     * the numbers skipped longer than the retention period ago.
+     */
+    private int pollSkipped() {
+        LocalDateTime expiry = LocalDateTime.now(clock).minus(retention);
+        skipped.removeIf(range -> range.skippedAt().isBefore(expiry));
+        if (skipped.isEmpty()) {
+            return 0;
+        }
+        List<PriceChange> late = new ArrayList<>();
+        for (int from = 0; from < skipped.size(); from += SKIPPED_RANGES_PER_QUERY) {
+            List<SkippedRange> ranges = skipped.subList(from,
+                    Math.min(from + SKIPPED_RANGES_PER_QUERY, skipped.size()));
+            Object[] bounds = new Object[ranges.size() * 2];
+            for (int i = 0; i < ranges.size(); i++) {
+                bounds[2 * i] = ranges.get(i).first();
+                bounds[2 * i + 1] = ranges.get(i).last();
+            }
+            String where = String.join(" OR ", Collections.nCopies(ranges.size(), "c.SEQ BETWEEN ? AND ?"));
+            late.addAll(jdbcTemplate.query(SELECT_SKIPPED_SQL.formatted(where), PriceChangePoller::map, bounds));
+        }
+        if (late.isEmpty()) {
+            return 0;
+        }
+        log.info("Delivering {} price changes committed after their sequence numbers were skipped", late.size());
+        deliver(late);
+        List<SkippedRange> remaining = new ArrayList<>(skipped.size() + late.size());
+        int next = 0;
+        for (SkippedRange range : skipped) {
+            long first = range.first();
+            while (next < late.size() && late.get(next).sequence() <= range.last()) {
+                long sequence = late.get(next++).sequence();
+                if (sequence > first) {
+                    remaining.add(new SkippedRange(first, sequence - 1, range.skippedAt()));
+                }
+                first = sequence + 1;
+            }
+            if (first <= range.last()) {
+                remaining.add(new SkippedRange(first, range.last(), range.skippedAt()));
+            }
+        }
+        skipped.clear();
+        skipped.addAll(remaining);
+        return late.size();
+    }
+
+    /**
+     * Tells whether the gap starting at the given sequence has been waited for long enough. Each gap is
+     * timed from the first poll that saw it, so skipping one never skips the next.
+     */
+    private boolean gapExpired(long missing) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (gapSeenAt == null || gapSequence != missing) {
+            gapSequence = missing;
+            gapSeenAt = now;
+        }
+        return !now.isBefore(gapSeenAt.plus(gapTimeout));
+    }
+
+    private void purge() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (now.isAfter(lastPurge.plus(PURGE_INTERVAL))) {
+            // A change committed late under a skipped number is not purged before it is delivered
+            long delivered = skipped.isEmpty() ? position : Math.min(position, skipped.getFirst().first() - 1);
+            jdbcTemplate.update("DELETE FROM PRICE_CHANGES WHERE CHANGED_AT < ? AND SEQ <= ?",
+                    Timestamp.valueOf(now.minus(retention)), delivered);
+            lastPurge = now;
+        }
+    }
+
+    private long latestSequence() {
+        Long latest = jdbcTemplate.queryForObject("SELECT MAX(SEQ) FROM PRICE_CHANGES", Long.class);
+        return latest == null ? 0 : latest;
+    }
+
+    private double backlog() {
+        return Math.max(0, lastSequence - Math.max(position, 0));
+    }
+
+    /**
+     * Sequence numbers {@code first} to {@code last} skipped at {@code skippedAt}.
+     */
+    private record SkippedRange(long first, long last, LocalDateTime skippedAt) {
+    }
+
+    private static PriceChange map(ResultSet rows, int rowNum) throws SQLException {
+        PriceChange.Type type = switch (rows.getString(2)) {
+            case "I" -> PriceChange.Type.INSERT;
+            case "U" -> PriceChange.Type.UPDATE;
+            default -> PriceChange.Type.DELETE;
+        };
+        Price price = null;
+        if (rows.getObject(7) != null) {
+            price = new Price(rows.getLong(7), rows.getLong(8), rows.getTimestamp(9).toLocalDateTime(),
+                    rows.getTimestamp(10).toLocalDateTime(), rows.getInt(11), rows.getLong(12), rows.getInt(13),
+                    rows.getBigDecimal(14), rows.getString(15));
+        }
+        return new PriceChange(rows.getLong(1), type, rows.getLong(3), new PriceKey(rows.getLong(4), rows.getLong(5)),
+                price, rows.getTimestamp(6).toLocalDateTime());
+    }
+}
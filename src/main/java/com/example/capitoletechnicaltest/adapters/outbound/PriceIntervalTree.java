@@ -0,0 +1,175 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable augmented interval tree over the tariffs of a single (brandId, productId) key.
+ * <p>
+ * The tariffs are kept in arrays sorted by start date and the tree is implicit: the node of a range
+ * {@code [lo, hi)} is its middle element, and every node stores the greatest end date of its subtree.
+ * A stabbing query for an instant visits {@code O(log n + k)} nodes, {@code k} being the number of
+ * tariffs covering the instant, and keeps the one with the highest precedence.
+ */
+public final class PriceIntervalTree {
+
+    private final Price[] prices;
+
+    private final long[] starts;
+
+    private final long[] ends;
+
+    /**
+     * Greatest end date found in the subtree rooted at each index.
+     */
+    private final long[] maxEnds;
+
+    /**
+     * End dates in ascending order, to find the next end without visiting every tariff.
+     */
+    private final long[] sortedEnds;
+
+    private PriceIntervalTree(Price[] prices) {
+        this.prices = prices;
+        this.starts = new long[prices.length];
+        this.ends = new long[prices.length];
+        this.maxEnds = new long[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            starts[i] = PricePrecedence.toEpochSecond(prices[i].getStartDate());
+            ends[i] = PricePrecedence.toEpochSecond(prices[i].getEndDate());
+        }
+        buildMaxEnds(0, prices.length);
+        this.sortedEnds = ends.clone();
+        Arrays.sort(sortedEnds);
+    }
+
+    /**
+     * Builds the tree for the tariffs of one key.
+     *
+     * @param prices The tariffs of a single (brandId, productId) key.
+     * @return A new immutable tree.
+     */
+    public static PriceIntervalTree of(Collection<Price> prices) {
+        Price[] sorted = prices.toArray(new Price[0]);
+        Arrays.sort(sorted, Comparator.comparing(Price::getStartDate));
+        return new PriceIntervalTree(sorted);
+    }
+
+    /**
+     * Finds the tariff with the highest precedence covering the given instant.
+     *
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The winning price, or {@code null} if no tariff covers the instant.
+     */
+    public Price findHighestPriority(long epochSecond) {
+        return find(0, prices.length, epochSecond, null);
+    }
+
+    /**
+     * Finds the first instant after the given one at which the winning tariff may change: the next
+     * tariff start, or the second following the end of a tariff still active.
+     *
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The next boundary in epoch seconds, or {@link Long#MAX_VALUE} if there is none.
+     */
+    public long nextBoundary(long epochSecond) {
+        long next = Long.MAX_VALUE;
+        int nextStart = firstAfter(starts, epochSecond);
+        if (nextStart < starts.length) {
+            next = starts[nextStart];
+        }
+        int nextEnd = firstAfter(sortedEnds, epochSecond - 1);
+        if (nextEnd < sortedEnds.length && sortedEnds[nextEnd] + 1 < next) {
+            next = sortedEnds[nextEnd] + 1;
+        }
+        return next;
+    }
+
+    /**
+     * Returns the tariffs held by the tree.
+     *
+     * @return The tariffs, in start-date order.
+     */
+    public List<Price> prices() {
+        return List.of(prices);
+    }
+
+    /**
+     * Hands over the tariffs whose date range overlaps the given one.
+     *
+     * @param from   The start of the range, in epoch seconds.
+     * @param to     The end of the range, inclusive, in epoch seconds.
+     * @param action The action receiving the tariffs, in start-date order.
+     */
+    public void forEach(long from, long to, Consumer<? super Price> action) {
+        for (int i = 0; i < prices.length && starts[i] <= to; i++) {
+            if (ends[i] >= from) {
+                action.accept(prices[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tariffs held by the tree.
+     *
+     * @return The tree size.
+     */
+    public int size() {
+        return prices.length;
+    }
+
+    private Price find(int lo, int hi, long instant, Price best) {
+        if (lo >= hi) {
+            return best;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] < instant) {
+            // Nothing in this subtree is still active at the instant.
+            return best;
+        }
+        best = find(lo, mid, instant, best);
+        if (starts[mid] <= instant) {
+            if (ends[mid] >= instant && PricePrecedence.outranks(prices[mid], best)) {
+                best = prices[mid];
+            }
+            // The right subtree only starts after the middle element, so it is only worth
+            // visiting when the middle element already started.
+            best = find(mid + 1, hi, instant, best);
+        }
+        return best;
+    }
+
+    /**
+     * Finds the first index of a sorted array holding a value greater than the given one.
+     */
+    private static int firstAfter(long[] sorted, long value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+}
@@ -1,16 +1,23 @@
 package com.example.capitoletechnicaltest.adapters.outbound;
 
 import com.example.capitoletechnicaltest.domain.Price;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Price entities.
  * Extends JpaRepository to provide CRUD operations and custom queries.
  */
-public interface PriceRepository extends JpaRepository<Price, Long> {
+public interface PriceRepository extends JpaRepository<Price, Long>, PriceCandidateQueries {
 
     /**
      * Retrieves a list of Price entries based on brand ID, product ID,
@@ -27,4 +34,101 @@ public interface PriceRepository extends JpaRepository<Price, Long> {
             Long brandId, Long productId, LocalDateTime applicationDate, LocalDateTime endDate
     );
 
+    /**
+     * Retrieves the Price entry with the highest priority based on brand ID, product ID,
+     * and an application date that falls within the start and end date range.
+     * Only the winning row is read, and it is projected straight into a {@link Price} built with its
+     * constructor: the instance is not managed, so the persistence context keeps no snapshot of it
+     * and never dirty-checks it. Ties on priority are broken like {@code PricePrecedence}.
+     *
+     * @param brandId         The ID of the brand.
+     * @param productId       The ID of the product.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return An Optional containing the applicable Price, or empty if none matches.
+     */
+    @Query("""
+            SELECT new com.example.capitoletechnicaltest.domain.Price(
+                p.id, p.brandId, p.startDate, p.endDate, p.priceList, p.productId, p.priority, p.amount, p.curr)
+            FROM Price p
+            WHERE p.brandId = :brandId AND p.productId = :productId
+              AND p.startDate <= :applicationDate AND p.endDate >= :applicationDate
+            ORDER BY p.priority DESC, p.startDate DESC, p.priceList DESC
+            LIMIT 1
+            """)
+    Optional<Price> findApplicablePrice(@Param("brandId") Long brandId, @Param("productId") Long productId,
+            @Param("applicationDate") LocalDateTime applicationDate);
+
+    /**
+     * Streams the Price entries of a product whose date range overlaps the given period, by start date
+     * and then by descending priority. Rows are fetched in chunks and projected like
+     * {@link #findApplicablePrice}, so the persistence context does not grow with the result. The
+     * stream must be consumed inside a transaction and closed.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @param from      The start of the period.
+     * @param to        The end of the period.
+     * @return The overlapping Price entries.
+     */
+    @Query("""
+            SELECT new com.example.capitoletechnicaltest.domain.Price(
+                p.id, p.brandId, p.startDate, p.endDate, p.priceList, p.productId, p.priority, p.amount, p.curr)
+            FROM Price p
+            WHERE p.brandId = :brandId AND p.productId = :productId
+              AND p.startDate <= :to AND p.endDate >= :from
+            ORDER BY p.startDate, p.priority DESC
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Price> streamPrices(@Param("brandId") Long brandId, @Param("productId") Long productId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Streams the Price entries of every product of a brand covering the application date, ordered by
+     * product only: the tariffs of each product come together, and the scan follows the lookup index
+     * without sorting the result. Rows are fetched in chunks and projected like
+     * {@link #findApplicablePrice}. The stream must be consumed inside a transaction and closed.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the entries must cover.
+     * @return The covering Price entries.
+     */
+    @Query("""
+            SELECT new com.example.capitoletechnicaltest.domain.Price(
+                p.id, p.brandId, p.startDate, p.endDate, p.priceList, p.productId, p.priority, p.amount, p.curr)
+            FROM Price p
+            WHERE p.brandId = :brandId AND p.startDate <= :applicationDate AND p.endDate >= :applicationDate
+            ORDER BY p.productId
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    Stream<Price> streamPricesAt(@Param("brandId") Long brandId,
+            @Param("applicationDate") LocalDateTime applicationDate);
+
+    /**
+     * Retrieves, in a single query, the earliest start date of a tariff of the product that starts after the
+     * given date and the earliest end date of a tariff that has not ended at it. A tariff starting later also
+     * ends later, so only the tariffs that have not ended are read.
+     *
+     * @param brandId         The ID of the brand.
+     * @param productId       The ID of the product.
+     * @param applicationDate The reference date.
+     * @return The next start and end dates, each {@code null} if there is none.
+     */
+    @Query("""
+            SELECT new com.example.capitoletechnicaltest.adapters.outbound.PriceRepository$NextDates(
+                MIN(CASE WHEN p.startDate > :applicationDate THEN p.startDate END), MIN(p.endDate))
+            FROM Price p
+            WHERE p.brandId = :brandId AND p.productId = :productId AND p.endDate >= :applicationDate
+            """)
+    NextDates findNextDates(@Param("brandId") Long brandId, @Param("productId") Long productId,
+            @Param("applicationDate") LocalDateTime applicationDate);
+
+    /**
+     * Next start and end dates of the tariffs of a product after a reference date.
+     *
+     * @param start The earliest later start date, or {@code null} if no tariff starts later.
+     * @param end   The earliest end date of a tariff not yet ended, or {@code null} if every tariff ended.
+     */
+    record NextDates(LocalDateTime start, LocalDateTime end) {
+    }
+
 }
@@ -0,0 +1,33 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+/**
+ * Lookup adapter answering from an in-memory snapshot of the PRICES table that can be rebuilt while
+ * it keeps serving lookups.
+ */
+public interface ReloadablePriceCatalogue {
+
+    /**
+     * Size of a published snapshot.
+     *
+     * @param tariffs Number of tariffs loaded.
+     * @param keys    Number of (brandId, productId) keys.
+     */
+    record Snapshot(long tariffs, int keys) {
+    }
+
+    /**
+     * Reads the PRICES table into a new snapshot and publishes it with an atomic reference swap.
+     * Lookups running meanwhile are answered from the previous snapshot, without blocking.
+     *
+     * @return The size of the published snapshot.
+     */
+    Snapshot reload();
+
+    /**
+     * Returns the size of the snapshot published by the last reload.
+     *
+     * @return The snapshot size.
+     */
+    Snapshot snapshot();
+
+}
@@ -0,0 +1,185 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.domain.PriceTimelineCatalogue;
+import com.example.capitoletechnicaltest.ports.PriceChangeListener;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * {@link PriceRepositoryPort} adapter answering lookups from precomputed effective-price timelines.
+ * The PRICES table is loaded at startup and on every reload into a {@link PriceTimelineCatalogue}; a lookup
+ * is a hash access followed by a binary search over the epoch boundaries of the key. Changes from the
+ * PRICES change feed rebuild the timeline of their key only.
+ * Enabled with {@code prices.lookup.mode=timeline}.
+ */
+@Component
+@ConditionalOnProperty(name = "prices.lookup.mode", havingValue = "timeline")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TimelinePriceRepositoryAdapter
+        implements PriceRepositoryPort, ReloadablePriceCatalogue, PriceChangeListener {
+
+    /**
+     * Source of the tariffs loaded into the timelines.
+     */
+    private final PriceCatalogueSource source;
+
+    /**
+     * Resolved timelines of the catalogue.
+     */
+    private final PriceTimelineCatalogue catalogue = new PriceTimelineCatalogue();
+
+    private volatile Snapshot snapshot = new Snapshot(0, 0);
+
+    /**
+     * Constructs a new {@link TimelinePriceRepositoryAdapter}.
+     *
+     * @param source The source the timelines are built from.
+     */
+    public TimelinePriceRepositoryAdapter(PriceCatalogueSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Loads every tariff from the database and resolves all timelines.
+     */
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Reads every tariff and resolves new timelines, published at once by the catalogue.
+     *
+     * @return The size of the new catalogue.
+     */
+    @Override
+    public synchronized Snapshot reload() {
+        Map<PriceKey, List<Price>> byKey = new HashMap<>();
+        long[] tariffs = {0};
+        source.forEach(price -> {
+            byKey.computeIfAbsent(PriceKey.of(price), key -> new ArrayList<>()).add(price);
+            tariffs[0]++;
+        });
+        catalogue.load(byKey);
+        this.snapshot = new Snapshot(tariffs[0], byKey.size());
+        return snapshot;
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Applies a new or updated tariff, rebuilding only the timeline of its brand and product.
+     *
+     * @param price The changed tariff.
+     */
+    public synchronized void onPriceChanged(Price price) {
+        catalogue.upsert(price);
+    }
+
+    /**
+     * Removes a tariff, rebuilding only the timeline of its brand and product.
+     *
+     * @param price The removed tariff.
+     */
+    public synchronized void onPriceRemoved(Price price) {
+        catalogue.remove(price);
+    }
+
+    /**
+     * Rebuilds the timelines of the keys the changed tariff left or joined, among those its source
+     * includes. An updated tariff that stays on its key is replaced in a single rebuild, so lookups never
+     * miss it in between. Waits for a running reload, so the change is applied to the new timelines
+     * instead of being replaced by them.
+     *
+     * @param change The change to apply.
+     */
+    @Override
+    public synchronized void onPriceChange(PriceChange change) {
+        if (change.leftKey() && source.includes(change.key())) {
+            onPriceRemoved(change.removedPrice());
+        }
+        if (change.price() != null && source.includes(PriceKey.of(change.price()))) {
+            onPriceChanged(change.price());
+        }
+    }
+
+    /**
+     * Retrieves the price effective at the application date from the resolved timelines.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return An {@link Optional} containing the applicable {@link Price}, or empty if none matches.
+     */
+    @Override
+    public Optional<Price> findPriceByProductBrandAndDate(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return Optional.ofNullable(catalogue.priceAt(
+                new PriceKey(brandId, productId), PricePrecedence.toEpochSecond(applicationDate)));
+    }
+
+    /**
+     * Finds the next instant at which the applicable price changes, read from the resolved timeline.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next boundary, or empty if the price never changes again.
+     */
+    @Override
+    public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate) {
+        long next = catalogue.nextBoundary(
+                new PriceKey(brandId, productId), PricePrecedence.toEpochSecond(applicationDate));
+        return next == Long.MAX_VALUE ? Optional.empty() : Optional.of(PricePrecedence.fromEpochSecond(next));
+    }
+
+    /**
+     * Hands over the source tariffs of the product overlapping the range, kept next to its timeline.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the tariffs, in start-date order.
+     */
+    @Override
+    public void forEachPrice(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                             Consumer<? super Price> action) {
+        catalogue.prices(new PriceKey(brandId, productId)).stream()
+                .filter(price -> !price.getStartDate().isAfter(to) && !price.getEndDate().isBefore(from))
+                .sorted(Comparator.comparing(Price::getStartDate))
+                .forEach(action);
+    }
+
+    /**
+     * Hands over the effective price of every product of the brand at the application date, read from
+     * the resolved timelines.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the tariffs must cover.
+     * @param action          The action receiving one tariff per product.
+     */
+    @Override
+    public void forEachPriceAt(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+        catalogue.forEachPriceAt(brandId, PricePrecedence.toEpochSecond(applicationDate), action);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Selects the applicable price of each product from the tariffs covering a single instant, as they are read.
+ * <p>
+ * Tariffs arrive with those of each product together, in any order within the product. The one with the
+ * highest precedence is kept while the product lasts, and handed over as soon as the next product starts,
+ * so a catalogue of any size is resolved holding a single tariff.
+ */
+public final class ApplicablePriceSelector implements Consumer<Price> {
+
+    private final Consumer<? super Price> action;
+
+    /**
+     * Winning tariff of the current product, {@code null} before the first tariff.
+     */
+    private Price best;
+
+    private long count;
+
+    /**
+     * Constructs a new {@link ApplicablePriceSelector}.
+     *
+     * @param action The action receiving the applicable price of each product.
+     */
+    public ApplicablePriceSelector(Consumer<? super Price> action) {
+        this.action = action;
+    }
+
+    /**
+     * Adds the next tariff, handing over the applicable price of the previous product if this one starts
+     * another product.
+     *
+     * @param price A tariff covering the instant.
+     */
+    @Override
+    public void accept(Price price) {
+        if (best != null && (!Objects.equals(best.getProductId(), price.getProductId())
+                || !Objects.equals(best.getBrandId(), price.getBrandId()))) {
+            hand();
+        }
+        if (PricePrecedence.outranks(price, best)) {
+            best = price;
+        }
+    }
+
+    /**
+     * Hands over the applicable price of the last product.
+     *
+     * @return The number of applicable prices handed over.
+     */
+    public long complete() {
+        if (best != null) {
+            hand();
+        }
+        return count;
+    }
+
+    private void hand() {
+        action.accept(best);
+        count++;
+        best = null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.capitoletechnicaltest.domain;
+
+/**
+ * Thrown when a tariff submitted for ingestion is malformed or inconsistent.
+ * The message names the offending row, counted from 1 in input order.
+ */
+public class InvalidPriceException extends RuntimeException {
+
+    public InvalidPriceException(long row, String message) {
+        super("Row " + row + ": " + message);
+    }
+}
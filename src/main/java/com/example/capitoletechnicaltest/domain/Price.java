@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
@@ -18,12 +19,19 @@ import java.time.LocalDateTime;
 @Table(name = "PRICES")
 public class Price {
 
+    /**
+     * Number of IDs reserved per call to the PRICES_SEQ sequence.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Unique identifier for the price entry.
-     * Generated automatically using an identity strategy.
+     * Drawn from the PRICES_SEQ sequence in blocks of {@link #ID_ALLOCATION_SIZE}, so that Hibernate
+     * knows the IDs before inserting and can batch the inserts, which an identity column prevents.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prices_seq")
+    @SequenceGenerator(name = "prices_seq", sequenceName = "PRICES_SEQ", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -70,6 +78,32 @@ public class Price {
      */
     private String curr;
 
+    // Constructors
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public Price() {
+        // Empty constructor
+    }
+
+    /**
+     * Creates a fully initialized price. Used by read-only queries that project rows directly into
+     * instances the persistence context does not manage.
+     */
+    public Price(Long id, Long brandId, LocalDateTime startDate, LocalDateTime endDate, int priceList,
+            Long productId, int priority, BigDecimal amount, String curr) {
+        this.id = id;
+        this.brandId = brandId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.priceList = priceList;
+        this.productId = productId;
+        this.priority = priority;
+        this.amount = amount;
+        this.curr = curr;
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -0,0 +1,51 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to a single tariff of the PRICES table, as delivered by the change feed.
+ * <p>
+ * The change carries the current state of the row rather than the state right after the change, so
+ * applying changes again, or applying an old one, always converges on the table content.
+ *
+ * @param sequence  Position of the change in the feed.
+ * @param type      Kind of change.
+ * @param priceId   ID of the changed tariff.
+ * @param key       Key of the tariff before the change, or after it for an insert. An update may have
+ *                  moved the tariff to another key, given by {@code price}.
+ * @param price     Current state of the tariff, or {@code null} if it no longer exists.
+ * @param changedAt When the change was made.
+ */
+public record PriceChange(long sequence, Type type, long priceId, PriceKey key, Price price, LocalDateTime changedAt) {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        INSERT, UPDATE, DELETE
+    }
+
+    /**
+     * Tells whether the tariff must be removed from {@link #key()}: it no longer exists, or it moved to
+     * another key.
+     *
+     * @return {@code true} if the tariff left its recorded key.
+     */
+    public boolean leftKey() {
+        return price == null || !PriceKey.of(price).equals(key);
+    }
+
+    /**
+     * Returns a placeholder of the tariff under its recorded key, holding only its ID and key, used to
+     * remove it from that key.
+     *
+     * @return The placeholder tariff.
+     */
+    public Price removedPrice() {
+        Price removed = new Price();
+        removed.setId(priceId);
+        removed.setBrandId(key.brandId());
+        removed.setProductId(key.productId());
+        return removed;
+    }
+}
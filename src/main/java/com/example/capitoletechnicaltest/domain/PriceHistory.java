@@ -0,0 +1,144 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.time.LocalDateTime;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Resolves the effective prices of a single (brandId, productId) key over a date range, as the tariffs
+ * are read.
+ * <p>
+ * Tariffs are accepted in start-date order and swept like in {@link PriceTimeline}: a max-heap keeps the
+ * active tariff with the highest precedence on top, and a min-heap of end instants tells when it may
+ * expire. Each {@link PricePeriod} is handed over as soon as the next start or end closes it, so only the
+ * tariffs active at the current instant are held, never the whole history. Consecutive periods always
+ * have different tariffs, but not necessarily different prices: two tariffs with the same price that hand
+ * over to each other produce two adjacent periods, since a period stands for a single tariff. Instants no
+ * tariff covers produce no period.
+ */
+public final class PriceHistory implements Consumer<Price> {
+
+    private final Consumer<? super PricePeriod> action;
+
+    /**
+     * First second after the range.
+     */
+    private final long end;
+
+    /**
+     * Active tariffs, highest precedence on top. Expired ones are discarded lazily when they reach the top.
+     */
+    private final PriorityQueue<Price> active = new PriorityQueue<>(PricePrecedence.COMPARATOR.reversed());
+
+    /**
+     * End instants of the active tariffs, the earliest on top.
+     */
+    private final PriorityQueue<Long> ends = new PriorityQueue<>();
+
+    /**
+     * Instant the sweep has reached.
+     */
+    private long instant;
+
+    private long lastStart = Long.MIN_VALUE;
+
+    private Price current;
+
+    private long currentStart;
+
+    private boolean completed;
+
+    /**
+     * Constructs a new {@link PriceHistory}.
+     *
+     * @param from   The start of the range.
+     * @param to     The end of the range, inclusive.
+     * @param action The action receiving the effective periods, in date order, clipped to the range.
+     * @throws IllegalArgumentException If the range ends before it starts.
+     */
+    public PriceHistory(LocalDateTime from, LocalDateTime to, Consumer<? super PricePeriod> action) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The range ends before it starts: " + from + " > " + to);
+        }
+        this.action = action;
+        this.instant = PricePrecedence.toEpochSecond(from);
+        this.currentStart = instant;
+        this.end = PricePrecedence.toEpochSecond(to) + 1;
+    }
+
+    /**
+     * Adds the next tariff of the key, handing over every period that ends before it starts.
+     *
+     * @param price The tariff, starting no earlier than the previous one.
+     * @throws IllegalArgumentException If the tariff starts before the previous one.
+     * @throws IllegalStateException    If the history was already completed.
+     */
+    @Override
+    public void accept(Price price) {
+        if (completed) {
+            throw new IllegalStateException("The history is already completed");
+        }
+        long start = PricePrecedence.toEpochSecond(price.getStartDate());
+        if (start < lastStart) {
+            throw new IllegalArgumentException("Tariffs must be given in start-date order, got "
+                    + price.getStartDate() + " after " + PricePrecedence.fromEpochSecond(lastStart));
+        }
+        lastStart = start;
+        long priceEnd = PricePrecedence.toEpochSecond(price.getEndDate()) + 1;
+        if (start >= end || priceEnd <= instant) {
+            return;
+        }
+        advance(start);
+        active.add(price);
+        ends.add(priceEnd);
+        settle();
+    }
+
+    /**
+     * Hands over the periods left up to the end of the range. No tariff can be added afterwards.
+     */
+    public void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        advance(end);
+        if (current != null && end > currentStart) {
+            action.accept(new PricePeriod(current, PricePrecedence.fromEpochSecond(currentStart),
+                    PricePrecedence.fromEpochSecond(end - 1)));
+        }
+    }
+
+    /**
+     * Moves the sweep forward to the given instant, settling every tariff end on the way.
+     */
+    private void advance(long target) {
+        while (!ends.isEmpty() && ends.peek() < target) {
+            instant = ends.poll();
+            settle();
+        }
+        instant = Math.max(instant, target);
+    }
+
+    /**
+     * Drops the tariffs ended at the current instant, and closes the current period if the winner changed.
+     */
+    private void settle() {
+        while (!ends.isEmpty() && ends.peek() <= instant) {
+            ends.poll();
+        }
+        while (!active.isEmpty() && PricePrecedence.toEpochSecond(active.peek().getEndDate()) < instant) {
+            active.poll();
+        }
+        Price winner = active.peek();
+        if (winner == current) {
+            return;
+        }
+        if (current != null && instant > currentStart) {
+            action.accept(new PricePeriod(current, PricePrecedence.fromEpochSecond(currentStart),
+                    PricePrecedence.fromEpochSecond(instant - 1)));
+        }
+        current = winner;
+        currentStart = instant;
+    }
+}
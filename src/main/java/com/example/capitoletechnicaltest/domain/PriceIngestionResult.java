@@ -0,0 +1,22 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk ingestion.
+ *
+ * @param rows     The number of stored tariffs.
+ * @param duration The time spent reading, validating and storing them.
+ */
+public record PriceIngestionResult(long rows, Duration duration) {
+
+    /**
+     * Returns the ingestion throughput.
+     *
+     * @return The stored tariffs per second, {@code 0} if nothing took measurable time.
+     */
+    public long rowsPerSecond() {
+        long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : Math.round(rows * 1_000_000_000d / nanos);
+    }
+}
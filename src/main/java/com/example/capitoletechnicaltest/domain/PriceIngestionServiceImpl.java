@@ -0,0 +1,89 @@
+package com.example.capitoletechnicaltest.domain;
+
+import com.example.capitoletechnicaltest.ports.PriceIngestionServicePort;
+import com.example.capitoletechnicaltest.ports.PriceWriterPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Currency;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link PriceIngestionServicePort} interface.
+ * Validates each tariff as it streams through, so the input is never held in memory, and hands the
+ * stream to the {@link PriceWriterPort}. The first invalid tariff aborts the whole ingestion, and a
+ * successful one is announced with a {@link PricesIngestedEvent}.
+ */
+@Service
+public class PriceIngestionServiceImpl implements PriceIngestionServicePort {
+
+    /**
+     * ISO 4217 codes known to the JVM.
+     */
+    private static final Set<String> CURRENCY_CODES = Currency.getAvailableCurrencies().stream()
+            .map(Currency::getCurrencyCode)
+            .collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Dependency for storing the validated tariffs.
+     */
+    private final PriceWriterPort priceWriterPort;
+
+    /**
+     * Publisher of the {@link PricesIngestedEvent}s.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a new {@link PriceIngestionServiceImpl}.
+     *
+     * @param priceWriterPort The port used to store the tariffs.
+     * @param eventPublisher  The publisher of the ingestion events.
+     */
+    public PriceIngestionServiceImpl(PriceWriterPort priceWriterPort, ApplicationEventPublisher eventPublisher) {
+        this.priceWriterPort = priceWriterPort;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Validates and stores a stream of tariffs, all or nothing.
+     *
+     * @param prices The tariffs to store, consumed once; their IDs are ignored.
+     * @return The number of stored tariffs and the time it took.
+     * @throws InvalidPriceException If a tariff is invalid; nothing is stored then.
+     */
+    @Override
+    public PriceIngestionResult ingest(Stream<Price> prices) {
+        long start = System.nanoTime();
+        AtomicLong row = new AtomicLong();
+        long rows = priceWriterPort.insertAll(prices.peek(price -> validate(row.incrementAndGet(), price)));
+        eventPublisher.publishEvent(new PricesIngestedEvent(rows));
+        return new PriceIngestionResult(rows, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Checks that a tariff has every field, a valid currency code and a start date not after its end date.
+     *
+     * @param row   The position of the tariff in the input, from 1.
+     * @param price The tariff to check.
+     * @throws InvalidPriceException If the tariff is invalid.
+     */
+    static void validate(long row, Price price) {
+        if (price.getBrandId() == null || price.getProductId() == null || price.getStartDate() == null
+                || price.getEndDate() == null || price.getAmount() == null || price.getCurr() == null) {
+            throw new InvalidPriceException(row,
+                    "brandId, productId, startDate, endDate, amount and curr are required");
+        }
+        if (price.getStartDate().isAfter(price.getEndDate())) {
+            throw new InvalidPriceException(row, "startDate " + price.getStartDate()
+                    + " is after endDate " + price.getEndDate());
+        }
+        if (!CURRENCY_CODES.contains(price.getCurr())) {
+            throw new InvalidPriceException(row, "'" + price.getCurr() + "' is not an ISO 4217 currency code");
+        }
+    }
+}
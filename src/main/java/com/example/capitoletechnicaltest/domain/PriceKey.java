@@ -0,0 +1,22 @@
+package com.example.capitoletechnicaltest.domain;
+
+/**
+ * Identifies the set of tariffs that compete for a single product of a brand.
+ * Every price resolution is scoped to one key.
+ *
+ * @param brandId   Identifier of the brand.
+ * @param productId Identifier of the product.
+ */
+public record PriceKey(long brandId, long productId) {
+
+    /**
+     * Builds the key a given price belongs to.
+     *
+     * @param price The price entry.
+     * @return The (brandId, productId) key of the price.
+     */
+    public static PriceKey of(Price price) {
+        return new PriceKey(price.getBrandId(), price.getProductId());
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Period during which a single tariff is the effective price of a product.
+ *
+ * @param price     The effective tariff.
+ * @param startDate The first instant of the period.
+ * @param endDate   The last instant of the period, inclusive like tariff end dates.
+ */
+public record PricePeriod(Price price, LocalDateTime startDate, LocalDateTime endDate) {
+}
@@ -0,0 +1,57 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+
+/**
+ * Rules shared by every lookup strategy to decide which tariff wins when several cover the same instant.
+ * Dates are compared at second resolution through their UTC epoch seconds; the zone is only an encoding,
+ * tariff dates are local to the catalogue.
+ */
+public final class PricePrecedence {
+
+    /**
+     * Orders prices from the lowest to the highest precedence: by priority and, on equal priority,
+     * by start date so that the most recently started tariff wins, then by price list.
+     */
+    public static final Comparator<Price> COMPARATOR = Comparator
+            .comparingInt(Price::getPriority)
+            .thenComparing(Price::getStartDate)
+            .thenComparingInt(Price::getPriceList);
+
+    private PricePrecedence() {
+    }
+
+    /**
+     * Returns whether {@code candidate} takes precedence over {@code current}.
+     *
+     * @param candidate The price being considered.
+     * @param current   The best price found so far, may be {@code null}.
+     * @return {@code true} if the candidate should replace the current price.
+     */
+    public static boolean outranks(Price candidate, Price current) {
+        return current == null || COMPARATOR.compare(candidate, current) > 0;
+    }
+
+    /**
+     * Converts a date to the epoch-second representation used by the in-memory structures.
+     *
+     * @param dateTime The date to convert.
+     * @return Seconds since 1970-01-01T00:00:00, sub-second precision is truncated.
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts an epoch-second value back to a date.
+     *
+     * @param epochSecond Seconds since 1970-01-01T00:00:00.
+     * @return The matching date.
+     */
+    public static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+}
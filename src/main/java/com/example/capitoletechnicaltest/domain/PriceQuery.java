@@ -0,0 +1,23 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria of a single price lookup.
+ *
+ * @param brandId         The ID of the brand.
+ * @param productId       The ID of the product.
+ * @param applicationDate The date and time for which the price is requested.
+ */
+public record PriceQuery(Long brandId, Long productId, LocalDateTime applicationDate) {
+
+    /**
+     * Returns the (brandId, productId) key the query is scoped to.
+     *
+     * @return The key of the query.
+     */
+    public PriceKey key() {
+        return new PriceKey(brandId, productId);
+    }
+
+}
@@ -1,55 +1,119 @@
 package com.example.capitoletechnicaltest.domain;
 
-import com.example.capitoletechnicaltest.adapters.outbound.PriceRepository;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
 import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import org.springframework.context.annotation.Fallback;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the {@link PriceServicePort} interface.
  * Provides the logic to determine the applicable price for a product
  * based on brand, product ID, and application date.
+ * It is injected as the {@link PriceServicePort} only when no cache or single-flight service wraps it.
  */
 @Service
+@Fallback
 public class PriceServiceImpl implements PriceServicePort {
 
     /**
-     * Dependency for accessing price data persistence operations.
+     * Message of the 404 answers given when no price applies.
      */
-    private final PriceRepository priceRepository;
+    public static final String NO_APPLICABLE_PRICE = "No applicable price found for the given criteria.";
+
+    /**
+     * Dependency for resolving the applicable price. The adapter behind it is selected
+     * with the {@code prices.lookup.mode} property.
+     */
+    private final PriceRepositoryPort priceRepositoryPort;
 
     /**
      * Constructor for SimplePriceService.
-     * Utilizes dependency injection to provide the required {@link PriceRepository} implementation.
+     * Utilizes dependency injection to provide the required {@link PriceRepositoryPort} implementation.
      *
-     * @param priceRepository The persistence layer for managing price data.
+     * @param priceRepositoryPort The port used to resolve price data.
      */
-    public PriceServiceImpl(PriceRepository priceRepository) {
-        this.priceRepository = priceRepository;
+    public PriceServiceImpl(PriceRepositoryPort priceRepositoryPort) {
+        this.priceRepositoryPort = priceRepositoryPort;
     }
 
     /**
      * Retrieves the applicable price for a given product, brand, and application date.
-     * The method fetches prices from the database, applies filters for the given criteria,
-     * and selects the price with the highest priority if multiple matches are found.
+     * The method delegates to the configured {@link PriceRepositoryPort}, which selects the price
+     * with the highest priority if multiple matches are found.
      *
      * @param productId       The ID of the product for which the price is requested.
      * @param brandId         The ID of the brand associated with the price.
      * @param applicationDate The date and time for which the price is applicable.
      * @return An {@link Optional} containing the applicable {@link Price} if found,
-     * or an empty Optional if no price matches the criteria.
+     * or an empty Optional if no price matches the criteria. A miss is a regular result, not an error.
      */
     @Override
     public Optional<Price> findPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
-        return priceRepository
-                .findByBrandIdAndProductIdAndStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByPriorityDesc(
-                        brandId, productId, applicationDate, applicationDate)
-                .stream()
-                .findFirst()
-                .or(() -> {
-                    throw new ResourceNotFoundException("No applicable price found for the given criteria.");
-                });
+        return priceRepositoryPort.findPriceByProductBrandAndDate(productId, brandId, applicationDate);
+    }
+
+    /**
+     * Retrieves the applicable prices for a batch of lookups in a single call to the
+     * {@link PriceRepositoryPort}. Misses are reported per lookup as empty results.
+     *
+     * @param queries The lookups to resolve.
+     * @return One result per query, in the same order; empty when no price applies.
+     */
+    @Override
+    public List<Optional<Price>> findPrices(List<PriceQuery> queries) {
+        return priceRepositoryPort.findPrices(queries);
+    }
+
+    /**
+     * Finds the next tariff boundary of the product through the {@link PriceRepositoryPort}.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next tariff boundary, or empty if no tariff of the product starts or ends later.
+     */
+    @Override
+    public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return priceRepositoryPort.findNextBoundary(productId, brandId, applicationDate);
+    }
+
+    /**
+     * Resolves the effective prices of a product over a date range in a single pass over its tariffs,
+     * read from the {@link PriceRepositoryPort} in start-date order and swept by a {@link PriceHistory}.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the periods, in date order and clipped to the range.
+     * @throws IllegalArgumentException If the range ends before it starts.
+     */
+    @Override
+    public void findPriceHistory(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                                 Consumer<? super PricePeriod> action) {
+        PriceHistory history = new PriceHistory(from, to, action);
+        priceRepositoryPort.forEachPrice(productId, brandId, from, to, history);
+        history.complete();
+    }
+
+    /**
+     * Resolves the applicable price of every product of a brand in a single pass over the tariffs covering
+     * the instant, read from the {@link PriceRepositoryPort} and reduced by an {@link ApplicablePriceSelector}.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the prices are applicable.
+     * @param action          The action receiving one price per product with an applicable price.
+     * @return The number of prices handed over.
+     */
+    @Override
+    public long exportPrices(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+        ApplicablePriceSelector selector = new ApplicablePriceSelector(action);
+        priceRepositoryPort.forEachPriceAt(brandId, applicationDate, selector);
+        return selector.complete();
     }
 }
@@ -0,0 +1,142 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Effective-price timeline of a single (brandId, productId) key.
+ * <p>
+ * Overlapping tariffs are resolved once into flat, non-overlapping segments. Segment {@code i} covers
+ * the half-open range {@code [boundaries[i], boundaries[i + 1])} in epoch seconds and holds the winning
+ * price, or {@code null} for a gap. The last boundary closes the timeline. A lookup is a single binary
+ * search with no priority comparison.
+ */
+public final class PriceTimeline {
+
+    /**
+     * Timeline with no segment, used for keys without tariffs.
+     */
+    public static final PriceTimeline EMPTY = new PriceTimeline(new long[0], new Price[0]);
+
+    private final long[] boundaries;
+
+    private final Price[] segments;
+
+    private PriceTimeline(long[] boundaries, Price[] segments) {
+        this.boundaries = boundaries;
+        this.segments = segments;
+    }
+
+    /**
+     * Resolves the tariffs of one key into a timeline.
+     * Tariffs are swept in start-date order while a max-heap keeps the active tariff with the highest
+     * precedence on top; expired tariffs are discarded lazily when they reach the top.
+     *
+     * @param prices The tariffs of a single (brandId, productId) key.
+     * @return The resolved timeline.
+     */
+    public static PriceTimeline of(Collection<Price> prices) {
+        if (prices.isEmpty()) {
+            return EMPTY;
+        }
+        int n = prices.size();
+        Price[] byStart = prices.toArray(new Price[0]);
+        Arrays.sort(byStart, Comparator.comparing(Price::getStartDate));
+        long[] points = new long[n * 2];
+        for (int i = 0; i < n; i++) {
+            points[2 * i] = startOf(byStart[i]);
+            points[2 * i + 1] = endOf(byStart[i]);
+        }
+        Arrays.sort(points);
+
+        PriorityQueue<Price> active = new PriorityQueue<>(PricePrecedence.COMPARATOR.reversed());
+        List<Long> boundaryList = new ArrayList<>();
+        List<Price> segmentList = new ArrayList<>();
+        int next = 0;
+        for (int i = 0; i < points.length; i++) {
+            long point = points[i];
+            if (i > 0 && point == points[i - 1]) {
+                continue;
+            }
+            while (next < n && startOf(byStart[next]) == point) {
+                active.add(byStart[next++]);
+            }
+            while (!active.isEmpty() && endOf(active.peek()) <= point) {
+                active.poll();
+            }
+            Price winner = active.peek();
+            if (segmentList.isEmpty() || segmentList.get(segmentList.size() - 1) != winner) {
+                boundaryList.add(point);
+                segmentList.add(winner);
+            }
+        }
+
+        long[] boundaries = new long[boundaryList.size()];
+        for (int i = 0; i < boundaries.length; i++) {
+            boundaries[i] = boundaryList.get(i);
+        }
+        return new PriceTimeline(boundaries, segmentList.toArray(new Price[0]));
+    }
+
+    /**
+     * Finds the price effective at the given instant.
+     *
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The effective price, or {@code null} if no tariff covers the instant.
+     */
+    public Price priceAt(long epochSecond) {
+        int index = segmentIndex(epochSecond);
+        return index < 0 ? null : segments[index];
+    }
+
+    /**
+     * Finds the first instant after the given one at which the effective price changes.
+     *
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The next boundary in epoch seconds, or {@link Long#MAX_VALUE} if the price never changes again.
+     */
+    public long nextBoundary(long epochSecond) {
+        int next = segmentIndex(epochSecond) + 1;
+        return next < boundaries.length ? boundaries[next] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the number of segments, gaps included.
+     *
+     * @return The segment count.
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Finds the segment containing the instant.
+     *
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The segment index, or {@code -1} if the instant is before the first boundary.
+     */
+    private int segmentIndex(long epochSecond) {
+        int index = Arrays.binarySearch(boundaries, epochSecond);
+        // Not found: binarySearch returns (-(insertion point) - 1), the segment is the one before it.
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * First second covered by the tariff.
+     */
+    private static long startOf(Price price) {
+        return PricePrecedence.toEpochSecond(price.getStartDate());
+    }
+
+    /**
+     * First second no longer covered by the tariff; end dates are inclusive.
+     */
+    private static long endOf(Price price) {
+        return PricePrecedence.toEpochSecond(price.getEndDate()) + 1;
+    }
+
+}
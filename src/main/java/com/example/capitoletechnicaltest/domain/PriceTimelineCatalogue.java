@@ -0,0 +1,231 @@
+package com.example.capitoletechnicaltest.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Effective-price timelines of the whole catalogue, one {@link PriceTimeline} per (brandId, productId).
+ * <p>
+ * Each key keeps its source tariffs next to its resolved timeline, so a change to a single tariff only
+ * rebuilds the timeline of its own key. Readers never block: every entry is immutable and replaced
+ * atomically in the map.
+ * <p>
+ * A full load builds a new map aside and publishes it with a single reference swap, so readers see
+ * either the previous catalogue or the new one, never a mix. Single-tariff changes made while a load
+ * is building are replayed onto the new map before it is published.
+ */
+public class PriceTimelineCatalogue {
+
+    /**
+     * Source tariffs and resolved timeline of one key.
+     */
+    private record Entry(List<Price> prices, PriceTimeline timeline) {
+
+        static Entry of(List<Price> prices) {
+            return new Entry(List.copyOf(prices), PriceTimeline.of(prices));
+        }
+    }
+
+    /**
+     * Published entries. Replaced as a whole by {@link #load}, updated per key by {@link #upsert} and
+     * {@link #remove}.
+     */
+    private volatile Map<PriceKey, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes full loads.
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * Serializes writes to the published entries. Readers never take it.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Single-tariff changes made while a load builds its map, {@code null} when no load is running.
+     * Guarded by {@link #writeLock}.
+     */
+    private List<Consumer<Map<PriceKey, Entry>>> changesDuringLoad;
+
+    /**
+     * Replaces the content of the catalogue with the given tariffs.
+     *
+     * @param prices Every tariff of the catalogue.
+     */
+    public void load(Collection<Price> prices) {
+        load(prices.stream().collect(Collectors.groupingBy(PriceKey::of)));
+    }
+
+    /**
+     * Replaces the content of the catalogue with the given tariffs, already grouped by key.
+     * The new timelines are resolved without blocking readers, then published at once.
+     *
+     * @param pricesByKey Every tariff of the catalogue, by (brandId, productId) key.
+     */
+    public void load(Map<PriceKey, ? extends List<Price>> pricesByKey) {
+        loadLock.lock();
+        try {
+            changes(new ArrayList<>());
+            Map<PriceKey, Entry> loaded = new ConcurrentHashMap<>(pricesByKey.size());
+            pricesByKey.forEach((key, keyPrices) -> loaded.put(key, Entry.of(keyPrices)));
+            writeLock.lock();
+            try {
+                changesDuringLoad.forEach(change -> change.accept(loaded));
+                entries = loaded;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            changes(null);
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the price effective at the given instant.
+     *
+     * @param key         The (brandId, productId) key.
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The effective price, or {@code null} if none applies.
+     */
+    public Price priceAt(PriceKey key, long epochSecond) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.timeline().priceAt(epochSecond);
+    }
+
+    /**
+     * Finds the first instant after the given one at which the effective price of a key changes.
+     *
+     * @param key         The (brandId, productId) key.
+     * @param epochSecond The instant, in epoch seconds.
+     * @return The next boundary in epoch seconds, or {@link Long#MAX_VALUE} if there is none.
+     */
+    public long nextBoundary(PriceKey key, long epochSecond) {
+        return timeline(key).nextBoundary(epochSecond);
+    }
+
+    /**
+     * Returns the timeline of a key.
+     *
+     * @param key The (brandId, productId) key.
+     * @return The timeline, or {@link PriceTimeline#EMPTY} if the key has no tariff.
+     */
+    public PriceTimeline timeline(PriceKey key) {
+        Entry entry = entries.get(key);
+        return entry == null ? PriceTimeline.EMPTY : entry.timeline();
+    }
+
+    /**
+     * Hands over the price effective at the given instant of every key of a brand.
+     *
+     * @param brandId     The ID of the brand.
+     * @param epochSecond The instant, in epoch seconds.
+     * @param action      The action receiving one price per key with an effective price.
+     */
+    public void forEachPriceAt(long brandId, long epochSecond, Consumer<? super Price> action) {
+        entries.forEach((key, entry) -> {
+            Price price = key.brandId() == brandId ? entry.timeline().priceAt(epochSecond) : null;
+            if (price != null) {
+                action.accept(price);
+            }
+        });
+    }
+
+    /**
+     * Returns the source tariffs of a key.
+     *
+     * @param key The (brandId, productId) key.
+     * @return The tariffs, in no particular order; empty if the key has none.
+     */
+    public List<Price> prices(PriceKey key) {
+        Entry entry = entries.get(key);
+        return entry == null ? List.of() : entry.prices();
+    }
+
+    /**
+     * Inserts a tariff, or replaces the tariff with the same ID, and rebuilds the timeline of its key only.
+     * A tariff moved to another brand or product must be removed from its previous key first.
+     *
+     * @param price The new or updated tariff.
+     */
+    public void upsert(Price price) {
+        apply(target -> upsert(target, price));
+    }
+
+    /**
+     * Removes a tariff and rebuilds the timeline of its key only.
+     *
+     * @param price The removed tariff.
+     */
+    public void remove(Price price) {
+        apply(target -> remove(target, price));
+    }
+
+    /**
+     * Returns the number of keys in the catalogue.
+     *
+     * @return The key count.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void changes(List<Consumer<Map<PriceKey, Entry>>> changes) {
+        writeLock.lock();
+        try {
+            changesDuringLoad = changes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a change to the published entries and, if a load is building, records it for replay.
+     */
+    private void apply(Consumer<Map<PriceKey, Entry>> change) {
+        writeLock.lock();
+        try {
+            change.accept(entries);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void upsert(Map<PriceKey, Entry> entries, Price price) {
+        entries.compute(PriceKey.of(price), (key, entry) -> {
+            List<Price> prices = new ArrayList<>();
+            if (entry != null) {
+                entry.prices().stream()
+                        .filter(existing -> !sameTariff(existing, price))
+                        .forEach(prices::add);
+            }
+            prices.add(price);
+            return Entry.of(prices);
+        });
+    }
+
+    private static void remove(Map<PriceKey, Entry> entries, Price price) {
+        entries.computeIfPresent(PriceKey.of(price), (key, entry) -> {
+            List<Price> prices = entry.prices().stream()
+                    .filter(existing -> !sameTariff(existing, price))
+                    .toList();
+            return prices.isEmpty() ? null : Entry.of(prices);
+        });
+    }
+
+    private static boolean sameTariff(Price existing, Price price) {
+        return price.getId() != null ? Objects.equals(existing.getId(), price.getId()) : existing == price;
+    }
+
+}
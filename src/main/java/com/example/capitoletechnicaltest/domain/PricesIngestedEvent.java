@@ -0,0 +1,9 @@
+package com.example.capitoletechnicaltest.domain;
+
+/**
+ * Published once a bulk ingestion has committed its tariffs to the PRICES table.
+ *
+ * @param rows The number of ingested tariffs.
+ */
+public record PricesIngestedEvent(long rows) {
+}
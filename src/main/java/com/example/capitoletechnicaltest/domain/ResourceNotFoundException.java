@@ -2,10 +2,18 @@ package com.example.capitoletechnicaltest.domain;
 
 /**
  * Custom exception for resources not found.
+ * Price misses are reported as empty results instead, and answered with a 404 by the controllers; when this
+ * exception is used, it is stackless, since the 404 it maps to does not need a stack trace and capturing one
+ * dominates the cost of throwing.
  */
 public class ResourceNotFoundException extends RuntimeException {
 
+    /**
+     * Constructs a new {@link ResourceNotFoundException}.
+     *
+     * @param message The error message.
+     */
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,336 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePeriod;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.example.capitoletechnicaltest.ports.PriceChangeListener;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of a {@link PriceServicePort}.
+ * <p>
+ * Entries are keyed by brand, product and application date bucket. A bucket is resolved once, at its
+ * first second, together with the next tariff boundary after it: the cached answer, found or not, holds
+ * for every instant of the bucket before that boundary. Requests past the boundary inside the same
+ * bucket bypass the cache.
+ * <p>
+ * The cache is size-bounded with Caffeine's W-TinyLFU policy. Each entry expires when the boundary that
+ * ends its answer is reached by the wall clock, and never later than the configured maximum TTL.
+ * Changes from the PRICES change feed drop the entries of their keys, after the lookup adapters have
+ * applied them, and before the {@link PriceCatalogueVersion} is bumped.
+ * <p>
+ * A load in flight when a change lands may still store the answer it resolved before the change. Every
+ * entry therefore records the change sequence current when its load started, and every change stamps
+ * its keys with a later one: an entry loaded before a change of its key is reloaded when next read.
+ * Stamps are kept per stripe of keys, so a change may also reload the entries of unrelated keys sharing
+ * its stripe, but never leaves a stale one.
+ */
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CachingPriceService implements PriceServicePort, PriceChangeListener {
+
+    /**
+     * Cache key: a brand, a product and the index of an application date bucket.
+     */
+    private record CacheKey(long brandId, long productId, long bucket) {
+
+        PriceKey priceKey() {
+            return new PriceKey(brandId, productId);
+        }
+    }
+
+    /**
+     * Cached answer of a bucket, {@code price} is {@code null} for a miss. The answer holds for every
+     * instant of the bucket before {@code validTo}, in epoch seconds. {@code loadedAt} is the change
+     * sequence when the load started.
+     */
+    private record CachedPrice(Price price, long validTo, long loadedAt) {
+    }
+
+    /**
+     * Number of stripes of keys the change stamps are kept for; a power of two.
+     */
+    private static final int CHANGE_STRIPES = 1024;
+
+    private final PriceServicePort delegate;
+
+    private final PriceRepositoryPort priceRepositoryPort;
+
+    private final Clock clock;
+
+    private final long bucketSeconds;
+
+    private final long maxTtlNanos;
+
+    private final Cache<CacheKey, CachedPrice> cache;
+
+    /**
+     * Number of requests answered without the cache because a boundary splits their bucket.
+     */
+    private final LongAdder bypasses = new LongAdder();
+
+    /**
+     * Sequence of the changes and reloads applied, read by each load before it resolves its answer.
+     */
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    /**
+     * Sequence of the last change of any key of each stripe.
+     */
+    private final AtomicLongArray changeStamps = new AtomicLongArray(CHANGE_STRIPES);
+
+    /**
+     * Sequence of the last reload, which changes every key.
+     */
+    private volatile long reloadStamp;
+
+    /**
+     * Constructs a new {@link CachingPriceService}.
+     *
+     * @param delegate            The service resolving prices on a cache miss.
+     * @param priceRepositoryPort The port used to find the boundary ending each cached answer.
+     * @param properties          The cache configuration.
+     * @param clock               The wall clock used to schedule expirations.
+     */
+    public CachingPriceService(PriceServicePort delegate, PriceRepositoryPort priceRepositoryPort,
+                               PriceCacheProperties properties, Clock clock) {
+        this.delegate = delegate;
+        this.priceRepositoryPort = priceRepositoryPort;
+        this.clock = clock;
+        this.bucketSeconds = Math.max(1, properties.bucket().toSeconds());
+        this.maxTtlNanos = properties.maxTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new BoundaryExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retrieves the applicable price from the cache, resolving and caching its bucket on a miss.
+     *
+     * @param productId       The ID of the product for which the price is requested.
+     * @param brandId         The ID of the brand associated with the price.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return An {@link Optional} containing the applicable {@link Price}, or empty if none applies,
+     * whether the miss was cached or not.
+     */
+    @Override
+    public Optional<Price> findPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        long instant = PricePrecedence.toEpochSecond(applicationDate);
+        CacheKey key = new CacheKey(brandId, productId, Math.floorDiv(instant, bucketSeconds));
+        CachedPrice cached = cache.get(key, this::load);
+        while (isStale(key, cached)) {
+            cache.asMap().remove(key, cached);
+            cached = cache.get(key, this::load);
+        }
+
+        Price price;
+        if (instant < cached.validTo()) {
+            price = cached.price();
+        } else {
+            bypasses.increment();
+            price = resolve(productId, brandId, applicationDate);
+        }
+        return Optional.ofNullable(price);
+    }
+
+    /**
+     * Resolves a batch of lookups directly through the delegate, which already does it in one pass.
+     *
+     * @param queries The lookups to resolve.
+     * @return One result per query, in the same order; empty when no price applies.
+     */
+    @Override
+    public List<Optional<Price>> findPrices(List<PriceQuery> queries) {
+        return delegate.findPrices(queries);
+    }
+
+    /**
+     * Finds the next tariff boundary from the cached entry of the application date's bucket, which holds
+     * the boundary ending its answer, and through the repository when the bucket is not cached or the
+     * application date is past that boundary. A lookup followed by this call thus costs a single query.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next tariff boundary, or empty if no tariff of the product starts or ends later.
+     */
+    @Override
+    public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate) {
+        long instant = PricePrecedence.toEpochSecond(applicationDate);
+        CacheKey key = new CacheKey(brandId, productId, Math.floorDiv(instant, bucketSeconds));
+        CachedPrice cached = cache.getIfPresent(key);
+        if (cached != null && instant < cached.validTo() && !isStale(key, cached)) {
+            // No boundary lies between the bucket start and validTo, so validTo is also the next one after instant
+            return cached.validTo() == Long.MAX_VALUE
+                    ? Optional.empty()
+                    : Optional.of(PricePrecedence.fromEpochSecond(cached.validTo()));
+        }
+        return priceRepositoryPort.findNextBoundary(productId, brandId, applicationDate);
+    }
+
+    /**
+     * Resolves a price history directly through the delegate: it is streamed from the tariffs, and its
+     * periods would be cached under none of the bucket keys.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the periods, in date order and clipped to the range.
+     */
+    @Override
+    public void findPriceHistory(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                                 Consumer<? super PricePeriod> action) {
+        delegate.findPriceHistory(productId, brandId, from, to, action);
+    }
+
+    /**
+     * Exports the prices of a brand directly through the delegate, which reads them in a single pass.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the prices are applicable.
+     * @param action          The action receiving one price per product with an applicable price.
+     * @return The number of prices handed over.
+     */
+    @Override
+    public long exportPrices(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+        return delegate.exportPrices(brandId, applicationDate, action);
+    }
+
+    /**
+     * Discards every cached entry, for instance after the catalogue changed. Called on every
+     * {@link PriceCatalogueReloadedEvent}.
+     */
+    @EventListener(PriceCatalogueReloadedEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void invalidateAll() {
+        reloadStamp = changeSequence.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Discards the entries of the keys the changed tariff left or joined.
+     *
+     * @param change The change to apply.
+     */
+    @Override
+    public void onPriceChange(PriceChange change) {
+        onPriceChanges(List.of(change));
+    }
+
+    /**
+     * Discards the entries of every key the changed tariffs left or joined, in a single scan of the cache.
+     *
+     * @param changes The changes to apply.
+     */
+    @Override
+    public void onPriceChanges(List<PriceChange> changes) {
+        Set<PriceKey> changed = new HashSet<>();
+        for (PriceChange change : changes) {
+            changed.add(change.key());
+            if (change.price() != null) {
+                changed.add(PriceKey.of(change.price()));
+            }
+        }
+        long stamp = changeSequence.incrementAndGet();
+        for (PriceKey key : changed) {
+            changeStamps.accumulateAndGet(stripe(key), stamp, Math::max);
+        }
+        cache.asMap().keySet().removeIf(key -> changed.contains(key.priceKey()));
+    }
+
+    /**
+     * Returns the underlying cache, to bind its statistics to metrics.
+     *
+     * @return The Caffeine cache.
+     */
+    Cache<?, ?> cache() {
+        return cache;
+    }
+
+    /**
+     * Returns the number of requests that bypassed the cache because a boundary splits their bucket.
+     *
+     * @return The bypass count.
+     */
+    long bypassCount() {
+        return bypasses.sum();
+    }
+
+    private CachedPrice load(CacheKey key) {
+        // Read before resolving: a change applied by the adapters after this point carries a later stamp
+        long loadedAt = changeSequence.get();
+        LocalDateTime bucketStart = PricePrecedence.fromEpochSecond(key.bucket() * bucketSeconds);
+        Price price = resolve(key.productId(), key.brandId(), bucketStart);
+        long validTo = priceRepositoryPort.findNextBoundary(key.productId(), key.brandId(), bucketStart)
+                .map(PricePrecedence::toEpochSecond)
+                .orElse(Long.MAX_VALUE);
+        return new CachedPrice(price, validTo, loadedAt);
+    }
+
+    /**
+     * Tells whether an entry was loaded before a change of its key or a reload, and may thus hold the
+     * answer from before that change.
+     */
+    private boolean isStale(CacheKey key, CachedPrice cached) {
+        return cached.loadedAt() < Math.max(reloadStamp, changeStamps.get(stripe(key.priceKey())));
+    }
+
+    private static int stripe(PriceKey key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (CHANGE_STRIPES - 1);
+    }
+
+    private Price resolve(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return delegate.findPrice(productId, brandId, applicationDate).orElse(null);
+    }
+
+    /**
+     * Expires an entry when the wall clock reaches the boundary ending its answer, if that boundary is
+     * still ahead, and otherwise after the maximum TTL.
+     */
+    private final class BoundaryExpiry implements Expiry<CacheKey, CachedPrice> {
+
+        @Override
+        public long expireAfterCreate(CacheKey key, CachedPrice value, long currentTime) {
+            long now = PricePrecedence.toEpochSecond(LocalDateTime.now(clock));
+            if (value.validTo() == Long.MAX_VALUE || value.validTo() <= now) {
+                return maxTtlNanos;
+            }
+            return Math.min(maxTtlNanos, TimeUnit.SECONDS.toNanos(value.validTo() - now));
+        }
+
+        @Override
+        public long expireAfterUpdate(CacheKey key, CachedPrice value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CacheKey key, CachedPrice value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consistent-hash ring assigning every (brandId, productId) key to one of a set of nodes.
+ * <p>
+ * Each node is placed on a 64-bit ring at a number of pseudo-random points (virtual nodes), and a key is
+ * owned by the node of the first point at or after the hash of the key. Adding or removing a node only
+ * moves the keys of the arcs it gains or loses, about one node's share of them, and the virtual nodes
+ * even out the share of each node. The ring is immutable; a change of membership builds a new one.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodes;
+
+    /**
+     * Points of the ring, sorted as signed longs.
+     */
+    private final long[] points;
+
+    /**
+     * Index in {@link #nodes} of the owner of each point.
+     */
+    private final int[] owners;
+
+    /**
+     * Builds a ring over the nodes.
+     *
+     * @param nodes        The nodes, identified by name; at least one, without duplicates.
+     * @param virtualNodes The number of points of each node on the ring.
+     * @throws IllegalArgumentException If there is no node, a duplicate node, or no virtual node.
+     */
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one node and one virtual node per node");
+        }
+        if (nodes.stream().distinct().count() != nodes.size()) {
+            throw new IllegalArgumentException("Duplicate node in " + nodes);
+        }
+        this.nodes = List.copyOf(nodes);
+
+        long[] sorted = new long[nodes.size() * virtualNodes];
+        for (int node = 0; node < nodes.size(); node++) {
+            long seed = fnv1a(nodes.get(node));
+            for (int v = 0; v < virtualNodes; v++) {
+                sorted[node * virtualNodes + v] = mix(seed + v);
+            }
+        }
+        // Sorts the points together with their owners, through an index sort of the point values
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(sorted[a], sorted[b]));
+        this.points = new long[sorted.length];
+        this.owners = new int[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            points[i] = sorted[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * Returns the nodes of the ring, in the order they were given.
+     *
+     * @return The nodes.
+     */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the node owning a key.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @return The owning node.
+     */
+    public String owner(long brandId, long productId) {
+        return nodes.get(owners[point(hash(brandId, productId))]);
+    }
+
+    /**
+     * Returns the share of the hash space owned by each node, which is the expected share of the keys.
+     *
+     * @return The share of each node, between 0 and 1, in node order.
+     */
+    public Map<String, Double> shares() {
+        double[] arcs = new double[nodes.size()];
+        for (int i = 0; i < points.length; i++) {
+            // The arc ending at a point belongs to its owner; the first one wraps around the ring
+            long previous = i == 0 ? points[points.length - 1] : points[i - 1];
+            long length = points[i] - previous;
+            arcs[owners[i]] += points.length == 1 ? 0x1p64 : unsigned(length);
+        }
+        Map<String, Double> shares = new LinkedHashMap<>();
+        for (int node = 0; node < nodes.size(); node++) {
+            shares.put(nodes.get(node), arcs[node] / 0x1p64);
+        }
+        return shares;
+    }
+
+    /**
+     * Index of the first point at or after the hash, wrapping around to the first point of the ring.
+     */
+    private int point(long hash) {
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index == points.length ? 0 : index;
+    }
+
+    private static long hash(long brandId, long productId) {
+        return mix(brandId * 0x9E37_79B9_7F4A_7C15L + productId);
+    }
+
+    /**
+     * Finalizer of SplitMix64: spreads nearby inputs, such as consecutive product IDs, over the whole ring.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long fnv1a(String node) {
+        long hash = 0xCBF2_9CE4_8422_2325L;
+        for (byte b : node.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100_0000_01B3L;
+        }
+        return hash;
+    }
+
+    private static double unsigned(long value) {
+        return value >= 0 ? value : value + 0x1p64;
+    }
+}
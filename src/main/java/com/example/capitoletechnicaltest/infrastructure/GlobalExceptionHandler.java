@@ -1,12 +1,20 @@
 package com.example.capitoletechnicaltest.infrastructure;
 
+import com.example.capitoletechnicaltest.domain.InvalidPriceException;
 import com.example.capitoletechnicaltest.domain.ResourceNotFoundException;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,6 +24,20 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Counters of lookup misses and validation failures.
+     */
+    private final PriceLookupMetricsPort metrics;
+
+    /**
+     * Constructs a new {@link GlobalExceptionHandler}.
+     *
+     * @param metrics The counters of lookup misses and validation failures.
+     */
+    public GlobalExceptionHandler(PriceLookupMetricsPort metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Handles generic exceptions and returns a standardized error response.
      *
@@ -24,12 +46,11 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", LocalDateTime.now());
-        errorDetails.put("message", ex.getMessage());
-        errorDetails.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-
-        return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+        if (isValidationFailure(ex)) {
+            metrics.recordInvalid();
+        }
+        return new ResponseEntity<>(errorDetails(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage()),
+                HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     /**
@@ -40,12 +61,70 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleResourceNotFound(ResourceNotFoundException ex) {
+        metrics.recordMiss();
+        return new ResponseEntity<>(errorDetails(HttpStatus.NOT_FOUND, ex.getMessage()), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles tariffs rejected by a bulk ingestion.
+     *
+     * @param ex The exception that occurred.
+     * @return A ResponseEntity with error details.
+     */
+    @ExceptionHandler(InvalidPriceException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPrice(InvalidPriceException ex) {
+        return new ResponseEntity<>(errorDetails(HttpStatus.BAD_REQUEST, ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles lookups the owning shard failed to answer.
+     *
+     * @param ex The exception that occurred.
+     * @return A ResponseEntity with error details.
+     */
+    @ExceptionHandler(ShardUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleShardUnavailable(ShardUnavailableException ex) {
+        return new ResponseEntity<>(errorDetails(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()),
+                HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles ShardUnsupportedException and returns a response with HTTP status 501 (Not Implemented).
+     *
+     * @param ex The exception that occurred.
+     * @return A ResponseEntity with error details.
+     */
+    @ExceptionHandler(ShardUnsupportedException.class)
+    public ResponseEntity<Map<String, Object>> handleShardUnsupported(ShardUnsupportedException ex) {
+        return new ResponseEntity<>(errorDetails(HttpStatus.NOT_IMPLEMENTED, ex.getMessage()),
+                HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * Builds the standardized error body shared by every error response.
+     *
+     * @param status  The HTTP status of the response.
+     * @param message The error message.
+     * @return The error details.
+     */
+    public static Map<String, Object> errorDetails(HttpStatus status, String message) {
         Map<String, Object> errorDetails = new HashMap<>();
         errorDetails.put("timestamp", LocalDateTime.now());
-        errorDetails.put("message", ex.getMessage());
-        errorDetails.put("status", HttpStatus.NOT_FOUND.value());
+        errorDetails.put("message", message);
+        errorDetails.put("status", status.value());
+        return errorDetails;
+    }
 
-        return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+    /**
+     * Tells whether the exception was caused by invalid request parameters rather than by a failure.
+     */
+    private static boolean isValidationFailure(Exception ex) {
+        return ex instanceof DateTimeParseException
+                || ex instanceof ServletRequestBindingException
+                || ex instanceof TypeMismatchException
+                || ex instanceof ConstraintViolationException
+                || ex instanceof HandlerMethodValidationException
+                || ex instanceof HttpMessageNotReadableException;
     }
 
 }
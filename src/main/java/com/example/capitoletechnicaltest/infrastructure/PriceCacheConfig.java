@@ -0,0 +1,51 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.PriceServiceImpl;
+import com.example.capitoletechnicaltest.ports.PriceRepositoryPort;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+
+/**
+ * Configuration of the read-through price cache.
+ * When enabled, the cache becomes the primary {@code PriceServicePort} and wraps the
+ * {@link SingleFlightPriceService} if there is one, and {@link PriceServiceImpl} otherwise.
+ * Also binds the {@link PriceHttpCacheProperties} of the HTTP caching headers of the price lookups.
+ */
+@Configuration
+@EnableConfigurationProperties({PriceCacheProperties.class, PriceHttpCacheProperties.class})
+public class PriceCacheConfig {
+
+    /**
+     * Creates the caching service and exposes its hit, miss, eviction and bypass counts as metrics
+     * under the {@code cache.*} meters tagged {@code cache=prices}.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "prices.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CachingPriceService cachingPriceService(PriceServiceImpl priceService,
+                                                   ObjectProvider<SingleFlightPriceService> singleFlightPriceService,
+                                                   PriceRepositoryPort priceRepositoryPort,
+                                                   PriceCacheProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        PriceServicePort delegate = singleFlightPriceService.getIfAvailable();
+        CachingPriceService cachingPriceService = new CachingPriceService(delegate != null ? delegate : priceService,
+                priceRepositoryPort, properties, Clock.systemDefaultZone());
+        CaffeineCacheMetrics.monitor(meterRegistry, cachingPriceService.cache(), "prices");
+        FunctionCounter.builder("cache.bypasses", cachingPriceService, CachingPriceService::bypassCount)
+                .tag("cache", "prices")
+                .description("Lookups answered without the cache because a tariff boundary splits their bucket")
+                .register(meterRegistry);
+        return cachingPriceService;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the read-through price cache, bound from the {@code prices.cache} properties.
+ *
+ * @param enabled     Whether lookups go through the cache.
+ * @param maximumSize Maximum number of cached entries; beyond it entries are evicted with W-TinyLFU.
+ * @param bucket      Width of the application date buckets used as part of the cache key.
+ * @param maxTtl      Upper bound on the lifetime of an entry.
+ */
+@ConfigurationProperties(prefix = "prices.cache")
+public record PriceCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("1s") Duration bucket,
+        @DefaultValue("10m") Duration maxTtl) {
+}
@@ -0,0 +1,46 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ReloadablePriceCatalogue.Snapshot;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint of the in-memory price catalogue, at {@code /actuator/pricecatalogue}.
+ * {@code GET} returns the size of the current snapshot; {@code POST} reloads it from the PRICES table
+ * and returns the size of the new one.
+ */
+@Endpoint(id = "pricecatalogue")
+public class PriceCatalogueEndpoint {
+
+    private final PriceCatalogueReloader reloader;
+
+    /**
+     * Constructs a new {@link PriceCatalogueEndpoint}.
+     *
+     * @param reloader The reloader of the catalogue.
+     */
+    public PriceCatalogueEndpoint(PriceCatalogueReloader reloader) {
+        this.reloader = reloader;
+    }
+
+    /**
+     * Returns the size of the current snapshot.
+     *
+     * @return The snapshot size.
+     */
+    @ReadOperation
+    public Snapshot snapshot() {
+        return reloader.snapshot();
+    }
+
+    /**
+     * Reloads the catalogue and waits for the new snapshot to be published.
+     *
+     * @return The size of the new snapshot.
+     */
+    @WriteOperation
+    public Snapshot reload() {
+        return reloader.reload().join();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.PriceCatalogueSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * One-shot export of the PRICES table into a memory-mappable catalogue file.
+ * Enabled with {@code prices.catalogue-file.export=<file>}: the application starts, loads its database as
+ * usual, writes and verifies the file, then exits. Instances started with
+ * {@code prices.lookup.mode=columnar} and {@code prices.catalogue-file.path=<file>} map it instead of
+ * reading the table.
+ */
+@Configuration
+@ConditionalOnProperty(name = "prices.catalogue-file.export")
+public class PriceCatalogueExportConfig {
+
+    @Bean
+    public PriceCatalogueExporter priceCatalogueExporter(PriceCatalogueSource source,
+                                                         @Value("${prices.catalogue-file.export}") Path target,
+                                                         ConfigurableApplicationContext context) {
+        return new PriceCatalogueExporter(source, target, context);
+    }
+
+}
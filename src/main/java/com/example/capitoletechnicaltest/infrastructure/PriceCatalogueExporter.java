@@ -0,0 +1,85 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ColumnarPriceStore;
+import com.example.capitoletechnicaltest.adapters.outbound.PriceCatalogueFile;
+import com.example.capitoletechnicaltest.adapters.outbound.PriceCatalogueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Exports the PRICES table into a {@link PriceCatalogueFile} once the application has started, maps the
+ * written file back to verify it, and shuts the application down; see {@link PriceCatalogueExportConfig}.
+ */
+public class PriceCatalogueExporter implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceCatalogueExporter.class);
+
+    private final PriceCatalogueSource source;
+
+    private final Path target;
+
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Constructs a new {@link PriceCatalogueExporter}.
+     *
+     * @param source  The source of the exported tariffs.
+     * @param target  The catalogue file to write.
+     * @param context The application to shut down after the export.
+     */
+    public PriceCatalogueExporter(PriceCatalogueSource source, Path target, ConfigurableApplicationContext context) {
+        this.source = source;
+        this.target = target;
+        this.context = context;
+    }
+
+    /**
+     * Exports the catalogue, logs the failure if any, and exits with status 0 on success or 1 otherwise.
+     *
+     * @param args The application arguments, unused.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            export();
+            exitCode = 0;
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to export the catalogue to {}", target, ex);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    /**
+     * Writes every tariff of the source to the target file, then maps it again to check it.
+     *
+     * @return The tariffs read back from the written file.
+     * @throws IOException If the file cannot be written, or does not read back as written.
+     */
+    public ColumnarPriceStore export() throws IOException {
+        long start = System.nanoTime();
+        ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder();
+        source.forEach(builder::add);
+        ColumnarPriceStore store = builder.build();
+        PriceCatalogueFile.write(store, target);
+
+        ColumnarPriceStore written = PriceCatalogueFile.map(target);
+        if (written.size() != store.size() || written.keyCount() != store.keyCount()) {
+            throw new IOException("Catalogue file " + target + " does not hold the exported tariffs");
+        }
+        log.info("Exported {} tariffs of {} products to {} ({} bytes, format version {}) in {} ms",
+                written.size(), written.keyCount(), target, Files.size(target), PriceCatalogueFile.VERSION,
+                (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+}
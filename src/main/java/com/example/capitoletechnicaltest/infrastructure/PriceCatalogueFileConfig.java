@@ -0,0 +1,32 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Startup of an instance mapping its catalogue from a file, with {@code prices.catalogue-file.path} set.
+ * The tariffs are read from the file, so the database is initialized with {@code schema.sql} only: the
+ * sample rows of {@code data.sql} are not inserted, and the {@code synthetic} profile loads nothing (see
+ * {@link SyntheticCatalogueConfig}). The schema is still created, since the change feed and the ingestion
+ * write to the PRICES table.
+ */
+@Configuration
+@ConditionalOnExpression("!'${prices.catalogue-file.path:}'.isBlank()")
+public class PriceCatalogueFileConfig {
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer schemaOnlyDatabaseInitializer(DataSource dataSource,
+                                                                                SqlInitializationProperties properties) {
+        DatabaseInitializationSettings settings = SqlDataSourceScriptDatabaseInitializer.getSettings(properties);
+        settings.setDataLocations(List.of());
+        return new SqlDataSourceScriptDatabaseInitializer(dataSource, settings);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ColumnarPriceRepositoryAdapter;
+import com.example.capitoletechnicaltest.adapters.outbound.ReloadablePriceCatalogue;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the catalogue reload, for the lookup modes answering from an in-memory snapshot.
+ * The {@code database} mode reads the table on every lookup and has nothing to reload.
+ */
+@Configuration
+@ConditionalOnExpression("'${prices.lookup.mode:database}' != 'database'")
+public class PriceCatalogueReloadConfig {
+
+    @Bean
+    public PriceCatalogueReloader priceCatalogueReloader(ReloadablePriceCatalogue catalogue,
+                                                         ApplicationEventPublisher eventPublisher,
+                                                         MeterRegistry meterRegistry) {
+        return new PriceCatalogueReloader(catalogue, eventPublisher, meterRegistry);
+    }
+
+    /**
+     * Publishes the direct memory held by the columnar store as the {@code prices.catalogue.offheap} gauge.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "prices.lookup.mode", havingValue = "columnar")
+    public MeterBinder columnarCatalogueMetrics(ColumnarPriceRepositoryAdapter adapter) {
+        return registry -> Gauge.builder("prices.catalogue.offheap", adapter,
+                        ColumnarPriceRepositoryAdapter::offHeapBytes)
+                .baseUnit("bytes")
+                .description("Direct memory held by the columnar price catalogue")
+                .register(registry);
+    }
+
+    @Bean
+    public PriceCatalogueEndpoint priceCatalogueEndpoint(PriceCatalogueReloader reloader) {
+        return new PriceCatalogueEndpoint(reloader);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ReloadablePriceCatalogue;
+
+import java.time.Duration;
+
+/**
+ * Published once a new catalogue snapshot has replaced the previous one.
+ *
+ * @param snapshot The size of the published snapshot.
+ * @param duration The time taken to read and build it.
+ */
+public record PriceCatalogueReloadedEvent(ReloadablePriceCatalogue.Snapshot snapshot, Duration duration) {
+}
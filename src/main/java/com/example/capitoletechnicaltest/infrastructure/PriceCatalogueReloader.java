@@ -0,0 +1,129 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ReloadablePriceCatalogue;
+import com.example.capitoletechnicaltest.adapters.outbound.ReloadablePriceCatalogue.Snapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Rebuilds the in-memory price catalogue in the background.
+ * <p>
+ * Reloads run one at a time on a dedicated thread, while lookups keep being answered from the current
+ * snapshot. Requests arriving while a reload is queued share it; requests arriving while one is running
+ * queue a new one, so every request is followed by a read of the table that started after it.
+ * Each published snapshot is announced with a {@link PriceCatalogueReloadedEvent}.
+ * <p>
+ * Reloads are timed by {@code prices.catalogue.reload}, tagged with their result, and the size of the
+ * current snapshot is published by the {@code prices.catalogue.tariffs} and {@code prices.catalogue.keys}
+ * gauges.
+ */
+public class PriceCatalogueReloader implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceCatalogueReloader.class);
+
+    private final ReloadablePriceCatalogue catalogue;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("price-catalogue-reload").daemon().factory());
+
+    private final Timer successTimer;
+
+    private final Timer failureTimer;
+
+    /**
+     * Reload requested but not started yet, shared by the requests arriving meanwhile. Guarded by {@code this}.
+     */
+    private CompletableFuture<Snapshot> queued;
+
+    /**
+     * Constructs a new {@link PriceCatalogueReloader} and registers its meters.
+     *
+     * @param catalogue      The catalogue to reload.
+     * @param eventPublisher The publisher of the reload events.
+     * @param registry       The registry the meters are published to.
+     */
+    public PriceCatalogueReloader(ReloadablePriceCatalogue catalogue, ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry registry) {
+        this.catalogue = catalogue;
+        this.eventPublisher = eventPublisher;
+        this.successTimer = reloadTimer(registry, "success");
+        this.failureTimer = reloadTimer(registry, "failure");
+        Gauge.builder("prices.catalogue.tariffs", catalogue, c -> c.snapshot().tariffs())
+                .description("Tariffs in the current catalogue snapshot")
+                .register(registry);
+        Gauge.builder("prices.catalogue.keys", catalogue, c -> c.snapshot().keys())
+                .description("Brand and product keys in the current catalogue snapshot")
+                .register(registry);
+    }
+
+    /**
+     * Requests a reload of the catalogue.
+     *
+     * @return A future completed with the published snapshot, or exceptionally if the reload failed,
+     * in which case the previous snapshot stays in place.
+     */
+    public synchronized CompletableFuture<Snapshot> reload() {
+        if (queued == null) {
+            queued = new CompletableFuture<>();
+            executor.execute(this::run);
+        }
+        return queued;
+    }
+
+    /**
+     * Returns the size of the current snapshot.
+     *
+     * @return The snapshot size.
+     */
+    public Snapshot snapshot() {
+        return catalogue.snapshot();
+    }
+
+    private void run() {
+        CompletableFuture<Snapshot> future;
+        synchronized (this) {
+            future = queued;
+            queued = null;
+        }
+        long start = System.nanoTime();
+        try {
+            Snapshot snapshot = catalogue.reload();
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            successTimer.record(duration);
+            log.info("Reloaded {} tariffs over {} keys in {} ms", snapshot.tariffs(), snapshot.keys(),
+                    duration.toMillis());
+            eventPublisher.publishEvent(new PriceCatalogueReloadedEvent(snapshot, duration));
+            future.complete(snapshot);
+        } catch (RuntimeException ex) {
+            failureTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            log.error("Price catalogue reload failed, keeping the previous snapshot", ex);
+            future.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Stops the reload thread; a running reload is abandoned with the thread.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static Timer reloadTimer(MeterRegistry registry, String result) {
+        return Timer.builder("prices.catalogue.reload")
+                .tag("result", result)
+                .description("Time taken to read the PRICES table and publish a new catalogue snapshot")
+                .register(registry);
+    }
+}
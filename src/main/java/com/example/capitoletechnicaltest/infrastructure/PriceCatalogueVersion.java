@@ -0,0 +1,119 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.ports.PriceChangeListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version of the tariffs of each brand and product, from which the price lookups derive their ETags.
+ * <p>
+ * Versions are drawn from a single counter: every batch of changes from the PRICES change feed gives the
+ * keys it touches a new version, and every catalogue reload gives one to the whole catalogue. A key keeps
+ * its version for as long as none of its tariffs changes, and a version never describes two different
+ * sets of tariffs. The counter starts at the startup time in milliseconds, so the versions of a restarted
+ * node do not repeat those it handed out before.
+ * <p>
+ * Versions follow the change feed, so they lag a write to the PRICES table by up to a poll interval, as
+ * the price cache does. They are bumped after the lookup indexes and the cache have applied the changes,
+ * so a version is never read together with the tariffs it replaced. Only the keys changed since the last
+ * reload are kept, up to {@value #MAX_CHANGED_KEYS}; beyond that, the whole catalogue gets a new version.
+ */
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class PriceCatalogueVersion implements PriceChangeListener {
+
+    /**
+     * Maximum number of keys with a version of their own, past which they are reset to a new catalogue one.
+     */
+    static final int MAX_CHANGED_KEYS = 100_000;
+
+    private final ConcurrentHashMap<PriceKey, Long> changed = new ConcurrentHashMap<>();
+
+    /**
+     * Last version handed out; only written while holding the lock of this instance.
+     */
+    private long counter;
+
+    /**
+     * Version of every key without a version of its own.
+     */
+    private volatile long catalogue;
+
+    /**
+     * Constructs a new {@link PriceCatalogueVersion}.
+     *
+     * @param origin The first version, such as the startup time in milliseconds.
+     */
+    public PriceCatalogueVersion(long origin) {
+        this.counter = origin;
+        this.catalogue = origin;
+    }
+
+    /**
+     * Returns the current version of the tariffs of a product.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @return The version, which changes whenever a tariff of the product changes.
+     */
+    public long version(long brandId, long productId) {
+        // Reads the key first: a reload sets the catalogue version before clearing the keys
+        Long version = changed.get(new PriceKey(brandId, productId));
+        long current = catalogue;
+        return version != null ? Math.max(version, current) : current;
+    }
+
+    /**
+     * Gives the keys the changed tariff left or joined a new version.
+     *
+     * @param change The change to apply.
+     */
+    @Override
+    public void onPriceChange(PriceChange change) {
+        onPriceChanges(List.of(change));
+    }
+
+    /**
+     * Gives every key the changed tariffs left or joined a single new version.
+     *
+     * @param changes The changes to apply.
+     */
+    @Override
+    public synchronized void onPriceChanges(List<PriceChange> changes) {
+        long version = ++counter;
+        for (PriceChange change : changes) {
+            changed.put(change.key(), version);
+            if (change.price() != null) {
+                changed.put(PriceKey.of(change.price()), version);
+            }
+        }
+        if (changed.size() > MAX_CHANGED_KEYS) {
+            renew();
+        }
+    }
+
+    /**
+     * Gives the whole catalogue a new version. Called on every {@link PriceCatalogueReloadedEvent}, after
+     * the price cache has been cleared.
+     */
+    @EventListener(PriceCatalogueReloadedEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void renew() {
+        catalogue = ++counter;
+        changed.clear();
+    }
+
+    /**
+     * Returns the number of keys with a version of their own.
+     *
+     * @return The changed key count.
+     */
+    int changedKeyCount() {
+        return changed.size();
+    }
+}
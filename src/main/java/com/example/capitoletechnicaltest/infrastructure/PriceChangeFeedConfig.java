@@ -0,0 +1,64 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.PriceChangePoller;
+import com.example.capitoletechnicaltest.ports.PriceChangeListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Configuration of the PRICES change feed.
+ * A trigger records every change to PRICES into PRICE_CHANGES, and a poller delivers them to the
+ * {@link PriceChangeListener} beans: the in-memory lookup indexes patch the affected key, then the price
+ * cache drops its entries, and the {@link PriceCatalogueVersion} of the key is bumped. Bulk ingestions
+ * are followed by a full refresh, by the {@link PriceIngestionInvalidator}.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceChangeFeedProperties.class)
+@ConditionalOnProperty(name = "prices.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceChangeFeedConfig {
+
+    /**
+     * Clock the changes are both stamped and delivered by.
+     */
+    private final Clock clock = Clock.systemDefaultZone();
+
+    @Bean
+    public PriceChangeTriggerInstaller priceChangeTriggerInstaller(DataSource dataSource) {
+        return new PriceChangeTriggerInstaller(dataSource, clock);
+    }
+
+    /**
+     * Creates the catalogue version behind the ETags of the price lookups. It only exists with the change
+     * feed, without which writes to the PRICES table would go unnoticed.
+     */
+    @Bean
+    public PriceCatalogueVersion priceCatalogueVersion() {
+        return new PriceCatalogueVersion(System.currentTimeMillis());
+    }
+
+    /**
+     * Creates the fallback of the feed for bulk ingestions, whose changes the poller may skip.
+     */
+    @Bean
+    public PriceIngestionInvalidator priceIngestionInvalidator(ObjectProvider<PriceCatalogueReloader> reloader,
+                                                               ObjectProvider<CachingPriceService> cache,
+                                                               PriceCatalogueVersion priceCatalogueVersion) {
+        return new PriceIngestionInvalidator(reloader.getIfAvailable(), cache.getIfAvailable(), priceCatalogueVersion);
+    }
+
+    @Bean
+    public PriceChangePoller priceChangePoller(DataSource dataSource, ObjectProvider<PriceChangeListener> listeners,
+                                               PriceChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        return new PriceChangePoller(dataSource, listeners.orderedStream().toList(), properties.pollInterval(),
+                properties.batchSize(), properties.gapTimeout(), properties.retention(), clock,
+                meterRegistry);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the PRICES change feed, bound from the {@code prices.changes} properties.
+ *
+ * @param enabled      Whether changes are recorded and delivered.
+ * @param pollInterval Delay between two polls; zero to poll only on demand.
+ * @param batchSize    Maximum number of changes read per query.
+ * @param gapTimeout   How long a gap in the change sequence is waited for before being skipped.
+ * @param retention    How long delivered changes are kept in PRICE_CHANGES, and skipped sequence numbers
+ *                     checked again.
+ */
+@ConfigurationProperties(prefix = "prices.changes")
+public record PriceChangeFeedProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("10s") Duration gapTimeout,
+        @DefaultValue("1h") Duration retention) {
+}
@@ -0,0 +1,59 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.H2PriceChangeTrigger;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.AbstractBeansOfTypeDatabaseInitializerDetector;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.Set;
+
+/**
+ * Installs the trigger recording the changes to PRICES; see {@link PriceChangeFeedConfig}.
+ * <p>
+ * Registered as a database initializer, ordered after every other one: bulk startup loads such as the
+ * synthetic catalogue are not recorded, and the trigger is in place before the in-memory lookup indexes
+ * read the table, so no change falls between their snapshot and the feed.
+ */
+public class PriceChangeTriggerInstaller implements InitializingBean {
+
+    private final DataSource dataSource;
+
+    private final Clock clock;
+
+    /**
+     * Constructs a new {@link PriceChangeTriggerInstaller}.
+     *
+     * @param dataSource The database holding PRICES.
+     * @param clock      The clock the changes are stamped with, that of the poller delivering them.
+     */
+    public PriceChangeTriggerInstaller(DataSource dataSource, Clock clock) {
+        this.dataSource = dataSource;
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        H2PriceChangeTrigger.useClock(clock);
+        new JdbcTemplate(dataSource).execute(H2PriceChangeTrigger.CREATE_SQL);
+    }
+
+    /**
+     * Makes Spring Boot treat {@link PriceChangeTriggerInstaller} as the last database initializer.
+     * Registered in {@code META-INF/spring.factories}.
+     */
+    public static class Detector extends AbstractBeansOfTypeDatabaseInitializerDetector {
+
+        @Override
+        protected Set<Class<?>> getDatabaseInitializerBeanTypes() {
+            return Set.of(PriceChangeTriggerInstaller.class);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
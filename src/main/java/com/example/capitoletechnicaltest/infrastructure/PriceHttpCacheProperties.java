@@ -0,0 +1,20 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the HTTP caching headers of the price lookups, bound from the {@code prices.http-cache}
+ * properties.
+ *
+ * @param enabled Whether lookups carry {@code Cache-Control} and {@code ETag} headers and answer conditional
+ *                requests.
+ * @param maxAge  Upper bound on the {@code max-age} of a response, whatever its next tariff boundary.
+ */
+@ConfigurationProperties(prefix = "prices.http-cache")
+public record PriceHttpCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration maxAge) {
+}
@@ -0,0 +1,54 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.PricesIngestedEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Refreshes the lookup path once a bulk ingestion has committed.
+ * <p>
+ * A bulk ingestion inserts its tariffs in a single transaction, which can outlast the gap timeout of the
+ * change feed: its changes are then skipped, and only delivered one by one, out of order, by the first poll
+ * after the commit. Instead of waiting for the feed, every committed ingestion reloads the in-memory
+ * catalogue, which clears
+ * the price cache and renews the catalogue version once the new snapshot is published. In the
+ * {@code database} lookup mode, the cache is cleared and the version renewed right away.
+ */
+public class PriceIngestionInvalidator {
+
+    private final PriceCatalogueReloader reloader;
+
+    private final CachingPriceService cache;
+
+    private final PriceCatalogueVersion version;
+
+    /**
+     * Constructs a new {@link PriceIngestionInvalidator}.
+     *
+     * @param reloader The reloader of the in-memory catalogue, or {@code null} in the {@code database} mode.
+     * @param cache    The price cache, or {@code null} if it is disabled.
+     * @param version  The catalogue version behind the ETags of the lookups.
+     */
+    public PriceIngestionInvalidator(PriceCatalogueReloader reloader, CachingPriceService cache,
+                                     PriceCatalogueVersion version) {
+        this.reloader = reloader;
+        this.cache = cache;
+        this.version = version;
+    }
+
+    /**
+     * Reloads the catalogue, or invalidates the cache and the version if there is no catalogue to reload.
+     *
+     * @param event The committed ingestion.
+     */
+    @EventListener(PricesIngestedEvent.class)
+    public void onPricesIngested(PricesIngestedEvent event) {
+        if (reloader != null) {
+            reloader.reload();
+            return;
+        }
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        version.renew();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the price lookup path.
+ * <p>
+ * Every meter is registered once, up front, and recorded with primitive durations, so recording on the
+ * hot path does not allocate. Stage timers publish a percentile histogram, from which Prometheus computes
+ * p50, p99 and p999 across instances; registries without histogram support get the client-side percentiles.
+ * The disabled instance records into an empty registry, where every meter is a no-op.
+ */
+public class PriceLookupMetrics implements PriceLookupMetricsPort {
+
+    private final Timer parseTimer;
+
+    private final Timer serviceTimer;
+
+    private final Timer mappingTimer;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter invalid;
+
+    private final Counter notModified;
+
+    private final DistributionSummary candidates;
+
+    /**
+     * Constructs a new {@link PriceLookupMetrics} and registers its meters.
+     *
+     * @param registry The registry the meters are published to.
+     */
+    public PriceLookupMetrics(MeterRegistry registry) {
+        this.parseTimer = stageTimer(registry, "parse", "Parsing of the request parameters");
+        this.serviceTimer = stageTimer(registry, "service", "Price resolution by the service, cache included");
+        this.mappingTimer = stageTimer(registry, "mapping", "Mapping of the resolved price to the response DTO");
+        this.hits = resultCounter(registry, "hit", "Lookups that found an applicable price");
+        this.misses = resultCounter(registry, "miss", "Lookups without an applicable price");
+        this.invalid = resultCounter(registry, "invalid", "Lookups rejected because of invalid parameters");
+        this.notModified = resultCounter(registry, "not-modified",
+                "Conditional lookups answered with 304 Not Modified, without resolving the price");
+        this.candidates = DistributionSummary.builder("prices.lookup.batch.candidates")
+                .description("Candidate tariffs loaded from the database per lookup of a batch, in the database "
+                        + "lookup mode")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(registry);
+    }
+
+    /**
+     * Returns an instance whose meters record nothing.
+     *
+     * @return The disabled metrics.
+     */
+    public static PriceLookupMetrics disabled() {
+        return new PriceLookupMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Records the time spent parsing the request parameters.
+     */
+    @Override
+    public void recordParse(long nanos) {
+        parseTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent resolving the price in the service.
+     */
+    @Override
+    public void recordService(long nanos) {
+        serviceTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent mapping the price to the response DTO.
+     */
+    @Override
+    public void recordMapping(long nanos) {
+        mappingTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a lookup that found an applicable price.
+     */
+    @Override
+    public void recordHit() {
+        hits.increment();
+    }
+
+    /**
+     * Counts a lookup without an applicable price.
+     */
+    @Override
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Counts a lookup rejected because of invalid parameters.
+     */
+    @Override
+    public void recordInvalid() {
+        invalid.increment();
+    }
+
+    /**
+     * Counts a conditional lookup answered with 304 Not Modified.
+     */
+    @Override
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    /**
+     * Records the number of candidate tariffs loaded from the database for a lookup of a batch.
+     */
+    @Override
+    public void recordBatchCandidates(int count) {
+        candidates.record(count);
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage, String description) {
+        return Timer.builder("prices.lookup.stage")
+                .tag("stage", stage)
+                .description(description)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter resultCounter(MeterRegistry registry, String result, String description) {
+        return Counter.builder("prices.lookup.results")
+                .tag("result", result)
+                .description(description)
+                .register(registry);
+    }
+}
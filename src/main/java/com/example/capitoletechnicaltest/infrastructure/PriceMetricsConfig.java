@@ -0,0 +1,21 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the price lookup metrics.
+ * With {@code prices.metrics.enabled=false} the lookup path records into no-op meters.
+ */
+@Configuration
+public class PriceMetricsConfig {
+
+    @Bean
+    public PriceLookupMetrics priceLookupMetrics(MeterRegistry meterRegistry,
+                                                 @Value("${prices.metrics.enabled:true}") boolean enabled) {
+        return enabled ? new PriceLookupMetrics(meterRegistry) : PriceLookupMetrics.disabled();
+    }
+
+}
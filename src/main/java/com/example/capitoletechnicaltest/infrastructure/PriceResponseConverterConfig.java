@@ -0,0 +1,34 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.inbound.PriceResponseJsonConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers {@link PriceResponseJsonConverter} ahead of Spring MVC's Jackson converter, so single price
+ * responses skip Jackson's bean serializer. Every other body is still written by Jackson.
+ */
+@Configuration
+public class PriceResponseConverterConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new {@link PriceResponseConverterConfig}.
+     *
+     * @param objectMapper The application's mapper, used by the converter for values outside its fast path.
+     */
+    public PriceResponseConverterConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PriceResponseJsonConverter(objectMapper));
+    }
+
+}
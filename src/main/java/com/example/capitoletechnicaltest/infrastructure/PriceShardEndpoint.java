@@ -0,0 +1,78 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ReloadablePriceCatalogue.Snapshot;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Actuator endpoint of the sharded cluster, at {@code /actuator/priceshards}.
+ * {@code GET} reports the shards with their share of the keys and the lookups this node routed to each,
+ * the catalogue slice loaded by this node and the time taken by the last rebalance. {@code POST} with a
+ * comma-separated {@code nodes} list rebalances this node onto a new ring and reports the result.
+ */
+@Endpoint(id = "priceshards")
+public class PriceShardEndpoint {
+
+    /**
+     * State of the cluster, as seen by this node.
+     *
+     * @param self                Base URL of this node.
+     * @param shards              Shards of the ring, with their share of the keys and the lookups routed to them.
+     * @param catalogue           Size of the catalogue slice loaded by this node, or {@code null} in the
+     *                            {@code database} lookup mode.
+     * @param lastRebalanceMillis Time taken by the last rebalance, in milliseconds.
+     */
+    public record ShardReport(String self, List<PriceShards.Shard> shards, Snapshot catalogue,
+                              long lastRebalanceMillis) {
+    }
+
+    private final PriceShards shards;
+
+    private final PriceCatalogueReloader reloader;
+
+    /**
+     * Constructs a new {@link PriceShardEndpoint}.
+     *
+     * @param shards   The membership of this node.
+     * @param reloader The reloader of the in-memory catalogue, or {@code null} in the {@code database}
+     *                 lookup mode, where there is no slice to load.
+     */
+    public PriceShardEndpoint(PriceShards shards, PriceCatalogueReloader reloader) {
+        this.shards = shards;
+        this.reloader = reloader;
+    }
+
+    /**
+     * Reports the state of the cluster.
+     *
+     * @return The shards, the local slice and the last rebalance time.
+     */
+    @ReadOperation
+    public ShardReport report() {
+        return new ShardReport(shards.self(), shards.shards(), reloader != null ? reloader.snapshot() : null,
+                shards.lastRebalance().toMillis());
+    }
+
+    /**
+     * Rebalances this node onto a new ring: loads the slice it owns on the new ring, then routes lookups
+     * with it.
+     *
+     * @param nodes The base URLs of every node of the new cluster, separated by commas.
+     * @return The state of the cluster after the rebalance.
+     */
+    @WriteOperation
+    public ShardReport rebalance(String nodes) {
+        List<String> ring = Arrays.stream(nodes.split(",")).map(String::trim).filter(node -> !node.isEmpty())
+                .toList();
+        shards.rebalance(ring, () -> {
+            if (reloader != null) {
+                reloader.reload().join();
+            }
+        });
+        return report();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.inbound.ShardRoutingInterceptor;
+import com.example.capitoletechnicaltest.adapters.outbound.JdbcPriceCatalogueSource;
+import com.example.capitoletechnicaltest.adapters.outbound.PriceCatalogueSource;
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.function.Consumer;
+
+/**
+ * Configuration of the sharded serving mode, enabled with {@code prices.sharding.enabled=true}.
+ * Each node loads only the tariffs of the keys it owns on a consistent-hash ring of the cluster nodes,
+ * and forwards single-key lookups of the other keys to their owner. Batch lookups, exports and lookup
+ * streams are rejected with a 501, and binary lookups of keys owned by another node are answered
+ * {@code NOT_OWNED}. Bulk ingestions are rejected with a 501 too: they would only be written to the database
+ * of the receiving node, and never reach the owners of the other keys.
+ */
+@Configuration
+@ConditionalOnProperty(name = "prices.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(PriceShardingProperties.class)
+public class PriceShardingConfig {
+
+    @Bean
+    public PriceShards priceShards(PriceShardingProperties properties, MeterRegistry meterRegistry) {
+        return new PriceShards(properties, meterRegistry);
+    }
+
+    /**
+     * Restricts the catalogue read by the in-memory lookup modes, and the changes they apply from the
+     * change feed, to the keys owned by this node.
+     */
+    @Bean
+    @Primary
+    public PriceCatalogueSource shardedPriceCatalogueSource(JdbcPriceCatalogueSource source, PriceShards shards) {
+        return new PriceCatalogueSource() {
+            @Override
+            public void forEach(Consumer<? super Price> action) {
+                source.forEach(price -> {
+                    if (shards.owns(price)) {
+                        action.accept(price);
+                    }
+                });
+            }
+
+            @Override
+            public boolean includes(PriceKey key) {
+                return shards.owns(key);
+            }
+        };
+    }
+
+    @Bean
+    public ShardRoutingInterceptor shardRoutingInterceptor(PriceShards shards, PriceShardingProperties properties) {
+        return new ShardRoutingInterceptor(shards, properties.forwardTimeout());
+    }
+
+    /**
+     * Puts the routing in front of the single-key lookup endpoints, and rejects the lookups spanning
+     * several keys, which no single node can answer, and the bulk ingestions, which no single node can apply.
+     */
+    @Bean
+    public WebMvcConfigurer shardRoutingConfigurer(ShardRoutingInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor)
+                        .addPathPatterns("/api/prices", "/api/prices/history", "/api/reactive/prices");
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                                             Object handler) {
+                        throw new ShardUnsupportedException(request.getMethod() + " " + request.getRequestURI());
+                    }
+                }).addPathPatterns("/api/prices/batch", "/api/prices/export", "/api/reactive/prices/stream",
+                        "/api/prices/bulk");
+            }
+        };
+    }
+
+    @Bean
+    public PriceShardEndpoint priceShardEndpoint(PriceShards shards, ObjectProvider<PriceCatalogueReloader> reloader) {
+        return new PriceShardEndpoint(shards, reloader.getIfAvailable());
+    }
+
+}
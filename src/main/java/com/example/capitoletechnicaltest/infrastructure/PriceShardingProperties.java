@@ -0,0 +1,25 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the sharded serving mode, bound from the {@code prices.sharding} properties.
+ *
+ * @param enabled        Whether the catalogue is sharded across nodes.
+ * @param self           Base URL of this node, as listed in {@code nodes}.
+ * @param nodes          Base URLs of every node of the cluster, this one included.
+ * @param virtualNodes   Number of points of each node on the consistent-hash ring.
+ * @param forwardTimeout Time allowed to the owning node to answer a forwarded lookup.
+ */
+@ConfigurationProperties(prefix = "prices.sharding")
+public record PriceShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        String self,
+        @DefaultValue List<String> nodes,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("2s") Duration forwardTimeout) {
+}
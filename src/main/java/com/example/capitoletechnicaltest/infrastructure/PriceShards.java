@@ -0,0 +1,215 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Membership of this node in a sharded cluster: the consistent-hash ring routing each (brandId, productId)
+ * key to the node owning it, and the slice of the catalogue this node loads.
+ * <p>
+ * A rebalance loads the slice of the new ring first, while lookups are still routed with the current
+ * one, and then switches routing to the new ring. Each node is rebalanced on its own, so while a cluster
+ * is being rebalanced, a lookup forwarded by a node already on the new ring may reach a node still on the
+ * old one.
+ * <p>
+ * Lookups routed to each shard are counted by {@code prices.shard.requests}, forwarded lookups are timed
+ * by {@code prices.shard.forward}, both tagged with the shard, and rebalances by
+ * {@code prices.shard.rebalance}.
+ */
+public class PriceShards {
+
+    /**
+     * A shard of the cluster, as seen by this node.
+     *
+     * @param node     Base URL of the node owning the shard.
+     * @param share    Share of the key space owned by the node, between 0 and 1.
+     * @param requests Lookups this node routed to the shard, answered locally for its own shard.
+     */
+    public record Shard(String node, double share, long requests) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(PriceShards.class);
+
+    private final String self;
+
+    private final int virtualNodes;
+
+    private final MeterRegistry registry;
+
+    private final Timer rebalanceTimer;
+
+    private final Map<String, Counter> requestCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> forwardTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Ring lookups are routed with.
+     */
+    private volatile ConsistentHashRing ring;
+
+    /**
+     * Ring the catalogue slice is loaded with: the routing ring, or the next one during a rebalance.
+     */
+    private volatile ConsistentHashRing loadingRing;
+
+    private volatile Duration lastRebalance = Duration.ZERO;
+
+    /**
+     * Constructs a new {@link PriceShards} and registers its meters.
+     *
+     * @param properties The sharding configuration.
+     * @param registry   The registry the meters are published to.
+     * @throws IllegalArgumentException If this node is not one of the nodes of the cluster.
+     */
+    public PriceShards(PriceShardingProperties properties, MeterRegistry registry) {
+        this.self = normalize(properties.self());
+        this.virtualNodes = properties.virtualNodes();
+        this.registry = registry;
+        this.ring = ring(properties.nodes());
+        this.loadingRing = ring;
+        if (!ring.nodes().contains(self)) {
+            throw new IllegalArgumentException("prices.sharding.self (" + self
+                    + ") must be one of prices.sharding.nodes " + ring.nodes());
+        }
+        this.rebalanceTimer = Timer.builder("prices.shard.rebalance")
+                .description("Time taken to load the catalogue slice of a new ring and switch routing to it")
+                .register(registry);
+    }
+
+    /**
+     * Returns the base URL of this node.
+     *
+     * @return This node.
+     */
+    public String self() {
+        return self;
+    }
+
+    /**
+     * Returns the node owning a key, and counts the lookup against its shard.
+     *
+     * @param brandId   The ID of the brand.
+     * @param productId The ID of the product.
+     * @return The base URL of the owning node.
+     */
+    public String route(long brandId, long productId) {
+        String owner = ring.owner(brandId, productId);
+        requestCounters.computeIfAbsent(owner, shard -> Counter.builder("prices.shard.requests")
+                        .tag("shard", shard)
+                        .description("Lookups routed to each shard")
+                        .register(registry))
+                .increment();
+        return owner;
+    }
+
+    /**
+     * Records the time taken by a lookup forwarded to another shard.
+     *
+     * @param owner The node the lookup was forwarded to.
+     * @param nanos The time taken, in nanoseconds.
+     */
+    public void recordForward(String owner, long nanos) {
+        forwardTimers.computeIfAbsent(owner, shard -> Timer.builder("prices.shard.forward")
+                        .tag("shard", shard)
+                        .description("Time taken by the owning node to answer a forwarded lookup")
+                        .register(registry))
+                .record(Duration.ofNanos(nanos));
+    }
+
+    /**
+     * Tells whether a tariff belongs to the slice of the catalogue this node loads.
+     *
+     * @param price The tariff.
+     * @return {@code true} if this node owns the key of the tariff.
+     */
+    public boolean owns(Price price) {
+        return owns(PriceKey.of(price));
+    }
+
+    /**
+     * Tells whether a key belongs to the slice of the catalogue this node loads.
+     *
+     * @param key The brand and product.
+     * @return {@code true} if this node owns the key.
+     */
+    public boolean owns(PriceKey key) {
+        return loadingRing.owner(key.brandId(), key.productId()).equals(self);
+    }
+
+    /**
+     * Moves this node to a new ring: loads its new slice with the given action, then routes lookups with
+     * the new ring. If loading fails, the node stays on the current ring.
+     *
+     * @param nodes The base URLs of every node of the new cluster.
+     * @param load  The action loading the catalogue slice, which reads {@link #owns} against the new ring.
+     * @return The time taken by the rebalance.
+     * @throws IllegalArgumentException If the new ring has no node or a duplicate node.
+     */
+    public synchronized Duration rebalance(List<String> nodes, Runnable load) {
+        ConsistentHashRing next = ring(nodes);
+        long start = System.nanoTime();
+        loadingRing = next;
+        try {
+            load.run();
+        } catch (RuntimeException ex) {
+            loadingRing = ring;
+            throw ex;
+        }
+        ring = next;
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        rebalanceTimer.record(duration);
+        lastRebalance = duration;
+        log.info("Rebalanced onto {} nodes in {} ms, owning {} of the keys", next.nodes().size(),
+                duration.toMillis(), String.format("%.3f", next.shares().getOrDefault(self, 0.0)));
+        return duration;
+    }
+
+    /**
+     * Returns the shards of the current ring, with their share of the keys and the lookups routed to them.
+     *
+     * @return One shard per node, in ring order.
+     */
+    public List<Shard> shards() {
+        List<Shard> shards = new ArrayList<>();
+        ring.shares().forEach((node, share) -> {
+            Counter counter = requestCounters.get(node);
+            shards.add(new Shard(node, share, counter == null ? 0 : (long) counter.count()));
+        });
+        return shards;
+    }
+
+    /**
+     * Returns the time taken by the last rebalance.
+     *
+     * @return The duration of the last rebalance, zero if none ran.
+     */
+    public Duration lastRebalance() {
+        return lastRebalance;
+    }
+
+    private ConsistentHashRing ring(List<String> nodes) {
+        return new ConsistentHashRing(nodes.stream().map(PriceShards::normalize).toList(), virtualNodes);
+    }
+
+    /**
+     * Strips the trailing slash of a base URL, so that a node is named the same way everywhere.
+     */
+    private static String normalize(String node) {
+        if (node == null || node.isBlank()) {
+            throw new IllegalArgumentException("A node must be given by its base URL");
+        }
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration of the non-blocking price lookups served under {@code /api/reactive/prices}.
+ */
+@Configuration
+public class ReactivePriceConfig {
+
+    /**
+     * Creates the non-blocking lookup service over the application's {@link PriceServicePort}. In the
+     * {@code database} lookup mode, lookups run on as many threads as the connection pool has connections,
+     * and further lookups wait in the executor's queue rather than for a connection, which would time out;
+     * in the in-memory modes, they run on a pool with one thread per CPU.
+     */
+    @Bean
+    public ReactivePriceService reactivePriceService(PriceServicePort priceServicePort,
+                                                     @Value("${prices.lookup.mode:database}") String lookupMode,
+                                                     @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+                                                     int connections) {
+        ExecutorService executor = "database".equals(lookupMode)
+                ? Executors.newFixedThreadPool(connections, Thread.ofVirtual().name("reactive-price-", 0).factory())
+                : new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                        ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        return new ReactivePriceService(priceServicePort, executor);
+    }
+
+}
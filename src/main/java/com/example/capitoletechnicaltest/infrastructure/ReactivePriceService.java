@@ -0,0 +1,197 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import com.example.capitoletechnicaltest.ports.ReactivePriceServicePort;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ReactivePriceServicePort} resolving lookups through a {@link PriceServicePort} on an executor of
+ * its own, so that the calling thread is released as soon as a lookup is submitted.
+ * <p>
+ * The lookups themselves still block: the service and its JPA repository query the database over JDBC,
+ * and a lookup holds its executor thread, and its pooled connection, until the query returns. What is
+ * non-blocking is the caller's side, which subscribes and gets the result when it is resolved.
+ * <p>
+ * The executor is chosen for the lookup adapter: lookups answered from memory never block, and run on a
+ * small pool sized to the CPUs; lookups querying the database run on one thread per pooled connection,
+ * and the others wait in the queue of the executor, holding no thread and no connection. Streams resolve
+ * their lookups in chunks of at most {@value #MAX_CHUNK}, through {@link PriceServicePort#findPrices},
+ * and never more than the subscriber has requested.
+ */
+public class ReactivePriceService implements ReactivePriceServicePort, AutoCloseable {
+
+    /**
+     * Maximum number of lookups of a stream resolved in a single call to the service.
+     */
+    static final int MAX_CHUNK = 256;
+
+    private final PriceServicePort delegate;
+
+    private final ExecutorService executor;
+
+    /**
+     * The executor, as a Reactor scheduler.
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * Constructs a new {@link ReactivePriceService}.
+     *
+     * @param delegate The service resolving the lookups.
+     * @param executor The executor the lookups run on; shut down when this service is closed.
+     */
+    public ReactivePriceService(PriceServicePort delegate, ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.scheduler = Schedulers.fromExecutorService(executor, "reactive-price");
+    }
+
+    @Override
+    public Mono<Optional<Price>> findPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return Mono.fromCallable(() -> delegate.findPrice(productId, brandId, applicationDate))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<Optional<Price>> findPrices(List<PriceQuery> queries) {
+        List<PriceQuery> copy = List.copyOf(queries);
+        return Flux.from(subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber");
+            LookupSubscription subscription = new LookupSubscription(copy, subscriber);
+            subscriber.onSubscribe(subscription);
+            subscription.drain();
+        });
+    }
+
+    /**
+     * Shuts the executor down; lookups in flight are interrupted.
+     */
+    @Override
+    public void close() {
+        scheduler.dispose();
+        executor.shutdownNow();
+    }
+
+    /**
+     * The stream of one subscriber. Requests only add to the demand and schedule a drain; a single drain
+     * runs at a time, on the executor, and resolves lookups while there is demand. Every signal to the
+     * subscriber is sent by the drain, so signals never overlap, even those answering an invalid request.
+     */
+    private final class LookupSubscription implements Subscription {
+
+        private final List<PriceQuery> queries;
+
+        private final Subscriber<? super Optional<Price>> subscriber;
+
+        /**
+         * Results requested and not delivered yet.
+         */
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * Number of drains scheduled; a drain is submitted only when it goes up from zero.
+         */
+        private final AtomicInteger scheduled = new AtomicInteger();
+
+        /**
+         * Index of the next query to resolve; only read and written by the running drain.
+         */
+        private int next;
+
+        private volatile boolean done;
+
+        /**
+         * Error answering a non-positive request, signalled by the next drain instead of the remaining
+         * results.
+         */
+        private volatile IllegalArgumentException invalidRequest;
+
+        LookupSubscription(List<PriceQuery> queries, Subscriber<? super Optional<Price>> subscriber) {
+            this.queries = queries;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                requested.getAndAccumulate(n,
+                        (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        void drain() {
+            if (scheduled.getAndIncrement() == 0) {
+                executor.execute(this::run);
+            }
+        }
+
+        private void run() {
+            int missed = 1;
+            do {
+                deliver();
+                missed = scheduled.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            try {
+                while (!done && invalidRequest == null && next < queries.size()) {
+                    long demand = requested.get();
+                    if (demand == 0) {
+                        return;
+                    }
+                    int chunk = (int) Math.min(Math.min(demand, MAX_CHUNK), queries.size() - next);
+                    List<Optional<Price>> results = delegate.findPrices(queries.subList(next, next + chunk));
+                    next += chunk;
+                    requested.addAndGet(-chunk);
+                    for (Optional<Price> result : results) {
+                        if (done) {
+                            return;
+                        }
+                        if (invalidRequest != null) {
+                            break;
+                        }
+                        subscriber.onNext(result);
+                    }
+                }
+                if (!done) {
+                    done = true;
+                    IllegalArgumentException invalid = invalidRequest;
+                    if (invalid != null) {
+                        subscriber.onError(invalid);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                }
+            } catch (RuntimeException ex) {
+                if (!done) {
+                    done = true;
+                    subscriber.onError(ex);
+                }
+            }
+        }
+    }
+}
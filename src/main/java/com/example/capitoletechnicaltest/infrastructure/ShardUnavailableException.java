@@ -0,0 +1,17 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+/**
+ * Thrown when the node owning a lookup cannot be reached, or does not answer in time.
+ */
+public class ShardUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link ShardUnavailableException}.
+     *
+     * @param node  The base URL of the node that failed to answer.
+     * @param cause The failure of the forwarded lookup.
+     */
+    public ShardUnavailableException(String node, Throwable cause) {
+        super("Shard " + node + " is unavailable", cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+/**
+ * Thrown when a node of a sharded cluster receives a request spanning keys of several shards, such as a
+ * batch lookup or an export, which its own slice of the catalogue cannot answer.
+ */
+public class ShardUnsupportedException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link ShardUnsupportedException}.
+     *
+     * @param request The method and path of the rejected request.
+     */
+    public ShardUnsupportedException(String request) {
+        super(request + " is not available on a sharded cluster, whose nodes only hold their own keys");
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.PriceServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the coalescing of concurrent identical lookups.
+ * When enabled, {@link SingleFlightPriceService} wraps {@link PriceServiceImpl}, and is itself wrapped by
+ * the price cache when the cache is enabled. The cache loads each bucket once, so coalescing then only
+ * applies to the lookups bypassing it; with the cache disabled, it applies to every lookup.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    /**
+     * Creates the single-flight service and exposes the number of coalesced lookups and of lookups in
+     * flight as the {@code prices.lookup.coalesced} and {@code prices.lookup.in-flight} meters.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "prices.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+    public SingleFlightPriceService singleFlightPriceService(PriceServiceImpl priceService,
+                                                             MeterRegistry meterRegistry) {
+        SingleFlightPriceService singleFlightPriceService = new SingleFlightPriceService(priceService);
+        FunctionCounter.builder("prices.lookup.coalesced", singleFlightPriceService,
+                        SingleFlightPriceService::coalescedCount)
+                .description("Lookups answered by joining an identical lookup in flight")
+                .register(meterRegistry);
+        Gauge.builder("prices.lookup.in-flight", singleFlightPriceService, SingleFlightPriceService::inFlightCount)
+                .description("Distinct lookups being resolved")
+                .register(meterRegistry);
+        return singleFlightPriceService;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePeriod;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces concurrent identical lookups in front of a {@link PriceServicePort}: while a lookup is being
+ * resolved, every other lookup of the same brand, product and application date waits for its result
+ * instead of resolving it again.
+ * <p>
+ * Lookups in flight are kept in a {@link ConcurrentHashMap}. A lookup joining one in flight only reads
+ * the map, without locking; registering and removing a lookup locks a single bin of the map, so
+ * different keys do not contend. A result is shared only while it is being resolved and never retained
+ * afterwards: this is not a cache, and a lookup arriving once its result was published resolves it anew.
+ * Failures are shared too, with every lookup that joined the failed one.
+ */
+public class SingleFlightPriceService implements PriceServicePort {
+
+    private final PriceServicePort delegate;
+
+    private final ConcurrentHashMap<PriceQuery, CompletableFuture<Optional<Price>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Number of lookups answered by joining an identical lookup in flight.
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Constructs a new {@link SingleFlightPriceService}.
+     *
+     * @param delegate The service resolving the lookups.
+     */
+    public SingleFlightPriceService(PriceServicePort delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Retrieves the applicable price, joining an identical lookup if one is in flight and resolving it
+     * through the delegate otherwise.
+     *
+     * @param productId       The ID of the product for which the price is requested.
+     * @param brandId         The ID of the brand associated with the price.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return An {@link Optional} containing the applicable {@link Price}, or empty if none applies.
+     */
+    @Override
+    public Optional<Price> findPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        PriceQuery query = new PriceQuery(brandId, productId, applicationDate);
+        CompletableFuture<Optional<Price>> leader = inFlight.get(query);
+        if (leader != null) {
+            return join(leader);
+        }
+        CompletableFuture<Optional<Price>> flight = new CompletableFuture<>();
+        leader = inFlight.putIfAbsent(query, flight);
+        if (leader != null) {
+            return join(leader);
+        }
+        try {
+            Optional<Price> price = delegate.findPrice(productId, brandId, applicationDate);
+            flight.complete(price);
+            return price;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(query, flight);
+        }
+    }
+
+    /**
+     * Resolves a batch of lookups directly through the delegate, which already does it in one pass.
+     *
+     * @param queries The lookups to resolve.
+     * @return One result per query, in the same order; empty when no price applies.
+     */
+    @Override
+    public List<Optional<Price>> findPrices(List<PriceQuery> queries) {
+        return delegate.findPrices(queries);
+    }
+
+    /**
+     * Finds the next tariff boundary directly through the delegate.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next tariff boundary, or empty if no tariff of the product starts or ends later.
+     */
+    @Override
+    public Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return delegate.findNextBoundary(productId, brandId, applicationDate);
+    }
+
+    /**
+     * Resolves a price history directly through the delegate: its periods are streamed to a single
+     * caller and cannot be shared.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the periods, in date order and clipped to the range.
+     */
+    @Override
+    public void findPriceHistory(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                                 Consumer<? super PricePeriod> action) {
+        delegate.findPriceHistory(productId, brandId, from, to, action);
+    }
+
+    /**
+     * Exports the prices of a brand directly through the delegate: they are streamed to a single caller
+     * and cannot be shared.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the prices are applicable.
+     * @param action          The action receiving one price per product with an applicable price.
+     * @return The number of prices handed over.
+     */
+    @Override
+    public long exportPrices(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action) {
+        return delegate.exportPrices(brandId, applicationDate, action);
+    }
+
+    /**
+     * Returns the number of lookups answered by joining an identical lookup in flight.
+     *
+     * @return The coalesced lookup count.
+     */
+    long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of distinct lookups being resolved.
+     *
+     * @return The in-flight lookup count.
+     */
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Optional<Price> join(CompletableFuture<Optional<Price>> leader) {
+        coalesced.increment();
+        try {
+            return leader.join();
+        } catch (CompletionException ex) {
+            // Rethrows the failure of the leading lookup as it was thrown to its caller
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
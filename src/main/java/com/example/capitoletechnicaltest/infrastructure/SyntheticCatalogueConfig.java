@@ -0,0 +1,28 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Startup profile loading a production-sized synthetic catalogue on top of the sample data.
+ * Enabled with the {@code synthetic} profile; the catalogue is shaped by the {@code prices.synthetic} properties.
+ * Disabled when the catalogue is mapped from a file ({@code prices.catalogue-file.path}), which it would not reach.
+ */
+@Configuration
+@Profile("synthetic")
+@ConditionalOnExpression("'${prices.catalogue-file.path:}'.isBlank()")
+@EnableConfigurationProperties(SyntheticCatalogueProperties.class)
+public class SyntheticCatalogueConfig {
+
+    @Bean
+    public SyntheticCatalogueInitializer syntheticCatalogueInitializer(DataSource dataSource,
+                                                                       SyntheticCatalogueProperties properties) {
+        return new SyntheticCatalogueInitializer(dataSource, properties);
+    }
+
+}
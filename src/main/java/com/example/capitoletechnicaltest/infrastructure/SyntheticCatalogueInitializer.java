@@ -0,0 +1,64 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.PriceBulkLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.AbstractBeansOfTypeDatabaseInitializerDetector;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Loads a synthetic catalogue into the PRICES table at startup; see {@link SyntheticCatalogueConfig}.
+ * <p>
+ * Registered as a database initializer, so it runs after {@code schema.sql} and {@code data.sql} and
+ * before anything that reads the database, the JPA repositories and the in-memory lookup indexes included.
+ */
+public class SyntheticCatalogueInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticCatalogueInitializer.class);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final DataSource dataSource;
+
+    private final SyntheticCatalogueProperties properties;
+
+    /**
+     * Constructs a new {@link SyntheticCatalogueInitializer}.
+     *
+     * @param dataSource The database to load into.
+     * @param properties The shape of the catalogue.
+     */
+    public SyntheticCatalogueInitializer(DataSource dataSource, SyntheticCatalogueProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long start = System.nanoTime();
+        long rows = new PriceBulkLoader(dataSource, BATCH_SIZE).load(new SyntheticPriceGenerator(properties).prices());
+        log.info("Loaded {} synthetic tariffs in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Makes Spring Boot treat {@link SyntheticCatalogueInitializer} as a database initializer, ordered
+     * after the SQL script initializer and before the change feed trigger, so the load is not recorded.
+     * Registered in {@code META-INF/spring.factories}.
+     */
+    public static class Detector extends AbstractBeansOfTypeDatabaseInitializerDetector {
+
+        @Override
+        protected Set<Class<?>> getDatabaseInitializerBeanTypes() {
+            return Set.of(SyntheticCatalogueInitializer.class);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Shape of a synthetic PRICES catalogue, bound from the {@code prices.synthetic} properties.
+ *
+ * @param brands            Number of brands, with IDs from 1.
+ * @param productsPerBrand  Number of products per brand, with consecutive IDs.
+ * @param firstProductId    ID of the first product of every brand.
+ * @param tariffsPerProduct Number of tariffs generated per brand and product.
+ * @param overlap           Number of tariffs of a product covering any instant of the horizon, on average.
+ * @param horizonStart      Start date of the first tariff of every product.
+ * @param horizon           Period over which the tariffs of a product start.
+ * @param priorityWeights   Relative frequency of each priority, starting at priority 0.
+ * @param seed              Seed of the generator; the same properties always produce the same catalogue.
+ */
+@ConfigurationProperties(prefix = "prices.synthetic")
+public record SyntheticCatalogueProperties(
+        @DefaultValue("10") int brands,
+        @DefaultValue("1000") int productsPerBrand,
+        @DefaultValue("1") long firstProductId,
+        @DefaultValue("8") int tariffsPerProduct,
+        @DefaultValue("2") int overlap,
+        @DefaultValue("2020-01-01T00:00:00") LocalDateTime horizonStart,
+        @DefaultValue("365d") Duration horizon,
+        @DefaultValue({"70", "20", "10"}) List<Integer> priorityWeights,
+        @DefaultValue("42") long seed) {
+
+    /**
+     * Returns the number of tariffs in the catalogue.
+     *
+     * @return The catalogue size.
+     */
+    public long size() {
+        return (long) brands * productsPerBrand * tariffsPerProduct;
+    }
+}
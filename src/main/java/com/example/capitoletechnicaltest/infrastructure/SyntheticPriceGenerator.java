@@ -0,0 +1,84 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates a synthetic PRICES catalogue of production size.
+ * <p>
+ * The tariffs of a product start at evenly spaced, jittered instants over the horizon. Each one lasts
+ * {@code overlap} spacings, so about {@code overlap} tariffs compete for any instant, and gets a priority
+ * drawn from the configured weights. Every product has its own random sequence derived from the seed,
+ * so the catalogue is reproducible and is streamed without being held in memory.
+ */
+public class SyntheticPriceGenerator {
+
+    private final SyntheticCatalogueProperties properties;
+
+    /**
+     * Cumulative priority weights; priority {@code p} is drawn when a value falls below entry {@code p}.
+     */
+    private final int[] cumulativeWeights;
+
+    /**
+     * Constructs a new {@link SyntheticPriceGenerator}.
+     *
+     * @param properties The shape of the catalogue.
+     */
+    public SyntheticPriceGenerator(SyntheticCatalogueProperties properties) {
+        if (properties.brands() < 1 || properties.productsPerBrand() < 1 || properties.tariffsPerProduct() < 1
+                || properties.overlap() < 1 || properties.priorityWeights().isEmpty()) {
+            throw new IllegalArgumentException("Synthetic catalogue dimensions must be positive: " + properties);
+        }
+        this.properties = properties;
+        List<Integer> weights = properties.priorityWeights();
+        this.cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (int p = 0; p < weights.size(); p++) {
+            total += weights.get(p);
+            cumulativeWeights[p] = total;
+        }
+    }
+
+    /**
+     * Streams the catalogue, product by product. Tariffs have no ID; it is assigned by the database.
+     *
+     * @return The generated tariffs.
+     */
+    public Stream<Price> prices() {
+        long products = (long) properties.brands() * properties.productsPerBrand();
+        return LongStream.range(0, products).boxed().flatMap(this::pricesOf);
+    }
+
+    private Stream<Price> pricesOf(long key) {
+        long brandId = key / properties.productsPerBrand() + 1;
+        long productId = key % properties.productsPerBrand() + properties.firstProductId();
+        SplittableRandom random = new SplittableRandom(properties.seed() * 31 + key);
+        int tariffs = properties.tariffsPerProduct();
+        long spacing = Math.max(1, properties.horizon().toSeconds() / tariffs);
+
+        return IntStream.range(0, tariffs).mapToObj(j -> {
+            LocalDateTime start = properties.horizonStart()
+                    .plusSeconds(j * spacing + random.nextLong(Math.max(1, spacing / 4)));
+            LocalDateTime end = start.plusSeconds(properties.overlap() * spacing - 1);
+            BigDecimal amount = BigDecimal.valueOf(500 + random.nextInt(50_000), 2);
+            return new Price(null, brandId, start, end, j + 1, productId, nextPriority(random), amount, "EUR");
+        });
+    }
+
+    private int nextPriority(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int priority = 0;
+        while (value >= cumulativeWeights[priority]) {
+            priority++;
+        }
+        return priority;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.capitoletechnicaltest.ports;
+
+import com.example.capitoletechnicaltest.domain.PriceChange;
+
+import java.util.List;
+
+/**
+ * Consumer of the PRICES change feed, notified of every inserted, updated or deleted tariff so it can
+ * patch only the affected (brandId, productId) entry. Listeners are called in {@code @Order} order, one
+ * batch of changes at a time, from a single thread.
+ */
+public interface PriceChangeListener {
+
+    /**
+     * Applies a change. A change may be delivered more than once and must be applied idempotently.
+     *
+     * @param change The change to apply.
+     */
+    void onPriceChange(PriceChange change);
+
+    /**
+     * Applies a batch of changes, in sequence order. A batch is consecutive, except for the changes committed
+     * after their sequence numbers were skipped, which are delivered late. Listeners that can apply several
+     * changes at once, such as a bulk ingestion's, override it.
+     *
+     * @param changes The changes to apply.
+     */
+    default void onPriceChanges(List<PriceChange> changes) {
+        changes.forEach(this::onPriceChange);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.capitoletechnicaltest.ports;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceIngestionResult;
+
+import java.util.stream.Stream;
+
+/**
+ * Inbound port for loading tariffs in bulk.
+ */
+public interface PriceIngestionServicePort {
+
+    /**
+     * Validates and stores a stream of tariffs, all or nothing.
+     *
+     * @param prices The tariffs to store, consumed once; their IDs are ignored.
+     * @return The number of stored tariffs and the time it took.
+     */
+    PriceIngestionResult ingest(Stream<Price> prices);
+}
@@ -0,0 +1,77 @@
+package com.example.capitoletechnicaltest.ports;
+
+/**
+ * Recorder of the timings and results of the price lookup path, through which the inbound and outbound
+ * adapters report what they measure without depending on the metrics registry. Every method does nothing
+ * unless overridden, so {@link #disabled()} records nothing.
+ */
+public interface PriceLookupMetricsPort {
+
+    /**
+     * Returns a recorder that records nothing.
+     *
+     * @return The disabled recorder.
+     */
+    static PriceLookupMetricsPort disabled() {
+        return new PriceLookupMetricsPort() {
+        };
+    }
+
+    /**
+     * Records the time spent parsing the request parameters.
+     *
+     * @param nanos The elapsed time, in nanoseconds.
+     */
+    default void recordParse(long nanos) {
+    }
+
+    /**
+     * Records the time spent resolving the price in the service.
+     *
+     * @param nanos The elapsed time, in nanoseconds.
+     */
+    default void recordService(long nanos) {
+    }
+
+    /**
+     * Records the time spent mapping the price to the response DTO.
+     *
+     * @param nanos The elapsed time, in nanoseconds.
+     */
+    default void recordMapping(long nanos) {
+    }
+
+    /**
+     * Counts a lookup that found an applicable price.
+     */
+    default void recordHit() {
+    }
+
+    /**
+     * Counts a lookup without an applicable price.
+     */
+    default void recordMiss() {
+    }
+
+    /**
+     * Counts a lookup rejected because of invalid parameters.
+     */
+    default void recordInvalid() {
+    }
+
+    /**
+     * Counts a conditional lookup answered with 304 Not Modified.
+     */
+    default void recordNotModified() {
+    }
+
+    /**
+     * Records the number of candidate tariffs loaded from the database for a lookup of a batch. Only the
+     * batch path of the {@code database} lookup mode loads candidates; the in-memory modes record nothing.
+     *
+     * @param count The candidate count.
+     */
+    default void recordBatchCandidates(int count) {
+    }
+
+}
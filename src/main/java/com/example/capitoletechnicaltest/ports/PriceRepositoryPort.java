@@ -1,10 +1,62 @@
 package com.example.capitoletechnicaltest.ports;
 
 import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PriceRepositoryPort {
     Optional<Price> findPriceByProductBrandAndDate(Long productId, Long brandId, LocalDateTime applicationDate);
+
+    /**
+     * Resolves several lookups at once. In-memory adapters answer each query from their index;
+     * database adapters should override it with a set-based query.
+     *
+     * @param queries The lookups to resolve.
+     * @return One result per query, in the same order; empty when no price applies.
+     */
+    default List<Optional<Price>> findPrices(List<PriceQuery> queries) {
+        return queries.stream()
+                .map(query -> findPriceByProductBrandAndDate(query.productId(), query.brandId(), query.applicationDate()))
+                .toList();
+    }
+
+    /**
+     * Finds the first instant after the application date at which the applicable price may change:
+     * the next start of a tariff of the product, or the second following the next end of one.
+     * Used to bound how long a resolved price can be reused.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next boundary, or empty if no tariff of the product starts or ends later.
+     */
+    Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate);
+
+    /**
+     * Hands over every tariff of the product whose date range overlaps the given range, in start-date
+     * order, as it is read.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the tariffs.
+     */
+    void forEachPrice(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                      Consumer<? super Price> action);
+
+    /**
+     * Hands over the tariffs of every product of the brand covering the application date, as they are
+     * read. The tariffs of each product are handed over together; adapters that already know the
+     * winning tariff of a product may hand over that one only.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the tariffs must cover.
+     * @param action          The action receiving the tariffs.
+     */
+    void forEachPriceAt(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action);
 }
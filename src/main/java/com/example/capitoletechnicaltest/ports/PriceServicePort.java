@@ -2,10 +2,59 @@ package com.example.capitoletechnicaltest.ports;
 
 
 import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePeriod;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PriceServicePort {
     Optional<Price> findPrice(Long productId, Long brandId, LocalDateTime applicationDate);
+
+    /**
+     * Resolves several lookups in a single call.
+     *
+     * @param queries The lookups to resolve.
+     * @return One result per query, in the same order; empty when no price applies.
+     */
+    List<Optional<Price>> findPrices(List<PriceQuery> queries);
+
+    /**
+     * Finds the first instant after the application date at which the applicable price may change, so
+     * that callers know how long a resolved price stays valid.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time the price was resolved for.
+     * @return The next tariff boundary, or empty if no tariff of the product starts or ends later.
+     */
+    Optional<LocalDateTime> findNextBoundary(Long productId, Long brandId, LocalDateTime applicationDate);
+
+    /**
+     * Resolves the effective prices of a product over a date range, handing each period over as soon as
+     * it is known instead of collecting the whole history.
+     *
+     * @param productId The ID of the product.
+     * @param brandId   The ID of the brand.
+     * @param from      The start of the range.
+     * @param to        The end of the range, inclusive.
+     * @param action    The action receiving the periods, in date order and clipped to the range; instants
+     *                  without an applicable price produce no period.
+     * @throws IllegalArgumentException If the range ends before it starts.
+     */
+    void findPriceHistory(Long productId, Long brandId, LocalDateTime from, LocalDateTime to,
+                          Consumer<? super PricePeriod> action);
+
+    /**
+     * Resolves the applicable price of every product of a brand at an instant, handing each one over as
+     * soon as it is known instead of collecting the whole catalogue.
+     *
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the prices are applicable.
+     * @param action          The action receiving one price per product with an applicable price.
+     * @return The number of prices handed over.
+     */
+    long exportPrices(Long brandId, LocalDateTime applicationDate, Consumer<? super Price> action);
 }
@@ -0,0 +1,20 @@
+package com.example.capitoletechnicaltest.ports;
+
+import com.example.capitoletechnicaltest.domain.Price;
+
+import java.util.stream.Stream;
+
+/**
+ * Outbound port for storing tariffs in bulk.
+ */
+public interface PriceWriterPort {
+
+    /**
+     * Inserts every tariff of the stream in a single transaction: if the stream or a row fails, nothing
+     * is inserted and the failure is rethrown.
+     *
+     * @param prices The tariffs to insert, consumed once; their IDs are ignored and assigned on insert.
+     * @return The number of inserted tariffs.
+     */
+    long insertAll(Stream<Price> prices);
+}
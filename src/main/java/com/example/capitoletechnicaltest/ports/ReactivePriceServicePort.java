@@ -0,0 +1,37 @@
+package com.example.capitoletechnicaltest.ports;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of {@link PriceServicePort}: lookups return at once, and their results are
+ * delivered when resolved, without holding the caller's thread in the meantime.
+ */
+public interface ReactivePriceServicePort {
+
+    /**
+     * Resolves the applicable price of a product at an instant.
+     *
+     * @param productId       The ID of the product.
+     * @param brandId         The ID of the brand.
+     * @param applicationDate The date and time for which the price is applicable.
+     * @return A {@link Mono} resolving the lookup when subscribed to, with the price, or empty when no
+     * price applies.
+     */
+    Mono<Optional<Price>> findPrice(Long productId, Long brandId, LocalDateTime applicationDate);
+
+    /**
+     * Resolves several lookups as a stream. Each subscriber gets its own stream, which resolves only as
+     * many lookups as the subscriber has requested.
+     *
+     * @param queries The lookups to resolve.
+     * @return A {@link Flux} of one result per query, in the same order; empty when no price applies.
+     */
+    Flux<Optional<Price>> findPrices(List<PriceQuery> queries);
+}
@@ -1,5 +1,9 @@
+-- IDs are drawn from a sequence so that JPA inserts can be batched; Hibernate and PriceBulkLoader
+-- reserve blocks of 50 IDs per call (pooled-lo). Inserts without an ID take a single value.
+CREATE SEQUENCE PRICES_SEQ START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE PRICES (
-    ID INT AUTO_INCREMENT PRIMARY KEY,
+    ID BIGINT DEFAULT NEXT VALUE FOR PRICES_SEQ PRIMARY KEY,
     BRAND_ID INT NOT NULL,
     START_DATE TIMESTAMP NOT NULL,
     END_DATE TIMESTAMP NOT NULL,
@@ -9,3 +13,24 @@ CREATE TABLE PRICES (
     PRICE DECIMAL(10, 2) NOT NULL,
     CURR VARCHAR(3) NOT NULL
 );
+
+-- Every lookup filters on brand, product and date range, then orders by priority.
+-- The leading (BRAND_ID, PRODUCT_ID, START_DATE) columns drive the range scan; the trailing
+-- columns make the index covering, since H2 has no INCLUDE clause, so matching rows are read
+-- from the index without a second access to the table.
+CREATE INDEX IDX_PRICES_LOOKUP ON PRICES (BRAND_ID, PRODUCT_ID, START_DATE, END_DATE, PRIORITY, PRICE, CURR, PRICE_LIST);
+
+-- Change feed of PRICES: one row per inserted, updated or deleted tariff, written by the
+-- PRICES_CHANGE_FEED trigger in the same transaction as the change (see H2PriceChangeTrigger).
+-- BRAND_ID and PRODUCT_ID are the key of the row before the change, or after it for inserts.
+CREATE TABLE PRICE_CHANGES (
+    SEQ BIGINT AUTO_INCREMENT PRIMARY KEY,
+    OP CHAR(1) NOT NULL,
+    PRICE_ID BIGINT NOT NULL,
+    BRAND_ID INT NOT NULL,
+    PRODUCT_ID INT NOT NULL,
+    CHANGED_AT TIMESTAMP NOT NULL
+);
+
+-- Drives the purge of changes older than the retention period.
+CREATE INDEX IDX_PRICE_CHANGES_CHANGED_AT ON PRICE_CHANGES (CHANGED_AT);
@@ -0,0 +1,185 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.infrastructure.PriceShardingProperties;
+import com.example.capitoletechnicaltest.infrastructure.PriceShards;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BinaryPriceServer}.
+ * Validates the responses to pipelined and malformed requests, that a slow lookup does not hold back the others, and that
+ * a sharded node only answers its own keys.
+ */
+class BinaryPriceServerTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    private static final long EPOCH = PricePrecedence.toEpochSecond(DATE);
+
+    private PriceServicePort priceServicePort;
+
+    private BinaryPriceServer server;
+
+    private Socket socket;
+
+    private DataOutputStream out;
+
+    private DataInputStream in;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        priceServicePort = mock(PriceServicePort.class);
+        server = new BinaryPriceServer(priceServicePort, PriceLookupMetricsPort.disabled(), 0, 16);
+        server.start();
+        socket = new Socket("localhost", server.port());
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        socket.close();
+        server.stop();
+    }
+
+    /**
+     * Pipelined requests are each answered with their own status, and found prices with their content.
+     */
+    @Test
+    void testLookup_AnswersPipelinedRequests() throws Exception {
+        Price price = new Price(1L, 1L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30),
+                2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+        when(priceServicePort.findPrice(35455L, 1L, DATE)).thenReturn(Optional.of(price));
+        when(priceServicePort.findPrice(35456L, 1L, DATE)).thenReturn(Optional.empty());
+        when(priceServicePort.findPrice(35457L, 1L, DATE)).thenThrow(new IllegalStateException("Database unavailable"));
+
+        BinaryPriceProtocol.writeRequest(out, 1, 1L, 35455L, EPOCH);
+        BinaryPriceProtocol.writeRequest(out, 2, 1L, 35456L, EPOCH);
+        BinaryPriceProtocol.writeRequest(out, 3, 1L, 35457L, EPOCH);
+        out.writeInt(BinaryPriceProtocol.REQUEST_LENGTH);
+        out.writeInt(4);
+        out.writeByte(42);
+        out.write(new byte[3 * Long.BYTES]);
+        out.flush();
+
+        Map<Integer, BinaryPriceProtocol.Response> responses = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            BinaryPriceProtocol.Response response = BinaryPriceProtocol.readResponse(in);
+            responses.put(response.id(), response);
+        }
+
+        BinaryPriceProtocol.Response found = responses.get(1);
+        assertEquals(BinaryPriceProtocol.FOUND, found.status());
+        assertEquals(1L, found.brandId());
+        assertEquals(35455L, found.productId());
+        assertEquals(2, found.priceList());
+        assertEquals(new BigDecimal("25.45"), found.amount());
+        assertEquals("EUR", found.currency());
+        assertEquals(PricePrecedence.toEpochSecond(price.getStartDate()), found.startDate());
+        assertEquals(PricePrecedence.toEpochSecond(price.getEndDate()), found.endDate());
+        assertEquals(BinaryPriceProtocol.NOT_FOUND, responses.get(2).status());
+        assertEquals(BinaryPriceProtocol.ERROR, responses.get(3).status());
+        assertEquals(BinaryPriceProtocol.BAD_REQUEST, responses.get(4).status());
+    }
+
+    /**
+     * A frame of unexpected length is skipped and answered BAD_REQUEST, and the connection keeps serving.
+     */
+    @Test
+    void testLookup_AnswersBadFrameLengthAndKeepsConnection() throws Exception {
+        when(priceServicePort.findPrice(35455L, 1L, DATE)).thenReturn(Optional.empty());
+
+        out.writeInt(Integer.BYTES + 3);
+        out.writeInt(1);
+        out.write(new byte[3]);
+        BinaryPriceProtocol.writeRequest(out, 2, 1L, 35455L, EPOCH);
+        out.flush();
+
+        Map<Integer, BinaryPriceProtocol.Response> responses = new HashMap<>();
+        for (int i = 0; i < 2; i++) {
+            BinaryPriceProtocol.Response response = BinaryPriceProtocol.readResponse(in);
+            responses.put(response.id(), response);
+        }
+        assertEquals(BinaryPriceProtocol.BAD_REQUEST, responses.get(1).status());
+        assertEquals(BinaryPriceProtocol.NOT_FOUND, responses.get(2).status());
+    }
+
+    /**
+     * On a sharded node, the keys of another node are answered NOT_OWNED without being looked up.
+     */
+    @Test
+    void testLookup_AnswersOnlyOwnedKeysWhenSharded() throws Exception {
+        String self = "http://localhost:1";
+        PriceShards shards = new PriceShards(new PriceShardingProperties(true, self,
+                List.of(self, "http://localhost:2"), 128, Duration.ofSeconds(2)), new SimpleMeterRegistry());
+        long owned = LongStream.range(1, 1_000).filter(id -> shards.owns(new PriceKey(1L, id))).findFirst().orElseThrow();
+        long notOwned = LongStream.range(1, 1_000).filter(id -> !shards.owns(new PriceKey(1L, id))).findFirst().orElseThrow();
+        when(priceServicePort.findPrice(owned, 1L, DATE)).thenReturn(Optional.empty());
+        BinaryPriceServer sharded = new BinaryPriceServer(priceServicePort, PriceLookupMetricsPort.disabled(), 0, 16,
+                new StaticListableBeanFactory(Map.of("priceShards", shards)).getBeanProvider(PriceShards.class));
+        sharded.start();
+        try (Socket client = new Socket("localhost", sharded.port())) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(client.getOutputStream()));
+            DataInputStream input = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+            BinaryPriceProtocol.writeRequest(output, 1, 1L, owned, EPOCH);
+            output.flush();
+            assertEquals(BinaryPriceProtocol.NOT_FOUND, BinaryPriceProtocol.readResponse(input).status());
+            BinaryPriceProtocol.writeRequest(output, 2, 1L, notOwned, EPOCH);
+            output.flush();
+            assertEquals(BinaryPriceProtocol.NOT_OWNED, BinaryPriceProtocol.readResponse(input).status());
+        } finally {
+            sharded.stop();
+        }
+        verify(priceServicePort, never()).findPrice(notOwned, 1L, DATE);
+    }
+
+    /**
+     * A request pipelined after a slow one is answered first.
+     */
+    @Test
+    void testLookup_MultiplexesResponses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(priceServicePort.findPrice(1L, 1L, DATE)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+        when(priceServicePort.findPrice(2L, 1L, DATE)).thenReturn(Optional.empty());
+
+        BinaryPriceProtocol.writeRequest(out, 1, 1L, 1L, EPOCH);
+        BinaryPriceProtocol.writeRequest(out, 2, 1L, 2L, EPOCH);
+        out.flush();
+
+        assertEquals(2, BinaryPriceProtocol.readResponse(in).id());
+        release.countDown();
+        assertEquals(1, BinaryPriceProtocol.readResponse(in).id());
+    }
+}
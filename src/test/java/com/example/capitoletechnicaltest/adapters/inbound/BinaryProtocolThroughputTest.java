@@ -0,0 +1,149 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.CapitoleTechnicalTestApplication;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput benchmark of the binary price protocol against the REST endpoint, with the same number of
+ * lookups in flight on both: one per HTTP client, one per binary connection, and a few binary connections
+ * each pipelining many lookups. Lookups are served from the in-memory interval index with the cache
+ * disabled, so the measure is dominated by the transport. Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+class BinaryProtocolThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryProtocolThroughputTest.class);
+
+    private static final int IN_FLIGHT = 64;
+
+    private static final int PIPELINED_CONNECTIONS = 4;
+
+    private static final int REQUESTS = 100_000;
+
+    private static final long EPOCH = PricePrecedence.toEpochSecond(LocalDateTime.of(2020, 6, 14, 16, 0));
+
+    @Test
+    void testThroughputRestVersusBinary() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CapitoleTechnicalTestApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=true",
+                        "--spring.datasource.url=jdbc:h2:mem:binary;DB_CLOSE_DELAY=-1",
+                        "--prices.lookup.mode=interval-index",
+                        "--prices.cache.enabled=false",
+                        "--prices.binary.enabled=true",
+                        "--prices.binary.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level." + BinaryProtocolThroughputTest.class.getName() + "=INFO")) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/prices?productId=35455&brandId=1&applicationDate=2020-06-14T16:00:00");
+            int port = context.getBean(BinaryPriceServer.class).port();
+
+            rest(uri, REQUESTS / 10);
+            double rest = rest(uri, REQUESTS);
+            binary(port, IN_FLIGHT, 1, REQUESTS / 10);
+            double binary = binary(port, IN_FLIGHT, 1, REQUESTS);
+            double pipelined = binary(port, PIPELINED_CONNECTIONS, IN_FLIGHT / PIPELINED_CONNECTIONS, REQUESTS);
+
+            log.info("{} lookups in flight: REST {} req/s, binary {} req/s, binary pipelined over {} connections {} req/s",
+                    IN_FLIGHT, Math.round(rest), Math.round(binary), PIPELINED_CONNECTIONS, Math.round(pipelined));
+            assertTrue(binary > rest, "Expected the binary protocol to outperform REST");
+        }
+    }
+
+    /**
+     * Sends lookups to the REST endpoint from {@link #IN_FLIGHT} clients, one request at a time each.
+     *
+     * @return The throughput, in requests per second.
+     */
+    private static double rest(URI uri, int requests) throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            return measure(clients, IN_FLIGHT, requests / IN_FLIGHT, () -> {
+                for (int i = 0; i < requests / IN_FLIGHT; i++) {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    assertEquals(200, response.statusCode());
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Sends lookups over binary connections, each keeping up to {@code window} requests in flight: one
+     * thread writes requests as the window allows, while another reads the responses.
+     *
+     * @return The throughput, in requests per second.
+     */
+    private static double binary(int port, int connections, int window, int requests) throws Exception {
+        int perConnection = requests / connections;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            return measure(clients, connections, perConnection, () -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    socket.setTcpNoDelay(true);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    Semaphore permits = new Semaphore(window);
+                    Future<?> reader = clients.submit(() -> {
+                        for (int i = 0; i < perConnection; i++) {
+                            assertEquals(BinaryPriceProtocol.FOUND, BinaryPriceProtocol.readResponse(in).status());
+                            permits.release();
+                        }
+                        return null;
+                    });
+                    for (int i = 0; i < perConnection; i++) {
+                        if (!permits.tryAcquire()) {
+                            out.flush();
+                            permits.acquire();
+                        }
+                        BinaryPriceProtocol.writeRequest(out, i, 1L, 35455L, EPOCH);
+                    }
+                    out.flush();
+                    reader.get();
+                }
+                return null;
+            });
+        }
+    }
+
+    private static double measure(ExecutorService clients, int tasks, int requestsPerTask, Callable<Void> task)
+            throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            futures.add(clients.submit(task));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) tasks * requestsPerTask / (elapsed / 1e9);
+    }
+}
@@ -1,28 +1,63 @@
 package com.example.capitoletechnicaltest.adapters.inbound;
 
+import com.example.capitoletechnicaltest.adapters.outbound.PriceChangePoller;
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.infrastructure.PriceHttpCacheProperties;
+import com.example.capitoletechnicaltest.ports.PriceLookupMetricsPort;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * This class contains integration tests for the PriceController.
  * It uses Spring's TestRestTemplate to simulate HTTP requests to the API.
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false) // Keeps the Prometheus registry, disabled by default in tests.
 class PriceControllerTests {
 
     @Autowired
     private TestRestTemplate restTemplate; // Injects a TestRestTemplate to perform HTTP requests.
 
+    @Autowired
+    private MeterRegistry meterRegistry; // Registry holding the lookup metrics.
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Writes tariffs picked up by the change feed.
+
+    @Autowired
+    private PriceChangePoller priceChangePoller; // Delivers the written tariffs on demand.
+
     private final String baseUrl = "/api/prices"; // Base URL for the PriceController endpoints.
 
     @ParameterizedTest
@@ -75,4 +110,169 @@ class PriceControllerTests {
         assertTrue(response.getBody().contains("required type 'java.lang.Long'"));
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests the batch endpoint with hits, a miss and an incomplete item resolved in one call.
+     */
+    @Test
+    void testGetPrices_batchWithPartialMisses() {
+        List<PriceBatchItemRequestDTO> request = List.of(
+                new PriceBatchItemRequestDTO(1L, 35455L, LocalDateTime.parse("2020-06-14T10:00:00")),
+                new PriceBatchItemRequestDTO(1L, 35455L, LocalDateTime.parse("2020-06-14T16:00:00")),
+                new PriceBatchItemRequestDTO(1L, 99999L, LocalDateTime.parse("2020-06-14T10:00:00")),
+                new PriceBatchItemRequestDTO(1L, null, LocalDateTime.parse("2020-06-14T10:00:00")),
+                new PriceBatchItemRequestDTO(1L, 35455L, LocalDateTime.parse("2020-06-16T21:00:00"))
+        );
+
+        ResponseEntity<PriceBatchItemResponseDTO[]> response = restTemplate.postForEntity(
+                baseUrl + "/batch", request, PriceBatchItemResponseDTO[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        PriceBatchItemResponseDTO[] items = response.getBody();
+        assertNotNull(items, "Response body should not be null");
+        assertEquals(5, items.length, "Expected one result per lookup");
+        assertEquals(new BigDecimal("35.50"), items[0].getPrice().getAmount());
+        assertEquals(new BigDecimal("25.45"), items[1].getPrice().getAmount());
+        assertEquals(404, items[2].getStatus());
+        assertEquals(99999L, items[2].getProductId());
+        assertTrue(items[2].getMessage().contains("No applicable price found"));
+        assertEquals(400, items[3].getStatus());
+        assertEquals(200, items[4].getStatus());
+        assertEquals(new BigDecimal("38.95"), items[4].getPrice().getAmount());
+    }
+
+    /**
+     * Tests that an empty batch is rejected.
+     */
+    @Test
+    void testGetPrices_emptyBatch() {
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                baseUrl + "/batch", Collections.emptyList(), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    /**
+     * Tests that lookups are recorded by the stage timers and result counters, and exposed to Prometheus.
+     */
+    @Test
+    void testGetPrice_recordsLookupMetrics() {
+        double hits = meterRegistry.counter("prices.lookup.results", "result", "hit").count();
+        double misses = meterRegistry.counter("prices.lookup.results", "result", "miss").count();
+        double invalid = meterRegistry.counter("prices.lookup.results", "result", "invalid").count();
+        long resolutions = meterRegistry.timer("prices.lookup.stage", "stage", "service").count();
+
+        restTemplate.getForEntity(baseUrl + "?productId=35455&brandId=1&applicationDate=2020-06-14T10:00:00",
+                String.class);
+        restTemplate.getForEntity(baseUrl + "?productId=99999&brandId=1&applicationDate=2020-06-14T10:00:00",
+                String.class);
+        restTemplate.getForEntity(baseUrl + "?productId=35455&brandId=1&applicationDate=invalid", String.class);
+
+        assertEquals(hits + 1, meterRegistry.counter("prices.lookup.results", "result", "hit").count());
+        assertEquals(misses + 1, meterRegistry.counter("prices.lookup.results", "result", "miss").count());
+        assertEquals(invalid + 1, meterRegistry.counter("prices.lookup.results", "result", "invalid").count());
+        assertEquals(resolutions + 2, meterRegistry.timer("prices.lookup.stage", "stage", "service").count());
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        assertTrue(scrape.getBody().contains("prices_lookup_stage_seconds_bucket{stage=\"service\""));
+        assertTrue(scrape.getBody().contains("prices_lookup_results_total{result=\"hit\"}"));
+    }
+
+    /**
+     * Tests that lookups carry an ETag and a max-age, and that a request with the current ETag is answered
+     * with 304 Not Modified without resolving the price.
+     */
+    @Test
+    void testGetPrice_answersConditionalRequests() {
+        String url = baseUrl + "?productId=35455&brandId=1&applicationDate=2020-06-14T16:00:00";
+        ResponseEntity<String> first = restTemplate.getForEntity(url, String.class);
+        String eTag = first.getHeaders().getETag();
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(eTag, "Expected an ETag");
+        // Every boundary of the sample tariffs is in the past, so the maximum age applies
+        assertEquals("max-age=600", first.getHeaders().getCacheControl());
+
+        long resolutions = meterRegistry.timer("prices.lookup.stage", "stage", "service").count();
+        double notModified = meterRegistry.counter("prices.lookup.results", "result", "not-modified").count();
+        ResponseEntity<String> second = getIfNoneMatch(url, "\"other\", W/" + eTag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals(eTag, second.getHeaders().getETag());
+        assertEquals("max-age=600", second.getHeaders().getCacheControl());
+        assertEquals(resolutions, meterRegistry.timer("prices.lookup.stage", "stage", "service").count());
+        assertEquals(notModified + 1, meterRegistry.counter("prices.lookup.results", "result", "not-modified").count());
+    }
+
+    /**
+     * Tests that a tariff written for the product changes its ETag once the change feed delivers it, and that
+     * the max-age of a lookup ends at the next tariff boundary. The feed is polled by the test itself: a poll
+     * runs one at a time, so the tariff has been delivered once it returns, by it or by a scheduled poll.
+     */
+    @Test
+    void testGetPrice_revalidatesAfterTariffChange() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        String url = baseUrl + "?productId=77001&brandId=1&applicationDate="
+                + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(now);
+        ResponseEntity<String> before = restTemplate.getForEntity(url, String.class);
+        String eTag = before.getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_FOUND, before.getStatusCode());
+        assertEquals("max-age=600", before.getHeaders().getCacheControl());
+
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, "
+                        + "PRICE, CURR) VALUES (1, ?, ?, 1, 77001, 0, 19.99, 'EUR')",
+                Timestamp.valueOf(now.plusMinutes(5)), Timestamp.valueOf(now.plusDays(1)));
+        try {
+            priceChangePoller.poll();
+            ResponseEntity<String> after = getIfNoneMatch(url, eTag);
+
+            // The tariff starts after the application date: still no price, but a new version
+            assertEquals(HttpStatus.NOT_FOUND, after.getStatusCode());
+            assertNotEquals(eTag, after.getHeaders().getETag());
+            long maxAge = Long.parseLong(after.getHeaders().getCacheControl().substring("max-age=".length()));
+            assertTrue(maxAge > 0 && maxAge <= 300, "Expected the max-age to end at the tariff start: " + maxAge);
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 77001");
+        }
+    }
+
+    /**
+     * Tests that, without an ETag to derive, the next tariff boundary is only looked up when it may cut the
+     * max-age short.
+     */
+    @Test
+    void testGetPrice_looksUpTheBoundaryOnlyIfItMayCapTheMaxAge() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 12, 0);
+        PriceServicePort service = mock();
+        PriceController controller = new PriceController(service, 1000, PriceLookupMetricsPort.disabled(),
+                new PriceHttpCacheProperties(true, Duration.ofMinutes(10)), null,
+                Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+
+        // A price that ended before now: the boundary is past, whatever it is
+        when(service.findPrice(35455L, 1L, LocalDateTime.parse("2020-06-14T16:00:00")))
+                .thenReturn(Optional.of(price(LocalDateTime.parse("2020-06-14T18:30:00"))));
+        ResponseEntity<?> ended = controller.getPrice(1L, 35455L, "2020-06-14T16:00:00", null);
+        assertEquals("max-age=600", ended.getHeaders().getCacheControl());
+        assertNull(ended.getHeaders().getETag());
+        verify(service, never()).findNextBoundary(any(), any(), any());
+
+        // A current price: the boundary in five minutes caps the max-age
+        when(service.findPrice(35455L, 1L, now)).thenReturn(Optional.of(price(now.plusMinutes(5).minusSeconds(1))));
+        when(service.findNextBoundary(35455L, 1L, now)).thenReturn(Optional.of(now.plusMinutes(5)));
+        ResponseEntity<?> current = controller.getPrice(1L, 35455L,
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(now), null);
+        assertEquals("max-age=300", current.getHeaders().getCacheControl());
+    }
+
+    private static Price price(LocalDateTime endDate) {
+        return new Price(1L, 1L, LocalDateTime.parse("2020-06-14T00:00:00"), endDate, 1, 35455L, 0,
+                new BigDecimal("35.50"), "EUR");
+    }
+
+    private ResponseEntity<String> getIfNoneMatch(String url, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the {@link PriceExportController}, exporting the sample tariffs from the database.
+ * Shares the application context of {@link PriceControllerTests}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+class PriceExportControllerTest {
+
+    private static final String URL = "/api/prices/export?brandId={brandId}&applicationDate={applicationDate}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testExportNdjson() {
+        ResponseEntity<String> response = export(MediaType.APPLICATION_NDJSON_VALUE, 1, "2020-06-14T16:00:00");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{\"productId\":35455,\"brandId\":1,\"amount\":25.45,\"startDate\":\"2020-06-14T15:00:00\","
+                + "\"endDate\":\"2020-06-14T18:30:00\",\"curr\":\"EUR\"}\n", response.getBody());
+    }
+
+    @Test
+    void testExportCsv() {
+        ResponseEntity<String> response = export(PriceIngestionController.TEXT_CSV, 1, "2020-06-16T21:00:00");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(PriceExportController.CSV_HEADER
+                + "1,35455,4,2020-06-15T16:00:00,2020-12-31T23:59:59,38.95,EUR\n", response.getBody());
+    }
+
+    @Test
+    void testExport_defaultsToNdjson() {
+        ResponseEntity<String> response = export(MediaType.ALL_VALUE, 1, "2020-06-14T16:00:00");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void testExport_unknownBrand() {
+        assertNull(export(MediaType.APPLICATION_NDJSON_VALUE, 99, "2020-06-14T16:00:00").getBody());
+        assertEquals(PriceExportController.CSV_HEADER,
+                export(PriceIngestionController.TEXT_CSV, 99, "2020-06-14T16:00:00").getBody());
+    }
+
+    @Test
+    void testExport_abortsPastMaxDuration() {
+        LocalDateTime start = LocalDateTime.of(2020, 6, 14, 0, 0);
+        Price price = new Price(1L, 1L, start, start.plusDays(1), 1, 35455L, 0, new BigDecimal("35.50"), "EUR");
+        PriceServicePort service = mock();
+        when(service.exportPrices(any(), any(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Price>>getArgument(2).accept(price);
+            return 1L;
+        });
+        PriceExportController controller = new PriceExportController(service, new ObjectMapper(), Duration.ZERO);
+
+        StreamingResponseBody body = controller.exportCsv(1L, "2020-06-14T16:00:00").getBody();
+
+        UncheckedIOException aborted = assertThrows(UncheckedIOException.class,
+                () -> body.writeTo(new ByteArrayOutputStream()));
+        assertEquals("Export of brand 1 exceeded PT0S", aborted.getCause().getMessage());
+    }
+
+    private ResponseEntity<String> export(String accept, long brandId, String applicationDate) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, accept);
+        return restTemplate.exchange(URL, HttpMethod.GET, new HttpEntity<>(headers), String.class,
+                brandId, applicationDate);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.CapitoleTechnicalTestApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Data-volume test of {@code GET /api/prices/export}: exports a brand of a million products and checks
+ * that the heap retained while the response is half read stays bounded, rather than growing with the
+ * result of the query or with the response. Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+class PriceExportVolumeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceExportVolumeTest.class);
+
+    private static final int PRODUCTS = 1_000_000;
+
+    /**
+     * Largest heap growth accepted while the export is in flight; materializing the rows or the response
+     * of this brand would take several hundred megabytes.
+     */
+    private static final long MAX_RETAINED_BYTES = 64L * 1024 * 1024;
+
+    @Test
+    void testExport_keepsHeapBounded() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CapitoleTechnicalTestApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:exportvolume;DB_CLOSE_DELAY=-1",
+                        "--prices.changes.enabled=false",
+                        "--logging.level.root=WARN")) {
+            context.getBean(JdbcTemplate.class).update("""
+                    INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR)
+                    SELECT 7, TIMESTAMP '2020-01-01 00:00:00', TIMESTAMP '2020-12-31 23:59:59', 1, X, 0,
+                           10 + MOD(X, 100), 'EUR'
+                    FROM SYSTEM_RANGE(1, %d)
+                    """.formatted(PRODUCTS));
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            long baseline = retainedHeap(memory);
+
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/prices/export?brandId=7&applicationDate=2020-06-14T10:00:00");
+            long start = System.nanoTime();
+            long lines = 0;
+            long inFlight = 0;
+            try (HttpClient client = HttpClient.newHttpClient()) {
+                HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                assertEquals(200, response.statusCode());
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                    while (reader.readLine() != null) {
+                        if (++lines == PRODUCTS / 2) {
+                            inFlight = retainedHeap(memory) - baseline;
+                        }
+                    }
+                }
+            }
+
+            log.info("Exported {} prices in {} ms, {} MB retained half way", lines,
+                    (System.nanoTime() - start) / 1_000_000, inFlight / (1024 * 1024));
+            assertEquals(PRODUCTS, lines);
+            assertTrue(inFlight < MAX_RETAINED_BYTES, "Expected the export to keep the heap bounded, but it retained "
+                    + inFlight / (1024 * 1024) + " MB");
+        }
+    }
+
+    private static long retainedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@link PriceHistoryController}, streaming histories of the sample tariffs
+ * from the database. Shares the application context of {@link PriceControllerTests}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+class PriceHistoryControllerTest {
+
+    private static final String URL = "/api/prices/history?brandId=1&productId={productId}&from={from}&to={to}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testGetPriceHistory() {
+        ResponseEntity<String> response = restTemplate.getForEntity(URL, String.class,
+                35455, "2020-06-14T00:00:00", "2020-06-16T23:59:59");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        assertEquals(List.of(
+                "{\"productId\":35455,\"brandId\":1,\"amount\":35.50,\"startDate\":\"2020-06-14T00:00:00\",\"endDate\":\"2020-06-14T14:59:59\",\"curr\":\"EUR\"}",
+                "{\"productId\":35455,\"brandId\":1,\"amount\":25.45,\"startDate\":\"2020-06-14T15:00:00\",\"endDate\":\"2020-06-14T18:30:00\",\"curr\":\"EUR\"}",
+                "{\"productId\":35455,\"brandId\":1,\"amount\":35.50,\"startDate\":\"2020-06-14T18:30:01\",\"endDate\":\"2020-06-14T23:59:59\",\"curr\":\"EUR\"}",
+                "{\"productId\":35455,\"brandId\":1,\"amount\":30.50,\"startDate\":\"2020-06-15T00:00:00\",\"endDate\":\"2020-06-15T11:00:00\",\"curr\":\"EUR\"}",
+                "{\"productId\":35455,\"brandId\":1,\"amount\":35.50,\"startDate\":\"2020-06-15T11:00:01\",\"endDate\":\"2020-06-15T15:59:59\",\"curr\":\"EUR\"}",
+                "{\"productId\":35455,\"brandId\":1,\"amount\":38.95,\"startDate\":\"2020-06-15T16:00:00\",\"endDate\":\"2020-06-16T23:59:59\",\"curr\":\"EUR\"}"),
+                response.getBody().lines().toList());
+    }
+
+    @Test
+    void testGetPriceHistory_noPrice() {
+        ResponseEntity<String> response = restTemplate.getForEntity(URL, String.class,
+                99999, "2020-06-14T00:00:00", "2020-06-16T23:59:59");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testGetPriceHistory_invalidRange() {
+        ResponseEntity<String> response = restTemplate.getForEntity(URL, String.class,
+                35455, "2020-06-16T00:00:00", "2020-06-14T00:00:00");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link PriceIngestionController}.
+ * Posts NDJSON and CSV bodies to {@code /api/prices/bulk} and checks what reaches the PRICES table.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingestiondb;DB_CLOSE_DELAY=-1",
+        "prices.ingestion.batch-size=2"
+})
+class PriceIngestionControllerTest {
+
+    private static final String BULK_URL = "/api/prices/bulk";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeIngestedPrices() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 40000");
+    }
+
+    @Test
+    void testIngestNdjson() {
+        String body = """
+                {"brandId":1,"productId":40000,"priceList":1,"startDate":"2021-01-01T00:00:00","endDate":"2021-06-30T23:59:59","priority":0,"amount":10.00,"curr":"EUR"}
+                {"brandId":1,"productId":40000,"priceList":2,"startDate":"2021-03-01T00:00:00","endDate":"2021-03-31T23:59:59","priority":1,"amount":8.50,"curr":"EUR"}
+                {"brandId":1,"productId":40000,"priceList":3,"startDate":"2021-07-01T00:00:00","endDate":"2021-12-31T23:59:59","priority":0,"amount":12.00,"curr":"USD"}
+                """;
+
+        ResponseEntity<PriceIngestionResponseDTO> response = post(body, MediaType.APPLICATION_NDJSON);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().getRows());
+        assertEquals(3, ingestedRows());
+        PriceResponseDTO price = restTemplate.getForObject(
+                "/api/prices?productId=40000&brandId=1&applicationDate=2021-03-15T10:00:00", PriceResponseDTO.class);
+        assertEquals(new BigDecimal("8.50"), price.getAmount());
+    }
+
+    @Test
+    void testIngestCsv() {
+        String body = """
+                BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+                1,2021-01-01T00:00:00,2021-06-30T23:59:59,1,40000,0,10.00,EUR
+                1,2021-07-01T00:00:00,2021-12-31T23:59:59,2,40000,0,12.00,EUR
+                """;
+
+        ResponseEntity<PriceIngestionResponseDTO> response = post(body, MediaType.parseMediaType("text/csv"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getRows());
+        assertEquals(2, ingestedRows());
+    }
+
+    @Test
+    void testIngest_rejectsTheWholeRequestOnAnInvalidRow() {
+        String body = """
+                1,2021-01-01T00:00:00,2021-06-30T23:59:59,1,40000,0,10.00,EUR
+                1,2021-02-01T00:00:00,2021-03-01T00:00:00,2,40000,0,10.00,EUR
+                1,2021-03-01T00:00:00,2021-04-01T00:00:00,3,40000,0,10.00,EUR
+                1,2021-12-31T00:00:00,2021-01-01T00:00:00,4,40000,0,10.00,EUR
+                """;
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(BULK_URL,
+                new HttpEntity<>(body, headers(MediaType.parseMediaType("text/csv"))), Map.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().get("message").toString().startsWith("Row 4: "));
+        assertEquals(0, ingestedRows(), "Batches sent before the invalid row are rolled back");
+    }
+
+    @Test
+    void testIngest_rejectsUnknownCurrencies() {
+        String body = """
+                {"brandId":1,"productId":40000,"priceList":1,"startDate":"2021-01-01T00:00:00","endDate":"2021-06-30T23:59:59","priority":0,"amount":10.00,"curr":"EURO"}
+                """;
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(BULK_URL,
+                new HttpEntity<>(body, headers(MediaType.APPLICATION_NDJSON)), Map.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Row 1: 'EURO' is not an ISO 4217 currency code", response.getBody().get("message"));
+        assertEquals(0, ingestedRows());
+    }
+
+    private ResponseEntity<PriceIngestionResponseDTO> post(String body, MediaType contentType) {
+        return restTemplate.postForEntity(BULK_URL, new HttpEntity<>(body, headers(contentType)),
+                PriceIngestionResponseDTO.class);
+    }
+
+    private static HttpHeaders headers(MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return headers;
+    }
+
+    private int ingestedRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID = 40000", Integer.class);
+    }
+}
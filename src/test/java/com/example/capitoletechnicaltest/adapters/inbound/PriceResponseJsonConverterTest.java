@@ -0,0 +1,95 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link PriceResponseJsonConverter} and {@link ApplicationDateParser}.
+ * This class validates that the fast paths produce exactly what Jackson and the ISO formatter produce.
+ */
+class PriceResponseJsonConverterTest {
+
+    /**
+     * Mapper configured like Spring Boot's: dates as ISO strings.
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final PriceResponseJsonConverter converter = new PriceResponseJsonConverter(objectMapper);
+
+    /**
+     * Test case for the serialization of responses.
+     * Verifies that the output is byte-for-byte the one of the ObjectMapper, fast path and fallbacks alike.
+     */
+    @Test
+    void testToJson_MatchesObjectMapper() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2020, 6, 14, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
+        List<PriceResponseDTO> responses = List.of(
+                new PriceResponseDTO(35455L, 1L, new BigDecimal("35.50"), "EUR", start, end),
+                new PriceResponseDTO(0L, -7L, new BigDecimal("1E+3"), "USD", start, end),
+                new PriceResponseDTO(Long.MAX_VALUE, Long.MIN_VALUE, new BigDecimal("0.000001"), "", start, end),
+                new PriceResponseDTO(1L, 1L, BigDecimal.ZERO, "EUR",
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0, 500_000_000), LocalDateTime.of(2020, 1, 1, 0, 0, 0, 123)),
+                new PriceResponseDTO(1L, 1L, new BigDecimal("-2.5"), "EUR",
+                        LocalDateTime.of(5, 1, 1, 0, 0), LocalDateTime.of(12345, 1, 1, 0, 0)),
+                new PriceResponseDTO(1L, 1L, new BigDecimal("9.99"), "\"é\\\n", start, end),
+                new PriceResponseDTO());
+
+        for (PriceResponseDTO response : responses) {
+            byte[] expected = objectMapper.writeValueAsBytes(response);
+            // Twice, the second time from the rendering caches
+            assertArrayEquals(expected, converter.toJson(response), new String(expected, StandardCharsets.UTF_8));
+            assertArrayEquals(expected, converter.toJson(response), new String(expected, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Test case for a mapper whose output differs from the hand-written layout.
+     * Verifies that the converter then writes every response through the mapper.
+     */
+    @Test
+    void testToJson_DelegatesWhenMapperIsConfiguredDifferently() throws Exception {
+        ObjectMapper timestamps = Jackson2ObjectMapperBuilder.json().build();
+        PriceResponseDTO response = new PriceResponseDTO(35455L, 1L, new BigDecimal("35.50"), "EUR",
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59));
+
+        assertArrayEquals(timestamps.writeValueAsBytes(response),
+                new PriceResponseJsonConverter(timestamps).toJson(response));
+    }
+
+    /**
+     * Test case for the parsing of application dates.
+     * Verifies that valid dates parse as with the ISO formatter and invalid ones are rejected the same way.
+     */
+    @Test
+    void testParseApplicationDate_MatchesIsoFormatter() {
+        for (String valid : List.of("2020-06-14T16:00:00", "0000-01-01T00:00:00", "2024-02-29T23:59:59",
+                "2020-06-14T16:00", "2020-06-14T16:00:00.5", "+10000-01-01T00:00:00")) {
+            assertEquals(LocalDateTime.parse(valid, DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                    ApplicationDateParser.parse(valid), valid);
+        }
+        for (String invalid : List.of("2023-02-29T10:00:00", "2020-06-14T24:00:00", "2020-13-01T00:00:00",
+                "2020-06-14 16:00:00", "2020-06-1aT16:00:00", "-020-06-14T16:00:00", "invalid-date", "")) {
+            DateTimeParseException expected = assertThrows(DateTimeParseException.class,
+                    () -> LocalDateTime.parse(invalid, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            DateTimeParseException actual = assertThrows(DateTimeParseException.class,
+                    () -> ApplicationDateParser.parse(invalid), invalid);
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+}
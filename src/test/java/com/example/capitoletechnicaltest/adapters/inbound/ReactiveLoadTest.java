@@ -0,0 +1,288 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.CapitoleTechnicalTestApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test of the blocking and the non-blocking price endpoints with 10,000 concurrent connections, each
+ * sending a few keep-alive lookups once all are open. Lookups query the database, with the cache disabled
+ * and distinct application dates: the blocking endpoint holds a request thread while each one waits for a
+ * connection, and fails it past the pool's connection timeout, while the non-blocking one queues it and
+ * releases the thread, so it is served with a small pool of request threads. Failed lookups are counted
+ * rather than failing the test.
+ * <p>
+ * The application runs in a JVM of its own, as one process cannot hold both ends of 10,000 connections
+ * within the usual limit of open files, and so that its resident memory and thread count can be sampled
+ * while the connections are served. Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+class ReactiveLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveLoadTest.class);
+
+    private static final int CONNECTIONS = 10_000;
+
+    private static final int REQUESTS_PER_CONNECTION = 3;
+
+    /**
+     * Request threads of the blocking endpoint: Tomcat's default, as each lookup holds one while it waits.
+     */
+    private static final int BLOCKING_REQUEST_THREADS = 200;
+
+    /**
+     * Request threads of the non-blocking endpoint, which only parse requests and write responses.
+     */
+    private static final int NON_BLOCKING_REQUEST_THREADS = 16;
+
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    @Test
+    void testBlockingVersusNonBlockingAt10kConnections() throws Exception {
+        Result blocking = run("/api/prices", BLOCKING_REQUEST_THREADS);
+        Result nonBlocking = run("/api/reactive/prices", NON_BLOCKING_REQUEST_THREADS);
+
+        for (Result result : List.of(blocking, nonBlocking)) {
+            log.info("{} connections x {} lookups on {}: {} req/s, {} failed, p50 {} ms, p99 {} ms, max {} ms, "
+                            + "peak RSS {} MB, peak threads {}",
+                    CONNECTIONS, REQUESTS_PER_CONNECTION, result.path(), Math.round(result.throughput()),
+                    result.failures(), result.p50Millis(), result.p99Millis(), result.maxMillis(),
+                    result.peakRssKb() / 1024, result.peakThreads());
+        }
+        assertEquals(0, nonBlocking.failures(), "Expected every non-blocking lookup to be answered");
+    }
+
+    /**
+     * Starts the application in its own JVM with the given number of request threads, and drives the given
+     * endpoint from {@link #CONNECTIONS} connections, sampling the memory and threads of the application
+     * until all lookups are answered.
+     */
+    private static Result run(String path, int requestThreads) throws Exception {
+        int port = freePort();
+        Process server = start(port, requestThreads);
+        try {
+            awaitStartup(server, port);
+            long[] latencies = new long[CONNECTIONS * REQUESTS_PER_CONNECTION];
+            AtomicInteger failures = new AtomicInteger();
+            AtomicLong peakRssKb = new AtomicLong();
+            AtomicLong peakThreads = new AtomicLong();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> sample(server.pid(), peakRssKb, peakThreads), 0, 50, TimeUnit.MILLISECONDS);
+            long elapsed;
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                CountDownLatch connected = new CountDownLatch(CONNECTIONS);
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>(CONNECTIONS);
+                for (int c = 0; c < CONNECTIONS; c++) {
+                    int client = c;
+                    futures.add(clients.submit(() -> {
+                        try (Socket socket = new Socket("localhost", port)) {
+                            connected.countDown();
+                            go.await();
+                            lookups(socket, path, client, latencies, failures);
+                        }
+                        return null;
+                    }));
+                }
+                connected.await();
+                long start = System.nanoTime();
+                go.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                elapsed = System.nanoTime() - start;
+            } finally {
+                sampler.shutdownNow();
+            }
+            Arrays.sort(latencies);
+            return new Result(path, latencies.length / (elapsed / 1e9), failures.get(),
+                    latencies[latencies.length / 2] / 1_000_000, latencies[latencies.length * 99 / 100] / 1_000_000,
+                    latencies[latencies.length - 1] / 1_000_000, peakRssKb.get(), peakThreads.get());
+        } finally {
+            server.destroy();
+            server.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Sends the lookups of a client over its connection. Tomcat closes a connection after an error
+     * response, so a failed lookup is followed by a new connection.
+     */
+    private static void lookups(Socket connection, String path, int client, long[] latencies, AtomicInteger failures)
+            throws IOException {
+        Socket socket = connection;
+        SplittableRandom random = new SplittableRandom(client);
+        try {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            for (int i = 0; i < REQUESTS_PER_CONNECTION; i++) {
+                LocalDateTime date = FIRST_DATE.plusSeconds(random.nextInt(3 * 24 * 3600));
+                byte[] request = ("GET " + path + "?productId=35455&brandId=1&applicationDate=" + date
+                        + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                long start = System.nanoTime();
+                int status;
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(request);
+                    out.flush();
+                    status = readResponse(in);
+                } catch (IOException ex) {
+                    status = -1;
+                }
+                latencies[client * REQUESTS_PER_CONNECTION + i] = System.nanoTime() - start;
+                if (status != 200) {
+                    failures.incrementAndGet();
+                    if (socket != connection) {
+                        socket.close();
+                    }
+                    socket = new Socket("localhost", connection.getPort());
+                    in = new BufferedInputStream(socket.getInputStream());
+                }
+            }
+        } finally {
+            if (socket != connection) {
+                socket.close();
+            }
+        }
+    }
+
+    /**
+     * Reads an HTTP/1.1 response, with either a fixed length or a chunked body.
+     *
+     * @return The status code.
+     */
+    private static int readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        long length = 0;
+        boolean chunked = false;
+        for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+            String lower = header.toLowerCase();
+            if (lower.startsWith("content-length:")) {
+                length = Long.parseLong(lower.substring(15).trim());
+            } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                chunked = true;
+            }
+        }
+        if (!chunked) {
+            in.skipNBytes(length);
+            return status;
+        }
+        for (long chunk = Long.parseLong(readLine(in).trim(), 16); chunk > 0; chunk = Long.parseLong(readLine(in).trim(), 16)) {
+            in.skipNBytes(chunk);
+            readLine(in);
+        }
+        readLine(in);
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0) {
+                throw new IOException("Connection closed by the server");
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static Process start(int port, int requestThreads) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-Xmx2g", "-cp", System.getProperty("java.class.path"),
+                CapitoleTechnicalTestApplication.class.getName(),
+                "--server.port=" + port,
+                "--server.tomcat.threads.max=" + requestThreads,
+                "--server.tomcat.max-connections=" + (CONNECTIONS + 1000),
+                "--server.tomcat.accept-count=" + CONNECTIONS,
+                // Keeps the first connections open while the others are being opened
+                "--server.tomcat.connection-timeout=5m",
+                // Lets non-blocking lookups wait in the queue as long as the run lasts
+                "--spring.mvc.async.request-timeout=5m",
+                "--spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+                "--prices.cache.enabled=false",
+                "--logging.level.root=WARN")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/reactive-load-server.log")))
+                .start();
+    }
+
+    private static void awaitStartup(Process server, int port) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("The application exited with " + server.exitValue());
+            }
+            try (Socket socket = new Socket("localhost", port)) {
+                OutputStream out = socket.getOutputStream();
+                out.write("GET /actuator/health HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                if (readResponse(new BufferedInputStream(socket.getInputStream())) == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("The application did not start in time");
+    }
+
+    /**
+     * Records the resident memory and the thread count of a process, from {@code /proc}, if above the peaks.
+     */
+    private static void sample(long pid, AtomicLong peakRssKb, AtomicLong peakThreads) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    peakRssKb.accumulateAndGet(Long.parseLong(line.replaceAll("\\D", "")), Math::max);
+                } else if (line.startsWith("Threads:")) {
+                    peakThreads.accumulateAndGet(Long.parseLong(line.replaceAll("\\D", "")), Math::max);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Not a Linux host, or the process is gone
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(String path, double throughput, int failures, long p50Millis, long p99Millis,
+                          long maxMillis, long peakRssKb, long peakThreads) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.domain.PriceServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@link ReactivePriceController}, resolving the sample tariffs from the database.
+ * Shares the application context of {@link PriceControllerTests}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+class ReactivePriceControllerTest {
+
+    private static final String URL = "/api/reactive/prices";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testGetPrice() {
+        ResponseEntity<PriceResponseDTO> response = restTemplate.getForEntity(
+                URL + "?productId=35455&brandId=1&applicationDate=2020-06-14T16:00:00", PriceResponseDTO.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new BigDecimal("25.45"), response.getBody().getAmount());
+    }
+
+    @Test
+    void testGetPrice_notFound() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                URL + "?productId=99999&brandId=1&applicationDate=2020-06-14T16:00:00", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertTrue(response.getBody().contains(PriceServiceImpl.NO_APPLICABLE_PRICE));
+    }
+
+    @Test
+    void testGetPrice_invalidInput() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                URL + "?productId=35455&brandId=1&applicationDate=invalid", String.class);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    /**
+     * Streams more lookups than fit in one window, with misses and incomplete items kept in request order.
+     */
+    @Test
+    void testStreamPrices() throws Exception {
+        List<PriceBatchItemRequestDTO> request = new ArrayList<>();
+        for (int i = 0; i < ReactivePriceController.STREAM_WINDOW * 2 + 10; i++) {
+            switch (i % 4) {
+                case 0 -> request.add(new PriceBatchItemRequestDTO(1L, 35455L, LocalDateTime.parse("2020-06-14T10:00:00")));
+                case 1 -> request.add(new PriceBatchItemRequestDTO(1L, 35455L, LocalDateTime.parse("2020-06-14T16:00:00")));
+                case 2 -> request.add(new PriceBatchItemRequestDTO(1L, 99999L, LocalDateTime.parse("2020-06-14T10:00:00")));
+                default -> request.add(new PriceBatchItemRequestDTO(1L, null, LocalDateTime.parse("2020-06-14T10:00:00")));
+            }
+        }
+
+        ResponseEntity<String> response = restTemplate.postForEntity(URL + "/stream", request, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals(request.size(), lines.size(), "Expected one line per lookup");
+        for (int i = 0; i < lines.size(); i++) {
+            PriceBatchItemResponseDTO item = objectMapper.readValue(lines.get(i), PriceBatchItemResponseDTO.class);
+            assertEquals(request.get(i).getProductId(), item.getProductId());
+            switch (i % 4) {
+                case 0 -> assertEquals(new BigDecimal("35.50"), item.getPrice().getAmount());
+                case 1 -> assertEquals(new BigDecimal("25.45"), item.getPrice().getAmount());
+                case 2 -> assertEquals(404, item.getStatus());
+                default -> assertEquals(400, item.getStatus());
+            }
+        }
+    }
+
+    @Test
+    void testStreamPrices_empty() {
+        ResponseEntity<String> response = restTemplate.postForEntity(URL + "/stream", Collections.emptyList(),
+                String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
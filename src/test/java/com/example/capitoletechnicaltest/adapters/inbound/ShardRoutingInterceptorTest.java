@@ -0,0 +1,175 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.infrastructure.ConsistentHashRing;
+import com.example.capitoletechnicaltest.infrastructure.PriceShardingProperties;
+import com.example.capitoletechnicaltest.infrastructure.PriceShards;
+import com.example.capitoletechnicaltest.infrastructure.ShardUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ShardRoutingInterceptor}.
+ * Validates that lookups of local keys go through and that lookups of other keys are relayed from their owner.
+ */
+class ShardRoutingInterceptorTest {
+
+    private static final String SELF = "http://localhost:1";
+
+    private static final String ETAG = "\"1.\"";
+
+    private static final String BODY = "{\"productId\":1,\"brandId\":1,\"amount\":35.50,\"curr\":\"EUR\"}";
+
+    private HttpServer remote;
+
+    private String remoteNode;
+
+    private final AtomicReference<String> forwardedFrom = new AtomicReference<>();
+
+    private final AtomicReference<String> forwardedUri = new AtomicReference<>();
+
+    private final AtomicReference<String> forwardedIfNoneMatch = new AtomicReference<>();
+
+    private ShardRoutingInterceptor interceptor;
+
+    private PriceShards shards;
+
+    /**
+     * Starts a fake remote node answering every lookup with {@link #BODY}, in a two-node cluster with this one.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        remote = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        remote.createContext("/", exchange -> {
+            forwardedFrom.set(exchange.getRequestHeaders().getFirst(ShardRoutingInterceptor.FORWARDED_HEADER));
+            forwardedUri.set(exchange.getRequestURI().toString());
+            forwardedIfNoneMatch.set(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=600");
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        remote.start();
+        remoteNode = "http://localhost:" + remote.getAddress().getPort();
+
+        shards = new PriceShards(new PriceShardingProperties(true, SELF, List.of(SELF, remoteNode), 128,
+                Duration.ofSeconds(2)), new SimpleMeterRegistry());
+        interceptor = new ShardRoutingInterceptor(shards, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        interceptor.close();
+        remote.stop(0);
+    }
+
+    /**
+     * A lookup of a key owned by this node goes on to the controller.
+     */
+    @Test
+    void testPreHandle_LetsLocalKeysThrough() throws Exception {
+        MockHttpServletRequest request = lookup(productOwnedBy(SELF));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertEquals(SELF, response.getHeader(ShardRoutingInterceptor.SHARD_HEADER));
+        assertNull(forwardedUri.get());
+    }
+
+    /**
+     * A lookup of a key owned by another node is forwarded to it, marked as forwarded, and its answer relayed.
+     */
+    @Test
+    void testPreHandle_ForwardsRemoteKeys() throws Exception {
+        long productId = productOwnedBy(remoteNode);
+        MockHttpServletRequest request = lookup(productId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals(200, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(remoteNode, response.getHeader(ShardRoutingInterceptor.SHARD_HEADER));
+        assertEquals(SELF, forwardedFrom.get());
+        assertEquals("/api/prices?brandId=1&productId=" + productId + "&applicationDate=2020-06-14T16:00:00",
+                forwardedUri.get());
+        assertEquals(1L, shards.shards().stream().filter(shard -> shard.node().equals(remoteNode))
+                .findFirst().orElseThrow().requests());
+    }
+
+    /**
+     * A conditional lookup is forwarded with its ETags, and the caching headers of the owner are relayed.
+     */
+    @Test
+    void testPreHandle_RelaysCachingHeaders() throws Exception {
+        MockHttpServletRequest request = lookup(productOwnedBy(remoteNode));
+        request.addHeader("If-None-Match", "\"0.\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals("\"0.\"", forwardedIfNoneMatch.get());
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertEquals("max-age=600", response.getHeader("Cache-Control"));
+    }
+
+    /**
+     * A lookup forwarded by another node is answered here, whoever owns its key.
+     */
+    @Test
+    void testPreHandle_AnswersForwardedLookups() throws Exception {
+        MockHttpServletRequest request = lookup(productOwnedBy(remoteNode));
+        request.addHeader(ShardRoutingInterceptor.FORWARDED_HEADER, remoteNode);
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+        assertNull(forwardedUri.get());
+    }
+
+    /**
+     * An owner that cannot be reached fails the lookup.
+     */
+    @Test
+    void testPreHandle_FailsWhenOwnerIsUnreachable() {
+        long productId = productOwnedBy(remoteNode);
+        remote.stop(0);
+
+        assertThrows(ShardUnavailableException.class,
+                () -> interceptor.preHandle(lookup(productId), new MockHttpServletResponse(), new Object()));
+    }
+
+    private long productOwnedBy(String node) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(SELF, remoteNode), 128);
+        return LongStream.rangeClosed(1, 1000).filter(productId -> ring.owner(1L, productId).equals(node))
+                .findFirst().orElseThrow();
+    }
+
+    private static MockHttpServletRequest lookup(long productId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/prices");
+        request.setQueryString("brandId=1&productId=" + productId + "&applicationDate=2020-06-14T16:00:00");
+        request.addParameter("brandId", "1");
+        request.addParameter("productId", String.valueOf(productId));
+        request.addParameter("applicationDate", "2020-06-14T16:00:00");
+        return request;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.capitoletechnicaltest.adapters.inbound;
+
+import com.example.capitoletechnicaltest.CapitoleTechnicalTestApplication;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput benchmark of the price endpoint at high concurrency, with request handling on the
+ * platform thread pool and on virtual threads. The cache is disabled so every request reaches JDBC.
+ * In virtual-thread mode, JFR records any carrier thread pinned while a request blocks.
+ * Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+class VirtualThreadThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadThroughputTest.class);
+
+    private static final int CLIENTS = 400;
+
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @Test
+    void testThroughputPlatformVersusVirtualThreads() throws Exception {
+        double platform = run(false);
+        AtomicInteger pinned = new AtomicInteger();
+        double virtual;
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (pinned.getAndIncrement() == 0) {
+                    log.warn("Pinned carrier thread:\n{}", event.getStackTrace());
+                }
+            });
+            recording.startAsync();
+            virtual = run(true);
+            recording.stop();
+        }
+
+        log.info("{} concurrent clients: platform threads {} req/s, virtual threads {} req/s",
+                CLIENTS, Math.round(platform), Math.round(virtual));
+        assertEquals(0, pinned.get(), "Expected no carrier thread pinned while handling requests");
+    }
+
+    /**
+     * Starts the application in the given mode and drives the price endpoint with concurrent clients.
+     *
+     * @return The throughput, in requests per second.
+     */
+    private static double run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CapitoleTechnicalTestApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:throughput" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--prices.cache.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level." + VirtualThreadThroughputTest.class.getName() + "=INFO")) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/prices?productId=35455&brandId=1&applicationDate=2020-06-14T16:00:00");
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+                HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+                drive(clients, httpClient, request, REQUESTS_PER_CLIENT / 5);
+
+                long start = System.nanoTime();
+                drive(clients, httpClient, request, REQUESTS_PER_CLIENT);
+                long elapsed = System.nanoTime() - start;
+                return CLIENTS * REQUESTS_PER_CLIENT / (elapsed / 1e9);
+            }
+        }
+    }
+
+    private static void drive(ExecutorService clients, HttpClient httpClient, HttpRequest request, int requests)
+            throws Exception {
+        List<Future<?>> futures = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < requests; i++) {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    assertEquals(200, response.statusCode());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
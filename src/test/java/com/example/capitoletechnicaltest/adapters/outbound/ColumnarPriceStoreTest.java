@@ -0,0 +1,171 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ColumnarPriceStore} and {@link ColumnarPriceRepositoryAdapter}.
+ * Validates the columnar lookups against the sample tariffs and against {@link PriceIntervalTree}.
+ */
+class ColumnarPriceStoreTest {
+
+    private static final List<Price> SAMPLE_PRICES = List.of(
+            price(1L, 1, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50"),
+            price(2L, 2, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45"),
+            price(3L, 3, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00", "30.50"),
+            price(4L, 4, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95"));
+
+    @ParameterizedTest
+    @CsvSource({
+            "2020-06-14T10:00:00, 1, 35.50",
+            "2020-06-14T16:00:00, 2, 25.45",
+            "2020-06-14T18:30:00, 2, 25.45",
+            "2020-06-14T21:00:00, 1, 35.50",
+            "2020-06-15T10:00:00, 3, 30.50",
+            "2020-06-16T21:00:00, 4, 38.95",
+            "2020-12-31T23:59:59, 4, 38.95"
+    })
+    void testPriceAt(String applicationDate, int expectedPriceList, String expectedAmount) {
+        ColumnarPriceStore store = store(SAMPLE_PRICES);
+
+        Price result = store.priceAt(1L, 35455L, epochSecond(applicationDate));
+
+        assertEquals(expectedPriceList, result.getPriceList(), "Unexpected winning price list");
+        assertEquals(expectedPriceList, result.getId());
+        assertEquals(new BigDecimal(expectedAmount), result.getAmount());
+        assertEquals("EUR", result.getCurr());
+        assertEquals(1L, result.getBrandId());
+        assertEquals(35455L, result.getProductId());
+    }
+
+    @Test
+    void testPriceAt_outsideEveryTariffOrKey() {
+        ColumnarPriceStore store = store(SAMPLE_PRICES);
+
+        assertNull(store.priceAt(1L, 35455L, epochSecond("2020-06-13T23:59:59")));
+        assertNull(store.priceAt(1L, 35455L, epochSecond("2021-01-01T00:00:00")));
+        assertNull(store.priceAt(2L, 35455L, epochSecond("2020-06-14T10:00:00")));
+        assertNull(store.priceAt(1L, 1L << 40, epochSecond("2020-06-14T10:00:00")));
+    }
+
+    /**
+     * Compares the store with one interval tree per key over randomly generated overlapping tariffs.
+     */
+    @Test
+    void testLookups_matchIntervalTrees() {
+        Random random = new Random(42);
+        LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Price> prices = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            LocalDateTime start = origin.plusHours(random.nextInt(1_000));
+            prices.add(new Price((long) i, 1L + random.nextInt(2), start, start.plusHours(1 + random.nextInt(200)),
+                    i, 10L + random.nextInt(3), random.nextInt(5), BigDecimal.valueOf(random.nextInt(10_000), 2),
+                    random.nextBoolean() ? "EUR" : "USD"));
+        }
+        ColumnarPriceStore store = store(prices);
+        assertEquals(600, store.size());
+        assertEquals(6, store.keyCount());
+
+        for (long brandId = 1; brandId <= 2; brandId++) {
+            for (long productId = 10; productId <= 12; productId++) {
+                PriceKey key = new PriceKey(brandId, productId);
+                PriceIntervalTree tree = PriceIntervalTree.of(prices.stream()
+                        .filter(price -> PriceKey.of(price).equals(key))
+                        .toList());
+                for (int hour = -10; hour < 1_300; hour++) {
+                    long instant = PricePrecedence.toEpochSecond(origin.plusHours(hour));
+                    Price expected = tree.findHighestPriority(instant);
+                    Price actual = store.priceAt(brandId, productId, instant);
+                    assertEquals(expected == null ? null : expected.getId(), actual == null ? null : actual.getId(),
+                            "Mismatch for " + key + " at hour " + hour);
+                    assertEquals(tree.nextBoundary(instant), store.nextBoundary(brandId, productId, instant),
+                            "Boundary mismatch for " + key + " at hour " + hour);
+                }
+            }
+            for (int hour = -10; hour < 1_300; hour += 7) {
+                long instant = PricePrecedence.toEpochSecond(origin.plusHours(hour));
+                List<Long> expected = new ArrayList<>();
+                for (long productId = 10; productId <= 12; productId++) {
+                    Optional.ofNullable(store.priceAt(brandId, productId, instant)).map(Price::getId)
+                            .ifPresent(expected::add);
+                }
+                List<Long> exported = new ArrayList<>();
+                store.forEachPriceAt(brandId, instant, price -> exported.add(price.getId()));
+                assertEquals(expected, exported, "Export mismatch for brand " + brandId + " at hour " + hour);
+            }
+        }
+    }
+
+    @Test
+    void testBuilder_rejectsValuesOutsideTheColumns() {
+        ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder();
+        Price subCent = price(1L, 1, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.505");
+        Price wideProduct = price(2L, 1, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50");
+        wideProduct.setProductId(1L << 40);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(subCent));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(wideProduct));
+        assertEquals(0, builder.build().size());
+    }
+
+    @Test
+    void testAdapter_appliesChangesUntilTheNextReload() {
+        List<Price> table = new ArrayList<>(SAMPLE_PRICES);
+        ColumnarPriceRepositoryAdapter adapter = new ColumnarPriceRepositoryAdapter(table::forEach);
+        adapter.load();
+        LocalDateTime applicationDate = LocalDateTime.parse("2020-06-14T10:00:00");
+
+        Price promotion = price(5L, 5, 2, "2020-06-14T09:00:00", "2020-06-14T11:00:00", "19.99");
+        table.add(promotion);
+        adapter.onPriceChange(new PriceChange(1, PriceChange.Type.INSERT, 5L, PriceKey.of(promotion), promotion,
+                applicationDate));
+        assertEquals(5, adapter.findPriceByProductBrandAndDate(35455L, 1L, applicationDate).orElseThrow().getPriceList());
+        assertEquals(Optional.of(LocalDateTime.parse("2020-06-14T11:00:01")),
+                adapter.findNextBoundary(35455L, 1L, applicationDate));
+
+        table.clear();
+        for (long id = 1; id <= 5; id++) {
+            adapter.onPriceChange(new PriceChange(1 + id, PriceChange.Type.DELETE, id, new PriceKey(1L, 35455L), null,
+                    applicationDate));
+        }
+        assertTrue(adapter.findPriceByProductBrandAndDate(35455L, 1L, applicationDate).isEmpty(),
+                "A key emptied by changes no longer falls back to the store");
+
+        table.add(promotion);
+        assertEquals(new ReloadablePriceCatalogue.Snapshot(1, 1), adapter.reload());
+        assertEquals(5, adapter.findPriceByProductBrandAndDate(35455L, 1L, applicationDate).orElseThrow().getPriceList());
+        assertEquals(ColumnarPriceStore.ROW_BYTES + Long.BYTES + 2 * Integer.BYTES, adapter.offHeapBytes());
+    }
+
+    private static ColumnarPriceStore store(List<Price> prices) {
+        ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder();
+        prices.forEach(builder::add);
+        return builder.build();
+    }
+
+    private static long epochSecond(String dateTime) {
+        return PricePrecedence.toEpochSecond(LocalDateTime.parse(dateTime));
+    }
+
+    private static Price price(long id, int priceList, int priority, String start, String end, String amount) {
+        return new Price(id, 1L, LocalDateTime.parse(start), LocalDateTime.parse(end), priceList, 35455L, priority,
+                new BigDecimal(amount), "EUR");
+    }
+}
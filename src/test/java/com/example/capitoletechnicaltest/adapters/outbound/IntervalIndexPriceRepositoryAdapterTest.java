@@ -0,0 +1,66 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link IntervalIndexPriceRepositoryAdapter}.
+ * Validates the brand exports and the patches applied by the change feed to the brand-grouped index.
+ */
+class IntervalIndexPriceRepositoryAdapterTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    @Test
+    void testForEachPriceAt_visitsOnlyTheProductsOfTheBrand() {
+        IntervalIndexPriceRepositoryAdapter adapter = new IntervalIndexPriceRepositoryAdapter(action -> List.of(
+                price(1L, 1L, 10L, 0), price(2L, 1L, 10L, 1), price(3L, 1L, 11L, 0),
+                price(4L, 2L, 10L, 0), price(5L, 2L, 12L, 0)).forEach(action));
+        adapter.load();
+
+        assertEquals(List.of(2L, 3L), exportedIds(adapter, 1L));
+        assertEquals(List.of(4L, 5L), exportedIds(adapter, 2L));
+        assertEquals(List.of(), exportedIds(adapter, 3L));
+        assertEquals(new ReloadablePriceCatalogue.Snapshot(5, 4), adapter.snapshot());
+    }
+
+    @Test
+    void testOnPriceChange_movesTariffsBetweenBrands() {
+        IntervalIndexPriceRepositoryAdapter adapter = new IntervalIndexPriceRepositoryAdapter(action -> List.of(
+                price(1L, 1L, 10L, 0), price(2L, 2L, 10L, 0)).forEach(action));
+        adapter.load();
+
+        // The only tariff of brand 2 moves to brand 3
+        Price moved = price(2L, 3L, 10L, 0);
+        adapter.onPriceChange(new PriceChange(1, PriceChange.Type.UPDATE, 2L, new PriceKey(2L, 10L), moved, DATE));
+
+        assertEquals(List.of(1L), exportedIds(adapter, 1L));
+        assertEquals(List.of(), exportedIds(adapter, 2L));
+        assertEquals(List.of(2L), exportedIds(adapter, 3L));
+        assertTrue(adapter.findPriceByProductBrandAndDate(10L, 2L, DATE).isEmpty());
+        assertEquals(2L, adapter.findPriceByProductBrandAndDate(10L, 3L, DATE).orElseThrow().getId());
+    }
+
+    private static List<Long> exportedIds(IntervalIndexPriceRepositoryAdapter adapter, long brandId) {
+        List<Long> ids = new ArrayList<>();
+        adapter.forEachPriceAt(brandId, DATE, price -> ids.add(price.getId()));
+        ids.sort(Comparator.naturalOrder());
+        return ids;
+    }
+
+    private static Price price(long id, long brandId, long productId, int priority) {
+        return new Price(id, brandId, DATE.minusDays(1), DATE.plusDays(1), (int) id, productId, priority,
+                new BigDecimal("10.00"), "EUR");
+    }
+}
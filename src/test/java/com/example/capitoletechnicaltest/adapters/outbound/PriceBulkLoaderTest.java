@@ -0,0 +1,104 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import com.example.capitoletechnicaltest.infrastructure.SyntheticCatalogueProperties;
+import com.example.capitoletechnicaltest.infrastructure.SyntheticPriceGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration tests for {@link PriceBulkLoader}.
+ * Loads a generated catalogue and checks that the repository resolves it like the generated data says.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PriceBulkLoaderTest {
+
+    private static final SyntheticCatalogueProperties PROPERTIES = new SyntheticCatalogueProperties(
+            2, 500, 1_000_000, 10, 3, LocalDateTime.of(2020, 1, 1, 0, 0), Duration.ofDays(365),
+            List.of(70, 20, 10), 42);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @AfterEach
+    void removeSyntheticPrices() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID >= 1000000");
+    }
+
+    @Test
+    void testLoad() {
+        long before = priceRepository.count();
+
+        long loaded = new PriceBulkLoader(dataSource, 1_000).load(new SyntheticPriceGenerator(PROPERTIES).prices());
+
+        assertEquals(PROPERTIES.size(), loaded);
+        assertEquals(before + PROPERTIES.size(), priceRepository.count());
+
+        // The loaded rows resolve to the tariff the generated data designates as the winner
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 8, 1, 12, 0);
+        List<Price> product = new SyntheticPriceGenerator(PROPERTIES).prices()
+                .filter(price -> price.getBrandId() == 2L && price.getProductId() == 1_000_123L)
+                .toList();
+        Price expected = product.stream()
+                .filter(price -> !price.getStartDate().isAfter(applicationDate)
+                        && !price.getEndDate().isBefore(applicationDate))
+                .max(PricePrecedence.COMPARATOR)
+                .orElseThrow();
+
+        Optional<Price> result = priceRepository.findApplicablePrice(2L, 1_000_123L, applicationDate);
+        assertEquals(expected.getPriceList(), result.orElseThrow().getPriceList());
+        assertEquals(expected.getAmount(), result.get().getAmount());
+    }
+
+    @Test
+    void testLoadAtomically_rollsBackOnFailure() {
+        long before = priceRepository.count();
+        AtomicInteger rows = new AtomicInteger();
+        Stream<Price> failing = new SyntheticPriceGenerator(PROPERTIES).prices()
+                .map(price -> {
+                    if (rows.incrementAndGet() == 2_500) {
+                        throw new IllegalStateException("Broken row");
+                    }
+                    return price;
+                });
+
+        assertThrows(IllegalStateException.class, () -> new PriceBulkLoader(dataSource, 1_000).loadAtomically(failing));
+        assertEquals(before, priceRepository.count(), "No batch of a failed atomic load is kept");
+    }
+
+    @Test
+    void testLoad_sharesTheSequenceWithJpa() {
+        new PriceBulkLoader(dataSource, 1_000).load(new SyntheticPriceGenerator(PROPERTIES).prices().limit(75));
+
+        Price saved = priceRepository.save(new Price(null, 2L, LocalDateTime.of(2020, 1, 1, 0, 0),
+                LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 1_999_999L, 0, BigDecimal.ONE, "EUR"));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE ID = ?", Integer.class,
+                saved.getId()), "A JPA insert never reuses an ID reserved by a bulk load");
+    }
+}
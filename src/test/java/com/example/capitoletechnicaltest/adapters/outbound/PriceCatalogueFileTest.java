@@ -0,0 +1,189 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PriceCatalogueFile}.
+ * Writes stores to temporary files, maps them back, and checks that damaged files are rejected.
+ */
+class PriceCatalogueFileTest {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testMap_readsWhatWasWritten() throws IOException {
+        List<Price> prices = randomPrices();
+        ColumnarPriceStore store = store(prices);
+        Path file = directory.resolve("prices.cat");
+
+        PriceCatalogueFile.write(store, file);
+        ColumnarPriceStore mapped = PriceCatalogueFile.map(file);
+
+        assertEquals(store.size(), mapped.size());
+        assertEquals(store.keyCount(), mapped.keyCount());
+        assertEquals(store.offHeapBytes(), mapped.offHeapBytes());
+        for (long productId = 10; productId <= 14; productId++) {
+            assertEquals(amounts(store.prices(1L, productId)), amounts(mapped.prices(1L, productId)));
+            for (int hour = -10; hour < 1_300; hour += 7) {
+                long instant = PricePrecedence.toEpochSecond(ORIGIN.plusHours(hour));
+                Price expected = store.priceAt(1L, productId, instant);
+                Price actual = mapped.priceAt(1L, productId, instant);
+                assertEquals(expected == null ? null : expected.getId(), actual == null ? null : actual.getId());
+                assertEquals(store.nextBoundary(1L, productId, instant), mapped.nextBoundary(1L, productId, instant));
+            }
+        }
+        assertEquals(List.of("prices.cat"), Files.list(directory).map(path -> path.getFileName().toString()).toList(),
+                "The temporary file is moved into place");
+    }
+
+    @Test
+    void testMap_rejectsDamagedFiles() throws IOException {
+        Path file = directory.resolve("prices.cat");
+        PriceCatalogueFile.write(store(randomPrices()), file);
+        long length = Files.size(file);
+
+        // A price list, last column but one before the 600 bytes of currency codes
+        overwrite(file, length - 600 - 12, ByteBuffer.wrap(new byte[]{42}));
+        IOException corrupt = assertThrows(IOException.class, () -> PriceCatalogueFile.map(file));
+        assertTrue(corrupt.getMessage().endsWith("checksum mismatch"), corrupt.getMessage());
+        assertEquals(300, PriceCatalogueFile.map(file, false).size(), "The checksum is only read when verified");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length - 8);
+        }
+        IOException truncated = assertThrows(IOException.class, () -> PriceCatalogueFile.map(file));
+        assertTrue(truncated.getMessage().endsWith("does not match its header"), truncated.getMessage());
+
+        overwrite(file, 8, ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 99));
+        IOException version = assertThrows(IOException.class, () -> PriceCatalogueFile.map(file));
+        assertTrue(version.getMessage().startsWith("Unsupported catalogue file version 99"), version.getMessage());
+    }
+
+    @Test
+    void testMap_rejectsIndexesOutOfBounds() throws IOException {
+        Path file = directory.resolve("prices.cat");
+        PriceCatalogueFile.write(store(randomPrices()), file);
+        long length = Files.size(file);
+
+        // The currency codes are the last column, one short per tariff
+        overwrite(file, length - 2,
+                ByteBuffer.allocate(Short.BYTES).order(ByteOrder.LITTLE_ENDIAN).putShort(0, (short) 9));
+        IOException currency = assertThrows(IOException.class, () -> PriceCatalogueFile.map(file, false));
+        assertTrue(currency.getMessage().endsWith("currency code 9 of tariff 299 not in the dictionary"),
+                currency.getMessage());
+
+        PriceCatalogueFile.write(store(randomPrices()), file);
+        int keyOffsets = dataOffset(file) + 5 * Long.BYTES;
+        overwrite(file, keyOffsets + 2 * Integer.BYTES,
+                ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 1_000));
+        IOException offsets = assertThrows(IOException.class, () -> PriceCatalogueFile.map(file, false));
+        assertTrue(offsets.getMessage().endsWith("offset of key 3 out of order"), offsets.getMessage());
+
+        PriceCatalogueFile.write(store(randomPrices()), file);
+        overwrite(file, dataOffset(file),
+                ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, Long.MAX_VALUE));
+        IOException keys = assertThrows(IOException.class, () -> PriceCatalogueFile.map(file, false));
+        assertTrue(keys.getMessage().endsWith("key 1 out of order"), keys.getMessage());
+
+        PriceCatalogueFile.write(store(randomPrices()), file);
+        overwrite(file, 24, ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 7));
+        IOException dictionary = assertThrows(IOException.class, () -> PriceCatalogueFile.map(file, false));
+        assertTrue(dictionary.getMessage().endsWith("currency dictionary overruns its section"),
+                dictionary.getMessage());
+    }
+
+    @Test
+    void testAdapter_mapsTheCatalogueFile() throws IOException {
+        Path file = directory.resolve("prices.cat");
+        PriceCatalogueFile.write(store(randomPrices()), file);
+        ColumnarPriceRepositoryAdapter adapter = new ColumnarPriceRepositoryAdapter(action -> {
+            throw new AssertionError("The table is not read when a catalogue file is given");
+        }, file.toString(), true);
+
+        adapter.load();
+
+        assertEquals(new ReloadablePriceCatalogue.Snapshot(300, 5), adapter.snapshot());
+        assertTrue(adapter.findPriceByProductBrandAndDate(10L, 1L, ORIGIN.plusHours(500)).isPresent());
+    }
+
+    @Test
+    void testAdapter_keepsChangesAcrossFileReloads() throws IOException {
+        Path file = directory.resolve("prices.cat");
+        PriceCatalogueFile.write(store(randomPrices()), file);
+        ColumnarPriceRepositoryAdapter adapter = new ColumnarPriceRepositoryAdapter(action -> {
+            throw new AssertionError("The table is not read when a catalogue file is given");
+        }, file.toString(), false);
+        adapter.load();
+        LocalDateTime applicationDate = ORIGIN.plusHours(500);
+        Price promotion = new Price(1_000L, 1L, ORIGIN, ORIGIN.plusHours(1_000), 77, 10L, 99,
+                new BigDecimal("1.00"), "EUR");
+
+        adapter.onPriceChange(new PriceChange(1, PriceChange.Type.INSERT, 1_000L, PriceKey.of(promotion), promotion,
+                applicationDate));
+        adapter.reload();
+
+        assertEquals(77, adapter.findPriceByProductBrandAndDate(10L, 1L, applicationDate).orElseThrow().getPriceList(),
+                "A change the file does not hold survives the reload");
+    }
+
+    private static List<Price> randomPrices() {
+        Random random = new Random(42);
+        List<Price> prices = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = ORIGIN.plusHours(random.nextInt(1_000));
+            prices.add(new Price((long) i, 1L, start, start.plusHours(1 + random.nextInt(400)), i,
+                    10L + i % 5, random.nextInt(5), BigDecimal.valueOf(random.nextInt(10_000), 2),
+                    i % 3 == 0 ? "USD" : "EUR"));
+        }
+        return prices;
+    }
+
+    private static ColumnarPriceStore store(List<Price> prices) {
+        ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder();
+        prices.forEach(builder::add);
+        return builder.build();
+    }
+
+    private static List<String> amounts(List<Price> prices) {
+        return prices.stream().map(price -> price.getId() + ":" + price.getAmount() + price.getCurr()).toList();
+    }
+
+    private static int dataOffset(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer offset = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(offset, 28);
+            return offset.getInt(0);
+        }
+    }
+
+    private static void overwrite(Path file, long position, ByteBuffer content) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(content, position);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the PRICES change feed against the embedded H2 database.
+ * Validates that inserts, updates and deletes reach the timeline index and the price cache, and that
+ * delivery waits for transactions still in flight, each gap for its own timeout, and that changes committed
+ * after their gap was skipped are still delivered within the retention period.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:changesdb;DB_CLOSE_DELAY=-1",
+        "prices.lookup.mode=timeline",
+        "prices.changes.poll-interval=0s",
+        "prices.changes.gap-timeout=1m"
+})
+class PriceChangePollerTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    private static final String INSERT_SQL = "INSERT INTO PRICES "
+            + "(BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (1, '2020-06-14 00:00:00', '2020-06-14 23:59:59', 7, %d, 0, %s, 'EUR')";
+
+    @Autowired
+    private PriceChangePoller poller;
+
+    @Autowired
+    private PriceServicePort priceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void drainFeed() {
+        poller.poll();
+    }
+
+    @Test
+    void testPoll_appliesInsertUpdateAndDelete() {
+        assertTrue(priceService.findPrice(1L, 1L, DATE).isEmpty()); // Cached miss
+
+        jdbcTemplate.update(INSERT_SQL.formatted(1, "10.00"));
+        assertEquals(1, poller.poll());
+        assertEquals(new BigDecimal("10.00"), amount(priceService.findPrice(1L, 1L, DATE)));
+
+        // Price change, then a move to another product
+        jdbcTemplate.update("UPDATE PRICES SET PRICE = 12.00 WHERE PRODUCT_ID = 1");
+        assertEquals(1, poller.poll());
+        assertEquals(new BigDecimal("12.00"), amount(priceService.findPrice(1L, 1L, DATE)));
+        jdbcTemplate.update("UPDATE PRICES SET PRODUCT_ID = 2 WHERE PRODUCT_ID = 1");
+        assertEquals(1, poller.poll());
+        assertTrue(priceService.findPrice(1L, 1L, DATE).isEmpty());
+        assertEquals(new BigDecimal("12.00"), amount(priceService.findPrice(2L, 1L, DATE)));
+
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 2");
+        assertEquals(1, poller.poll());
+        assertTrue(priceService.findPrice(2L, 1L, DATE).isEmpty());
+
+        // Replaying the whole feed converges on the same state
+        assertEquals(35455L, priceService.findPrice(35455L, 1L, DATE).orElseThrow().getProductId());
+        assertEquals(0, poller.poll());
+        assertEquals(2, meterRegistry.get("prices.changes.applied").tag("type", "update").counter().count());
+        assertEquals(1, meterRegistry.get("prices.changes.applied").tag("type", "delete").counter().count());
+        assertEquals(4, meterRegistry.get("prices.changes.lag").timer().count());
+        assertEquals(0, meterRegistry.get("prices.changes.backlog").gauge().value());
+    }
+
+    @Test
+    void testPoll_waitsForTransactionsInFlight() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(INSERT_SQL.formatted(3, "30.00"));
+            }
+            // Committed after the open transaction took its sequence number
+            jdbcTemplate.update(INSERT_SQL.formatted(4, "40.00"));
+
+            assertEquals(0, poller.poll());
+            assertTrue(priceService.findPrice(4L, 1L, DATE).isEmpty());
+            assertEquals(2, meterRegistry.get("prices.changes.backlog").gauge().value(), "Both changes are pending");
+
+            connection.commit();
+        }
+
+        assertEquals(2, poller.poll());
+        assertEquals(new BigDecimal("30.00"), amount(priceService.findPrice(3L, 1L, DATE)));
+        assertEquals(new BigDecimal("40.00"), amount(priceService.findPrice(4L, 1L, DATE)));
+    }
+
+    @Test
+    void testPoll_timesEachGapSeparately() throws Exception {
+        MutableClock clock = new MutableClock();
+        List<PriceChange> delivered = new ArrayList<>();
+        PriceChangePoller gapPoller = new PriceChangePoller(dataSource, List.of(delivered::add), Duration.ZERO,
+                100, Duration.ofMinutes(1), Duration.ofDays(1), clock, new SimpleMeterRegistry());
+        gapPoller.poll();
+        delivered.clear();
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            try (Statement statement = first.createStatement()) {
+                statement.executeUpdate(INSERT_SQL.formatted(5, "50.00"));
+            }
+            jdbcTemplate.update(INSERT_SQL.formatted(6, "60.00"));
+            try (Statement statement = second.createStatement()) {
+                statement.executeUpdate(INSERT_SQL.formatted(7, "70.00"));
+            }
+            jdbcTemplate.update(INSERT_SQL.formatted(8, "80.00"));
+
+            assertEquals(0, gapPoller.poll());
+
+            // The first gap expired: the second one is only seen now, and waited for in turn
+            clock.advance(Duration.ofMinutes(1));
+            assertEquals(1, gapPoller.poll());
+            assertEquals(6L, delivered.getFirst().key().productId());
+
+            clock.advance(Duration.ofMinutes(1));
+            assertEquals(1, gapPoller.poll());
+            assertEquals(8L, delivered.getLast().key().productId());
+
+            // Committed rather than rolled back, so the feed of the other tests has no gap to wait for
+            first.commit();
+            second.commit();
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID BETWEEN 5 AND 8");
+        }
+    }
+
+    @Test
+    void testPoll_deliversChangesCommittedAfterTheirGapWasSkipped() throws Exception {
+        MutableClock clock = new MutableClock();
+        List<PriceChange> delivered = new ArrayList<>();
+        PriceChangePoller gapPoller = new PriceChangePoller(dataSource, List.of(delivered::add), Duration.ZERO,
+                100, Duration.ofMinutes(1), Duration.ofHours(1), clock, new SimpleMeterRegistry());
+        gapPoller.poll();
+        delivered.clear();
+
+        try (Connection slow = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            try (Statement statement = slow.createStatement()) {
+                statement.executeUpdate(INSERT_SQL.formatted(9, "90.00"));
+            }
+            jdbcTemplate.update(INSERT_SQL.formatted(10, "100.00"));
+
+            assertEquals(0, gapPoller.poll());
+            clock.advance(Duration.ofMinutes(1));
+            assertEquals(1, gapPoller.poll());
+            assertEquals(10L, delivered.getLast().key().productId());
+            assertEquals(1, gapPoller.skippedSequences());
+
+            // Still in flight: the skipped number is checked again, but there is nothing to deliver yet
+            clock.advance(Duration.ofMinutes(10));
+            assertEquals(0, gapPoller.poll());
+
+            slow.commit();
+        }
+        try {
+            assertEquals(1, gapPoller.poll());
+            assertEquals(9L, delivered.getLast().key().productId());
+            assertEquals(new BigDecimal("90.00"), delivered.getLast().price().getAmount());
+            assertEquals(0, gapPoller.skippedSequences());
+            assertEquals(0, gapPoller.poll());
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID BETWEEN 9 AND 10");
+        }
+    }
+
+    @Test
+    void testPoll_stopsCheckingSkippedNumbersAfterTheRetention() throws Exception {
+        MutableClock clock = new MutableClock();
+        List<PriceChange> delivered = new ArrayList<>();
+        PriceChangePoller gapPoller = new PriceChangePoller(dataSource, List.of(delivered::add), Duration.ZERO,
+                100, Duration.ofMinutes(1), Duration.ofHours(1), clock, new SimpleMeterRegistry());
+        gapPoller.poll();
+        delivered.clear();
+
+        try (Connection slow = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            try (Statement statement = slow.createStatement()) {
+                statement.executeUpdate(INSERT_SQL.formatted(11, "110.00"));
+            }
+            jdbcTemplate.update(INSERT_SQL.formatted(12, "120.00"));
+
+            assertEquals(0, gapPoller.poll());
+            clock.advance(Duration.ofMinutes(1));
+            assertEquals(1, gapPoller.poll());
+            assertEquals(1, gapPoller.skippedSequences());
+
+            clock.advance(Duration.ofHours(1).plusSeconds(1));
+            slow.commit();
+        }
+        try {
+            assertEquals(0, gapPoller.poll());
+            assertEquals(0, gapPoller.skippedSequences());
+            assertEquals(12L, delivered.getLast().key().productId());
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID BETWEEN 11 AND 12");
+        }
+    }
+
+    private static BigDecimal amount(Optional<Price> price) {
+        return price.orElseThrow().getAmount();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2020-06-14T10:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
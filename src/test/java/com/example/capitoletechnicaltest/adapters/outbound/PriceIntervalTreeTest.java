@@ -0,0 +1,130 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for {@link PriceIntervalTree}.
+ * Validates the stabbing query against the sample tariffs and against a brute-force scan, and the
+ * boundary search against the sample tariffs.
+ */
+class PriceIntervalTreeTest {
+
+    private static final List<Price> SAMPLE_PRICES = List.of(
+            price(1, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50"),
+            price(2, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45"),
+            price(3, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00", "30.50"),
+            price(4, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95"));
+
+    @ParameterizedTest
+    @CsvSource({
+            "2020-06-14T10:00:00, 1",
+            "2020-06-14T16:00:00, 2",
+            "2020-06-14T18:30:00, 2",
+            "2020-06-14T21:00:00, 1",
+            "2020-06-15T10:00:00, 3",
+            "2020-06-16T21:00:00, 4",
+            "2020-12-31T23:59:59, 4"
+    })
+    void testFindHighestPriority(String applicationDate, int expectedPriceList) {
+        PriceIntervalTree tree = PriceIntervalTree.of(SAMPLE_PRICES);
+
+        Price result = tree.findHighestPriority(epochSecond(applicationDate));
+
+        assertEquals(expectedPriceList, result.getPriceList(), "Unexpected winning price list");
+    }
+
+    @Test
+    void testFindHighestPriority_outsideEveryTariff() {
+        PriceIntervalTree tree = PriceIntervalTree.of(SAMPLE_PRICES);
+
+        assertNull(tree.findHighestPriority(epochSecond("2020-06-13T23:59:59")));
+        assertNull(tree.findHighestPriority(epochSecond("2021-01-01T00:00:00")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2020-06-13T10:00:00, 2020-06-14T00:00:00",
+            "2020-06-14T10:00:00, 2020-06-14T15:00:00",
+            "2020-06-14T15:00:00, 2020-06-14T18:30:01",
+            "2020-06-14T18:30:00, 2020-06-14T18:30:01",
+            "2020-06-14T21:00:00, 2020-06-15T00:00:00",
+            "2020-06-15T11:00:00, 2020-06-15T11:00:01",
+            "2020-06-16T21:00:00, 2021-01-01T00:00:00"
+    })
+    void testNextBoundary(String applicationDate, String expectedBoundary) {
+        PriceIntervalTree tree = PriceIntervalTree.of(SAMPLE_PRICES);
+
+        assertEquals(epochSecond(expectedBoundary), tree.nextBoundary(epochSecond(applicationDate)));
+    }
+
+    @Test
+    void testNextBoundary_afterEveryTariff() {
+        PriceIntervalTree tree = PriceIntervalTree.of(SAMPLE_PRICES);
+
+        assertEquals(Long.MAX_VALUE, tree.nextBoundary(epochSecond("2021-01-01T00:00:00")));
+    }
+
+    /**
+     * Compares the tree with a linear scan over randomly generated overlapping tariffs.
+     */
+    @Test
+    void testFindHighestPriority_matchesLinearScan() {
+        Random random = new Random(42);
+        List<Price> prices = new ArrayList<>();
+        LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = origin.plusHours(random.nextInt(1_000));
+            Price price = new Price();
+            price.setPriceList(i);
+            price.setPriority(random.nextInt(5));
+            price.setStartDate(start);
+            price.setEndDate(start.plusHours(1 + random.nextInt(200)));
+            prices.add(price);
+        }
+        PriceIntervalTree tree = PriceIntervalTree.of(prices);
+
+        for (int hour = -10; hour < 1_300; hour++) {
+            long instant = PricePrecedence.toEpochSecond(origin.plusHours(hour));
+            Price expected = null;
+            for (Price price : prices) {
+                if (PricePrecedence.toEpochSecond(price.getStartDate()) <= instant
+                        && PricePrecedence.toEpochSecond(price.getEndDate()) >= instant
+                        && PricePrecedence.outranks(price, expected)) {
+                    expected = price;
+                }
+            }
+            assertSame(expected, tree.findHighestPriority(instant), "Mismatch at hour " + hour);
+        }
+    }
+
+    private static long epochSecond(String dateTime) {
+        return PricePrecedence.toEpochSecond(LocalDateTime.parse(dateTime));
+    }
+
+    private static Price price(int priceList, int priority, String start, String end, String amount) {
+        Price price = new Price();
+        price.setBrandId(1L);
+        price.setProductId(35455L);
+        price.setPriceList(priceList);
+        price.setPriority(priority);
+        price.setStartDate(LocalDateTime.parse(start));
+        price.setEndDate(LocalDateTime.parse(end));
+        price.setAmount(new BigDecimal(amount));
+        price.setCurr("EUR");
+        return price;
+    }
+}
@@ -4,12 +4,15 @@ import com.example.capitoletechnicaltest.domain.Price;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -22,6 +25,9 @@ class PriceRepositoryTest {
     @Autowired
     private PriceRepository priceRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void testFindByBrandIdAndProductIdAndStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByPriorityDesc() {
         // Arrange: Insert test data into the H2 database
@@ -61,4 +67,77 @@ class PriceRepositoryTest {
         assertTrue(results.stream().allMatch(price -> price.getProductId().equals(100L)),
                 "All prices should match the product ID");
     }
+
+    @Test
+    void testFindApplicablePrice() {
+        // Arrange: Insert overlapping prices with different priorities
+        Price low = new Price();
+        low.setBrandId(2L);
+        low.setProductId(200L);
+        low.setAmount(new BigDecimal("50.00"));
+        low.setCurr("EUR");
+        low.setStartDate(LocalDateTime.of(2023, 1, 1, 0, 0));
+        low.setEndDate(LocalDateTime.of(2023, 12, 31, 23, 59));
+        low.setPriority(0);
+
+        Price high = new Price();
+        high.setBrandId(2L);
+        high.setProductId(200L);
+        high.setAmount(new BigDecimal("40.00"));
+        high.setCurr("EUR");
+        high.setStartDate(LocalDateTime.of(2023, 6, 1, 0, 0));
+        high.setEndDate(LocalDateTime.of(2023, 6, 30, 23, 59));
+        high.setPriority(1);
+
+        priceRepository.save(low);
+        priceRepository.save(high);
+
+        // Act & Assert: only the winning row is returned
+        LocalDateTime inJune = LocalDateTime.of(2023, 6, 15, 12, 0);
+        Optional<Price> june = priceRepository.findApplicablePrice(2L, 200L, inJune);
+        assertTrue(june.isPresent(), "Expected a price to be found");
+        assertEquals(new BigDecimal("40.00"), june.get().getAmount());
+        assertEquals(high.getId(), june.get().getId());
+        assertFalse(entityManager.getEntityManager().contains(june.get()),
+                "The projected price must not be managed by the persistence context");
+
+        LocalDateTime inJuly = LocalDateTime.of(2023, 7, 15, 12, 0);
+        Optional<Price> july = priceRepository.findApplicablePrice(2L, 200L, inJuly);
+        assertEquals(new BigDecimal("50.00"), july.map(Price::getAmount).orElseThrow());
+    }
+
+    /**
+     * Candidates are read for the exact brand and product pairs only, each over its own dates: a pair
+     * crossing the brand of one key with the product of another, and a period of another key, are not loaded.
+     */
+    @Test
+    void testFindCandidates() {
+        Price january = save(3L, 300L, LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 1, 31, 23, 59));
+        Price december = save(4L, 400L, LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59));
+        save(3L, 300L, LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59));
+        save(3L, 400L, LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59));
+        save(4L, 300L, LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 59));
+
+        List<Price> candidates = priceRepository.findCandidates(List.of(
+                new PriceCandidateQueries.KeyRange(3L, 300L,
+                        LocalDateTime.of(2023, 1, 10, 0, 0), LocalDateTime.of(2023, 1, 20, 0, 0)),
+                new PriceCandidateQueries.KeyRange(4L, 400L,
+                        LocalDateTime.of(2023, 12, 10, 0, 0), LocalDateTime.of(2023, 12, 10, 0, 0))));
+
+        assertEquals(List.of(january.getId(), december.getId()),
+                candidates.stream().map(Price::getId).sorted().toList());
+        assertEquals(LocalDateTime.of(2023, 1, 31, 23, 59), candidates.stream()
+                .filter(price -> price.getId().equals(january.getId())).findFirst().orElseThrow().getEndDate());
+    }
+
+    private Price save(Long brandId, Long productId, LocalDateTime startDate, LocalDateTime endDate) {
+        Price price = new Price();
+        price.setBrandId(brandId);
+        price.setProductId(productId);
+        price.setAmount(new BigDecimal("10.00"));
+        price.setCurr("EUR");
+        price.setStartDate(startDate);
+        price.setEndDate(endDate);
+        return priceRepository.saveAndFlush(price);
+    }
 }
@@ -0,0 +1,125 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Data-volume tests for the lookup query of {@link PriceRepository}.
+ * Loads millions of tariffs and verifies that H2 resolves lookups through IDX_PRICES_LOOKUP
+ * instead of scanning the table. The plan checked is the one of the SQL Hibernate generates for
+ * {@link PriceRepository#findApplicablePrice}, recorded by a {@link StatementInspector}.
+ * Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.capitoletechnicaltest.adapters.outbound.PriceRepositoryVolumeTest$RecordingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PriceRepositoryVolumeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceRepositoryVolumeTest.class);
+
+    private static final int ROWS = 2_000_000;
+
+    private static final int BRANDS = 10;
+
+    /**
+     * Number of consecutive tariffs generated per (brand, product); every tariff lasts 45 days and a new
+     * one starts every 30 days, so consecutive tariffs overlap for 15 days.
+     */
+    private static final int TARIFFS_PER_PRODUCT = 7;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @BeforeEach
+    @AfterEach
+    void clearPrices() {
+        jdbcTemplate.execute("TRUNCATE TABLE PRICES");
+    }
+
+    @Test
+    void testLookupUsesCompositeIndex() {
+        // Arrange: generate the catalogue in the database, without going through JPA. Constants are inlined
+        // because H2 would type untyped parameters in the arithmetic as arbitrary-precision decimals.
+        jdbcTemplate.update("""
+                INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR)
+                SELECT MOD(X, %1$d) + 1,
+                       DATEADD('DAY', MOD(X / %1$d, %2$d) * 30, TIMESTAMP '2020-01-01 00:00:00'),
+                       DATEADD('DAY', MOD(X / %1$d, %2$d) * 30 + 45, TIMESTAMP '2020-01-01 00:00:00'),
+                       MOD(X / %1$d, %2$d) + 1, X / (%1$d * %2$d) + 1, MOD(X / %1$d, %2$d), 10 + MOD(X, 100), 'EUR'
+                FROM SYSTEM_RANGE(0, %3$d - 1)
+                """.formatted(BRANDS, TARIFFS_PER_PRODUCT, ROWS));
+        assertEquals(ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Integer.class));
+
+        // Assert: the plan of the generated query uses the composite index for the brand, product and date
+        // conditions. Its parameters are bound in order: brand, product, the date twice, then the row limit.
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 3, 15, 0, 0);
+        Optional<Price> expected = priceRepository.findApplicablePrice(3L, 12345L, applicationDate);
+        String lookupSql = RecordingStatementInspector.last;
+        List<Object> parameters = new ArrayList<>(List.of(3L, 12345L,
+                Timestamp.valueOf(applicationDate), Timestamp.valueOf(applicationDate)));
+        while (parameters.size() < lookupSql.chars().filter(c -> c == '?').count()) {
+            parameters.add(1);
+        }
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + lookupSql, String.class, parameters.toArray());
+        assertTrue(plan.contains("IDX_PRICES_LOOKUP"), "Expected the lookup to use IDX_PRICES_LOOKUP:\n" + plan);
+        assertTrue(plan.contains("BRAND_ID = ?1") && plan.contains("PRODUCT_ID = ?2"),
+                "Expected brand and product to be index conditions:\n" + plan);
+
+        // Act: the repository lookup returns the highest priority among the overlapping tariffs
+        int lookups = 10_000;
+        long start = System.nanoTime();
+        Optional<Price> result = Optional.empty();
+        for (int i = 0; i < lookups; i++) {
+            result = priceRepository.findApplicablePrice(3L, 12345L, applicationDate);
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        log.info("{} lookups over {} rows: {} us/lookup", lookups, ROWS, elapsedMicros / lookups);
+
+        Integer expectedPriority = jdbcTemplate.queryForObject("""
+                SELECT MAX(PRIORITY) FROM PRICES WHERE BRAND_ID = 3 AND PRODUCT_ID = 12345
+                AND START_DATE <= TIMESTAMP '2020-03-15 00:00:00' AND END_DATE >= TIMESTAMP '2020-03-15 00:00:00'
+                """, Integer.class);
+        assertTrue(result.isPresent(), "Expected a price to be found");
+        assertEquals(expectedPriority, result.get().getPriority());
+        assertEquals(expected.map(Price::getId), result.map(Price::getId));
+    }
+
+    /**
+     * Records the SQL of the last statement Hibernate prepared, before it is sent to the database.
+     */
+    public static final class RecordingStatementInspector implements StatementInspector {
+
+        static volatile String last;
+
+        @Override
+        public String inspect(String sql) {
+            last = sql;
+            return sql;
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.example.capitoletechnicaltest.adapters.outbound;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link TimelinePriceRepositoryAdapter}.
+ * Verifies that a change delivered while a reload reads the catalogue is not lost, and that changes to the
+ * keys its source leaves out are skipped.
+ */
+class TimelinePriceRepositoryAdapterTest {
+
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    @Test
+    void testOnPriceChange_duringReloadIsKept() throws InterruptedException {
+        Price stored = price(1L, 35455L, "35.50");
+        Price promotion = price(2L, 35456L, "19.99");
+        AtomicReference<Thread> changer = new AtomicReference<>();
+        AtomicReference<TimelinePriceRepositoryAdapter> adapter = new AtomicReference<>();
+        adapter.set(new TimelinePriceRepositoryAdapter(action -> {
+            action.accept(stored);
+            Thread thread = changer.get();
+            if (thread == null) {
+                return;
+            }
+            // The change is written after the source read the table, and delivered before the read ends
+            thread.start();
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (thread.isAlive() && thread.getState() != Thread.State.BLOCKED && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        }));
+        adapter.get().load();
+
+        changer.set(new Thread(() -> adapter.get().onPriceChange(new PriceChange(1, PriceChange.Type.INSERT,
+                promotion.getId(), PriceKey.of(promotion), promotion, APPLICATION_DATE))));
+        adapter.get().reload();
+        changer.get().join();
+
+        assertEquals(Optional.of(1L),
+                adapter.get().findPriceByProductBrandAndDate(35455L, 1L, APPLICATION_DATE).map(Price::getId));
+        assertEquals(Optional.of(2L),
+                adapter.get().findPriceByProductBrandAndDate(35456L, 1L, APPLICATION_DATE).map(Price::getId),
+                "The change delivered during the reload was lost");
+    }
+
+    @Test
+    void testOnPriceChange_skipsKeysOutsideTheSource() {
+        Price owned = price(1L, 35455L, "35.50");
+        Price other = price(2L, 35456L, "19.99");
+        TimelinePriceRepositoryAdapter adapter = new TimelinePriceRepositoryAdapter(new PriceCatalogueSource() {
+            @Override
+            public void forEach(Consumer<? super Price> action) {
+            }
+
+            @Override
+            public boolean includes(PriceKey key) {
+                return key.productId() == 35455L;
+            }
+        });
+        adapter.load();
+
+        adapter.onPriceChange(new PriceChange(1, PriceChange.Type.INSERT, 1L, PriceKey.of(owned), owned,
+                APPLICATION_DATE));
+        adapter.onPriceChange(new PriceChange(2, PriceChange.Type.INSERT, 2L, PriceKey.of(other), other,
+                APPLICATION_DATE));
+
+        assertEquals(Optional.of(1L), adapter.findPriceByProductBrandAndDate(35455L, 1L, APPLICATION_DATE)
+                .map(Price::getId));
+        assertEquals(Optional.empty(), adapter.findPriceByProductBrandAndDate(35456L, 1L, APPLICATION_DATE),
+                "A key left out of the source was patched");
+    }
+
+    private static Price price(long id, long productId, String amount) {
+        return new Price(id, 1L, LocalDateTime.parse("2020-06-14T00:00:00"), LocalDateTime.parse("2020-12-31T23:59:59"),
+                1, productId, 0, new BigDecimal(amount), "EUR");
+    }
+}
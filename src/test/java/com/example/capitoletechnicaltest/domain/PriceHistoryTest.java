@@ -0,0 +1,152 @@
+package com.example.capitoletechnicaltest.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PriceHistory}.
+ * Validates the effective periods against the sample tariffs and against {@link PriceTimeline}.
+ */
+class PriceHistoryTest {
+
+    @Test
+    void testHistory_samplePrices() {
+        List<String> periods = history(samplePrices(), "2020-06-14T00:00:00", "2020-06-16T23:59:59").stream()
+                .map(period -> period.startDate() + " " + period.endDate() + " " + period.price().getPriceList())
+                .toList();
+
+        assertEquals(List.of(
+                "2020-06-14T00:00 2020-06-14T14:59:59 1",
+                "2020-06-14T15:00 2020-06-14T18:30 2",
+                "2020-06-14T18:30:01 2020-06-14T23:59:59 1",
+                "2020-06-15T00:00 2020-06-15T11:00 3",
+                "2020-06-15T11:00:01 2020-06-15T15:59:59 1",
+                "2020-06-15T16:00 2020-06-16T23:59:59 4"), periods);
+    }
+
+    @Test
+    void testHistory_clipsToTheRangeAndSkipsGaps() {
+        List<PricePeriod> periods = history(samplePrices(), "2020-06-14T16:00:00", "2020-06-14T16:00:00");
+        assertEquals(1, periods.size());
+        assertEquals(2, periods.get(0).price().getPriceList());
+        assertEquals(periods.get(0).startDate(), periods.get(0).endDate());
+
+        assertEquals(List.of(), history(samplePrices(), "2019-01-01T00:00:00", "2020-06-13T23:59:59"));
+        assertEquals(LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                history(samplePrices(), "2020-12-01T00:00:00", "2021-06-01T00:00:00").get(0).endDate());
+    }
+
+    /**
+     * Verifies that every instant of the range gets the price of the resolved timeline, and that
+     * consecutive periods never repeat a tariff.
+     */
+    @Test
+    void testHistory_matchesTimeline() {
+        Random random = new Random(7);
+        LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int round = 0; round < 50; round++) {
+            List<Price> prices = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                LocalDateTime start = origin.plusHours(random.nextInt(500));
+                prices.add(price(i, start, start.plusHours(random.nextInt(100)).plusMinutes(59).plusSeconds(59),
+                        random.nextInt(4)));
+            }
+            prices.sort(Comparator.comparing(Price::getStartDate));
+            PriceTimeline timeline = PriceTimeline.of(prices);
+            LocalDateTime from = origin.plusHours(random.nextInt(200));
+            LocalDateTime to = from.plusHours(random.nextInt(400));
+
+            List<PricePeriod> periods = new ArrayList<>();
+            PriceHistory history = new PriceHistory(from, to, periods::add);
+            prices.forEach(history);
+            history.complete();
+
+            for (int i = 1; i < periods.size(); i++) {
+                assertTrue(periods.get(i - 1).endDate().isBefore(periods.get(i).startDate()));
+                if (periods.get(i - 1).endDate().plusSeconds(1).equals(periods.get(i).startDate())) {
+                    assertNotSame(periods.get(i - 1).price(), periods.get(i).price());
+                }
+            }
+            for (LocalDateTime instant = from; !instant.isAfter(to); instant = instant.plusMinutes(30)) {
+                LocalDateTime at = instant;
+                Price covering = periods.stream()
+                        .filter(period -> !at.isBefore(period.startDate()) && !at.isAfter(period.endDate()))
+                        .map(PricePeriod::price)
+                        .findFirst().orElse(null);
+                assertSame(timeline.priceAt(PricePrecedence.toEpochSecond(at)), covering, "At " + at);
+            }
+        }
+    }
+
+    /**
+     * Verifies that a hand-over between two tariffs with the same price yields one period per tariff.
+     */
+    @Test
+    void testHistory_keepsOnePeriodPerTariffAcrossEqualPrices() {
+        LocalDateTime noon = LocalDateTime.of(2020, 6, 14, 12, 0);
+        Price morning = new Price(1L, 1L, noon.minusHours(12), noon.minusSeconds(1), 1, 35455L, 0,
+                new BigDecimal("35.50"), "EUR");
+        Price afternoon = new Price(2L, 1L, noon, noon.plusHours(12).minusSeconds(1), 2, 35455L, 0,
+                new BigDecimal("35.50"), "EUR");
+
+        List<PricePeriod> periods = history(List.of(morning, afternoon), "2020-06-14T00:00:00", "2020-06-14T23:59:59");
+
+        assertEquals(List.of(
+                new PricePeriod(morning, noon.minusHours(12), noon.minusSeconds(1)),
+                new PricePeriod(afternoon, noon, noon.plusHours(12).minusSeconds(1))), periods);
+    }
+
+    @Test
+    void testHistory_rejectsInvalidInput() {
+        LocalDateTime from = LocalDateTime.of(2020, 6, 14, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> new PriceHistory(from, from.minusSeconds(1), period -> {
+        }));
+
+        List<Price> prices = samplePrices();
+        PriceHistory history = new PriceHistory(from, from.plusDays(10), period -> {
+        });
+        history.accept(prices.get(2));
+        assertThrows(IllegalArgumentException.class, () -> history.accept(prices.get(0)));
+        history.complete();
+        assertThrows(IllegalStateException.class, () -> history.accept(prices.get(3)));
+    }
+
+    private static List<PricePeriod> history(List<Price> prices, String from, String to) {
+        List<PricePeriod> periods = new ArrayList<>();
+        PriceHistory history = new PriceHistory(LocalDateTime.parse(from), LocalDateTime.parse(to), periods::add);
+        prices.forEach(history);
+        history.complete();
+        assertNull(periods.stream().map(PricePeriod::price).filter(price -> price == null).findAny().orElse(null));
+        return periods;
+    }
+
+    private static List<Price> samplePrices() {
+        return List.of(
+                new Price(1L, 1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                        1, 35455L, 0, new BigDecimal("35.50"), "EUR"),
+                new Price(2L, 1L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30),
+                        2, 35455L, 1, new BigDecimal("25.45"), "EUR"),
+                new Price(3L, 1L, LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0),
+                        3, 35455L, 1, new BigDecimal("30.50"), "EUR"),
+                new Price(4L, 1L, LocalDateTime.of(2020, 6, 15, 16, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                        4, 35455L, 1, new BigDecimal("38.95"), "EUR"));
+    }
+
+    private static Price price(int priceList, LocalDateTime start, LocalDateTime end, int priority) {
+        return new Price((long) priceList, 1L, start, end, priceList, 35455L, priority,
+                BigDecimal.valueOf(priceList), "EUR");
+    }
+}
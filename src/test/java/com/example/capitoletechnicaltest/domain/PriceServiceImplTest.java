@@ -1,17 +1,19 @@
 package com.example.capitoletechnicaltest.domain;
 
 import com.example.capitoletechnicaltest.adapters.inbound.PriceResponseDTO;
+import com.example.capitoletechnicaltest.adapters.outbound.JpaPriceRepositoryAdapter;
 import com.example.capitoletechnicaltest.adapters.outbound.PriceRepository;
 import com.example.capitoletechnicaltest.ports.PriceServicePort;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -26,20 +28,20 @@ class PriceServiceImplTest {
 
     /**
      * Test case for when no price is found for the given criteria.
-     * Verifies that the service correctly throws a {@link ResourceNotFoundException}.
+     * Verifies that the service reports the miss as an empty result instead of an exception.
      */
     @Test
     void testFindPriceByProductBrandAndDate_WhenNoPriceFound() {
         // Mock the PriceRepository
         PriceRepository mockPriceRepository = mock(PriceRepository.class);
 
-        // Configure the mock to return an empty list
-        when(mockPriceRepository.findByBrandIdAndProductIdAndStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByPriorityDesc(
-                anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        // Configure the mock to return no price
+        when(mockPriceRepository.findApplicablePrice(
+                anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
         // Create a real instance of PriceServiceImpl using the mock
-        PriceServiceImpl priceService = new PriceServiceImpl(mockPriceRepository);
+        PriceServiceImpl priceService = new PriceServiceImpl(new JpaPriceRepositoryAdapter(mockPriceRepository));
 
         // Arrange
         Long brandId = 1L;
@@ -47,11 +49,8 @@ class PriceServiceImplTest {
         LocalDateTime applicationDate = LocalDateTime.of(2023, 12, 25, 15, 0);
 
         // Act & Assert
-        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            priceService.findPrice(productId, brandId, applicationDate);
-        });
-
-        assertEquals("No applicable price found for the given criteria.", exception.getMessage());
+        assertTrue(priceService.findPrice(productId, brandId, applicationDate).isEmpty(),
+                "Expected no price to be found");
     }
 
     /**
@@ -64,12 +63,12 @@ class PriceServiceImplTest {
         PriceRepository mockPriceRepository = mock(PriceRepository.class);
 
         // Configure the mock to return a predefined Price
-        when(mockPriceRepository.findByBrandIdAndProductIdAndStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByPriorityDesc(
-                anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(createMockPrice()));
+        when(mockPriceRepository.findApplicablePrice(
+                anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(createMockPrice()));
 
         // Create a real instance of PriceServiceImpl using the mock
-        PriceServiceImpl priceService = new PriceServiceImpl(mockPriceRepository);
+        PriceServiceImpl priceService = new PriceServiceImpl(new JpaPriceRepositoryAdapter(mockPriceRepository));
 
         // Arrange
         Long brandId = 1L;
@@ -89,6 +88,31 @@ class PriceServiceImplTest {
         assertEquals("EUR", dto.getCurr());
     }
 
+    /**
+     * Test case for the export of a brand's prices.
+     * Verifies that the tariffs streamed product by product are reduced to the winner of each product.
+     */
+    @Test
+    void testExportPrices_PicksTheWinnerOfEachProduct() {
+        LocalDateTime start = LocalDateTime.of(2023, 12, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+        PriceRepository mockPriceRepository = mock(PriceRepository.class);
+        when(mockPriceRepository.streamPricesAt(anyLong(), any(LocalDateTime.class))).thenReturn(Stream.of(
+                new Price(1L, 1L, start, end, 1, 100L, 0, new BigDecimal("10.00"), "EUR"),
+                new Price(2L, 1L, start, end, 2, 100L, 2, new BigDecimal("8.00"), "EUR"),
+                new Price(3L, 1L, start, end, 3, 100L, 1, new BigDecimal("9.00"), "EUR"),
+                new Price(4L, 1L, start, end, 4, 200L, 0, new BigDecimal("20.00"), "EUR"),
+                new Price(5L, 1L, start.plusDays(1), end, 5, 300L, 0, new BigDecimal("31.00"), "EUR"),
+                new Price(6L, 1L, start, end, 6, 300L, 0, new BigDecimal("30.00"), "EUR")));
+        PriceServiceImpl priceService = new PriceServiceImpl(new JpaPriceRepositoryAdapter(mockPriceRepository));
+
+        List<Price> exported = new ArrayList<>();
+        long count = priceService.exportPrices(1L, LocalDateTime.of(2023, 12, 25, 15, 0), exported::add);
+
+        assertEquals(3, count);
+        assertEquals(List.of(2L, 4L, 5L), exported.stream().map(Price::getId).toList());
+    }
+
     /**
      * Helper method to create a mock Price object.
      *
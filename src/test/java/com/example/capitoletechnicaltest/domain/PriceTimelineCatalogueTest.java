@@ -0,0 +1,180 @@
+package com.example.capitoletechnicaltest.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for {@link PriceTimeline} and {@link PriceTimelineCatalogue}.
+ * Validates the flattened timelines and their incremental maintenance.
+ */
+class PriceTimelineCatalogueTest {
+
+    private static final PriceKey KEY = new PriceKey(1L, 35455L);
+
+    @ParameterizedTest
+    @CsvSource({
+            "2020-06-14T10:00:00, 1",
+            "2020-06-14T16:00:00, 2",
+            "2020-06-14T18:30:00, 2",
+            "2020-06-14T18:30:01, 1",
+            "2020-06-14T21:00:00, 1",
+            "2020-06-15T10:00:00, 3",
+            "2020-06-16T21:00:00, 4",
+            "2020-12-31T23:59:59, 4"
+    })
+    void testPriceAt(String applicationDate, int expectedPriceList) {
+        PriceTimelineCatalogue catalogue = new PriceTimelineCatalogue();
+        catalogue.load(samplePrices());
+
+        Price result = catalogue.priceAt(KEY, epochSecond(applicationDate));
+
+        assertEquals(expectedPriceList, result.getPriceList(), "Unexpected effective price list");
+    }
+
+    @Test
+    void testPriceAt_gapsAndUnknownKey() {
+        PriceTimelineCatalogue catalogue = new PriceTimelineCatalogue();
+        catalogue.load(samplePrices());
+
+        assertNull(catalogue.priceAt(KEY, epochSecond("2020-06-13T23:59:59")));
+        assertNull(catalogue.priceAt(KEY, epochSecond("2021-01-01T00:00:00")));
+        assertNull(catalogue.priceAt(new PriceKey(2L, 35455L), epochSecond("2020-06-14T10:00:00")));
+    }
+
+    /**
+     * Verifies that overlapping tariffs are merged into segments without repeated winners.
+     */
+    @Test
+    void testTimelineSegments() {
+        PriceTimeline timeline = PriceTimeline.of(samplePrices());
+
+        // 1, 2, 1, 3, 1, 4 and the closing gap.
+        assertEquals(7, timeline.segmentCount());
+    }
+
+    @Test
+    void testUpsertAndRemove_rebuildOnlyTheirKey() {
+        PriceTimelineCatalogue catalogue = new PriceTimelineCatalogue();
+        List<Price> prices = samplePrices();
+        Price otherProduct = price(10L, 5, "2020-01-01T00:00:00", "2020-12-31T23:59:59");
+        otherProduct.setProductId(1L);
+        prices.add(otherProduct);
+        catalogue.load(prices);
+        PriceTimeline untouched = catalogue.timeline(new PriceKey(1L, 1L));
+
+        Price flashSale = price(5L, 2, "2020-06-14T09:00:00", "2020-06-14T11:00:00");
+        catalogue.upsert(flashSale);
+        assertSame(flashSale, catalogue.priceAt(KEY, epochSecond("2020-06-14T10:00:00")));
+
+        Price rescheduled = price(5L, 2, "2020-06-14T12:00:00", "2020-06-14T13:00:00");
+        catalogue.upsert(rescheduled);
+        assertEquals(1, catalogue.priceAt(KEY, epochSecond("2020-06-14T10:00:00")).getPriceList());
+        assertSame(rescheduled, catalogue.priceAt(KEY, epochSecond("2020-06-14T12:30:00")));
+
+        catalogue.remove(rescheduled);
+        assertEquals(1, catalogue.priceAt(KEY, epochSecond("2020-06-14T12:30:00")).getPriceList());
+        assertSame(untouched, catalogue.timeline(new PriceKey(1L, 1L)), "Other keys must not be rebuilt");
+    }
+
+    /**
+     * Verifies that a change made while a load builds its snapshot is visible at once and survives the swap.
+     */
+    @Test
+    void testLoad_replaysChangesMadeWhileBuilding() {
+        PriceTimelineCatalogue catalogue = new PriceTimelineCatalogue();
+        catalogue.load(samplePrices());
+        Price flashSale = price(5L, 2, "2020-06-14T09:00:00", "2020-06-14T11:00:00");
+        Map<PriceKey, List<Price>> pricesByKey = new HashMap<>(Map.of(KEY, samplePrices())) {
+            @Override
+            public void forEach(BiConsumer<? super PriceKey, ? super List<Price>> action) {
+                catalogue.upsert(flashSale);
+                assertSame(flashSale, catalogue.priceAt(KEY, epochSecond("2020-06-14T10:00:00")));
+                super.forEach(action);
+            }
+        };
+
+        catalogue.load(pricesByKey);
+
+        assertSame(flashSale, catalogue.priceAt(KEY, epochSecond("2020-06-14T10:00:00")));
+        assertEquals(2, catalogue.priceAt(KEY, epochSecond("2020-06-14T16:00:00")).getPriceList());
+    }
+
+    /**
+     * Compares the timeline with a linear scan over randomly generated overlapping tariffs.
+     */
+    @Test
+    void testPriceAt_matchesLinearScan() {
+        Random random = new Random(7);
+        List<Price> prices = new ArrayList<>();
+        LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = origin.plusHours(random.nextInt(1_000));
+            Price price = new Price();
+            price.setId((long) i);
+            price.setBrandId(1L);
+            price.setProductId(1L);
+            price.setPriceList(i);
+            price.setPriority(random.nextInt(5));
+            price.setStartDate(start);
+            price.setEndDate(start.plusHours(1 + random.nextInt(200)).minusSeconds(1));
+            prices.add(price);
+        }
+        PriceTimeline timeline = PriceTimeline.of(prices);
+
+        for (int hour = -10; hour < 1_300; hour++) {
+            for (long offset : new long[]{-1, 0, 1}) {
+                long instant = PricePrecedence.toEpochSecond(origin.plusHours(hour)) + offset;
+                Price expected = null;
+                for (Price price : prices) {
+                    if (PricePrecedence.toEpochSecond(price.getStartDate()) <= instant
+                            && PricePrecedence.toEpochSecond(price.getEndDate()) >= instant
+                            && PricePrecedence.outranks(price, expected)) {
+                        expected = price;
+                    }
+                }
+                assertSame(expected, timeline.priceAt(instant), "Mismatch at " + instant);
+            }
+        }
+    }
+
+    private static long epochSecond(String dateTime) {
+        return PricePrecedence.toEpochSecond(LocalDateTime.parse(dateTime));
+    }
+
+    private static List<Price> samplePrices() {
+        List<Price> prices = new ArrayList<>();
+        prices.add(price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+        prices.add(price(2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        prices.add(price(3L, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00"));
+        prices.add(price(4L, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59"));
+        return prices;
+    }
+
+    private static Price price(Long id, int priority, String start, String end) {
+        Price price = new Price();
+        price.setId(id);
+        price.setBrandId(1L);
+        price.setProductId(35455L);
+        price.setPriceList(id.intValue());
+        price.setPriority(priority);
+        price.setStartDate(LocalDateTime.parse(start));
+        price.setEndDate(LocalDateTime.parse(end));
+        price.setAmount(new BigDecimal("35.50"));
+        price.setCurr("EUR");
+        return price;
+    }
+}
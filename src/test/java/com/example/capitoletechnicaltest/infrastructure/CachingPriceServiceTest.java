@@ -0,0 +1,149 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.TimelinePriceRepositoryAdapter;
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import com.example.capitoletechnicaltest.domain.PriceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link CachingPriceService}.
+ * Validates that cached answers are reused within a bucket and never served past a tariff boundary, nor
+ * after a change of their key.
+ */
+class CachingPriceServiceTest {
+
+    private static final Long BRAND_ID = 1L;
+
+    private static final Long PRODUCT_ID = 35455L;
+
+    private PriceServiceImpl delegate;
+
+    private CachingPriceService cachingPriceService;
+
+    /**
+     * Builds a one-hour bucket cache over a timeline with a base tariff from 10:00 to 11:59:59
+     * and a higher-priority promotion from 11:00 to 11:30:59.
+     */
+    @BeforeEach
+    void setUp() {
+        List<Price> prices = List.of(
+                price(1L, LocalDateTime.of(2020, 6, 14, 10, 0), LocalDateTime.of(2020, 6, 14, 11, 59, 59), 0, "35.50"),
+                price(2L, LocalDateTime.of(2020, 6, 14, 11, 0), LocalDateTime.of(2020, 6, 14, 11, 30, 59), 1, "25.45"));
+        TimelinePriceRepositoryAdapter adapter = new TimelinePriceRepositoryAdapter(prices::forEach);
+        adapter.load();
+
+        delegate = spy(new PriceServiceImpl(adapter));
+        PriceCacheProperties properties = new PriceCacheProperties(true, 1000, Duration.ofHours(1), Duration.ofMinutes(10));
+        Clock clock = Clock.fixed(Instant.parse("2020-06-14T09:00:00Z"), ZoneOffset.UTC);
+        cachingPriceService = new CachingPriceService(delegate, adapter, properties, clock);
+    }
+
+    /**
+     * Lookups in the same bucket before the next boundary are answered from the cache.
+     */
+    @Test
+    void testFindPrice_ReusesBucket() {
+        assertEquals(1L, cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 10, 30)).orElseThrow().getId());
+        assertEquals(1L, cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 10, 59, 59)).orElseThrow().getId());
+
+        verify(delegate, times(1)).findPrice(anyLong(), anyLong(), any(LocalDateTime.class));
+        assertEquals(0, cachingPriceService.bypassCount());
+    }
+
+    /**
+     * A lookup past a boundary falling inside its bucket bypasses the cache and gets the fresh price.
+     */
+    @Test
+    void testFindPrice_BypassesAfterBoundaryInsideBucket() {
+        assertEquals(2L, cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 11, 15)).orElseThrow().getId());
+        assertEquals(1L, cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 11, 31)).orElseThrow().getId());
+
+        assertEquals(1, cachingPriceService.bypassCount());
+    }
+
+    /**
+     * Misses are cached too, and still surface as empty results.
+     */
+    @Test
+    void testFindPrice_CachesMisses() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 13, 0);
+
+        assertTrue(cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, applicationDate).isEmpty());
+        assertTrue(cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, applicationDate.plusMinutes(10)).isEmpty());
+
+        verify(delegate, times(1)).findPrice(anyLong(), anyLong(), any(LocalDateTime.class));
+    }
+
+    /**
+     * A load in flight while a change of its key lands does not leave its pre-change answer in the cache:
+     * the entry is reloaded on its next read.
+     */
+    @Test
+    void testOnPriceChange_ReloadsEntryLoadedDuringTheChange() throws Exception {
+        CountDownLatch resolved = new CountDownLatch(1);
+        CountDownLatch changed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            resolved.countDown();
+            changed.await();
+            return result;
+        }).doCallRealMethod().when(delegate).findPrice(anyLong(), anyLong(), any(LocalDateTime.class));
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 30);
+
+        CompletableFuture<Optional<Price>> inFlight = CompletableFuture.supplyAsync(
+                () -> cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, applicationDate));
+        assertTrue(resolved.await(5, TimeUnit.SECONDS));
+        cachingPriceService.onPriceChange(new PriceChange(1L, PriceChange.Type.UPDATE, 1L,
+                new PriceKey(BRAND_ID, PRODUCT_ID), null, applicationDate));
+        changed.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, applicationDate);
+
+        // The load that raced the change, its reload, and no more
+        verify(delegate, times(2)).findPrice(anyLong(), anyLong(), any(LocalDateTime.class));
+    }
+
+    /**
+     * The next boundary comes from the cached bucket while the lookup is before it, and from the
+     * repository once past it.
+     */
+    @Test
+    void testFindNextBoundary_ReusesCachedBucket() {
+        cachingPriceService.findPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 11, 15));
+
+        assertEquals(Optional.of(LocalDateTime.of(2020, 6, 14, 11, 31)),
+                cachingPriceService.findNextBoundary(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 11, 15)));
+        assertEquals(Optional.of(LocalDateTime.of(2020, 6, 14, 12, 0)),
+                cachingPriceService.findNextBoundary(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 11, 40)));
+        assertEquals(Optional.empty(),
+                cachingPriceService.findNextBoundary(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 12, 30)));
+    }
+
+    private static Price price(Long id, LocalDateTime start, LocalDateTime end, int priority, String amount) {
+        return new Price(id, BRAND_ID, start, end, id.intValue(), PRODUCT_ID, priority, new BigDecimal(amount), "EUR");
+    }
+}
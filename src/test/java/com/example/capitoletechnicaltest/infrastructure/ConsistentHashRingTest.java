@@ -0,0 +1,89 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ConsistentHashRing}.
+ * Validates that keys are spread evenly and that a change of membership only moves the keys it must.
+ */
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("http://node-1", "http://node-2", "http://node-3");
+
+    private static final int BRANDS = 10;
+
+    private static final int PRODUCTS = 3_000;
+
+    /**
+     * Consecutive product IDs are spread over every node, each close to its share of the hash space.
+     */
+    @Test
+    void testOwner_SpreadsKeysEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long brandId = 1; brandId <= BRANDS; brandId++) {
+            for (long productId = 1; productId <= PRODUCTS; productId++) {
+                counts.merge(ring.owner(brandId, productId), 1, Integer::sum);
+            }
+        }
+
+        Map<String, Double> shares = ring.shares();
+        assertEquals(1.0, shares.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9);
+        for (String node : NODES) {
+            double share = counts.get(node) / (double) (BRANDS * PRODUCTS);
+            assertEquals(1.0 / NODES.size(), share, 0.05, "Share of " + node);
+            assertEquals(shares.get(node), share, 0.02, "Share of " + node + " against its hash space");
+        }
+    }
+
+    /**
+     * Adding a node only moves keys to the new node, about its share of them.
+     */
+    @Test
+    void testOwner_AddingNodeMovesOnlyItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing after = new ConsistentHashRing(
+                List.of("http://node-1", "http://node-2", "http://node-3", "http://node-4"), 128);
+
+        int moved = 0;
+        for (long brandId = 1; brandId <= BRANDS; brandId++) {
+            for (long productId = 1; productId <= PRODUCTS; productId++) {
+                String owner = after.owner(brandId, productId);
+                if (!owner.equals(before.owner(brandId, productId))) {
+                    assertEquals("http://node-4", owner);
+                    moved++;
+                }
+            }
+        }
+        double movedShare = moved / (double) (BRANDS * PRODUCTS);
+        assertTrue(movedShare > 0.15 && movedShare < 0.35, "Moved " + movedShare + " of the keys");
+    }
+
+    /**
+     * The owner of a key depends on the nodes only, not on their order.
+     */
+    @Test
+    void testOwner_IgnoresNodeOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 64);
+        ConsistentHashRing reversed = new ConsistentHashRing(NODES.reversed(), 64);
+
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            assertEquals(ring.owner(1L, productId), reversed.owner(1L, productId));
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsDuplicateNodes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConsistentHashRing(List.of("http://node-1", "http://node-1"), 16));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 16));
+    }
+}
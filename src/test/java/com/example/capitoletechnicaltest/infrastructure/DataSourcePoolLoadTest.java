@@ -0,0 +1,125 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test comparing a connection per checkout with a connection pool on the in-memory H2 database.
+ * Several threads run the price lookup concurrently and the p99 latency of each data source is
+ * reported. Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+class DataSourcePoolLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePoolLoadTest.class);
+
+    private static final String URL = "jdbc:h2:mem:poolloadtest;DB_CLOSE_DELAY=-1";
+
+    private static final int THREADS = 8;
+
+    private static final int LOOKUPS_PER_THREAD = 5_000;
+
+    private static final String LOOKUP_SQL = "SELECT ID, PRICE, CURR FROM PRICES WHERE BRAND_ID = ? AND PRODUCT_ID = ? "
+            + "AND START_DATE <= TIMESTAMP '2020-06-14 16:00:00' AND END_DATE >= TIMESTAMP '2020-06-14 16:00:00' "
+            + "ORDER BY PRIORITY DESC FETCH FIRST 1 ROWS ONLY";
+
+    private static DriverManagerDataSource unpooled;
+
+    private static HikariDataSource pooled;
+
+    @BeforeAll
+    static void setUp() {
+        unpooled = new DriverManagerDataSource(URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(unpooled);
+
+        pooled = new HikariDataSource();
+        pooled.setJdbcUrl(URL);
+        pooled.setUsername("sa");
+        pooled.setPassword("");
+        pooled.setMaximumPoolSize(THREADS);
+        pooled.setMinimumIdle(THREADS);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pooled.close();
+    }
+
+    @Test
+    void testPooledDataSourceLowersP99() throws Exception {
+        // Warm up both paths so JIT compilation does not weigh on the first measurement
+        measure(unpooled);
+        measure(pooled);
+
+        long unpooledP99 = measure(unpooled);
+        long pooledP99 = measure(pooled);
+        log.info("p99 lookup latency with {} threads: DriverManagerDataSource {} us, HikariDataSource {} us",
+                THREADS, unpooledP99 / 1_000, pooledP99 / 1_000);
+
+        assertTrue(pooledP99 < unpooledP99,
+                "Expected the pooled p99 (" + pooledP99 + " ns) below the unpooled p99 (" + unpooledP99 + " ns)");
+    }
+
+    /**
+     * Runs the lookups concurrently, checking out one connection per lookup.
+     *
+     * @return The p99 latency, in nanoseconds.
+     */
+    private static long measure(DataSource dataSource) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> run(dataSource)));
+            }
+            long[] latencies = new long[THREADS * LOOKUPS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                System.arraycopy(futures.get(t).get(), 0, latencies, t * LOOKUPS_PER_THREAD, LOOKUPS_PER_THREAD);
+            }
+            Arrays.sort(latencies);
+            return latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long[] run(DataSource dataSource) throws SQLException {
+        long[] latencies = new long[LOOKUPS_PER_THREAD];
+        for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+            long start = System.nanoTime();
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(LOOKUP_SQL)) {
+                statement.setLong(1, 1L);
+                statement.setLong(2, 35455L);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                }
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+}
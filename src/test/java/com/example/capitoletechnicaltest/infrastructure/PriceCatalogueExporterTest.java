@@ -0,0 +1,47 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ColumnarPriceStore;
+import com.example.capitoletechnicaltest.adapters.outbound.PriceCatalogueFile;
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PricePrecedence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link PriceCatalogueExporter}.
+ */
+class PriceCatalogueExporterTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testExport_writesAVerifiedCatalogueFile() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2020, 6, 14, 0, 0);
+        List<Price> prices = List.of(
+                new Price(1L, 1L, start, start.plusDays(200), 1, 35455L, 0, new BigDecimal("35.50"), "EUR"),
+                new Price(2L, 1L, start.plusHours(15), start.plusHours(18), 2, 35455L, 1, new BigDecimal("25.45"), "EUR"),
+                new Price(3L, 2L, start, start.plusDays(1), 1, 35455L, 0, new BigDecimal("12.00"), "USD"));
+        Path target = directory.resolve("prices.cat");
+        PriceCatalogueExporter exporter = new PriceCatalogueExporter(prices::forEach, target, mock());
+
+        ColumnarPriceStore exported = exporter.export();
+
+        assertEquals(3, exported.size());
+        assertEquals(2, exported.keyCount());
+        ColumnarPriceStore mapped = PriceCatalogueFile.map(target);
+        Price price = mapped.priceAt(1L, 35455L, PricePrecedence.toEpochSecond(start.plusHours(16)));
+        assertEquals(2L, price.getId());
+        assertEquals(new BigDecimal("25.45"), price.getAmount());
+        assertEquals("USD", mapped.priceAt(2L, 35455L, PricePrecedence.toEpochSecond(start)).getCurr());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ColumnarPriceRepositoryAdapter;
+import com.example.capitoletechnicaltest.adapters.outbound.ColumnarPriceStore;
+import com.example.capitoletechnicaltest.adapters.outbound.PriceCatalogueFile;
+import com.example.capitoletechnicaltest.domain.Price;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the startup of an instance mapping its catalogue from a file.
+ * Verifies that the lookups read the file, and that the database gets its schema but no sample data.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:filedb;DB_CLOSE_DELAY=-1",
+        "prices.lookup.mode=columnar",
+        "prices.changes.enabled=false"
+})
+class PriceCatalogueFileConfigTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    @TempDir
+    private static Path directory;
+
+    @Autowired
+    private ColumnarPriceRepositoryAdapter adapter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void catalogueFile(DynamicPropertyRegistry registry) throws IOException {
+        Path file = directory.resolve("prices.cat");
+        ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder();
+        builder.add(new Price(1L, 1L, START, START.plusDays(1), 7, 35455L, 0, new BigDecimal("12.34"), "EUR"));
+        PriceCatalogueFile.write(builder.build(), file);
+        registry.add("prices.catalogue-file.path", file::toString);
+    }
+
+    @Test
+    void testStartup_mapsTheFileWithoutLoadingSampleData() {
+        Price price = adapter.findPriceByProductBrandAndDate(35455L, 1L, START.plusHours(10)).orElseThrow();
+
+        assertEquals(7, price.getPriceList());
+        assertEquals(new BigDecimal("12.34"), price.getAmount());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Integer.class),
+                "The schema is created, without the rows of data.sql");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.inbound.PriceResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the reload of the in-memory catalogue through {@code /actuator/pricecatalogue}.
+ * Verifies that a reload publishes the current table content, clears the price cache and is measured.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reloaddb;DB_CLOSE_DELAY=-1",
+        "prices.lookup.mode=timeline",
+        "prices.changes.enabled=false",
+        "management.endpoints.web.exposure.include=health,metrics,pricecatalogue"
+})
+class PriceCatalogueReloaderTest {
+
+    private static final String PRICE_URL = "/api/prices?productId=35455&brandId=1&applicationDate=2020-06-14T10:00:00";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testReload_publishesNewTariffs() {
+        // Cached from the startup snapshot
+        assertEquals(new BigDecimal("35.50"), restTemplate.getForObject(PRICE_URL, PriceResponseDTO.class).getAmount());
+
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-06-14 09:00:00', '2020-06-14 11:00:00', 5, 35455, 9, 19.99, 'EUR')");
+        assertEquals(new BigDecimal("35.50"), restTemplate.getForObject(PRICE_URL, PriceResponseDTO.class).getAmount(),
+                "Lookups are answered from the snapshot until it is reloaded");
+
+        Map<?, ?> reloaded = restTemplate.postForObject("/actuator/pricecatalogue", null, Map.class);
+        assertEquals(5, reloaded.get("tariffs"));
+        assertEquals(1, reloaded.get("keys"));
+
+        assertEquals(new BigDecimal("19.99"), restTemplate.getForObject(PRICE_URL, PriceResponseDTO.class).getAmount());
+        assertEquals(1, meterRegistry.get("prices.catalogue.reload").tag("result", "success").timer().count());
+        assertEquals(5, meterRegistry.get("prices.catalogue.tariffs").gauge().value());
+        assertEquals(Map.of("tariffs", 5, "keys", 1),
+                restTemplate.getForObject("/actuator/pricecatalogue", Map.class));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceChange;
+import com.example.capitoletechnicaltest.domain.PriceKey;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PriceCatalogueVersion}.
+ * Validates that a version only changes with the tariffs of its key, and never comes back.
+ */
+class PriceCatalogueVersionTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+    private final PriceCatalogueVersion catalogueVersion = new PriceCatalogueVersion(1000L);
+
+    @Test
+    void testVersion_ChangesOnlyWithTheKey() {
+        long before = catalogueVersion.version(1L, 35455L);
+        long other = catalogueVersion.version(1L, 35456L);
+
+        catalogueVersion.onPriceChange(insert(1L, 1L, 35455L));
+
+        long after = catalogueVersion.version(1L, 35455L);
+        assertTrue(after > before);
+        assertEquals(after, catalogueVersion.version(1L, 35455L));
+        assertEquals(other, catalogueVersion.version(1L, 35456L));
+    }
+
+    /**
+     * A tariff moved to another product changes the versions of both the product it left and the one it joined.
+     */
+    @Test
+    void testVersion_ChangesWithBothKeysOfAMovedTariff() {
+        long left = catalogueVersion.version(1L, 35455L);
+        long joined = catalogueVersion.version(1L, 35456L);
+
+        catalogueVersion.onPriceChange(new PriceChange(1L, PriceChange.Type.UPDATE, 1L, new PriceKey(1L, 35455L),
+                price(1L, 1L, 35456L), DATE));
+
+        assertNotEquals(left, catalogueVersion.version(1L, 35455L));
+        assertNotEquals(joined, catalogueVersion.version(1L, 35456L));
+    }
+
+    /**
+     * A reload gives every key a version above those handed out before, and forgets the changed keys.
+     */
+    @Test
+    void testRenew_GivesEveryKeyANewVersion() {
+        catalogueVersion.onPriceChange(insert(1L, 1L, 35455L));
+        long changed = catalogueVersion.version(1L, 35455L);
+        long unchanged = catalogueVersion.version(1L, 35456L);
+
+        catalogueVersion.renew();
+
+        assertTrue(catalogueVersion.version(1L, 35455L) > changed);
+        assertTrue(catalogueVersion.version(1L, 35456L) > unchanged);
+        assertEquals(0, catalogueVersion.changedKeyCount());
+    }
+
+    @Test
+    void testOnPriceChanges_BoundsTheChangedKeys() {
+        long before = catalogueVersion.version(2L, 1L);
+        List<PriceChange> changes = new ArrayList<>();
+        for (long productId = 1; productId <= PriceCatalogueVersion.MAX_CHANGED_KEYS + 1; productId++) {
+            changes.add(insert(productId, 1L, productId));
+        }
+
+        catalogueVersion.onPriceChanges(changes);
+
+        assertEquals(0, catalogueVersion.changedKeyCount());
+        assertTrue(catalogueVersion.version(1L, 1L) > before);
+        assertTrue(catalogueVersion.version(2L, 1L) > before);
+    }
+
+    private static PriceChange insert(long priceId, long brandId, long productId) {
+        return new PriceChange(priceId, PriceChange.Type.INSERT, priceId, new PriceKey(brandId, productId),
+                price(priceId, brandId, productId), DATE);
+    }
+
+    private static Price price(long id, long brandId, long productId) {
+        return new Price(id, brandId, DATE, DATE.plus(Duration.ofDays(1)), 1, productId, 0,
+                new BigDecimal("35.50"), "EUR");
+    }
+}
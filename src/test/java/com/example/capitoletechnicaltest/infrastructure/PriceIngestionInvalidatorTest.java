@@ -0,0 +1,58 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.outbound.ReloadablePriceCatalogue;
+import com.example.capitoletechnicaltest.domain.PricesIngestedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link PriceIngestionInvalidator}.
+ * Validates that a committed ingestion reloads the in-memory catalogue, or renews the catalogue version
+ * when there is no catalogue to reload.
+ */
+class PriceIngestionInvalidatorTest {
+
+    @Test
+    void testOnPricesIngested_reloadsTheCatalogue() throws InterruptedException {
+        CountDownLatch reloaded = new CountDownLatch(1);
+        List<Object> events = new ArrayList<>();
+        ReloadablePriceCatalogue catalogue = new ReloadablePriceCatalogue() {
+            @Override
+            public Snapshot reload() {
+                reloaded.countDown();
+                return new Snapshot(5, 1);
+            }
+
+            @Override
+            public Snapshot snapshot() {
+                return new Snapshot(0, 0);
+            }
+        };
+        PriceCatalogueVersion version = new PriceCatalogueVersion(1000L);
+        try (PriceCatalogueReloader reloader = new PriceCatalogueReloader(catalogue, events::add,
+                new SimpleMeterRegistry())) {
+            new PriceIngestionInvalidator(reloader, null, version).onPricesIngested(new PricesIngestedEvent(5));
+
+            assertTrue(reloaded.await(5, TimeUnit.SECONDS), "Expected the catalogue to be reloaded");
+        }
+        // The version is renewed by the reload event, once the new snapshot is published
+        assertEquals(1000L, version.version(1L, 35455L));
+    }
+
+    @Test
+    void testOnPricesIngested_renewsTheVersionWithoutCatalogue() {
+        PriceCatalogueVersion version = new PriceCatalogueVersion(1000L);
+
+        new PriceIngestionInvalidator(null, null, version).onPricesIngested(new PricesIngestedEvent(5));
+
+        assertTrue(version.version(1L, 35455L) > 1000L);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.adapters.inbound.ShardRoutingInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the sharded serving mode, on a single-node cluster.
+ * Verifies that single-key lookups are routed, and that the lookups spanning several keys and the bulk
+ * ingestions are rejected.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:shardingdb;DB_CLOSE_DELAY=-1",
+        "prices.lookup.mode=interval-index",
+        "prices.changes.enabled=false",
+        "prices.sharding.enabled=true",
+        "prices.sharding.self=" + PriceShardingConfigTest.SELF,
+        "prices.sharding.nodes=" + PriceShardingConfigTest.SELF
+})
+@AutoConfigureObservability(tracing = false)
+class PriceShardingConfigTest {
+
+    static final String SELF = "http://localhost:1";
+
+    private static final String BATCH = "[{\"productId\":35455,\"brandId\":1,\"applicationDate\":\"2020-06-14T10:00:00\"}]";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testSingleKeyLookups_areRouted() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/api/prices?productId=35455&brandId=1&applicationDate=2020-06-14T10:00:00", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(SELF, response.getHeaders().getFirst(ShardRoutingInterceptor.SHARD_HEADER));
+    }
+
+    @Test
+    void testMultiKeyLookups_areRejected() {
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders ndjson = new HttpHeaders();
+        ndjson.setContentType(MediaType.APPLICATION_JSON);
+        ndjson.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+
+        assertNotImplemented(restTemplate.exchange("/api/prices/batch", HttpMethod.POST,
+                new HttpEntity<>(BATCH, json), Map.class));
+        assertNotImplemented(restTemplate.exchange("/api/reactive/prices/stream", HttpMethod.POST,
+                new HttpEntity<>(BATCH, ndjson), Map.class));
+        assertNotImplemented(restTemplate.exchange(
+                "/api/prices/export?brandId=1&applicationDate=2020-06-14T10:00:00", HttpMethod.GET,
+                new HttpEntity<>(ndjson), Map.class));
+    }
+
+    @Test
+    void testBulkIngestion_isRejected() {
+        HttpHeaders ndjson = new HttpHeaders();
+        ndjson.setContentType(MediaType.APPLICATION_NDJSON);
+        String tariff = "{\"brandId\":1,\"productId\":35455,\"startDate\":\"2021-01-01T00:00:00\","
+                + "\"endDate\":\"2021-12-31T23:59:59\",\"priceList\":9,\"priority\":0,\"amount\":10.00,"
+                + "\"curr\":\"EUR\"}";
+
+        assertNotImplemented(restTemplate.exchange("/api/prices/bulk", HttpMethod.POST,
+                new HttpEntity<>(tariff, ndjson), Map.class));
+    }
+
+    private static void assertNotImplemented(ResponseEntity<Map> response) {
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, response.getStatusCode());
+        assertTrue(String.valueOf(response.getBody().get("message")).endsWith("is not available on a sharded "
+                + "cluster, whose nodes only hold their own keys"), String.valueOf(response.getBody()));
+    }
+}
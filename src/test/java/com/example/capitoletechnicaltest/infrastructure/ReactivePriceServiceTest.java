@@ -0,0 +1,219 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.domain.PriceQuery;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReactivePriceService}.
+ * Validates that lookups run on the service's executor, and that streams resolve only the lookups
+ * requested, in order and in bounded chunks.
+ */
+class ReactivePriceServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    private PriceServicePort delegate;
+
+    private ReactivePriceService reactivePriceService;
+
+    private final List<Integer> chunks = new CopyOnWriteArrayList<>();
+
+    /**
+     * Stubs the delegate to answer each query with a price whose product is the one queried, or with no
+     * price for odd products.
+     */
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PriceServicePort.class);
+        when(delegate.findPrices(anyList())).thenAnswer(invocation -> {
+            List<PriceQuery> queries = invocation.getArgument(0);
+            chunks.add(queries.size());
+            return queries.stream().map(query -> query.productId() % 2 == 0
+                    ? Optional.of(price(query.productId())) : Optional.<Price>empty()).toList();
+        });
+        reactivePriceService = new ReactivePriceService(delegate, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactivePriceService.close();
+    }
+
+    @Test
+    void testFindPrice_CompletesWithTheDelegateResult() {
+        when(delegate.findPrice(2L, 1L, DATE)).thenReturn(Optional.of(price(2L)));
+
+        assertEquals(2L, reactivePriceService.findPrice(2L, 1L, DATE).block(Duration.ofSeconds(5))
+                .orElseThrow().getProductId());
+    }
+
+    /**
+     * A lookup is resolved on subscription, on the service's executor rather than the subscriber's thread.
+     */
+    @Test
+    void testFindPrice_ResolvesOnSubscriptionOffTheCallerThread() {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        when(delegate.findPrice(2L, 1L, DATE)).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return Optional.empty();
+        });
+
+        Mono<Optional<Price>> lookup = reactivePriceService.findPrice(2L, 1L, DATE);
+        verify(delegate, never()).findPrice(any(), any(), any());
+        assertTrue(lookup.block(Duration.ofSeconds(5)).isEmpty());
+        assertEquals(1, threads.size());
+        assertNotSame(Thread.currentThread(), threads.get(0), "Expected the lookup to run on the executor");
+    }
+
+    /**
+     * Results are delivered in query order, and no lookup is resolved beyond what was requested.
+     */
+    @Test
+    void testFindPrices_ResolvesOnlyWhatIsRequested() throws Exception {
+        List<PriceQuery> queries = queries(ReactivePriceService.MAX_CHUNK + 44);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        reactivePriceService.findPrices(queries).subscribe(subscriber);
+
+        subscriber.subscription.join().request(10);
+        subscriber.awaitResults(10);
+        assertEquals(List.of(10), chunks);
+
+        subscriber.subscription.join().request(Long.MAX_VALUE);
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(10, ReactivePriceService.MAX_CHUNK, 34), chunks);
+        assertEquals(queries.size(), subscriber.results.size());
+        for (int i = 0; i < queries.size(); i++) {
+            assertEquals(i % 2 == 0, subscriber.results.get(i).isPresent());
+        }
+    }
+
+    @Test
+    void testFindPrices_CompletesAnEmptyStream() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        reactivePriceService.findPrices(List.of()).subscribe(subscriber);
+
+        subscriber.subscription.join().request(1);
+        subscriber.completion.get(5, TimeUnit.SECONDS);
+        verify(delegate, never()).findPrices(any());
+    }
+
+    @Test
+    void testFindPrices_PropagatesFailures() {
+        when(delegate.findPrices(anyList())).thenThrow(new IllegalStateException("Database unavailable"));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        reactivePriceService.findPrices(queries(3)).subscribe(subscriber);
+
+        subscriber.subscription.join().request(3);
+        Throwable failure = subscriber.completion.handle((ignored, ex) -> ex).join();
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertTrue(subscriber.results.isEmpty());
+    }
+
+    /**
+     * A non-positive request made while a drain is resolving lookups is answered by that drain, instead of
+     * their results, so the error never overlaps an {@code onNext}.
+     */
+    @Test
+    void testFindPrices_SignalsInvalidRequestsFromTheDrain() throws Exception {
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch invalidRequestMade = new CountDownLatch(1);
+        when(delegate.findPrices(anyList())).thenAnswer(invocation -> {
+            resolving.countDown();
+            assertTrue(invalidRequestMade.await(5, TimeUnit.SECONDS));
+            List<PriceQuery> queries = invocation.getArgument(0);
+            return queries.stream().map(query -> Optional.of(price(query.productId()))).toList();
+        });
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        reactivePriceService.findPrices(queries(3)).subscribe(subscriber);
+
+        subscriber.subscription.join().request(1);
+        assertTrue(resolving.await(5, TimeUnit.SECONDS));
+        subscriber.subscription.join().request(0);
+        assertFalse(subscriber.completion.isDone(), "The error waits for the running drain");
+        invalidRequestMade.countDown();
+
+        Throwable failure = subscriber.completion.handle((ignored, ex) -> ex).get(5, TimeUnit.SECONDS);
+        assertInstanceOf(IllegalArgumentException.class, failure);
+        assertTrue(subscriber.results.isEmpty());
+    }
+
+    private static List<PriceQuery> queries(int count) {
+        return LongStream.range(0, count).mapToObj(productId -> new PriceQuery(1L, productId, DATE)).toList();
+    }
+
+    private static Price price(long productId) {
+        return new Price(1L, 1L, DATE.minusDays(1), DATE.plusDays(1), 1, productId, 0, new BigDecimal("35.50"), "EUR");
+    }
+
+    /**
+     * Subscriber receiving the stream's own subscription: Reactor hands a {@link CoreSubscriber} the
+     * subscription as is, where it wraps other subscribers in one enforcing the specification itself.
+     */
+    private static final class RecordingSubscriber implements CoreSubscriber<Optional<Price>> {
+
+        private final CompletableFuture<Subscription> subscription = new CompletableFuture<>();
+
+        private final List<Optional<Price>> results = new CopyOnWriteArrayList<>();
+
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription.complete(subscription);
+        }
+
+        @Override
+        public void onNext(Optional<Price> item) {
+            results.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+
+        void awaitResults(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (results.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, results.size());
+        }
+    }
+}
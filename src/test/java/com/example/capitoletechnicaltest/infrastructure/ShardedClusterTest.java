@@ -0,0 +1,165 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.CapitoleTechnicalTestApplication;
+import com.example.capitoletechnicaltest.adapters.inbound.ShardRoutingInterceptor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a three-node sharded cluster locally, each node with its own in-memory database holding the whole
+ * synthetic catalogue. Lookups of random keys are sent to the first node; the per-shard load and the
+ * slice loaded by each node are reported, then the third node is removed and the rebalancing time of the
+ * remaining nodes is reported. Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+class ShardedClusterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedClusterTest.class);
+
+    private static final int NODES = 3;
+
+    private static final int BRANDS = 2;
+
+    private static final int PRODUCTS_PER_BRAND = 50_000;
+
+    private static final long FIRST_PRODUCT_ID = 1_000_000;
+
+    private static final int LOOKUPS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testShardedLookupsAndRebalance() throws Exception {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add("http://localhost:" + freePort());
+        }
+        List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            for (int i = 0; i < NODES; i++) {
+                contexts.add(start(i, nodes));
+            }
+
+            int[] statuses = lookups(httpClient, nodes.getFirst());
+            JsonNode report = get(httpClient, nodes.getFirst() + "/actuator/priceshards");
+            log.info("{} lookups through {} (200: {}, 404: {})", LOOKUPS, nodes.getFirst(),
+                    statuses[0], statuses[1]);
+            for (JsonNode shard : report.get("shards")) {
+                log.info("{}: {}% of the keys, {} lookups", shard.get("node").asText(),
+                        String.format("%.1f", shard.get("share").asDouble() * 100), shard.get("requests").asLong());
+            }
+            assertEquals(LOOKUPS, statuses[0] + statuses[1], "Expected every lookup to be answered");
+            assertEquals(BRANDS * PRODUCTS_PER_BRAND + 1, loadedKeys(httpClient, nodes),
+                    "Expected every key to be loaded by exactly one node");
+
+            // Removes the last node: the others load the keys it owned, then route with the new ring
+            List<String> remaining = nodes.subList(0, NODES - 1);
+            for (String node : remaining) {
+                JsonNode rebalanced = post(httpClient, node + "/actuator/priceshards",
+                        "{\"nodes\":\"" + String.join(",", remaining) + "\"}");
+                log.info("Rebalanced {} in {} ms, now holding {} keys", node,
+                        rebalanced.get("lastRebalanceMillis").asLong(), rebalanced.get("catalogue").get("keys").asLong());
+            }
+            contexts.removeLast().close();
+
+            statuses = lookups(httpClient, nodes.getFirst());
+            assertEquals(LOOKUPS, statuses[0] + statuses[1], "Expected every lookup to be answered after the rebalance");
+            assertEquals(BRANDS * PRODUCTS_PER_BRAND + 1, loadedKeys(httpClient, remaining),
+                    "Expected every key to be loaded by exactly one of the remaining nodes");
+        } finally {
+            contexts.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(int index, List<String> nodes) {
+        return new SpringApplicationBuilder(CapitoleTechnicalTestApplication.class)
+                .run("--server.port=" + URI.create(nodes.get(index)).getPort(),
+                        "--spring.profiles.active=h2,synthetic",
+                        "--spring.datasource.url=jdbc:h2:mem:shard" + index + ";DB_CLOSE_DELAY=-1",
+                        "--prices.lookup.mode=interval-index",
+                        "--prices.synthetic.brands=" + BRANDS,
+                        "--prices.synthetic.products-per-brand=" + PRODUCTS_PER_BRAND,
+                        "--prices.synthetic.first-product-id=" + FIRST_PRODUCT_ID,
+                        "--prices.synthetic.tariffs-per-product=4",
+                        "--prices.sharding.enabled=true",
+                        "--prices.sharding.self=" + nodes.get(index),
+                        "--prices.sharding.nodes=" + String.join(",", nodes),
+                        "--management.endpoints.web.exposure.include=health,metrics,prometheus,priceshards",
+                        "--logging.level.root=WARN",
+                        "--logging.level." + ShardedClusterTest.class.getName() + "=INFO");
+    }
+
+    /**
+     * Sends lookups of random synthetic keys to a node, checking that each one is answered by its owner.
+     *
+     * @return The number of lookups answered with 200 and with 404.
+     */
+    private static int[] lookups(HttpClient httpClient, String node) throws Exception {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] statuses = new int[2];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long brandId = 1 + random.nextInt(BRANDS);
+            long productId = FIRST_PRODUCT_ID + random.nextInt(PRODUCTS_PER_BRAND);
+            URI uri = URI.create(node + "/api/prices?brandId=" + brandId + "&productId=" + productId
+                    + "&applicationDate=2020-07-01T12:00:00");
+            HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            assertTrue(response.headers().firstValue(ShardRoutingInterceptor.SHARD_HEADER).isPresent());
+            if (response.statusCode() == 200) {
+                statuses[0]++;
+            } else if (response.statusCode() == 404) {
+                statuses[1]++;
+            }
+        }
+        return statuses;
+    }
+
+    private long loadedKeys(HttpClient httpClient, List<String> nodes) throws Exception {
+        long keys = 0;
+        for (String node : nodes) {
+            keys += get(httpClient, node + "/actuator/priceshards").get("catalogue").get("keys").asLong();
+        }
+        return keys;
+    }
+
+    private JsonNode get(HttpClient httpClient, String uri) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body());
+    }
+
+    private JsonNode post(HttpClient httpClient, String uri, String body) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(uri))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
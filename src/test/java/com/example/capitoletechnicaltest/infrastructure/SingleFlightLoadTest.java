@@ -0,0 +1,150 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.CapitoleTechnicalTestApplication;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test of {@link SingleFlightPriceService} under a hot-key workload, through the application's own
+ * service stack on the in-memory H2 database: many threads share a small connection pool, and most of
+ * their lookups target the same product at the same instant. The price cache is disabled, since it
+ * already loads each bucket once. The database queries and the p50 and p99 latencies are logged with and
+ * without coalescing. Run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+class SingleFlightLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightLoadTest.class);
+
+    private static final int THREADS = 64;
+
+    private static final int CONNECTIONS = 4;
+
+    private static final int LOOKUPS_PER_THREAD = 2_000;
+
+    /**
+     * Share of the lookups targeting the hot key, in percent.
+     */
+    private static final int HOT_PERCENT = 90;
+
+    private static final LocalDateTime HOT_DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    @Test
+    void testSingleFlightReducesQueriesOnHotKey() throws Exception {
+        Result direct = run(false);
+        Result coalesced = run(true);
+        log.info("{} threads, {} connections, {}% hot key, {} lookups", THREADS, CONNECTIONS, HOT_PERCENT,
+                THREADS * LOOKUPS_PER_THREAD);
+        log.info("direct:        {} queries, p50 {} us, p99 {} us",
+                direct.queries(), direct.p50() / 1_000, direct.p99() / 1_000);
+        log.info("single-flight: {} queries, p50 {} us, p99 {} us",
+                coalesced.queries(), coalesced.p50() / 1_000, coalesced.p99() / 1_000);
+
+        assertTrue(coalesced.queries() * 2 < direct.queries(),
+                "Expected single-flight to at least halve the queries, got " + coalesced.queries()
+                        + " against " + direct.queries());
+        assertTrue(coalesced.p99() < direct.p99(),
+                "Expected the single-flight p99 (" + coalesced.p99() + " ns) below the direct p99 ("
+                        + direct.p99() + " ns)");
+    }
+
+    /**
+     * Starts the application with or without single-flight and measures the workload on its price service.
+     */
+    private static Result run(boolean singleFlight) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CapitoleTechnicalTestApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:singleflight" + singleFlight + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + CONNECTIONS,
+                        "--spring.datasource.hikari.minimum-idle=" + CONNECTIONS,
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--prices.cache.enabled=false",
+                        "--prices.changes.enabled=false",
+                        "--prices.single-flight.enabled=" + singleFlight,
+                        "--logging.level.root=WARN",
+                        "--logging.level." + SingleFlightLoadTest.class.getName() + "=INFO")) {
+            PriceServicePort service = context.getBean(PriceServicePort.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                    .getStatistics();
+
+            // Warm up so JIT compilation does not weigh on the measurement
+            measure(service);
+            statistics.clear();
+            long[] latencies = measure(service);
+            return new Result(statistics.getQueryExecutionCount(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    /**
+     * Runs the workload concurrently and returns the sorted latencies of its lookups, in nanoseconds.
+     */
+    private static long[] measure(PriceServicePort service) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return lookups(service, new SplittableRandom(seed));
+                }));
+            }
+            start.countDown();
+            long[] latencies = new long[THREADS * LOOKUPS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                System.arraycopy(futures.get(t).get(), 0, latencies, t * LOOKUPS_PER_THREAD, LOOKUPS_PER_THREAD);
+            }
+            Arrays.sort(latencies);
+            return latencies;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long[] lookups(PriceServicePort service, SplittableRandom random) {
+        long[] latencies = new long[LOOKUPS_PER_THREAD];
+        for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+            // Cold lookups spread over the seconds of the day, so that they rarely meet
+            LocalDateTime date = random.nextInt(100) < HOT_PERCENT
+                    ? HOT_DATE
+                    : HOT_DATE.withHour(0).plusSeconds(random.nextInt(86_400));
+            long start = System.nanoTime();
+            service.findPrice(35455L, 1L, date);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(sorted.length * percentile) - 1];
+    }
+
+    /**
+     * Database queries run and latency percentiles of a workload, in nanoseconds.
+     */
+    private record Result(long queries, long p50, long p99) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SingleFlightPriceService}.
+ * Validates that concurrent identical lookups share one resolution, and that nothing is retained after it.
+ */
+class SingleFlightPriceServiceTest {
+
+    private static final Long BRAND_ID = 1L;
+
+    private static final Long PRODUCT_ID = 35455L;
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+
+    private static final int CALLERS = 8;
+
+    private PriceServicePort delegate;
+
+    private SingleFlightPriceService singleFlightPriceService;
+
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PriceServicePort.class);
+        singleFlightPriceService = new SingleFlightPriceService(delegate);
+        release = new CountDownLatch(1);
+    }
+
+    /**
+     * Identical lookups arriving while one is resolved wait for it, and the delegate is called once.
+     */
+    @Test
+    void testFindPrice_CoalescesConcurrentIdenticalLookups() throws Exception {
+        Price price = new Price();
+        when(delegate.findPrice(PRODUCT_ID, BRAND_ID, DATE)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(price);
+        });
+
+        List<Future<Optional<Price>>> results = callConcurrently(CALLERS);
+        release.countDown();
+
+        for (Future<Optional<Price>> result : results) {
+            assertSame(price, result.get(10, TimeUnit.SECONDS).orElseThrow());
+        }
+        verify(delegate, times(1)).findPrice(PRODUCT_ID, BRAND_ID, DATE);
+        assertEquals(CALLERS - 1, singleFlightPriceService.coalescedCount());
+        assertEquals(0, singleFlightPriceService.inFlightCount());
+    }
+
+    /**
+     * The failure of a lookup is thrown to every lookup that joined it.
+     */
+    @Test
+    void testFindPrice_SharesFailures() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Database unavailable");
+        when(delegate.findPrice(PRODUCT_ID, BRAND_ID, DATE)).thenAnswer(invocation -> {
+            release.await();
+            throw failure;
+        });
+
+        List<Future<Optional<Price>>> results = callConcurrently(CALLERS);
+        release.countDown();
+
+        for (Future<Optional<Price>> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        verify(delegate, times(1)).findPrice(PRODUCT_ID, BRAND_ID, DATE);
+        assertEquals(0, singleFlightPriceService.inFlightCount());
+    }
+
+    /**
+     * Lookups of different application dates are not coalesced, and a result is not reused once published.
+     */
+    @Test
+    void testFindPrice_ResolvesDistinctAndSequentialLookups() {
+        when(delegate.findPrice(eq(PRODUCT_ID), eq(BRAND_ID), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        singleFlightPriceService.findPrice(PRODUCT_ID, BRAND_ID, DATE);
+        singleFlightPriceService.findPrice(PRODUCT_ID, BRAND_ID, DATE);
+        singleFlightPriceService.findPrice(PRODUCT_ID, BRAND_ID, DATE.plusSeconds(1));
+
+        verify(delegate, times(2)).findPrice(PRODUCT_ID, BRAND_ID, DATE);
+        verify(delegate, times(1)).findPrice(PRODUCT_ID, BRAND_ID, DATE.plusSeconds(1));
+        assertEquals(0, singleFlightPriceService.coalescedCount());
+    }
+
+    /**
+     * Starts identical lookups and returns once all but the leading one are waiting for it.
+     */
+    private List<Future<Optional<Price>>> callConcurrently(int callers) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<Optional<Price>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> singleFlightPriceService.findPrice(PRODUCT_ID, BRAND_ID, DATE)));
+        }
+        executor.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (singleFlightPriceService.coalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(singleFlightPriceService.coalescedCount() == callers - 1, "Expected every other lookup to wait");
+        return results;
+    }
+}
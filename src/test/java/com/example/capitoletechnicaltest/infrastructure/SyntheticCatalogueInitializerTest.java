@@ -0,0 +1,42 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.ports.PriceServicePort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@code synthetic} startup profile.
+ * Verifies that the catalogue is loaded before the in-memory timelines are built from the database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:syntheticdb;DB_CLOSE_DELAY=-1",
+        "prices.lookup.mode=timeline",
+        "prices.synthetic.brands=2",
+        "prices.synthetic.products-per-brand=100",
+        "prices.synthetic.tariffs-per-product=5"
+})
+@ActiveProfiles({"h2", "synthetic"})
+class SyntheticCatalogueInitializerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceServicePort priceService;
+
+    @Test
+    void testSyntheticCatalogueIsLoadedBeforeLookupIndexes() {
+        assertEquals(4 + 2 * 100 * 5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Integer.class));
+
+        assertTrue(priceService.findPrice(1_000_050L, 2L, LocalDateTime.of(2020, 6, 1, 0, 0)).isPresent());
+        assertTrue(priceService.findPrice(35455L, 1L, LocalDateTime.of(2020, 6, 14, 10, 0)).isPresent());
+    }
+}
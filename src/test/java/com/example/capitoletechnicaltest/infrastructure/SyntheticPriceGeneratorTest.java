@@ -0,0 +1,73 @@
+package com.example.capitoletechnicaltest.infrastructure;
+
+import com.example.capitoletechnicaltest.domain.Price;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SyntheticPriceGenerator}.
+ */
+class SyntheticPriceGeneratorTest {
+
+    private static final SyntheticCatalogueProperties PROPERTIES = new SyntheticCatalogueProperties(
+            3, 200, 1000, 12, 3, LocalDateTime.of(2020, 1, 1, 0, 0), Duration.ofDays(360),
+            List.of(70, 20, 10), 7);
+
+    @Test
+    void testPrices_GeneratesConfiguredShape() {
+        List<Price> prices = new SyntheticPriceGenerator(PROPERTIES).prices().toList();
+
+        assertEquals(PROPERTIES.size(), prices.size());
+        assertEquals(3, prices.stream().map(Price::getBrandId).distinct().count());
+        assertEquals(1000L, prices.stream().mapToLong(Price::getProductId).min().orElseThrow());
+        assertEquals(1199L, prices.stream().mapToLong(Price::getProductId).max().orElseThrow());
+        assertTrue(prices.stream().allMatch(price -> price.getStartDate().isBefore(price.getEndDate())));
+    }
+
+    @Test
+    void testPrices_IsReproducible() {
+        List<Price> first = new SyntheticPriceGenerator(PROPERTIES).prices().limit(100).toList();
+        List<Price> second = new SyntheticPriceGenerator(PROPERTIES).prices().limit(100).toList();
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getStartDate(), second.get(i).getStartDate());
+            assertEquals(first.get(i).getAmount(), second.get(i).getAmount());
+            assertEquals(first.get(i).getPriority(), second.get(i).getPriority());
+        }
+    }
+
+    @Test
+    void testPrices_FollowsOverlapAndPriorityWeights() {
+        List<Price> prices = new SyntheticPriceGenerator(PROPERTIES).prices().toList();
+
+        // Mid-horizon, each product is covered by about "overlap" tariffs
+        LocalDateTime instant = LocalDateTime.of(2020, 7, 1, 0, 0);
+        double averageCovering = prices.stream()
+                .filter(price -> !price.getStartDate().isAfter(instant) && !price.getEndDate().isBefore(instant))
+                .count() / 600.0;
+        assertTrue(averageCovering > 2.5 && averageCovering < 3.5, "Average overlap was " + averageCovering);
+
+        Map<Integer, Long> byPriority = prices.stream()
+                .collect(Collectors.groupingBy(Price::getPriority, Collectors.counting()));
+        assertEquals(0.7, byPriority.get(0) / (double) prices.size(), 0.03);
+        assertEquals(0.2, byPriority.get(1) / (double) prices.size(), 0.03);
+        assertEquals(0.1, byPriority.get(2) / (double) prices.size(), 0.03);
+    }
+
+    @Test
+    void testConstructor_RejectsEmptyDimensions() {
+        SyntheticCatalogueProperties properties = new SyntheticCatalogueProperties(
+                0, 1, 1, 1, 1, LocalDateTime.of(2020, 1, 1, 0, 0), Duration.ofDays(1), List.of(1), 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticPriceGenerator(properties));
+    }
+}